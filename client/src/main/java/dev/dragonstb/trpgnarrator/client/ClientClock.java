@@ -23,27 +23,30 @@ package dev.dragonstb.trpgnarrator.client;
 import com.jme3.app.state.AbstractAppState;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.Clock;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.ClockReceiver;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.FixedStepClock;
 
-/** A {@link dev.dragonstb.trpgnarrator.virtualhost.outwardapi.Clock clock} for the virtual host that forwards the update loop of the engine
- * as a time signal.
+/** A {@link dev.dragonstb.trpgnarrator.virtualhost.outwardapi.Clock clock} for the virtual host that is driven by the update loop of the
+ * engine. The time of the frames is collected and forwarded in {@link FixedStepClock fixed steps}, so the game does not depend on the frame
+ * rate.
  *
  * @author Dragonstb
  * @since 0.0.2
  */
 final class ClientClock extends AbstractAppState implements Clock {
 
-    private ClockReceiver receiver;
+    /** Steps per second of the virtual host. */
+    private static final float RATE = 60;
+
+    private final FixedStepClock stepper = FixedStepClock.atRate(RATE);
 
     @Override
     public void update(float tpf) {
-        if(receiver != null) {
-            receiver.update(tpf);
-        }
+        stepper.advance(tpf);
     }
 
     @Override
     public void setReceiver(ClockReceiver receiver) {
-        this.receiver = receiver;
+        stepper.setReceiver(receiver);
     }
 
     @Override
@@ -51,4 +54,9 @@ final class ClientClock extends AbstractAppState implements Clock {
         super.setEnabled(paused);
     }
 
+    @Override
+    public float getAlpha() {
+        return stepper.getAlpha();
+    }
+
 }
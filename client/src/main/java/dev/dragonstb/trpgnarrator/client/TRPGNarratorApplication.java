@@ -55,6 +55,8 @@ import java.util.logging.Logger;
 public class TRPGNarratorApplication extends SimpleApplication implements RawInputListener{
 
     private static final Logger LOGGER = Logger.getLogger(TRPGNarratorApplication.class.getName());
+    /** Movement points of the controlled figurine. TODO: derive from figurine */
+    private static final float MOVEMENT_POINTS = 4f;
 
     private IngameAppState ingameAppState;
     private ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(4); // TODO: configurable pool size
@@ -144,6 +146,9 @@ public class TRPGNarratorApplication extends SimpleApplication implements RawInp
         if(evt.getButtonIndex() == 0 && evt.isReleased()) {
             ingameAppState.setIntoMovementTo(fig, executor);
         }
+        else if(evt.getButtonIndex() == 1 && evt.isReleased()) {
+            ingameAppState.showMovementRange(fig, MOVEMENT_POINTS);
+        }
     }
 
     @Override
@@ -22,6 +22,7 @@ package dev.dragonstb.trpgnarrator.client.clientconnector;
 
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurinesListDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReachableFieldsDTO;
 
 /** The interface the client connector exposes towards the {@link dev.dragonstb.trpgnarrator.client.ingame.IngameAppState IngameAppState}.
  *
@@ -45,4 +46,13 @@ public interface ClientForIngame {
      * @return List of all figurines.
      */
     public FigurinesListDTO getFigurinesList();
+
+    /** Fetches the fields that can be reached from the given field with the given amount of movement points.
+     *
+     * @since 0.0.2
+     * @param fromField Id of the field where the movement starts.
+     * @param movementPoints Movement points available.
+     * @return The reachable fields, including the starting field.
+     */
+    public ReachableFieldsDTO getReachableFields(int fromField, float movementPoints);
 }
@@ -28,6 +28,8 @@ import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHCommands;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineDTO;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurinesListDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReachableFieldsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FetchReachableFieldsParms;
 import java.util.List;
 import lombok.NonNull;
 
@@ -113,6 +115,30 @@ final class LocalClientConnector implements LocalClientForApp {
         return list;
     }
 
+    @Override
+    public ReachableFieldsDTO getReachableFields(int fromField, float movementPoints) {
+        String code = ClientErrorCodes.C47125;
+        checkConnectionReadiness("Cannot fetch reachable fields: connection has yet not been established.", code);
+
+        FetchReachableFieldsParms parms = new FetchReachableFieldsParms(fromField, movementPoints);
+        VHCommand command = new VHCommand(VHCommands.fetchReachableFields, parms);
+        Object obj = sendCommand(command);
+        if(obj == null) {
+            String msg = "Cannot fetch reachable fields: response from host is null.";
+            String use = ClientErrorCodes.assembleCodedMsg(msg, code);
+            throw new NullPointerException(use);
+        }
+
+        if(!(obj instanceof ReachableFieldsDTO)) {
+            String msg = "Cannot fetch reachable fields: response from host is invalid.";
+            String use = ClientErrorCodes.assembleCodedMsg(msg, code);
+            throw new ClassCastException(use);
+        }
+
+        ReachableFieldsDTO reachable = (ReachableFieldsDTO)obj;
+        return reachable;
+    }
+
     @Override
     public void connectToVirtualHost(@NonNull VirtualHost host) {
         if(this.host == null) {
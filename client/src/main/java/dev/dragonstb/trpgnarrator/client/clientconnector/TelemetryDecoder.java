@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.client.clientconnector;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.client.error.ClientErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.TelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.BitReader;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryEncoder;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryFormat;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetrySnapshot;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.NonNull;
+
+/** Rebuilds the telemetry from {@link TelemetryFormat packed} packets. The last {@value TelemetryEncoder#HISTORY} decoded snapshots are
+ * kept, as the host refers to them as baselines. The client acknowledges the {@link #getLastSequence() last decoded packet} to the host.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class TelemetryDecoder {
+
+    private final Map<Integer, Vector3f> centres;
+    /** Ids of the figurines, by handle. */
+    private final Map<Integer, String> ids = new HashMap<>();
+    private final TelemetrySnapshot[] history = new TelemetrySnapshot[TelemetryEncoder.HISTORY];
+    /** Sequence number of the last decoded packet. */
+    @Getter private int lastSequence = TelemetryFormat.NO_BASELINE;
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param board The board, for the centres of the fields.
+     */
+    TelemetryDecoder(@NonNull BoardDataDTO board) {
+        this.centres = TelemetryFormat.fieldCentres(board);
+        for (int idx = 0; idx < history.length; idx++) {
+            history[idx] = new TelemetrySnapshot();
+        }
+    }
+
+    /** Decodes a packet.
+     *
+     * @since 0.0.2
+     * @param packet The packet, positioned at the first byte.
+     * @return The telemetry, or an empty optional if the baseline of the packet is not known (anymore).
+     * @throws IllegalStateException If the packet is corrupt.
+     */
+    Optional<TelemetryDTO> decode(@NonNull ByteBuffer packet) throws IllegalStateException {
+        try {
+            BitReader reader = new BitReader(packet);
+            int sequence = (int)reader.read(TelemetryFormat.SEQUENCE_BITS);
+            int baseSequence = (int)reader.read(TelemetryFormat.SEQUENCE_BITS);
+            float alpha = TelemetryFormat.dequantizeAlpha((int)reader.read(TelemetryFormat.ALPHA_BITS));
+
+            TelemetrySnapshot base = null;
+            if(baseSequence != TelemetryFormat.NO_BASELINE) {
+                base = history[Math.floorMod(baseSequence, history.length)];
+                if(base.getSequence() != baseSequence) {
+                    return Optional.empty();
+                }
+            }
+
+            // baselines are less than a full history back, so the slot of the new snapshot is never the slot of the baseline
+            TelemetrySnapshot snap = history[Math.floorMod(sequence, history.length)];
+            if(base != null) {
+                snap.copyFrom(base, sequence);
+            }
+            else {
+                snap.clear(sequence);
+            }
+
+            readChanged(reader, snap);
+            int removed = (int)reader.read(TelemetryFormat.COUNT_BITS);
+            int handle = -1;
+            for (int idx = 0; idx < removed; idx++) {
+                handle += reader.readUnsigned() + 1;
+                snap.remove(handle);
+            }
+
+            lastSequence = Math.max(lastSequence, sequence);
+            return Optional.of(toDTO(snap, alpha));
+        } catch (BufferUnderflowException e) {
+            String code = ClientErrorCodes.C12946;
+            String use = ClientErrorCodes.assembleCodedMsg("Packet of telemetry ends too early.", code);
+            throw new IllegalStateException(use);
+        }
+    }
+
+    private void readChanged(BitReader reader, TelemetrySnapshot snap) {
+        int changed = (int)reader.read(TelemetryFormat.COUNT_BITS);
+        int handle = -1;
+        for (int count = 0; count < changed; count++) {
+            handle += reader.readUnsigned() + 1;
+            boolean isNew = reader.readBoolean();
+            if(isNew) {
+                ids.put(handle, reader.readString());
+            }
+
+            int idx = isNew ? -1 : snap.indexOf(handle);
+            if(!isNew && idx < 0) {
+                String code = ClientErrorCodes.C12946;
+                String use = ClientErrorCodes.assembleCodedMsg("Packet of telemetry changes figurine "+handle+", which is not in the baseline.",
+                        code);
+                throw new IllegalStateException(use);
+            }
+
+            boolean located = reader.readBoolean();
+            int field = reader.readSigned() + (isNew ? 0 : snap.getField(idx));
+            int x = 0;
+            int y = 0;
+            int z = 0;
+            if(located) {
+                boolean relative = !isNew && snap.isLocated(idx);
+                x = reader.readSigned() + (relative ? snap.getX(idx) : 0);
+                y = reader.readSigned() + (relative ? snap.getY(idx) : 0);
+                z = reader.readSigned() + (relative ? snap.getZ(idx) : 0);
+            }
+            snap.put(handle, field, located, x, y, z);
+        }
+    }
+
+    private TelemetryDTO toDTO(TelemetrySnapshot snap, float alpha) {
+        List<FigurineTelemetryDTO> teles = new ArrayList<>(snap.getSize());
+        for (int idx = 0; idx < snap.getSize(); idx++) {
+            Vector3f loc = null;
+            if(snap.isLocated(idx)) {
+                Vector3f centre = centres.getOrDefault(snap.getField(idx), Vector3f.ZERO);
+                loc = new Vector3f(centre.x + TelemetryFormat.dequantize(snap.getX(idx)),
+                        centre.y + TelemetryFormat.dequantize(snap.getY(idx)), centre.z + TelemetryFormat.dequantize(snap.getZ(idx)));
+            }
+            teles.add(new FigurineTelemetryDTO(ids.get(snap.getHandle(idx)), loc, snap.getField(idx)));
+        }
+        return new TelemetryDTO(teles, alpha);
+    }
+
+}
@@ -32,10 +32,12 @@ public final class ClientErrorCodes {
 
     public static final String C04278 = "C04278";
     public static final String C05317 = "C05317";
+    public static final String C12946 = "C12946";
     public static final String C17679 = "C17679";
     public static final String C28331 = "C28331";
     public static final String C30737 = "C30737";
     public static final String C38587 = "C38587";
+    public static final String C47125 = "C47125";
 
     public static final String C58856 = "C58856";
     public static final String C63749 = "C63749";
@@ -37,6 +37,7 @@ import dev.dragonstb.trpgnarrator.client.tweens.SequenceTween;
 import dev.dragonstb.trpgnarrator.client.tweens.ShiftTween;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReachableFieldsDTO;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -213,6 +214,28 @@ public final class IngameAppState extends AbstractAppState {
         pathfinder = future;
     }
 
+    /** Highlights the fields the figurine can reach with the given movement points. The range is found by the virtual host.
+     *
+     * @author Dragonstb
+     * @since 0.0.2
+     * @param fig Figurine to be moved.
+     * @param movementPoints Movement points available to the figurine.
+     */
+    public void showMovementRange(@NonNull Figurine fig, float movementPoints) {
+        Optional<Integer> opt = fig.getCurrentFieldId();
+        if(opt.isEmpty()) {
+            board.unhighlightRange();
+            return;
+        }
+
+        ReachableFieldsDTO reachable = connector.getReachableFields(opt.get(), movementPoints);
+        List<Integer> fieldIds = new ArrayList<>(reachable.size());
+        for (int idx = 0; idx < reachable.size(); idx++) {
+            fieldIds.add(reachable.getFieldId(idx));
+        }
+        board.highlightRange(fieldIds);
+    }
+
     /**
      * @since 0.0.1
      * @return Temporary, the controlled figurine/ But just for now.
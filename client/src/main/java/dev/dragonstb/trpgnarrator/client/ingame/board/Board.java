@@ -25,6 +25,7 @@ import com.jme3.math.Vector3f;
 import com.jme3.scene.Node;
 import dev.dragonstb.trpgnarrator.client.error.BoardFieldNotFoundException;
 import dev.dragonstb.trpgnarrator.client.ingame.figurine.Figurine;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Future;
@@ -69,6 +70,22 @@ public interface Board {
      */
     public void unhighlightAllFields();
 
+    /** Marks the fields with the given ids as being in range, e.g. of the movement of a figurine. All fields that had been marked
+     * before become unmarked.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param fieldIds Ids of the fields in range.
+     */
+    public void highlightRange(@NonNull Collection<Integer> fieldIds);
+
+    /** Unmarks all fields that are marked as being in range.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     */
+    public void unhighlightRange();
+
     /** Gets the id of the currently highlighted field if present.
      *
      * @author Dragonstb
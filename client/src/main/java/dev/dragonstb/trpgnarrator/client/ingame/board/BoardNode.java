@@ -24,7 +24,10 @@ import com.jme3.asset.AssetManager;
 import com.jme3.scene.Node;
 import dev.dragonstb.trpgnarrator.client.AMAccessor;
 import dev.dragonstb.trpgnarrator.client.Globals;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import lombok.NonNull;
@@ -38,6 +41,8 @@ final class BoardNode extends Node{
 
     private FieldGeometry currentlyHighlighted;
     private final Map<Integer, FieldGeometry> geometries = new HashMap<>();
+    /** Fields currently marked as being within the movement range. */
+    private final List<FieldGeometry> inRange = new ArrayList<>();
 
     BoardNode(@NonNull BoardData data) {
         super(Globals.BOARD_NODE_NAME);
@@ -85,6 +90,25 @@ final class BoardNode extends Node{
         }
     }
 
+    /** Marks the fields with the given ids as being within the movement range and unmarks all other fields. Ids without a field are
+     * ignored.
+     *
+     * @author Dragonstb
+     * @since 0.0.2
+     * @param fieldIds Ids of the fields in range. Pass an empty collection and no field remains marked.
+     */
+    void markFieldsInRange(@NonNull Collection<Integer> fieldIds) {
+        inRange.forEach(geom -> geom.setInRange(false));
+        inRange.clear();
+        for(int id: fieldIds) {
+            FieldGeometry geom = geometries.get(id);
+            if(geom != null) {
+                geom.setInRange(true);
+                inRange.add(geom);
+            }
+        }
+    }
+
     /** Gets the id of the currently highlighted field if present.
      *
      * @author Dragonstb
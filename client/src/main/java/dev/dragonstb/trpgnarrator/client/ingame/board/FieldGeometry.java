@@ -38,6 +38,10 @@ class FieldGeometry extends Geometry{
 
     /** Id of the field visualized by this geometry. */
     @Getter(AccessLevel.PACKAGE) private final int id;
+    /** Is the field the highlighted one? */
+    private boolean highlighted = false;
+    /** Is the field within the currently shown movement range? */
+    @Getter(AccessLevel.PACKAGE) private boolean inRange = false;
 
     /** Generates. The name of the geometry is the
      * {@link dev.dragonstb.trpgnarrator.client.Globals#FIELD_GEOM_NAME FIELD_GEOM_NAME} defined in Globals appended by the field id.
@@ -64,7 +68,24 @@ class FieldGeometry extends Geometry{
      * @param highlighted Shall the geometry be highlighted?
      */
     void setHighlighted(boolean highlighted) {
+        this.highlighted = highlighted;
+        updateColor();
+    }
+
+    /** Marks or unmarks the geometry as being within the movement range.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param inRange Is the field within the range?
+     */
+    void setInRange(boolean inRange) {
+        this.inRange = inRange;
+        updateColor();
+    }
+
+    private void updateColor() {
         // TODO: define and use a specialized material with the highlight effect being baked in
-        this.getMaterial().setColor("Color", ColorRGBA.Green.mult( highlighted ? 1.5f : 0.5f ));
+        float brightness = highlighted ? 1.5f : inRange ? 1f : .5f;
+        this.getMaterial().setColor("Color", ColorRGBA.Green.mult(brightness));
     }
 }
@@ -27,6 +27,7 @@ import dev.dragonstb.trpgnarrator.client.error.BoardFieldNotFoundException;
 import dev.dragonstb.trpgnarrator.client.error.ClientErrorCodes;
 import dev.dragonstb.trpgnarrator.client.ingame.figurine.Figurine;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Future;
@@ -91,6 +92,16 @@ final class GameBoard implements Board {
         node.highlightField(null);
     }
 
+    @Override
+    public void highlightRange(@NonNull Collection<Integer> fieldIds) {
+        node.markFieldsInRange(fieldIds);
+    }
+
+    @Override
+    public void unhighlightRange() {
+        node.markFieldsInRange(List.of());
+    }
+
     @Override
     public Optional<Integer> getCurrentlyHighlightedFieldId() {
         return node.getCurrentlyHighlightedFieldId();
@@ -21,8 +21,12 @@ package dev.dragonstb.trpgnarrator.client.clientconnector;
 
 import dev.dragonstb.trpgnarrator.client.error.ClientErrorCodes;
 import dev.dragonstb.trpgnarrator.client.error.HostConnectionNotReadyException;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHCommands;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VirtualHost;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReachableFieldsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FetchReachableFieldsParms;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -75,6 +79,23 @@ public class LocalClientConnectorTest {
         assertTrue(exc.getMessage().contains("response from host is null"), "missing text");
     }
 
+    @Test
+    public void testGetReachableFields_ok() {
+        ReachableFieldsDTO dto = new ReachableFieldsDTO(4, 2, new int[]{4}, new float[]{0}, new int[]{4}, 1);
+        when(host.dealRequest(any())).thenReturn(dto);
+        ReachableFieldsDTO res = client.getReachableFields(4, 2);
+        assertSame(dto, res, "wrong instance");
+        verify(host, times(1)).dealRequest(argThat((VHCommand cmd) -> cmd.getCommand() == VHCommands.fetchReachableFields
+                && cmd.getParms() instanceof FetchReachableFieldsParms parms && parms.getFromField() == 4));
+    }
+
+    @Test
+    public void testGetReachableFields_wrongResponse() {
+        when(host.dealRequest(any())).thenReturn("nope");
+        ClassCastException exc = assertThrows(ClassCastException.class, () -> client.getReachableFields(4, 2), "no exception");
+        assertTrue(exc.getMessage().contains(ClientErrorCodes.C47125), "missing or unexpected error code");
+    }
+
     @Test
     public void testConnectToVirtualHost_twice() {
         BoardDataDTO dto = mock(BoardDataDTO.class);
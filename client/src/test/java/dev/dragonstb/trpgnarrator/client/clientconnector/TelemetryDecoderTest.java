@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.client.clientconnector;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.client.error.ClientErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FieldDataDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.TelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryEncoder;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryFormat;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class TelemetryDecoderTest {
+
+    private TelemetryEncoder encoder;
+    private TelemetryDecoder decoder;
+
+    @BeforeEach
+    public void setUp() {
+        BoardDataDTO board = new BoardDataDTO(List.of(new FieldDataDTO(1, 10, 0, 0), new FieldDataDTO(2, 20, 0, 5)), List.of());
+        encoder = new TelemetryEncoder(TelemetryFormat.fieldCentres(board));
+        decoder = new TelemetryDecoder(board);
+    }
+
+    @Test
+    public void testDecode_sequence() {
+        FigurineTelemetryDTO a = new FigurineTelemetryDTO("a", new Vector3f(10.5f, 0, 0.25f), 1);
+        FigurineTelemetryDTO b = new FigurineTelemetryDTO("b", null, 2);
+        FigurineTelemetryDTO c = new FigurineTelemetryDTO("c", new Vector3f(20, 1, 5), 2);
+
+        TelemetryDTO dto = roundTrip(new TelemetryDTO(List.of(a, b), 0.25f));
+        assertEquals(0, decoder.getLastSequence(), "wrong sequence");
+        assertEquals(0.25f, dto.getAlpha(), 1e-4f, "wrong alpha");
+        assertTelemetry(List.of(a, b), dto);
+
+        // a moves to the other field, b gets a location, c is new
+        a = new FigurineTelemetryDTO("a", new Vector3f(19.75f, 0, 5), 2);
+        b = new FigurineTelemetryDTO("b", new Vector3f(-3, 2, 1), 1);
+        dto = roundTrip(new TelemetryDTO(List.of(c, b, a), 0));
+        assertTelemetry(List.of(a, b, c), dto);
+
+        // b is gone, a loses its location, c stays
+        a = new FigurineTelemetryDTO("a", null, 2);
+        dto = roundTrip(new TelemetryDTO(List.of(a, c), 0));
+        assertTelemetry(List.of(a, c), dto);
+        assertEquals(2, decoder.getLastSequence(), "wrong sequence");
+    }
+
+    @Test
+    public void testDecode_unknownBaseline() {
+        FigurineTelemetryDTO a = new FigurineTelemetryDTO("a", new Vector3f(10, 0, 0), 1);
+        encoder.stage(new TelemetryDTO(List.of(a), 0));
+        encoder.stage(new TelemetryDTO(List.of(a), 0));
+        // the client has never seen packet 0
+        Optional<TelemetryDTO> opt = decoder.decode(encoder.encode(0));
+        assertTrue(opt.isEmpty(), "decoded without baseline");
+
+        opt = decoder.decode(encoder.encode(TelemetryFormat.NO_BASELINE));
+        assertTelemetry(List.of(a), opt.orElseThrow());
+    }
+
+    @Test
+    public void testDecode_truncated() {
+        encoder.stage(new TelemetryDTO(List.of(new FigurineTelemetryDTO("a", new Vector3f(10, 0, 0), 1)), 0));
+        ByteBuffer packet = encoder.encode(TelemetryFormat.NO_BASELINE);
+        packet.limit(packet.limit() - 3);
+        IllegalStateException exc = assertThrows(IllegalStateException.class, () -> decoder.decode(packet), "no exception");
+        assertTrue(exc.getMessage().contains(ClientErrorCodes.C12946), "missing error code");
+    }
+
+    /** Encodes against the last decoded packet, as if the client had acknowledged each packet right away. */
+    private TelemetryDTO roundTrip(TelemetryDTO dto) {
+        encoder.stage(dto);
+        return decoder.decode(encoder.encode(decoder.getLastSequence())).orElseThrow();
+    }
+
+    private void assertTelemetry(List<FigurineTelemetryDTO> expected, TelemetryDTO actual) {
+        assertEquals(expected.size(), actual.getFigurineTelemetries().size(), "wrong number of figurines");
+        Map<String, FigurineTelemetryDTO> byId = actual.getFigurineTelemetries().stream()
+                .collect(Collectors.toMap(FigurineTelemetryDTO::getFigId, Function.identity()));
+        for (FigurineTelemetryDTO exp : expected) {
+            FigurineTelemetryDTO act = byId.get(exp.getFigId());
+            assertNotNull(act, "figurine "+exp.getFigId()+" missing");
+            assertEquals(exp.getFieldId(), act.getFieldId(), "wrong field");
+            Optional<Vector3f> expLoc = exp.getLocationAsVector3f();
+            Optional<Vector3f> actLoc = act.getLocationAsVector3f();
+            assertEquals(expLoc.isPresent(), actLoc.isPresent(), "location present or missing");
+            if(expLoc.isPresent()) {
+                assertTrue(expLoc.get().distance(actLoc.get()) < 1f / TelemetryFormat.QUANTA_PER_UNIT, "wrong location");
+            }
+        }
+    }
+
+}
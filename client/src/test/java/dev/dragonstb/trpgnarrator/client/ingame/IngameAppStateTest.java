@@ -29,8 +29,10 @@ import dev.dragonstb.trpgnarrator.client.ingame.board.BoardFactory;
 import dev.dragonstb.trpgnarrator.client.ingame.figurine.Figurine;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineDTO;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurinesListDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReachableFieldsDTO;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -141,6 +143,28 @@ public class IngameAppStateTest {
         }
     }
 
+    @Test
+    public void testShowMovementRange() {
+        FigurinesListDTO figs = new FigurinesListDTO(new ArrayList<>());
+        ReachableFieldsDTO reachable = new ReachableFieldsDTO(7, 1, new int[]{7, 8, 6}, new float[]{0, 1, 1}, new int[]{7, 7, 7}, 3);
+        Figurine fig = mock(Figurine.class);
+        when(fig.getCurrentFieldId()).thenReturn(Optional.of(7));
+
+        try(MockedStatic<BoardFactory> boardFactory = Mockito.mockStatic(BoardFactory.class)) {
+            when(BoardFactory.makeBoard(any())).thenReturn(board);
+            when(board.getNode()).thenReturn(new Node());
+            when(connector.getFigurinesList()).thenReturn(figs);
+            when(connector.getReachableFields(7, 1f)).thenReturn(reachable);
+
+            IngameAppState appState = new IngameAppState();
+            appState.setConnector(connector);
+            appState.load();
+            appState.showMovementRange(fig, 1f);
+
+            verify(board).highlightRange(List.of(7, 8, 6));
+        }
+    }
+
     @Test
     public void testLoad_noConnector() {
         IngameAppState appState = new IngameAppState();
@@ -22,6 +22,7 @@ package dev.dragonstb.trpgnarrator.client.ingame.board;
 import com.jme3.math.Vector3f;
 import dev.dragonstb.trpgnarrator.testslices.WithAssetManager;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -105,6 +106,23 @@ public class BoardNodeTest {
         assertEquals(id, actual, "Wrong id");
     }
 
+    @Test
+    public void testMarkFieldsInRange() {
+        FieldGeometry geomA = boardNode.getFieldGeometry(fieldA.getId()).orElseThrow();
+        FieldGeometry geomB = boardNode.getFieldGeometry(fieldB.getId()).orElseThrow();
+
+        boardNode.markFieldsInRange(List.of(fieldA.getId(), -3));
+        assertTrue(geomA.isInRange(), "field A not in range");
+        assertFalse(geomB.isInRange(), "field B in range");
+
+        boardNode.markFieldsInRange(List.of(fieldB.getId()));
+        assertFalse(geomA.isInRange(), "field A still in range");
+        assertTrue(geomB.isInRange(), "field B not in range");
+
+        boardNode.markFieldsInRange(List.of());
+        assertFalse(geomB.isInRange(), "field B still in range");
+    }
+
     @Test
     public void testGetCurrentlyHighlightedFieldId_not_ok() {
         Optional<Integer> idOpt = boardNode.getCurrentlyHighlightedFieldId();
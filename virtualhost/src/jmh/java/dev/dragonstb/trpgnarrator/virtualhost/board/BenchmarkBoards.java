@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Globals;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+/** Generates boards of arbitrary size for the benchmarks.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class BenchmarkBoards {
+
+    /** Distance between the centres of two adjacent fields. */
+    static final float DX = Globals.FIELD_RADIUS * (float)Math.sqrt(3);
+    /** Distance between two rows of fields. */
+    static final float DZ = 1.5f * Globals.FIELD_RADIUS;
+
+    private BenchmarkBoards() {
+    }
+
+    /** Creates a roughly square hex board with at least the given number of fields. The fields are laid out like in the default board,
+     * with every second row shifted by half a field. The field with id 0 is in one corner, the field with the highest id in the opposite
+     * corner. The links are derived from the rows and columns directly, so this runs in linear time.
+     *
+     * @since 0.0.2
+     * @param numFields Minimum number of fields.
+     * @return The fields, already linked.
+     */
+    static List<FieldData> hexFields(int numFields) {
+        return hexFields(numFields, FieldLink::new);
+    }
+
+    /** Creates a hex board like {@link #hexFields(int) hexFields}, but with random link costs between 1 and 4. Each movement profile gets
+     * own random costs on every link.
+     *
+     * @since 0.0.2
+     * @param numFields Minimum number of fields.
+     * @param numProfiles Number of movement profiles with own costs.
+     * @param seed Seed of the random costs.
+     * @return The fields, already linked.
+     */
+    static List<FieldData> weightedHexFields(int numFields, int numProfiles, long seed) {
+        Random random = new Random(seed);
+        return hexFields(numFields, (fieldA, fieldB) -> {
+            float[] profileCosts = new float[numProfiles];
+            for (int profile = 0; profile < numProfiles; profile++) {
+                profileCosts[profile] = 1 + 3 * random.nextFloat();
+            }
+            return new FieldLink(fieldA, fieldB, 1 + 3 * random.nextFloat(), profileCosts);
+        });
+    }
+
+    /** Creates a hex board like {@link #hexFields(int) hexFields}, but with walls across the board every few rows. Each wall has a
+     * single gap of a few fields, alternately at the left and at the right end, so the way from one corner to the opposite corner winds
+     * back and forth like a serpent. This is the worst case for the straight distance as heuristic.
+     *
+     * @since 0.0.2
+     * @param numFields Minimum number of fields.
+     * @param wallSpacing Number of rows between two walls.
+     * @return The fields, already linked.
+     */
+    static List<FieldData> dungeonFields(int numFields, int wallSpacing) {
+        List<FieldData> fields = hexFields(numFields);
+        int columns = (int)Math.ceil(Math.sqrt(numFields));
+        int rows = fields.size() / columns;
+        int gapWidth = 3;
+        for (int row = wallSpacing; row < rows; row += wallSpacing) {
+            boolean gapLeft = (row / wallSpacing) % 2 == 0;
+            for (int column = 0; column < columns; column++) {
+                boolean inGap = gapLeft ? column < gapWidth : column >= columns - gapWidth;
+                if(inGap) {
+                    continue;
+                }
+                FieldData field = fields.get(row * columns + column);
+                for(FieldLink link: List.copyOf(field.getLinks())) {
+                    FieldData other = link.getFieldA() == field ? link.getFieldB() : link.getFieldA();
+                    if(other.getId() / columns == row - 1) {
+                        field.removeLink(link);
+                        other.removeLink(link);
+                    }
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static List<FieldData> hexFields(int numFields, BiFunction<FieldData, FieldData, FieldLink> linkMaker) {
+        int columns = (int)Math.ceil(Math.sqrt(numFields));
+        int rows = (numFields + columns - 1) / columns;
+
+        List<FieldData> fields = new ArrayList<>(rows * columns);
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                float x = column * DX - (row % 2 == 0 ? DX * .5f : 0);
+                float z = row * DZ;
+                fields.add(new FieldData(row * columns + column, new Vector3f(x, 0, z)));
+            }
+        }
+
+        for (int row = 0; row < rows; row++) {
+            // rows with even index are shifted to the left, so their neighbours in the row above are the fields in column c-1 and c,
+            // while for odd rows these are c and c+1
+            int shift = row % 2 == 0 ? -1 : 0;
+            for (int column = 0; column < columns; column++) {
+                FieldData field = fields.get(row * columns + column);
+                if(column > 0) {
+                    link(linkMaker.apply(field, fields.get(row * columns + column - 1)));
+                }
+                if(row > 0) {
+                    for (int other = column + shift; other <= column + shift + 1; other++) {
+                        if(other >= 0 && other < columns) {
+                            link(linkMaker.apply(field, fields.get((row - 1) * columns + other)));
+                        }
+                    }
+                }
+            }
+        }
+
+        return fields;
+    }
+
+    private static void link(FieldLink link) {
+        link.getFieldA().addLink(link);
+        link.getFieldB().addLink(link);
+    }
+
+}
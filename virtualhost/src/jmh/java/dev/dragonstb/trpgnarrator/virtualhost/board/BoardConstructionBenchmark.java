@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures the construction of the hex board including the linking of adjacent fields via the {@link SpatialIndex spatial index}.
+ * <br><br>
+ * Run with {@code gradle :virtualhost:jmh -PjmhIncludes=BoardConstructionBenchmark}.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BoardConstructionBenchmark {
+
+    /** Approximate number of fields. */
+    @Param({"10000", "100000", "1000000"})
+    private int boardSize;
+
+    private int rangeX;
+    private int rangeZ;
+
+    @Setup
+    public void setUp() {
+        // the board has 2*rangeX columns and 2*rangeZ+1 rows
+        int range = (int)Math.round(Math.sqrt(boardSize) / 2);
+        rangeX = range;
+        rangeZ = range;
+    }
+
+    @Benchmark
+    public BoardData construct() {
+        return new BoardData(rangeX, rangeZ);
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import com.jme3.math.Vector3f;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Compares flat A* against the hierarchical pathfinder for a path from one corner of the board to the opposite corner, on an open board
+ * and on a dungeon-like board with {@link BenchmarkBoards#dungeonFields(int, int) walls} every hundred rows. The hierarchy is built in the
+ * setup and is not part of the path measurements. The third benchmark removes and restores a link in the middle of the board and updates
+ * the hierarchy after each of both changes. This includes rebuilding the graph of the board, which takes the larger share of the time.
+ * <br><br>
+ * Run with {@code gradle :virtualhost:jmh -PjmhIncludes=HierarchicalPathfinderBenchmark}.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HierarchicalPathfinderBenchmark {
+
+    @Param({"250000", "1000000"})
+    private int boardSize;
+
+    @Param({"open", "dungeon"})
+    private String layout;
+
+    private BoardData data;
+    private int fromField;
+    private int toField;
+    private FieldLink toggledLink;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<FieldData> fields = "open".equals(layout) ? BenchmarkBoards.hexFields(boardSize) : BenchmarkBoards.dungeonFields(boardSize, 100);
+        data = new BoardData(fields);
+        data.getPathHierarchy();
+        fromField = 0;
+        toField = fields.size() - 1;
+        toggledLink = fields.get(fields.size() / 2).getLinks().getFirst();
+    }
+
+    @Benchmark
+    public Optional<List<Vector3f>> flat() throws Exception {
+        return new Pathfinder(fromField, toField, data).call();
+    }
+
+    @Benchmark
+    public Optional<List<Vector3f>> hierarchical() throws Exception {
+        return new HierarchicalPathfinder(fromField, toField, data).call();
+    }
+
+    @Benchmark
+    public PathHierarchy updateAfterLinkChange() {
+        data.unlinkFields(toggledLink);
+        data.getPathHierarchy();
+        toggledLink = data.linkFields(toggledLink.getFieldA(), toggledLink.getFieldB());
+        return data.getPathHierarchy();
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import com.jme3.math.Vector3f;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Compares A* with the straight distance as heuristic against A* with the landmark heuristic, on a board split by a wall across the
+ * middle of the board, with a gap at one end. The path goes from the middle of one side of the wall to the field right on the other side,
+ * so it has to make the detour through the gap, while the straight distance keeps pulling the search towards the wall. The landmarks are
+ * computed once in the setup and are not part of the measurement.
+ * <br><br>
+ * Run with {@code gradle :virtualhost:jmh -PjmhIncludes=LandmarkPathfinderBenchmark}.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LandmarkPathfinderBenchmark {
+
+    @Param({"10000", "250000"})
+    private int boardSize;
+
+    private BoardData straightData;
+    private BoardData landmarkData;
+    private int fromField;
+    private int toField;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        int columns = (int)Math.ceil(Math.sqrt(boardSize));
+        int rows = (boardSize + columns - 1) / columns;
+        int wallRow = rows / 2;
+        List<FieldData> fields = BenchmarkBoards.dungeonFields(boardSize, wallRow);
+        straightData = new BoardData(fields);
+        straightData.getGraph();
+        landmarkData = new BoardData(fields);
+        landmarkData.precomputeLandmarks(Runnable::run);
+        fromField = (wallRow + 1) * columns + columns / 2;
+        toField = (wallRow - 2) * columns + columns / 2;
+
+        // both heuristics are admissible, so they must agree on the length of the path
+        int straightLength = straightDistance().orElseThrow().size();
+        int landmarkLength = landmarks().orElseThrow().size();
+        if(straightLength != landmarkLength) {
+            throw new IllegalStateException("Paths differ in length: "+straightLength+" vs. "+landmarkLength);
+        }
+    }
+
+    @Benchmark
+    public Optional<List<Vector3f>> straightDistance() throws Exception {
+        return new Pathfinder(fromField, toField, straightData).call();
+    }
+
+    @Benchmark
+    public Optional<List<Vector3f>> landmarks() throws Exception {
+        return new Pathfinder(fromField, toField, landmarkData).call();
+    }
+
+}
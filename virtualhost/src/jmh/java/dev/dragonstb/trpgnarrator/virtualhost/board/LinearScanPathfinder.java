@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Globals;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/** The pathfinder as it was before the open set became a binary heap and the search moved to the {@link BoardGraph board graph}: the open
+ * set is a list that is scanned linearly for the minimum, decreasing a key is a no-op, and the fields are decorated by objects looked up
+ * in hash maps. Kept as the baseline for {@link PathfinderBenchmark}.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class LinearScanPathfinder implements Callable<Optional<List<Vector3f>>> {
+
+    private final int fromField;
+    private final int toField;
+    private final Map<Integer, FieldData> rawMap;
+    private final Map<Integer, FieldWrapper> map = new HashMap<>();
+    private final List<FieldWrapper> pool = new ArrayList<>();
+    private final FieldData startField;
+
+    LinearScanPathfinder(int fromField, int toField, BoardData data) {
+        this.fromField = fromField;
+        this.toField = toField;
+        this.rawMap = data.getFields();
+        this.startField = rawMap.get(fromField);
+    }
+
+    @Override
+    public Optional<List<Vector3f>> call() {
+        FieldWrapper field = new FieldWrapper(rawMap.get(toField), startField);
+        map.put(toField, field);
+        field.setKnownPathLengthToGoal(0);
+        field.setFullPathLength(field.getHeuristicDistToStart());
+        pool.add(field);
+
+        boolean success = false;
+        do {
+            field = removeMin();
+            if(field == null){
+                continue;
+            }
+            if(field.getId() == fromField) {
+                success = true;
+                break;
+            }
+            field.setInvestigated(true);
+            relax(field);
+        } while(!pool.isEmpty());
+
+        if(!success) {
+            return Optional.empty();
+        }
+
+        List<Vector3f> path = new ArrayList<>();
+        FieldWrapper next = field;
+        do {
+            path.add(next.getField().getLocation());
+            next = next.getNext();
+        } while(next != null);
+        return Optional.of(path);
+    }
+
+    private FieldWrapper removeMin() {
+        if(pool.isEmpty()) {
+            return null;
+        }
+
+        float length = Float.POSITIVE_INFINITY;
+        FieldWrapper field = null;
+        for(FieldWrapper current: pool) {
+            if(current.getFullPathLength()< length) {
+                length = current.getFullPathLength();
+                field = current;
+            }
+        }
+
+        if(field == null) {
+            return null;
+        }
+
+        pool.remove(field);
+        return field;
+    }
+
+    private void relax(FieldWrapper field) {
+        List<FieldWrapper> linked = new ArrayList<>();
+        for(FieldLink link: field.getField().getLinks()) {
+            int idOfLinked = (link.getFieldA().getId() == field.getId() ? link.getFieldB() : link.getFieldA()).getId();
+            if(!map.containsKey(idOfLinked)) {
+                FieldData other = rawMap.get(idOfLinked);
+                FieldWrapper wrapper = new FieldWrapper(other, startField);
+                map.put(idOfLinked, wrapper);
+            }
+
+            FieldWrapper other = map.get(idOfLinked);
+            if(!other.isInvestigated()) {
+                linked.add(map.get(idOfLinked));
+            }
+        }
+
+        float newDist;
+        for(FieldWrapper other: linked) {
+            newDist = field.getKnownPathLengthToGoal()+ 1;
+            if(newDist < other.getKnownPathLengthToGoal()) {
+                boolean newField = Float.isInfinite(other.getFullPathLength());
+                other.setNext(field);
+                other.setKnownPathLengthToGoal(newDist);
+                other.setFullPathLength(newDist + other.getHeuristicDistToStart());
+                if(newField) {
+                    pool.add(other);
+                }
+            }
+        }
+    }
+
+    private static final class FieldWrapper {
+
+        private final FieldData field;
+        private boolean investigated = false;
+        private float knownPathLengthToGoal = Float.POSITIVE_INFINITY;
+        private final float heuristicDistToStart;
+        private float fullPathLength = Float.POSITIVE_INFINITY;
+        private FieldWrapper next = null;
+
+        FieldWrapper(FieldData field, FieldData startField) {
+            this.field = field;
+            Vector3f here = new Vector3f(field.getLocation()).setY(0);
+            Vector3f start = new Vector3f(startField.getLocation()).setY(0);
+            heuristicDistToStart = here.distance(start) / Globals.FIELD_DIAMETER;
+        }
+
+        int getId() {
+            return field.getId();
+        }
+
+        FieldData getField() {
+            return field;
+        }
+
+        boolean isInvestigated() {
+            return investigated;
+        }
+
+        void setInvestigated(boolean investigated) {
+            this.investigated = investigated;
+        }
+
+        float getKnownPathLengthToGoal() {
+            return knownPathLengthToGoal;
+        }
+
+        void setKnownPathLengthToGoal(float knownPathLengthToGoal) {
+            this.knownPathLengthToGoal = knownPathLengthToGoal;
+        }
+
+        float getHeuristicDistToStart() {
+            return heuristicDistToStart;
+        }
+
+        float getFullPathLength() {
+            return fullPathLength;
+        }
+
+        void setFullPathLength(float fullPathLength) {
+            this.fullPathLength = fullPathLength;
+        }
+
+        FieldWrapper getNext() {
+            return next;
+        }
+
+        void setNext(FieldWrapper next) {
+            this.next = next;
+        }
+    }
+
+}
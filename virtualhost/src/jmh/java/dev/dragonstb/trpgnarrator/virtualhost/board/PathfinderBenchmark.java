@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import com.jme3.math.Vector3f;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Compares the A* search with the binary heap open set against the former linear scan open set, for a search from one corner of the
+ * board to the opposite corner.
+ * <br><br>
+ * Run with {@code gradle :virtualhost:jmh -PjmhIncludes=PathfinderBenchmark}. The linear scan becomes very slow on the large boards, so
+ * consider reducing the board sizes when running the baseline.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PathfinderBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    private int boardSize;
+
+    private BoardData data;
+    private int fromField;
+    private int toField;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<FieldData> fields = BenchmarkBoards.hexFields(boardSize);
+        data = new BoardData(fields);
+        fromField = 0;
+        toField = fields.size() - 1;
+    }
+
+    @Benchmark
+    public Optional<List<Vector3f>> binaryHeap() throws Exception {
+        return new Pathfinder(fromField, toField, data).call();
+    }
+
+    @Benchmark
+    public Optional<List<Vector3f>> linearScan() {
+        return new LinearScanPathfinder(fromField, toField, data).call();
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import com.jme3.math.Vector3f;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures A* with weighted links, from one corner of the board to the opposite corner. The unit cost board is the reference, the
+ * weighted board has random costs between 1 and 4 for the general costs and for each of three movement profiles.
+ * <br><br>
+ * Run with {@code gradle :virtualhost:jmh -PjmhIncludes=WeightedPathfinderBenchmark}. Add {@code -prof gc} to the command line of the
+ * benchmark jar to confirm that the allocation rate does not grow with the number of expanded fields.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WeightedPathfinderBenchmark {
+
+    @Param({"250000"})
+    private int boardSize;
+
+    private BoardData unitData;
+    private BoardData weightedData;
+    private int fromField;
+    private int toField;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<FieldData> unitFields = BenchmarkBoards.hexFields(boardSize);
+        unitData = new BoardData(unitFields);
+        weightedData = new BoardData(BenchmarkBoards.weightedHexFields(boardSize, 3, 42));
+        fromField = 0;
+        toField = unitFields.size() - 1;
+        // build the graphs ahead of the measurements
+        unitData.getGraph();
+        weightedData.getGraph();
+    }
+
+    @Benchmark
+    public Optional<List<Vector3f>> unitCosts() throws Exception {
+        return new Pathfinder(fromField, toField, unitData).call();
+    }
+
+    @Benchmark
+    public Optional<List<Vector3f>> weightedCosts() throws Exception {
+        return new Pathfinder(fromField, toField, weightedData).call();
+    }
+
+    @Benchmark
+    public Optional<List<Vector3f>> weightedProfileCosts() throws Exception {
+        return new Pathfinder(fromField, toField, 2, weightedData).call();
+    }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.DispatchTable;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.MessageHeadlines;
+import dev.dragonstb.trpgnarrator.virtualhost.hostconnector.HostConnector;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamed;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Compares the throughput of sending and requesting through the broker with channels, headlines and fetch codes looked up by their
+ * interned ids against the former lookup by their names: a tree map of the channels in the broker and hash maps of the handlers in the
+ * receivers.
+ * <br><br>
+ * Each channel gets a receiver with a handler for every headline and fetch code known to the virtual host. The parameter
+ * {@code extraChannels} adds further channels, as more components join the broker.
+ * <br><br>
+ * Run with {@code gradle :virtualhost:jmh -PjmhIncludes=BrokerDispatchBenchmark}.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BrokerDispatchBenchmark {
+
+    private static final String[] HEADLINES = {MessageHeadlines.PLEASE_FIND_PATH, MessageHeadlines.FOUND_PATH,
+        MessageHeadlines.PLEASE_FIND_PATHS, MessageHeadlines.FOUND_PATHS};
+    private static final String[] FETCH_CODES = {FetchCodes.BOARD_DATA, FetchCodes.BOARD_FIELD_LOCATION, FetchCodes.BOARD_PATHFINDER,
+        FetchCodes.BOARD_BATCH_PATHFINDER, FetchCodes.BOARD_VERSION, FetchCodes.BOARD_REACHABLE, FetchCodes.PATH_CACHE_STATS,
+        FetchCodes.PATHFINDING_STATS, FetchCodes.FIGURINE_FULL_LIST, FetchCodes.FIGURINE_TELEMETRY};
+
+    @Param({"0", "32"})
+    private int extraChannels;
+
+    private StringKeyedBroker byName;
+    private SyncBrokerImp byId;
+    private Message msg;
+    private FetchCommand fetch;
+    private Blackhole blackhole;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        byName = new StringKeyedBroker();
+        byId = new SyncBrokerImp(new NoConnector());
+
+        String[] channels = {ChannelNames.GET_BOARD_DATA, ChannelNames.GET_FIGURINE_DATA, ChannelNames.CONCURRENT_MANAGEMENT};
+        for (String channel : channels) {
+            byName.registerToChannel(new NameReceiver(), channel);
+            byId.registerToChannel(new IdReceiver(), CodeRegistry.CHANNELS.idOf(channel));
+        }
+        for (int idx = 0; idx < extraChannels; idx++) {
+            String channel = "benchmarkChannel"+idx;
+            byName.registerToChannel(new NameReceiver(), channel);
+            byId.registerToChannel(new IdReceiver(), CodeRegistry.CHANNELS.idOf(channel));
+        }
+
+        msg = new Message(MessageHeadlines.FOUND_PATHS, "content");
+        fetch = new FetchCommand(FetchCodes.FIGURINE_TELEMETRY, "parms");
+    }
+
+    @Benchmark
+    public void sendByName() {
+        byName.send(msg, ChannelNames.GET_FIGURINE_DATA);
+    }
+
+    @Benchmark
+    public void sendById() {
+        byId.send(msg, ChannelNames.GET_FIGURINE_DATA_ID);
+    }
+
+    @Benchmark
+    public List<Optional<Object>> requestByName() {
+        return byName.request(ChannelNames.GET_FIGURINE_DATA, fetch, true);
+    }
+
+    @Benchmark
+    public List<Optional<Object>> requestById() {
+        return byId.request(ChannelNames.GET_FIGURINE_DATA_ID, fetch, true);
+    }
+
+    /** Dispatches like the receivers did before, by the names of headlines and fetch codes. */
+    private final class NameReceiver implements Receiver {
+
+        private final Map<String, Consumer<Object>> receiveMap = new HashMap<>();
+        private final Map<String, Function<Object, Optional<Object>>> requestMap = new HashMap<>();
+
+        NameReceiver() {
+            for (String headline : HEADLINES) {
+                receiveMap.put(headline, content -> blackhole.consume(content));
+            }
+            for (String code : FETCH_CODES) {
+                requestMap.put(code, parm -> Optional.of(parm));
+            }
+        }
+
+        @Override
+        public void receive(Message msg) {
+            var function = receiveMap.get(msg.getHeadline());
+            if(function != null) {
+                function.accept(msg.getContent());
+            }
+        }
+
+        @Override
+        public Optional<Object> request(FetchCommand fetch) {
+            var function = requestMap.get(fetch.getCommand());
+            return function != null ? function.apply(fetch.getParms()) : Optional.empty();
+        }
+
+    }
+
+    /** Dispatches like the receivers do now, by the ids of headlines and fetch codes. */
+    private final class IdReceiver implements Receiver {
+
+        private final DispatchTable<Consumer<Object>> receiveMap = new DispatchTable<>();
+        private final DispatchTable<Function<Object, Optional<Object>>> requestMap = new DispatchTable<>();
+
+        IdReceiver() {
+            for (String headline : HEADLINES) {
+                receiveMap.put(CodeRegistry.HEADLINES.idOf(headline), content -> blackhole.consume(content));
+            }
+            for (String code : FETCH_CODES) {
+                requestMap.put(CodeRegistry.FETCH_CODES.idOf(code), parm -> Optional.of(parm));
+            }
+        }
+
+        @Override
+        public void receive(Message msg) {
+            var function = receiveMap.get(msg.getHeadlineId());
+            if(function != null) {
+                function.accept(msg.getContent());
+            }
+        }
+
+        @Override
+        public Optional<Object> request(FetchCommand fetch) {
+            var function = requestMap.get(fetch.getCommandId());
+            return function != null ? function.apply(fetch.getParms()) : Optional.empty();
+        }
+
+    }
+
+    /** The benchmark does not send anything outbound. */
+    private static final class NoConnector implements HostConnector {
+
+        @Override
+        public void linkBroker(SynchronousBroker broker) {
+        }
+
+        @Override
+        public void sendOutbound(VHStreamed object) {
+        }
+
+    }
+
+}
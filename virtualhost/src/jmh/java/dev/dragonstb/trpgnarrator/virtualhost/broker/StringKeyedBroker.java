@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/** The channel lookup of {@link SyncBrokerImp} as it was before the channels were indexed by interned ids: the channels are kept in a
+ * tree map keyed by their names. Kept as the baseline for {@link BrokerDispatchBenchmark}.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class StringKeyedBroker {
+
+    private final Map<String, BrokerChannel> channels = new TreeMap<>();
+
+    void registerToChannel(Receiver receiver, String channel) {
+        channels.computeIfAbsent(channel, name -> new BrokerChannel(name, -1)).addReceiver(receiver);
+    }
+
+    void send(Message msg, String channelName) {
+        BrokerChannel channel = channels.get(channelName);
+        if(channel != null) {
+            channel.send(msg);
+        }
+    }
+
+    List<Optional<Object>> request(String channelName, FetchCommand fetch, boolean skipEmpties) {
+        BrokerChannel channel = channels.get(channelName);
+        return channel!=null ? channel.request(fetch, skipEmpties) : new ArrayList<>();
+    }
+
+}
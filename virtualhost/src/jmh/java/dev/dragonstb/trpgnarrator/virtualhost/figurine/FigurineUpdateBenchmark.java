@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.figurine;
+
+import com.jme3.math.Vector3f;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/** Measures how the time of one tick of the figurines scales with the number of threads moving them. One thread moves all figurines
+ * sequentially, more threads split them into one chunk per thread, moved by the thread of the tick and a fork-join pool. The chunks are
+ * sized from the parameters rather than {@link FigurineStore#CHUNK_SIZE}, so every thread has work even for fewer figurines. The
+ * figurines walk along paths so long that they never arrive during the benchmark.
+ * <br><br>
+ * Run with {@code gradle :virtualhost:jmh -PjmhIncludes=FigurineUpdateBenchmark}.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FigurineUpdateBenchmark {
+
+    private static final float TPF = 1f / 30;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    private int threads;
+
+    @Param({"10000", "100000"})
+    private int figurines;
+
+    private ForkJoinPool pool;
+    private FigurineStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // the tick thread moves one chunk itself, so the pool needs one worker less
+        pool = threads > 1 ? new ForkJoinPool(threads - 1) : null;
+        store = new FigurineStore(pool, (figurines + threads - 1) / threads);
+        List<Vector3f> path = List.of(new Vector3f(0, 0, 0), new Vector3f(100, 0, 0), new Vector3f(100, 0, 100));
+        for (int idx = 0; idx < figurines; idx++) {
+            int handle = store.add();
+            store.setPath(handle, path, 1e6f, 0);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if(pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void advance() {
+        store.advance(TPF);
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.PathfindingStrategy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import lombok.NonNull;
+
+/** Finds several paths one after another on the same snapshot of the board, reusing the same working memory for all searches. Meant for
+ * answering the path requests of many figurines with a single task.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class BatchPathfinder implements Callable<List<Optional<List<Vector3f>>>> {
+
+    /** Start, goal, movement profile, and budget of each path. */
+    private final List<PathfindingConfig> configs;
+    /** The graph of the board at the time of creation of this pathfinder. */
+    private final BoardGraph graph;
+    /** The board, which provides the path hierarchy, or {@code null} if all paths are found with flat A*. */
+    private final BoardData hierarchyData;
+    /** Counts the outcomes of the searches. */
+    private final PathfindingMetrics metrics;
+
+    BatchPathfinder(@NonNull List<PathfindingConfig> configs, @NonNull BoardData data) {
+        this(configs, data, PathfindingStrategy.flat);
+    }
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param configs Start, goal, movement profile, and budget of each path.
+     * @param data The board.
+     * @param strategy How paths are found. The hierarchical strategy applies to paths with the default movement profile only.
+     */
+    BatchPathfinder(@NonNull List<PathfindingConfig> configs, @NonNull BoardData data, @NonNull PathfindingStrategy strategy) {
+        this.configs = List.copyOf(configs);
+        this.graph = data.getGraph();
+        this.hierarchyData = strategy == PathfindingStrategy.hierarchical ? data : null;
+        this.metrics = data.getPathfindingMetrics();
+    }
+
+    /** Finds the paths.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return One entry for each config, in the same order as the configs. An entry is empty if there is no path for its config.
+     * @throws InterruptedException If interrupted between two searches or during a search.
+     */
+    @Override
+    public List<Optional<List<Vector3f>>> call() throws InterruptedException {
+        List<Optional<List<Vector3f>>> paths = new ArrayList<>(configs.size());
+        PathHierarchy hierarchy = hierarchyData != null ? hierarchyData.getPathHierarchy() : null;
+        SearchSpace space = graph.acquireSearchSpace();
+        try {
+            for(PathfindingConfig config: configs) {
+                if(Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                if(hierarchy != null && config.getMovementProfile() == hierarchy.getMovementProfile()) {
+                    paths.add(HierarchicalPathfinder.findPath(hierarchy, config.getFromField(), config.getToField(), metrics));
+                    continue;
+                }
+                space.reset();
+                Pathfinder finder = new Pathfinder(config.getFromField(), config.getToField(), config.getMovementProfile(),
+                        config.getBudget(), graph, metrics);
+                paths.add(finder.findPath(space));
+            }
+        }
+        finally {
+            graph.releaseSearchSpace(space);
+        }
+        return paths;
+    }
+
+}
@@ -26,6 +26,8 @@ import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.PathfindingStrategy;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 /**
  *
@@ -38,6 +40,10 @@ import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
 public final class BoardBuilder {
 
     private SynchronousBroker broker = null;
+    /** Optional. If present, landmarks for the pathfinding are precomputed in this executor. */
+    private ScheduledThreadPoolExecutor executor = null;
+    /** How paths are found. */
+    @NonNull private PathfindingStrategy pathfindingStrategy = PathfindingStrategy.flat;
 
     @NonNull
     public Board build() {
@@ -49,7 +55,14 @@ public final class BoardBuilder {
         }
 
         BoardData data = new BoardData();
-        BoardController controller = new BoardController(broker, data); // registers itself to broker
+        if(executor != null) {
+            data.precomputeLandmarks(executor);
+            if(pathfindingStrategy == PathfindingStrategy.hierarchical) {
+                // build the hierarchy ahead of the first path request
+                executor.execute(data::getPathHierarchy);
+            }
+        }
+        BoardController controller = new BoardController(broker, data, pathfindingStrategy); // registers itself to broker
         return controller;
     }
 
@@ -22,18 +22,24 @@ package dev.dragonstb.trpgnarrator.virtualhost.board;
 
 import com.jme3.math.Vector3f;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.ChannelNames;
+import dev.dragonstb.trpgnarrator.virtualhost.broker.FetchKeys;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.Receiver;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
 import dev.dragonstb.trpgnarrator.virtualhost.error.BoardFieldNotFoundException;
 import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.DispatchTable;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.ReachabilityConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.PathfindingStrategy;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
-import java.util.HashMap;
-import java.util.Map;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PathfindingStatsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReachableFieldsDTO;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.function.Function;
 import lombok.NonNull;
 
@@ -48,15 +54,29 @@ final class BoardController implements Board, Receiver {
     private final SynchronousBroker broker;
     /** The data that describes the board itself. */
     private final BoardData data;
-    private final Map<String, Function<Object, Optional<Object>>> requestMap = new HashMap<>();
+    /** How paths are found. */
+    private final PathfindingStrategy pathfindingStrategy;
+    private final DispatchTable<Function<Object, Optional<Object>>> requestMap = new DispatchTable<>();
 
     BoardController(@NonNull SynchronousBroker broker, @NonNull BoardData data) {
+        this(broker, data, PathfindingStrategy.flat);
+    }
+
+    BoardController(@NonNull SynchronousBroker broker, @NonNull BoardData data, @NonNull PathfindingStrategy pathfindingStrategy) {
         this.broker = broker;
         this.data = data;
-        broker.registerToChannel(this, ChannelNames.GET_BOARD_DATA);
-
-        requestMap.put(FetchCodes.BOARD_DATA, this::getBoardData);
-        requestMap.put(FetchCodes.BOARD_FIELD_LOCATION, this::getBoardFieldLocation);
+        this.pathfindingStrategy = pathfindingStrategy;
+        broker.registerToChannel(this, ChannelNames.GET_BOARD_DATA_ID);
+
+        String code = VHostErrorCodes.V78642;
+        requestMap.put(FetchCodes.BOARD_DATA_ID, FetchKeys.BOARD_DATA.handler(this::getBoardData, code));
+        requestMap.put(FetchCodes.BOARD_FIELD_LOCATION_ID, FetchKeys.BOARD_FIELD_LOCATION.handler(this::getBoardFieldLocation, code));
+        requestMap.put(FetchCodes.BOARD_FIELD_AT_ID, FetchKeys.BOARD_FIELD_AT.handler(this::getBoardFieldAt, code));
+        requestMap.put(FetchCodes.BOARD_PATHFINDER_ID, FetchKeys.BOARD_PATHFINDER.handler(this::getPathfinder, code));
+        requestMap.put(FetchCodes.BOARD_BATCH_PATHFINDER_ID, FetchKeys.BOARD_BATCH_PATHFINDER.handler(this::getBatchPathfinder, code));
+        requestMap.put(FetchCodes.BOARD_VERSION_ID, FetchKeys.BOARD_VERSION.handler(this::getBoardVersion, code));
+        requestMap.put(FetchCodes.BOARD_REACHABLE_ID, FetchKeys.BOARD_REACHABLE.handler(this::getReachableFields, code));
+        requestMap.put(FetchCodes.PATHFINDING_STATS_ID, FetchKeys.PATHFINDING_STATS.handler(this::getPathfindingStats, code));
     }
 
     @Override
@@ -66,10 +86,9 @@ final class BoardController implements Board, Receiver {
 
     @Override
     public Optional<Object> request(FetchCommand fetch) {
-        String cmd = fetch.getCommand();
         Object parm = fetch.getParms();
 
-        var function = requestMap.get(cmd);
+        var function = requestMap.get(fetch.getCommandId());
         Optional<Object> opt = function != null ? function.apply(parm) : Optional.empty();
         return opt;
     }
@@ -83,7 +102,7 @@ final class BoardController implements Board, Receiver {
      * @param parm is ignored, just required due to the structure of the code.
      * @return The boar data.
      */
-    private Optional<Object> getBoardData(Object parm) {
+    private Optional<BoardDataDTO> getBoardData(Void parm) {
         BoardDataDTO dto = data.asDTO();
         return Optional.of(dto);
     }
@@ -92,48 +111,57 @@ final class BoardController implements Board, Receiver {
      *
      * @since 0.0.2
      * @author Dragonstb
-     * @param parm An Integer with the Id of the field.
+     * @param id Id of the field.
      * @return Location of the field. Might be empty if no field has the provided id
-     * @throws ClassCastException When the argument is null or of another class than integer.
      */
-    private Optional<Object> getBoardFieldLocation(Object parm) {
-        int id;
-        try {
-            id = (Integer)parm;
-        }
-        catch (Exception e) {
-            String code = VHostErrorCodes.V78642;
-            String msg = "Expected id of field to be an integer, but got instance of class "
-                    + (parm != null ? parm.getClass().getSimpleName() : "null") + " instead";
-            String use = VHostErrorCodes.assembleCodedMsg(msg, code);
-            throw new ClassCastException(use);
-        }
-
+    private Optional<Vector3f> getBoardFieldLocation(Integer id) {
         Vector3f loc = data.getLocationOfField(id);
         return Optional.ofNullable(loc);
     }
 
-    /** Gets a {@link Pathfinder Pathfinder} that can be submitted thread pool executor.
+    /** Gets the field at a location.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param location The location.
+     * @return Id of the field. Empty if there is no field at the location.
+     */
+    private Optional<Integer> getBoardFieldAt(Vector3f location) {
+        return Optional.ofNullable(data.getFieldIdAt(location));
+    }
+
+    /** Gets the version of the topology of the board.
      *
      * @since 0.0.2
      * @author Dragonstb
-     * @param parm An object of class {@link dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig {athfinderConfig}.
+     * @param parm is ignored, just required due to the structure of the code.
+     * @return A Long with the version.
+     */
+    private Optional<Long> getBoardVersion(Void parm) {
+        return Optional.of(data.getVersion());
+    }
+
+    /** Gets the counters of the pathfinders of the board.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param parm is ignored, just required due to the structure of the code.
+     * @return The counters.
+     */
+    private Optional<PathfindingStatsDTO> getPathfindingStats(Void parm) {
+        return Optional.of(data.getPathfindingMetrics().getStats());
+    }
+
+    /** Gets a {@link Pathfinder Pathfinder} that can be submitted thread pool executor. With the hierarchical strategy, it is a
+     * {@link HierarchicalPathfinder HierarchicalPathfinder} for the default movement profile.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param conf Start, goal, and movement profile of the path.
      * @return Optional with a callable.
      */
-    private Optional<Object> getPathfinder(Object parm) {
+    private Optional<Callable<Optional<List<Vector3f>>>> getPathfinder(PathfindingConfig conf) {
         String errCode = VHostErrorCodes.V11349;
-        PathfindingConfig conf ;
-        try {
-            conf = (PathfindingConfig)parm;
-        }
-        catch (Exception e) {
-            String code = VHostErrorCodes.V78642;
-            String msg = "Expected parameter to be a PathfindingConfig, but got an instance of class "
-                    + (parm != null ? parm.getClass().getSimpleName() : "null") + " instead";
-            String use = VHostErrorCodes.assembleCodedMsg(msg, code);
-            throw new ClassCastException(use);
-        }
-
         int fromField = conf.getFromField();
         int toField = conf.getToField();
 
@@ -148,8 +176,59 @@ final class BoardController implements Board, Receiver {
             throw new BoardFieldNotFoundException(use);
         }
 
-        Pathfinder finder = new Pathfinder(fromField, toField, data);
+        if(usesHierarchy(conf)) {
+            return Optional.of(new HierarchicalPathfinder(fromField, toField, data));
+        }
+        Pathfinder finder = new Pathfinder(conf, data);
+        return Optional.of(finder);
+    }
+
+    /** Gets a {@link BatchPathfinder BatchPathfinder} that can be submitted to a thread pool executor.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param configs The configs of the paths.
+     * @return Optional with a callable.
+     * @throws ClassCastException When the argument is not a list of pathfinding configs.
+     */
+    private Optional<Callable<List<Optional<List<Vector3f>>>>> getBatchPathfinder(List<PathfindingConfig> configs) {
+        // only the list itself is checked by the key, so look at the elements as plain objects
+        List<?> elements = configs;
+        if(!elements.stream().allMatch(PathfindingConfig.class::isInstance)) {
+            String code = VHostErrorCodes.V78642;
+            String msg = "Expected parameter to be a list of PathfindingConfig, but some elements are not";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, code);
+            throw new ClassCastException(use);
+        }
+
+        BatchPathfinder finder = new BatchPathfinder(configs, data, pathfindingStrategy);
         return Optional.of(finder);
     }
 
+    /** Checks if the path of the config is found with the {@link PathHierarchy path hierarchy}, which exists for the default movement
+     * profile only.
+     *
+     * @since 0.0.2
+     * @param conf Config of the path.
+     * @return {@code True} if the hierarchy is used.
+     */
+    private boolean usesHierarchy(PathfindingConfig conf) {
+        return pathfindingStrategy == PathfindingStrategy.hierarchical
+                && conf.getMovementProfile() == PathfindingConfig.DEFAULT_MOVEMENT_PROFILE;
+    }
+
+    /** Finds all fields reachable from a field.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param conf Start field, movement points, and movement profile.
+     * @return Optional with the reachable fields.
+     * @throws BoardFieldNotFoundException When the start field does not exist.
+     */
+    private Optional<ReachableFieldsDTO> getReachableFields(ReachabilityConfig conf) {
+        ReachableFieldsDTO dto = new RangeFinder(data).find(conf.getFromField(), conf.getMovementPoints(),
+                conf.getMovementProfile());
+        return Optional.of(dto);
+    }
+
 }
@@ -21,17 +21,21 @@
 package dev.dragonstb.trpgnarrator.virtualhost.board;
 
 import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.error.BoardFieldNotFoundException;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.Globals;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
-import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
-import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FieldDataDTO;
-import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FieldLinkDTO;
-import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
 import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.NonNull;
 
 /** Collection of all {@link FieldData FieldData} and some stuff for dealing with them.
  *
@@ -42,23 +46,66 @@ final class BoardData {
 
     /** All fields of the board. */
     @Getter(AccessLevel.PACKAGE) private final Map<Integer, FieldData> fields = new HashMap<>();
+    /** Compact graph view of the fields, created on first demand. */
+    private volatile BoardGraph graph = null;
+    /** Spatial index of the fields, created on first demand. */
+    private volatile SpatialIndex spatialIndex = null;
+    /** Version of the topology of the board. Increases each time fields become linked or unlinked. */
+    @Getter(AccessLevel.PACKAGE) private volatile long version = 0;
+    /** Computes the landmarks in the background, or {@code null} if the board does not use landmarks. */
+    private volatile Executor landmarkExecutor = null;
+    /** The most recent landmark table, which might belong to an outdated graph. */
+    private volatile LandmarkTable landmarks = null;
+    /** The most recent path hierarchy, which might belong to an outdated graph. Guarded by {@link #fields}. */
+    private PathHierarchy pathHierarchy = null;
+    /** Ids of the fields whose links have changed since the {@link #pathHierarchy path hierarchy} has been made. Guarded by
+     * {@link #fields}. */
+    private final Set<Integer> changedSinceHierarchy = new HashSet<>();
+    /** Counts the outcomes of the searches of the pathfinders of this board. */
+    @Getter(AccessLevel.PACKAGE) private final PathfindingMetrics pathfindingMetrics = new PathfindingMetrics();
 
     BoardData() {
-        init();
+        this(5, 5);
+    }
+
+    /** Generates the mock board of early development in the given size.
+     *
+     * @since 0.0.2
+     * @param rangeX The board has {@code 2*rangeX} columns.
+     * @param rangeZ The board has {@code 2*rangeZ+1} rows.
+     */
+    BoardData(int rangeX, int rangeZ) {
+        init(rangeX, rangeZ);
+    }
+
+    /** Generates a board that consists of the given fields. The fields are expected to be linked with each other already.
+     *
+     * @since 0.0.2
+     * @param fields The fields of the board.
+     * @throws IllegalArgumentException If two fields share the same id.
+     */
+    BoardData(@NonNull Collection<FieldData> fields) throws IllegalArgumentException {
+        String errCode = VHostErrorCodes.V37521;
+        for(FieldData field: fields) {
+            if(this.fields.putIfAbsent(field.getId(), field) != null) {
+                String msg = "Field ids must be unique, but the id "+field.getId()+" is used more than once.";
+                String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+                throw new IllegalArgumentException(use);
+            }
+        }
     }
 
     /** A mocking method used in early development.
      * @since 0.0.1
+     * @param rangeX The board has {@code 2*rangeX} columns.
+     * @param rangeZ The board has {@code 2*rangeZ+1} rows.
      */
-    private void init() {
+    private void init(int rangeX, int rangeZ) {
         // TODO: stop using this simple, stupid initialization and derive the objects from some sort of data
         float d = Globals.FIELD_RADIUS;
         float dx = d * (float)Math.sqrt(3); // this is also the distance between the centers of two adjacent fields
         float dz = 1.5f * d;
 
-        int rangeZ = 5;
-        int rangeX = 5;
-
         float x, z;
         float y = 0f;
         int nextId = 0;
@@ -76,18 +123,8 @@ final class BoardData {
             }
         }
 
-        fields.values().forEach(field -> {
-            fields.values().stream().filter(otherField -> otherField.getId() < field.getId()).forEach(otherField -> {
-                // for each pair of adjacent fields, create a link once
-                float dist = field.getLocation().subtract( otherField.getLocation() ).length();
-                if( Math.abs(dist-dx) < .01f ) {
-                    FieldLink link = new FieldLink(field, otherField);
-                    field.addLink(link);
-                    otherField.addLink(link);
-                }
-            });
-        });
-
+        // for each pair of adjacent fields, create a link once
+        getSpatialIndex().linkAdjacentFields(dx, .01f);
     }
 
     /** Creates a new, immutable representation of the board model data.
@@ -97,15 +134,201 @@ final class BoardData {
      * @return An object for transferring the board data.
      */
     BoardDataDTO asDTO() {
-        List<FieldDataDTO> fieldDtos = fields.values().stream().map(fld -> fld.asDTO()).collect(Collectors.toList());
-        Set<FieldLinkDTO> linkDtos = fields.values().stream()
-                .flatMap(fld -> fld.getLinks()
-                        .stream()
-                        .map(lnk -> lnk.asDTO()))
-                .collect(Collectors.toSet());
+        return getGraph().asDTO();
+    }
+
+    /** Gets the compact graph view of the board, which is created on the first call.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return The graph of the board.
+     */
+    BoardGraph getGraph() {
+        BoardGraph current = graph;
+        if(current == null) {
+            synchronized (fields) {
+                current = graph;
+                if(current == null) {
+                    current = new BoardGraph(fields.values());
+                    graph = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /** Starts computing the {@link LandmarkTable landmarks} for the default movement profile in the background. Once done, they are
+     * attached to the graph and used by all pathfinders created from then on. Whenever the topology changes, the landmarks are updated for
+     * the new graph in the background, too.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param executor Executor for the background computations.
+     */
+    void precomputeLandmarks(@NonNull Executor executor) {
+        landmarkExecutor = executor;
+        scheduleLandmarks();
+    }
+
+    private void scheduleLandmarks() {
+        Executor executor = landmarkExecutor;
+        if(executor == null) {
+            return;
+        }
+        try {
+            executor.execute(this::updateLandmarks);
+        }
+        catch (RejectedExecutionException e) {
+            // landmarks are optional, pathfinders do fine without them
+        }
+    }
+
+    /** Provides the current graph with landmarks, either by repairing the most recent landmarks or by building new ones. */
+    private void updateLandmarks() {
+        BoardGraph current = getGraph();
+        if(current.getLandmarks() != null) {
+            return;
+        }
 
-        BoardDataDTO dto = new BoardDataDTO(fieldDtos, linkDtos);
-        return dto;
+        LandmarkTable previous = landmarks;
+        LandmarkTable table;
+        if(previous != null && previous.getRepairs() < LandmarkTable.MAX_REPAIRS && previous.fits(current)) {
+            table = previous.repairedFor(current);
+        }
+        else {
+            table = LandmarkTable.build(current, PathfindingConfig.DEFAULT_MOVEMENT_PROFILE, LandmarkTable.DEFAULT_NUM_LANDMARKS);
+        }
+        landmarks = table;
+        current.setLandmarks(table);
+    }
+
+    /** Gets the {@link PathHierarchy path hierarchy} of the current graph for the default movement profile. It is built on the first call.
+     * After the topology has changed, the previous hierarchy is updated in the clusters of the changed fields only.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return The path hierarchy.
+     */
+    PathHierarchy getPathHierarchy() {
+        synchronized (fields) {
+            BoardGraph current = getGraph();
+            PathHierarchy hierarchy = pathHierarchy;
+            if(hierarchy != null && hierarchy.getGraph() == current) {
+                return hierarchy;
+            }
+
+            if(hierarchy == null) {
+                hierarchy = PathHierarchy.build(current, PathfindingConfig.DEFAULT_MOVEMENT_PROFILE, PathHierarchy.DEFAULT_CLUSTER_SIZE);
+            }
+            else {
+                int[] changed = changedSinceHierarchy.stream().mapToInt(Integer::intValue).toArray();
+                hierarchy = hierarchy.updatedFor(current, changed);
+            }
+            changedSinceHierarchy.clear();
+            pathHierarchy = hierarchy;
+            return hierarchy;
+        }
+    }
+
+    /** Gets the spatial index of the fields, which is created on the first call.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return The spatial index of the board.
+     */
+    SpatialIndex getSpatialIndex() {
+        SpatialIndex current = spatialIndex;
+        if(current == null) {
+            synchronized (fields) {
+                current = spatialIndex;
+                if(current == null) {
+                    current = new SpatialIndex(fields.values(), Globals.FIELD_DIAMETER);
+                    spatialIndex = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /** Links two fields of this board with the default cost and increases the {@link #version version}.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param fieldA The one field.
+     * @param fieldB The other field.
+     * @return The new link.
+     * @throws BoardFieldNotFoundException If at least one of the fields is not part of this board.
+     */
+    FieldLink linkFields(@NonNull FieldData fieldA, @NonNull FieldData fieldB) throws BoardFieldNotFoundException {
+        return linkFields(fieldA, fieldB, FieldLink.DEFAULT_COST, null);
+    }
+
+    /** Links two fields of this board and increases the {@link #version version}.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param fieldA The one field.
+     * @param fieldB The other field.
+     * @param cost Cost of moving along the link for all movement profiles without an own cost.
+     * @param profileCosts Costs of moving along the link, indexed by the movement profile. Can be {@code null}.
+     * @return The new link.
+     * @throws BoardFieldNotFoundException If at least one of the fields is not part of this board.
+     * @throws IllegalArgumentException If a cost is negative or not a number.
+     */
+    FieldLink linkFields(@NonNull FieldData fieldA, @NonNull FieldData fieldB, float cost, float[] profileCosts)
+            throws BoardFieldNotFoundException, IllegalArgumentException {
+        synchronized (fields) {
+            ensureOnBoard(fieldA);
+            ensureOnBoard(fieldB);
+            FieldLink link = new FieldLink(fieldA, fieldB, cost, profileCosts);
+            fieldA.addLink(link);
+            fieldB.addLink(link);
+            topologyChanged(fieldA, fieldB);
+            return link;
+        }
+    }
+
+    /** Removes the link between two fields and increases the {@link #version version}.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param link The link to be removed.
+     * @return {@code True} if the link existed.
+     */
+    boolean unlinkFields(@NonNull FieldLink link) {
+        synchronized (fields) {
+            boolean removedA = link.getFieldA().removeLink(link);
+            boolean removedB = link.getFieldB().removeLink(link);
+            if(removedA || removedB) {
+                topologyChanged(link.getFieldA(), link.getFieldB());
+            }
+            return removedA || removedB;
+        }
+    }
+
+    private void ensureOnBoard(FieldData field) throws BoardFieldNotFoundException {
+        if(fields.get(field.getId()) != field) {
+            String errCode = VHostErrorCodes.V11349;
+            String msg = "The field with id "+field.getId()+" is not part of this board.";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new BoardFieldNotFoundException(use);
+        }
+    }
+
+    /** Drops everything derived from the topology and increases the version. Call only while holding the lock on {@link #fields}.
+     *
+     * @since 0.0.2
+     * @param fieldA The one field whose links have changed.
+     * @param fieldB The other field whose links have changed.
+     */
+    private void topologyChanged(FieldData fieldA, FieldData fieldB) {
+        graph = null;
+        if(pathHierarchy != null) {
+            changedSinceHierarchy.add(fieldA.getId());
+            changedSinceHierarchy.add(fieldB.getId());
+        }
+        version++;
+        scheduleLandmarks();
     }
 
     /** Fetches the location of a board field.
@@ -120,4 +343,16 @@ final class BoardData {
         return field != null ? field.getLocation() : null;
     }
 
+    /** Finds the field at a location, see {@link SpatialIndex#getFieldAt(float, float)}.
+     *
+     * @author Dragonstb
+     * @since 0.0.2
+     * @param location The location. Only its horizontal coordinates matter.
+     * @return Id of the field, or {@code null} if there is no field at the location.
+     */
+    Integer getFieldIdAt(@NonNull Vector3f location) {
+        FieldData field = getSpatialIndex().getFieldAt(location.x, location.z);
+        return field != null ? field.getId() : null;
+    }
+
 }
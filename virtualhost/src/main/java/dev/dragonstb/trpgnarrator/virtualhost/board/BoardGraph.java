@@ -0,0 +1,367 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FieldDataDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FieldLinkDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+/** Immutable, compact view of the board as a graph in compressed sparse row layout. The field ids are remapped to dense indices
+ * {@code 0..n-1}, in ascending order of the ids. The linked fields of the field with index {@code i} are the entries
+ * {@code neighbours[offsets[i]]} to {@code neighbours[offsets[i+1]-1]}. Each link shows up twice, once for each of the fields it links.
+ * The costs of the links are stored in arrays parallel to the neighbours, one array for the general costs and one for each movement
+ * profile that has own costs on at least one link.
+ * <br><br>
+ * The graph is a snapshot of the topology of the {@link BoardData board} at the time of its creation. A {@link LandmarkTable landmark
+ * table} can be attached later on, once it has been computed in the background.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class BoardGraph {
+
+    /** Returned by {@link #indexOf(int) indexOf} for ids that do not belong to a field. */
+    static final int NO_FIELD = -1;
+
+    /** Maps the dense index to the field id. Sorted ascending. */
+    private final int[] fieldIds;
+    /** If the ids are dense enough, this maps {@code id - minId} to the index. Otherwise {@code null}, and ids are looked up by binary
+     * search in {@link #fieldIds}. */
+    private final int[] indexByOffsetId;
+    /** The lowest field id. */
+    private final int minId;
+    /** Start of the linked fields of each field in {@link #neighbours}, plus one entry for the end of the last field. */
+    private final int[] offsets;
+    /** Indices of the linked fields. */
+    private final int[] neighbours;
+    /** General costs of the links, parallel to {@link #neighbours}. */
+    private final float[] costs;
+    /** Costs of the links for each movement profile, each array parallel to {@link #neighbours}. Profiles beyond the end use
+     * {@link #costs}. */
+    private final float[][] profileCosts;
+    /** Lowest finite cost per WU of horizontal length of the links of each movement profile, and of the general costs at the last
+     * position. */
+    private final float[] heuristicScales;
+    /** X coordinates of the field centres. */
+    private final float[] x;
+    /** Y coordinates of the field centres. */
+    private final float[] y;
+    /** Z coordinates of the field centres. */
+    private final float[] z;
+    /** Reusable working memory for searches on this graph. */
+    private final ConcurrentLinkedQueue<SearchSpace> searchSpaces = new ConcurrentLinkedQueue<>();
+    /** Landmarks for the heuristic of A*, or {@code null} as long as none are available. */
+    @Getter(AccessLevel.PACKAGE) @Setter(AccessLevel.PACKAGE) private volatile LandmarkTable landmarks = null;
+
+    /** Builds the graph from the fields and their links.
+     *
+     * @since 0.0.2
+     * @param fields All fields of the board. Links to fields not contained in this collection are ignored.
+     */
+    BoardGraph(@NonNull Collection<FieldData> fields) {
+        int size = fields.size();
+        fieldIds = new int[size];
+        int pos = 0;
+        for(FieldData field: fields) {
+            fieldIds[pos++] = field.getId();
+        }
+        Arrays.sort(fieldIds);
+
+        minId = size > 0 ? fieldIds[0] : 0;
+        long span = size > 0 ? (long)fieldIds[size - 1] - minId + 1 : 0;
+        if(span <= 2L * size + 16) {
+            // dense enough for a direct lookup table
+            indexByOffsetId = new int[(int)span];
+            Arrays.fill(indexByOffsetId, NO_FIELD);
+            for (int idx = 0; idx < size; idx++) {
+                indexByOffsetId[fieldIds[idx] - minId] = idx;
+            }
+        }
+        else {
+            indexByOffsetId = null;
+        }
+
+        FieldData[] byIndex = new FieldData[size];
+        for(FieldData field: fields) {
+            byIndex[indexOf(field.getId())] = field;
+        }
+
+        x = new float[size];
+        y = new float[size];
+        z = new float[size];
+        offsets = new int[size + 1];
+        int numEntries = 0;
+        int numProfiles = 0;
+        for (int idx = 0; idx < size; idx++) {
+            FieldData field = byIndex[idx];
+            x[idx] = field.getLocation().x;
+            y[idx] = field.getLocation().y;
+            z[idx] = field.getLocation().z;
+            offsets[idx] = numEntries;
+            numEntries += field.getLinks().size();
+            for(FieldLink link: field.getLinks()) {
+                numProfiles = Math.max(numProfiles, link.numProfileCosts());
+            }
+        }
+        offsets[size] = numEntries;
+
+        int[] entries = new int[numEntries];
+        float[] entryCosts = new float[numEntries];
+        float[][] entryProfileCosts = new float[numProfiles][numEntries];
+        int next = 0;
+        for (int idx = 0; idx < size; idx++) {
+            FieldData field = byIndex[idx];
+            for(FieldLink link: field.getLinks()) {
+                FieldData other = link.getFieldA() == field ? link.getFieldB() : link.getFieldA();
+                int otherIdx = indexOf(other.getId());
+                if(otherIdx != NO_FIELD && byIndex[otherIdx] == other) {
+                    entryCosts[next] = link.getCost();
+                    for (int profile = 0; profile < numProfiles; profile++) {
+                        entryProfileCosts[profile][next] = link.getCost(profile);
+                    }
+                    entries[next++] = otherIdx;
+                }
+            }
+            // links to unknown fields were skipped, so the entries of this field may end earlier than anticipated
+            offsets[idx + 1] = next;
+        }
+        if(next == numEntries) {
+            neighbours = entries;
+            costs = entryCosts;
+            profileCosts = entryProfileCosts;
+        }
+        else {
+            neighbours = Arrays.copyOf(entries, next);
+            costs = Arrays.copyOf(entryCosts, next);
+            profileCosts = new float[numProfiles][];
+            for (int profile = 0; profile < numProfiles; profile++) {
+                profileCosts[profile] = Arrays.copyOf(entryProfileCosts[profile], next);
+            }
+        }
+
+        heuristicScales = new float[numProfiles + 1];
+        for (int profile = 0; profile < numProfiles; profile++) {
+            heuristicScales[profile] = minCostPerLength(profileCosts[profile]);
+        }
+        heuristicScales[numProfiles] = minCostPerLength(costs);
+    }
+
+    /** Lowest finite cost per WU of horizontal length over all links, or 0 if there is none. Links without horizontal length do not get
+     * any closer to a goal, so they are left out. */
+    private float minCostPerLength(float[] linkCosts) {
+        float min = Float.POSITIVE_INFINITY;
+        for (int idx = 0; idx < size(); idx++) {
+            for (int pos = offsets[idx]; pos < offsets[idx + 1]; pos++) {
+                float length = horizontalDistance(idx, neighbours[pos]);
+                if(length > 0) {
+                    min = Math.min(min, linkCosts[pos] / length);
+                }
+            }
+        }
+        return min < Float.POSITIVE_INFINITY ? min : 0;
+    }
+
+    /** Gets the dense index of the field.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param fieldId Id of the field.
+     * @return The index, or {@link #NO_FIELD} if no field has this id.
+     */
+    int indexOf(int fieldId) {
+        if(indexByOffsetId != null) {
+            long offsetId = (long)fieldId - minId;
+            return offsetId >= 0 && offsetId < indexByOffsetId.length ? indexByOffsetId[(int)offsetId] : NO_FIELD;
+        }
+
+        int idx = Arrays.binarySearch(fieldIds, fieldId);
+        return idx >= 0 ? idx : NO_FIELD;
+    }
+
+    int size() {
+        return fieldIds.length;
+    }
+
+    /** Checks if the other graph has exactly the same fields, so that the indices of the fields are the same in both graphs.
+     *
+     * @since 0.0.2
+     * @param other Another graph.
+     * @return {@code True} if both graphs have the same field ids.
+     */
+    boolean hasSameFields(@NonNull BoardGraph other) {
+        return Arrays.equals(fieldIds, other.fieldIds);
+    }
+
+    int fieldId(int index) {
+        return fieldIds[index];
+    }
+
+    float x(int index) {
+        return x[index];
+    }
+
+    float y(int index) {
+        return y[index];
+    }
+
+    float z(int index) {
+        return z[index];
+    }
+
+    /** Position of the first linked field of the field in the neighbour array.
+     *
+     * @since 0.0.2
+     * @param index Index of the field.
+     * @return Position, to be used with {@link #neighbour(int) neighbour}.
+     */
+    int firstLink(int index) {
+        return offsets[index];
+    }
+
+    /** Position after the last linked field of the field in the neighbour array.
+     *
+     * @since 0.0.2
+     * @param index Index of the field.
+     * @return Position, exclusive.
+     */
+    int endOfLinks(int index) {
+        return offsets[index + 1];
+    }
+
+    /** Gets the index of a linked field.
+     *
+     * @since 0.0.2
+     * @param position Position in the neighbour array, between {@link #firstLink(int) firstLink} (inclusive) and
+     * {@link #endOfLinks(int) endOfLinks} (exclusive) of a field.
+     * @return Index of the linked field.
+     */
+    int neighbour(int position) {
+        return neighbours[position];
+    }
+
+    /** Gets the costs of the links for the given movement profile, parallel to the neighbour array. The costs of the links of a field are
+     * the entries from {@link #firstLink(int) firstLink} (inclusive) to {@link #endOfLinks(int) endOfLinks} (exclusive). The array is
+     * shared and must not be modified.
+     *
+     * @since 0.0.2
+     * @param movementProfile The movement profile.
+     * @return The costs.
+     */
+    float[] costs(int movementProfile) {
+        return movementProfile >= 0 && movementProfile < profileCosts.length ? profileCosts[movementProfile] : costs;
+    }
+
+    /** Gets the lowest cost per WU of horizontal length of any link for the given movement profile, ignoring impassable links. As each
+     * link costs at least this much per WU, the horizontal distance between two fields times this is a lower bound of the cost of any
+     * path between them, however long and cheap its links are.
+     *
+     * @since 0.0.2
+     * @param movementProfile The movement profile.
+     * @return The lowest cost per WU, or 0 if there are no passable links.
+     */
+    float heuristicScale(int movementProfile) {
+        return movementProfile >= 0 && movementProfile < profileCosts.length ? heuristicScales[movementProfile]
+                : heuristicScales[profileCosts.length];
+    }
+
+    /** Number of links in the graph, where each link is counted once.
+     *
+     * @since 0.0.2
+     * @return Number of links.
+     */
+    int numLinks() {
+        return neighbours.length / 2;
+    }
+
+    /** Horizontal distance between the centres of two fields.
+     *
+     * @since 0.0.2
+     * @param indexA Index of the one field.
+     * @param indexB Index of the other field.
+     * @return Distance in WU, ignoring the height.
+     */
+    float horizontalDistance(int indexA, int indexB) {
+        float dx = x[indexA] - x[indexB];
+        float dz = z[indexA] - z[indexB];
+        return (float)Math.sqrt(dx * dx + dz * dz);
+    }
+
+    /** Creates a new, immutable representation of the board.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return An object for transferring the board data.
+     */
+    BoardDataDTO asDTO() {
+        int size = size();
+        List<FieldDataDTO> fieldDtos = new ArrayList<>(size);
+        List<FieldLinkDTO> linkDtos = new ArrayList<>(numLinks());
+        for (int idx = 0; idx < size; idx++) {
+            fieldDtos.add(new FieldDataDTO(fieldIds[idx], x[idx], y[idx], z[idx]));
+            for (int pos = offsets[idx]; pos < offsets[idx + 1]; pos++) {
+                int other = neighbours[pos];
+                if(other < idx) {
+                    // each link once, with the higher id first
+                    linkDtos.add(new FieldLinkDTO(fieldIds[idx], fieldIds[other]));
+                }
+            }
+        }
+        return new BoardDataDTO(fieldDtos, linkDtos);
+    }
+
+    /** Gets working memory for a search on this graph. Please {@link #releaseSearchSpace(SearchSpace) release} it once the search is
+     * done, so it can be reused by the next search.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return Working memory sized for this graph, with no field visited.
+     */
+    SearchSpace acquireSearchSpace() {
+        SearchSpace space = searchSpaces.poll();
+        if(space == null) {
+            space = new SearchSpace(size());
+        }
+        space.reset();
+        return space;
+    }
+
+    /** Hands back working memory obtained from {@link #acquireSearchSpace() acquireSearchSpace}.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param space Working memory that is not used anymore.
+     */
+    void releaseSearchSpace(@NonNull SearchSpace space) {
+        if(space.capacity() == size()) {
+            searchSpaces.offer(space);
+        }
+    }
+
+}
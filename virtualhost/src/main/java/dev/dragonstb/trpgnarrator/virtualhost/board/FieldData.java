@@ -69,6 +69,17 @@ final class FieldData {
         links.add(link);
     }
 
+    /** Removes the link from the list of links of this field.
+     *
+     * @author Dragonstb
+     * @since 0.0.2
+     * @param link Link to be removed.
+     * @return {@code True} if the field had this link.
+     */
+    boolean removeLink(FieldLink link) {
+        return links.remove(link);
+    }
+
     /** Creates an immutable data transfer object with the data of this field except for the links.
      *
      * @author Dragonstb
@@ -20,12 +20,15 @@
 
 package dev.dragonstb.trpgnarrator.virtualhost.board;
 
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FieldLinkDTO;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 
-/** A link from one {@link FieldData FieldData} to another.
+/** A link from one {@link FieldData FieldData} to another. Moving along the link costs movement points. The cost can differ between the
+ * movement profiles (like walking, swimming, or flying), where profiles without an own cost use the general cost of the link. A cost of
+ * {@link Float#POSITIVE_INFINITY infinity} makes the link impassable.
  *
  * @author Dragonstb
  * @since 0.0.1;
@@ -33,17 +36,78 @@ import lombok.NonNull;
 @Getter(AccessLevel.PACKAGE)
 final class FieldLink {
 
+    /** Cost of a link if nothing else is specified. */
+    static final float DEFAULT_COST = 1;
+
     private final FieldData fieldA;
     private final FieldData fieldB;
+    /** Cost of moving along this link for all movement profiles without an own cost. */
+    private final float cost;
+    /** Costs of moving along this link, indexed by the movement profile. {@code null} if all profiles use the general {@link #cost cost}.
+     */
+    @Getter(AccessLevel.NONE) private final float[] profileCosts;
 
-    /** Generates.
+    /** Generates a link with the {@link #DEFAULT_COST default cost} for all movement profiles.
      *
      * @param fieldA The one field.
      * @param fieldB The other field.
      */
     FieldLink(@NonNull FieldData fieldA, @NonNull FieldData fieldB) {
+        this(fieldA, fieldB, DEFAULT_COST, null);
+    }
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param fieldA The one field.
+     * @param fieldB The other field.
+     * @param cost Cost of moving along the link for all movement profiles without an own cost.
+     * @param profileCosts Costs of moving along the link, indexed by the movement profile. Profiles beyond the end of the array use
+     * {@code cost}. Can be {@code null}. The array is copied.
+     * @throws IllegalArgumentException If a cost is negative or not a number.
+     */
+    FieldLink(@NonNull FieldData fieldA, @NonNull FieldData fieldB, float cost, float[] profileCosts) throws IllegalArgumentException {
+        checkCost(cost);
+        if(profileCosts != null) {
+            for(float profileCost: profileCosts) {
+                checkCost(profileCost);
+            }
+        }
         this.fieldA = fieldA;
         this.fieldB = fieldB;
+        this.cost = cost;
+        this.profileCosts = profileCosts != null && profileCosts.length > 0 ? profileCosts.clone() : null;
+    }
+
+    private static void checkCost(float cost) throws IllegalArgumentException {
+        if(!(cost >= 0)) {
+            String errCode = VHostErrorCodes.V33871;
+            String msg = "Costs of links must not be negative, but got "+cost+".";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+    }
+
+    /** Gets the cost of moving along this link.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param movementProfile The movement profile.
+     * @return The cost for this profile, or the general cost if the profile has no own cost.
+     */
+    float getCost(int movementProfile) {
+        return profileCosts != null && movementProfile >= 0 && movementProfile < profileCosts.length
+                ? profileCosts[movementProfile] : cost;
+    }
+
+    /** Number of movement profiles with an own cost.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return Length of the profile cost table, 0 if there is none.
+     */
+    int numProfileCosts() {
+        return profileCosts != null ? profileCosts.length : 0;
     }
 
     /** Returns an immutable DTO with the data of this field.
@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import com.jme3.math.Vector3f;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import lombok.NonNull;
+
+/** Finds the path using the {@link PathHierarchy path hierarchy} of the board (HPA*). First, A* runs on the small abstract graph of
+ * entrances to find the coarse route. Then only the clusters along this route are searched on field level, each from the entrance where
+ * the route enters the cluster to the one where it leaves the cluster.
+ * <br><br>
+ * The path is not always the cheapest one, but usually close to it. If start and goal are in the same or in neighbouring clusters and are
+ * connected within these clusters, the cheapest path within these clusters is taken.
+ * <br><br>
+ * The search stops when its task gets cancelled. Search budgets are not applied, as the effort of the search is small anyway.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class HierarchicalPathfinder implements Callable<Optional<List<Vector3f>>>{
+
+    /** Id of the field where the path starts. */
+    private final int fromField;
+    /** Id of the field where the path ends. */
+    private final int toField;
+    /** The board, which provides the hierarchy when the search runs. */
+    private final BoardData data;
+    /** Counts the outcome of the search. */
+    private final PathfindingMetrics metrics;
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param fromField Id of the field where the path starts.
+     * @param toField Id of the field where the path ends.
+     * @param data The board.
+     */
+    HierarchicalPathfinder(int fromField, int toField, @NonNull BoardData data) {
+        this.fromField = fromField;
+        this.toField = toField;
+        this.data = data;
+        this.metrics = data.getPathfindingMetrics();
+    }
+
+    @Override
+    public Optional<List<Vector3f>> call() throws InterruptedException {
+        return findPath(data.getPathHierarchy(), fromField, toField, metrics);
+    }
+
+    /** Finds the path on the given hierarchy.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param hierarchy The hierarchy.
+     * @param fromField Id of the field where the path starts.
+     * @param toField Id of the field where the path ends.
+     * @param metrics Counts the outcome of the search. Can be {@code null}.
+     * @return The way points of the path, or an empty optional if there is no path.
+     * @throws InterruptedException If the thread has been interrupted during the search. The interrupt flag is cleared.
+     */
+    static Optional<List<Vector3f>> findPath(@NonNull PathHierarchy hierarchy, int fromField, int toField, PathfindingMetrics metrics)
+            throws InterruptedException {
+        BoardGraph graph = hierarchy.getGraph();
+        int start = graph.indexOf(fromField);
+        int goal = graph.indexOf(toField);
+        if(start == BoardGraph.NO_FIELD || goal == BoardGraph.NO_FIELD) {
+            return Optional.empty();
+        }
+
+        SearchSpace space = graph.acquireSearchSpace();
+        try {
+            // nearby fields are connected more directly by a search on field level than by detours via entrances
+            if(hierarchy.areNeighbours(hierarchy.clusterOf(start), hierarchy.clusterOf(goal)) && hierarchy.searchWithin(space, start, goal)) {
+                List<Vector3f> path = new ArrayList<>();
+                appendFields(graph, space, start, path);
+                count(metrics, true);
+                return Optional.of(path);
+            }
+
+            int[] route = abstractRoute(hierarchy, space, start, goal);
+            if(route == null) {
+                count(metrics, false);
+                return Optional.empty();
+            }
+            List<Vector3f> path = refine(hierarchy, space, route);
+            count(metrics, true);
+            return Optional.of(path);
+        }
+        catch (InterruptedException e) {
+            if(metrics != null) {
+                metrics.countCancelled();
+            }
+            throw e;
+        }
+        finally {
+            graph.releaseSearchSpace(space);
+        }
+    }
+
+    private static void count(PathfindingMetrics metrics, boolean found) {
+        if(metrics == null) {
+            return;
+        }
+        if(found) {
+            metrics.countFound();
+        }
+        else {
+            metrics.countUnreachable();
+        }
+    }
+
+    /** Finds the coarse route on the abstract graph. The start and the goal join the abstract graph as two extra nodes, linked to the
+     * entrances of their clusters.
+     *
+     * @return The field indices of the route, starting with the start field and ending with the goal field, or {@code null} if there is no
+     * route.
+     */
+    private static int[] abstractRoute(PathHierarchy hierarchy, SearchSpace space, int start, int goal) throws InterruptedException {
+        BoardGraph graph = hierarchy.getGraph();
+        int[] startEntrances = hierarchy.entrances(hierarchy.clusterOf(start));
+        int[] goalEntrances = hierarchy.entrances(hierarchy.clusterOf(goal));
+        float[] fromStart = costsWithin(hierarchy, space, start, startEntrances);
+        float[] toGoal = costsWithin(hierarchy, space, goal, goalEntrances);
+
+        int numNodes = hierarchy.numNodes();
+        int startNode = numNodes;
+        int goalNode = numNodes + 1;
+        float[] known = new float[numNodes + 2];
+        int[] previous = new int[numNodes + 2];
+        boolean[] closed = new boolean[numNodes + 2];
+        Arrays.fill(known, Float.POSITIVE_INFINITY);
+        IndexedMinHeap open = new IndexedMinHeap(numNodes + 2);
+        float scale = hierarchy.getHeuristicScale();
+
+        known[startNode] = 0;
+        previous[startNode] = -1;
+        open.insert(startNode, graph.horizontalDistance(start, goal) * scale);
+        int expansions = 0;
+        while(!open.isEmpty()) {
+            int node = open.removeMin();
+            if(node == goalNode) {
+                break;
+            }
+            if(++expansions % Pathfinder.CHECK_INTERVAL == 0 && Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            closed[node] = true;
+            if(node == startNode) {
+                for (int idx = 0; idx < startEntrances.length; idx++) {
+                    relax(hierarchy, open, known, previous, closed, node, hierarchy.nodeOf(startEntrances[idx]), fromStart[idx], goal);
+                }
+                continue;
+            }
+
+            int end = hierarchy.endOfEdges(node);
+            for (int edge = hierarchy.firstEdge(node); edge < end; edge++) {
+                relax(hierarchy, open, known, previous, closed, node, hierarchy.edgeTarget(edge), hierarchy.edgeCost(edge), goal);
+            }
+            int slot = Arrays.binarySearch(goalEntrances, hierarchy.nodeField(node));
+            if(slot >= 0) {
+                relax(hierarchy, open, known, previous, closed, node, goalNode, toGoal[slot], goal);
+            }
+        }
+        if(known[goalNode] == Float.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        int length = 0;
+        for (int node = goalNode; node != -1; node = previous[node]) {
+            length++;
+        }
+        int[] route = new int[length];
+        for (int node = goalNode; node != -1; node = previous[node]) {
+            route[--length] = node == startNode ? start : node == goalNode ? goal : hierarchy.nodeField(node);
+        }
+        return route;
+    }
+
+    private static void relax(PathHierarchy hierarchy, IndexedMinHeap open, float[] known, int[] previous, boolean[] closed, int node,
+            int target, float cost, int goal) {
+        float newCost = known[node] + cost;
+        if(closed[target] || newCost >= known[target]) {
+            return;
+        }
+        known[target] = newCost;
+        previous[target] = node;
+        int field = target < hierarchy.numNodes() ? hierarchy.nodeField(target) : goal;
+        open.insertOrDecrease(target, newCost + hierarchy.getGraph().horizontalDistance(field, goal) * hierarchy.getHeuristicScale());
+    }
+
+    /** Costs from the field to the given entrances of its cluster, without leaving the cluster. */
+    private static float[] costsWithin(PathHierarchy hierarchy, SearchSpace space, int field, int[] clusterEntrances) {
+        space.reset();
+        hierarchy.floodWithin(space, field);
+        float[] result = new float[clusterEntrances.length];
+        for (int idx = 0; idx < clusterEntrances.length; idx++) {
+            result[idx] = space.getCost(clusterEntrances[idx]);
+        }
+        return result;
+    }
+
+    /** Turns the coarse route into the path on field level. Consecutive fields of the route in the same cluster are connected by a search
+     * within that cluster, fields in different clusters are linked directly. */
+    private static List<Vector3f> refine(PathHierarchy hierarchy, SearchSpace space, int[] route) throws InterruptedException {
+        BoardGraph graph = hierarchy.getGraph();
+        List<Vector3f> path = new ArrayList<>();
+        path.add(new Vector3f(graph.x(route[0]), graph.y(route[0]), graph.z(route[0])));
+        for (int idx = 1; idx < route.length; idx++) {
+            int from = route[idx - 1];
+            int to = route[idx];
+            if(from == to) {
+                continue;
+            }
+            if(hierarchy.clusterOf(from) == hierarchy.clusterOf(to)) {
+                if(Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                space.reset();
+                hierarchy.searchWithin(space, from, to);
+                appendFields(graph, space, space.getLink(from), path);
+            }
+            else {
+                path.add(new Vector3f(graph.x(to), graph.y(to), graph.z(to)));
+            }
+        }
+        return path;
+    }
+
+    /** Appends the locations of the fields found by following the links of the working memory. */
+    private static void appendFields(BoardGraph graph, SearchSpace space, int first, List<Vector3f> path) {
+        int next = first;
+        while(next != SearchSpace.NO_LINK) {
+            path.add(new Vector3f(graph.x(next), graph.y(next), graph.z(next)));
+            next = space.getLink(next);
+        }
+    }
+
+}
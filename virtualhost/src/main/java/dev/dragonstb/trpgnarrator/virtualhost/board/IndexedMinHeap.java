@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import java.util.Arrays;
+
+/** An indexed binary min heap of the integers {@code 0..capacity-1}, each with a float key. Every element knows its own position in the
+ * heap, so decreasing its key is a sift-up in O(log n) rather than a search through the heap. Apart from the construction, none of the
+ * operations allocates memory.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class IndexedMinHeap {
+
+    /** Position of elements that are not in the heap. */
+    private static final int ABSENT = -1;
+
+    /** The heap, with the root at index 0 and the children of index i at 2i+1 and 2i+2. */
+    private final int[] heap;
+    /** Position of each element in {@link #heap}, or {@link #ABSENT}. */
+    private final int[] positions;
+    /** Key of each element. Only meaningful for elements in the heap. */
+    private final float[] keys;
+    /** Number of elements in the heap. */
+    private int size = 0;
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param capacity Number of distinct elements, which are the integers {@code 0..capacity-1}.
+     */
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new float[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    /** Inserts the element into the heap.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param element Element to be inserted.
+     * @param key Key of the element.
+     * @throws IllegalArgumentException If the element is already contained in the heap.
+     */
+    void insert(int element, float key) throws IllegalArgumentException {
+        if(positions[element] != ABSENT) {
+            String errCode = VHostErrorCodes.V20417;
+            String msg = "Cannot insert element "+element+" into the heap, as it is already in the heap.";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+
+        keys[element] = key;
+        heap[size] = element;
+        positions[element] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    /** Removes the element with the lowest key.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return The element with the lowest key.
+     * @throws IllegalStateException If the heap is empty.
+     */
+    int removeMin() throws IllegalStateException {
+        if(size == 0) {
+            String errCode = VHostErrorCodes.V20417;
+            String msg = "Cannot remove an element from an empty heap.";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalStateException(use);
+        }
+
+        int min = heap[0];
+        size--;
+        if(size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        positions[min] = ABSENT;
+        return min;
+    }
+
+    /** Lowers the key of an element in the heap.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param element Element in the heap.
+     * @param key New key, which must not be larger than the current key.
+     * @throws IllegalArgumentException If the element is not contained in the heap.
+     */
+    void decreaseKey(int element, float key) throws IllegalArgumentException {
+        int pos = positions[element];
+        if(pos == ABSENT) {
+            String errCode = VHostErrorCodes.V20417;
+            String msg = "Cannot decrease the key of element "+element+", as it is not in the heap.";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+
+        keys[element] = key;
+        siftUp(pos);
+    }
+
+    /** Inserts the element, or lowers its key if it is already in the heap.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param element Element of interest.
+     * @param key Key of the element.
+     */
+    void insertOrDecrease(int element, float key) {
+        if(positions[element] == ABSENT) {
+            insert(element, key);
+        }
+        else {
+            decreaseKey(element, key);
+        }
+    }
+
+    boolean contains(int element) {
+        return positions[element] != ABSENT;
+    }
+
+    /** Gets the lowest key without removing its element.
+     *
+     * @since 0.0.2
+     * @return The lowest key, or positive infinity if the heap is empty.
+     */
+    float minKey() {
+        return size > 0 ? keys[heap[0]] : Float.POSITIVE_INFINITY;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return positions.length;
+    }
+
+    /** Removes all elements. Costs O(size), not O(capacity).
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     */
+    void clear() {
+        for (int pos = 0; pos < size; pos++) {
+            positions[heap[pos]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int pos) {
+        int moving = heap[pos];
+        float key = keys[moving];
+        while(pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            int above = heap[parent];
+            if(keys[above] <= key) {
+                break;
+            }
+            heap[pos] = above;
+            positions[above] = pos;
+            pos = parent;
+        }
+        heap[pos] = moving;
+        positions[moving] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int moving = heap[pos];
+        float key = keys[moving];
+        int half = size >>> 1; // positions at and beyond this one are leaves
+        while(pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if(right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            int below = heap[child];
+            if(key <= keys[below]) {
+                break;
+            }
+            heap[pos] = below;
+            positions[below] = pos;
+            pos = child;
+        }
+        heap[pos] = moving;
+        positions[moving] = pos;
+    }
+
+}
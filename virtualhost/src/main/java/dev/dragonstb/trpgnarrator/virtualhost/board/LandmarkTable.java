@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import java.util.Arrays;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+/** Precomputed costs from a few landmark fields to all fields of a {@link BoardGraph graph}, for the landmark (ALT) heuristic of A*. By
+ * the triangle inequality, {@code |d(L,v) - d(L,t)|} is a lower bound of the cost from {@code v} to {@code t} for every landmark
+ * {@code L}, and the largest of these bounds is the heuristic. On boards full of walls and gaps, this is much tighter than the straight
+ * distance.
+ * <br><br>
+ * The costs are stored field by field in a single array, so evaluating the heuristic for a field reads one contiguous block. The table
+ * can be {@link #repairedFor(BoardGraph) repaired} for a new graph with the same fields but different links, which is much cheaper than
+ * building it again.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class LandmarkTable {
+
+    /** Number of landmarks used if nothing else is specified. */
+    static final int DEFAULT_NUM_LANDMARKS = 8;
+    /** Repairs only ever lower the stored costs, so the heuristic slowly becomes less informed. After this many repairs in a row, the
+     * table should be built from scratch again. */
+    static final int MAX_REPAIRS = 8;
+
+    /** The graph this table has been made for. */
+    @Getter(AccessLevel.PACKAGE) private final BoardGraph graph;
+    /** Movement profile whose link costs are used. */
+    @Getter(AccessLevel.PACKAGE) private final int movementProfile;
+    /** Indices of the landmark fields. */
+    private final int[] landmarks;
+    /** Costs from the landmarks, at {@code field * landmarks.length + landmark}. */
+    private final float[] distances;
+    /** Number of repairs since the table has been built from scratch. */
+    @Getter(AccessLevel.PACKAGE) private final int repairs;
+
+    private LandmarkTable(BoardGraph graph, int movementProfile, int[] landmarks, float[] distances, int repairs) {
+        this.graph = graph;
+        this.movementProfile = movementProfile;
+        this.landmarks = landmarks;
+        this.distances = distances;
+        this.repairs = repairs;
+    }
+
+    /** Builds the table from scratch. The landmarks are chosen one after another as the field farthest away from all landmarks chosen so
+     * far, which spreads them along the border of the board.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param graph The graph of the board.
+     * @param movementProfile Movement profile whose link costs are used.
+     * @param numLandmarks Number of landmarks. Boards with fewer fields get one landmark per field.
+     * @return The new table.
+     */
+    static LandmarkTable build(@NonNull BoardGraph graph, int movementProfile, int numLandmarks) {
+        int size = graph.size();
+        int numUsed = Math.max(0, Math.min(numLandmarks, size));
+        int[] landmarks = new int[numUsed];
+        float[] distances = new float[size * numUsed];
+        float[] costs = graph.costs(movementProfile);
+
+        SearchSpace space = graph.acquireSearchSpace();
+        try {
+            // the lowest cost from any landmark so far, starting with an arbitrary field in place of a landmark
+            float[] nearest = new float[size];
+            if(numUsed > 0) {
+                flood(graph, costs, space, 0);
+                for (int field = 0; field < size; field++) {
+                    nearest[field] = space.getCost(field);
+                }
+            }
+
+            for (int landmark = 0; landmark < numUsed; landmark++) {
+                int chosen = farthest(nearest);
+                landmarks[landmark] = chosen;
+                space.reset();
+                flood(graph, costs, space, chosen);
+                for (int field = 0; field < size; field++) {
+                    float cost = space.getCost(field);
+                    distances[field * numUsed + landmark] = cost;
+                    nearest[field] = landmark == 0 ? cost : Math.min(nearest[field], cost);
+                }
+            }
+        }
+        finally {
+            graph.releaseSearchSpace(space);
+        }
+
+        return new LandmarkTable(graph, movementProfile, landmarks, distances, 0);
+    }
+
+    /** Runs Dijkstra from the source over the whole graph. Afterwards, the search space knows the costs to all reachable fields. */
+    private static void flood(BoardGraph graph, float[] costs, SearchSpace space, int source) {
+        IndexedMinHeap open = space.getOpen();
+        space.reach(source, 0, SearchSpace.NO_LINK);
+        open.insert(source, 0);
+        while(!open.isEmpty()) {
+            int field = open.removeMin();
+            space.close(field);
+            float known = space.getCost(field);
+            int end = graph.endOfLinks(field);
+            for (int pos = graph.firstLink(field); pos < end; pos++) {
+                int other = graph.neighbour(pos);
+                float newCost = known + costs[pos];
+                if(space.isClosed(other) || newCost >= space.getCost(other)) {
+                    continue;
+                }
+                space.reach(other, newCost, field);
+                open.insertOrDecrease(other, newCost);
+            }
+        }
+    }
+
+    /** Index of the largest value, where unreachable fields (infinity) come first. */
+    private static int farthest(float[] values) {
+        int best = 0;
+        for (int idx = 1; idx < values.length; idx++) {
+            if(values[idx] > values[best]) {
+                best = idx;
+            }
+        }
+        return best;
+    }
+
+    /** Checks if this table can be {@link #repairedFor(BoardGraph) repaired} for the graph.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param other A graph of the same board.
+     * @return {@code True} if the graph has the same fields as the graph of this table.
+     */
+    boolean fits(@NonNull BoardGraph other) {
+        return graph.hasSameFields(other);
+    }
+
+    /** Creates a table for the new graph from this table. The new graph must have the same fields, but the links and their costs may
+     * differ.
+     * <br><br>
+     * The heuristic stays a lower bound as long as the stored costs of two linked fields differ by no more than the cost of their link.
+     * Links that became more expensive or vanished never break this condition. For the new or cheaper links, the stored costs are lowered
+     * until the condition holds again, like in a Dijkstra search that starts only at the spots where the condition is broken.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param newGraph The new graph.
+     * @return A table for the new graph, or a table built from scratch if the graph does not {@link #fits(BoardGraph) fit}.
+     */
+    LandmarkTable repairedFor(@NonNull BoardGraph newGraph) {
+        if(!fits(newGraph)) {
+            return build(newGraph, movementProfile, landmarks.length);
+        }
+
+        int size = newGraph.size();
+        int numUsed = landmarks.length;
+        float[] repaired = Arrays.copyOf(distances, distances.length);
+        float[] costs = newGraph.costs(movementProfile);
+
+        SearchSpace space = newGraph.acquireSearchSpace();
+        try {
+            IndexedMinHeap open = space.getOpen();
+            for (int landmark = 0; landmark < numUsed; landmark++) {
+                open.clear();
+                for (int field = 0; field < size; field++) {
+                    lowerLinkedFields(newGraph, costs, repaired, numUsed, landmark, field, open);
+                }
+                while(!open.isEmpty()) {
+                    lowerLinkedFields(newGraph, costs, repaired, numUsed, landmark, open.removeMin(), open);
+                }
+            }
+        }
+        finally {
+            newGraph.releaseSearchSpace(space);
+        }
+
+        return new LandmarkTable(newGraph, movementProfile, landmarks, repaired, repairs + 1);
+    }
+
+    /** Lowers the costs of the fields linked to the given field where the difference exceeds the link cost, and queues them. */
+    private static void lowerLinkedFields(BoardGraph graph, float[] costs, float[] table, int numUsed, int landmark, int field,
+            IndexedMinHeap open) {
+        float known = table[field * numUsed + landmark];
+        int end = graph.endOfLinks(field);
+        for (int pos = graph.firstLink(field); pos < end; pos++) {
+            int other = graph.neighbour(pos);
+            float newCost = known + costs[pos];
+            if(newCost < table[other * numUsed + landmark]) {
+                table[other * numUsed + landmark] = newCost;
+                open.insertOrDecrease(other, newCost);
+            }
+        }
+    }
+
+    /** Lower bound of the cost between two fields.
+     *
+     * @since 0.0.2
+     * @param field Index of the one field.
+     * @param target Index of the other field.
+     * @return The bound. Infinite if the fields are not connected.
+     */
+    float heuristic(int field, int target) {
+        int numUsed = landmarks.length;
+        int fieldRow = field * numUsed;
+        int targetRow = target * numUsed;
+        float best = 0;
+        for (int landmark = 0; landmark < numUsed; landmark++) {
+            float fromField = distances[fieldRow + landmark];
+            float fromTarget = distances[targetRow + landmark];
+            // if both fields are unreachable from the landmark, it tells nothing about them
+            if(fromField != fromTarget) {
+                best = Math.max(best, Math.abs(fromField - fromTarget));
+            }
+        }
+        return best;
+    }
+
+    /** Gets the index of a landmark field.
+     *
+     * @since 0.0.2
+     * @param landmark Number of the landmark.
+     * @return Index of the field.
+     */
+    int landmark(int landmark) {
+        return landmarks[landmark];
+    }
+
+    int numLandmarks() {
+        return landmarks.length;
+    }
+
+}
@@ -0,0 +1,625 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Globals;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+/** Abstraction of a {@link BoardGraph graph} for hierarchical pathfinding (HPA*). The board is split into square clusters. Where fields of
+ * two clusters are linked, one link per contiguous stretch of the border becomes a crossing, and its two fields become entrances of their
+ * clusters. The entrances form a much smaller abstract graph: entrances of the same cluster are connected with the cost of the cheapest
+ * path within the cluster, and the two entrances of a crossing with the cost of the link.
+ * <br><br>
+ * When links change, the hierarchy is {@link #updatedFor(BoardGraph, int[]) updated} for the new graph. Only the clusters of the changed
+ * fields and their neighbouring clusters are computed anew. Everything else is taken over.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class PathHierarchy {
+
+    /** Edge length of the clusters in field diameters if nothing else is specified. */
+    static final float DEFAULT_CLUSTER_SIZE = 16;
+    /** Marks fields that are not an entrance. */
+    static final int NO_NODE = -1;
+
+    /** The graph this hierarchy has been made for. */
+    @Getter(AccessLevel.PACKAGE) private final BoardGraph graph;
+    /** Movement profile whose link costs are used. */
+    @Getter(AccessLevel.PACKAGE) private final int movementProfile;
+    /** Edge length of the clusters in field diameters. */
+    private final float clusterSize;
+    /** Costs of the links for the movement profile, parallel to the neighbours of the graph. */
+    private final float[] costs;
+    /** Cluster of each field, by field index. */
+    private final int[] clusterOf;
+    /** Indices of the fields of each cluster. */
+    private final int[][] clusterFields;
+    /** The crossings between each pair of clusters, with the key made by {@link #pairKey(int, int) pairKey}. Each crossing is a pair of
+     * field indices, the field in the cluster with the lower number first. */
+    private final Map<Long, int[]> crossings;
+    /** Indices of the entrance fields of each cluster, sorted ascending. */
+    private final int[][] entrances;
+    /** Costs between the entrances of each cluster within the cluster, as square matrix in the order of {@link #entrances}. */
+    private final float[][] intraCosts;
+    /** Abstract node of each field, or {@link #NO_NODE} if the field is no entrance. */
+    private final int[] nodeOf;
+    /** Field index of each abstract node. */
+    private final int[] nodeField;
+    /** Start of the edges of each abstract node, plus one entry for the end of the last node. */
+    private final int[] edgeOffsets;
+    /** Target nodes of the abstract edges. */
+    private final int[] edgeTargets;
+    /** Costs of the abstract edges. */
+    private final float[] edgeCosts;
+    /** Converts horizontal distances into lower bounds of the costs. */
+    @Getter(AccessLevel.PACKAGE) private final float heuristicScale;
+
+    private PathHierarchy(BoardGraph graph, int movementProfile, float clusterSize, int[] clusterOf, int[][] clusterFields,
+            Map<Long, int[]> crossings, int[][] entrances, float[][] intraCosts) {
+        this.graph = graph;
+        this.movementProfile = movementProfile;
+        this.clusterSize = clusterSize;
+        this.costs = graph.costs(movementProfile);
+        this.clusterOf = clusterOf;
+        this.clusterFields = clusterFields;
+        this.crossings = crossings;
+        this.entrances = entrances;
+        this.intraCosts = intraCosts;
+        this.heuristicScale = graph.heuristicScale(movementProfile);
+
+        // assemble the abstract graph
+        int size = graph.size();
+        nodeOf = new int[size];
+        Arrays.fill(nodeOf, NO_NODE);
+        int numNodes = 0;
+        for(int[] clusterEntrances: entrances) {
+            numNodes += clusterEntrances.length;
+        }
+        nodeField = new int[numNodes];
+        int node = 0;
+        for(int[] clusterEntrances: entrances) {
+            for(int field: clusterEntrances) {
+                nodeOf[field] = node;
+                nodeField[node++] = field;
+            }
+        }
+
+        int[] degrees = new int[numNodes + 1];
+        for (int cluster = 0; cluster < entrances.length; cluster++) {
+            int num = entrances[cluster].length;
+            for (int from = 0; from < num; from++) {
+                for (int to = 0; to < num; to++) {
+                    if(from != to && intraCosts[cluster][from * num + to] < Float.POSITIVE_INFINITY) {
+                        degrees[nodeOf[entrances[cluster][from]]]++;
+                    }
+                }
+            }
+        }
+        for(int[] pairCrossings: crossings.values()) {
+            for (int pos = 0; pos < pairCrossings.length; pos += 2) {
+                degrees[nodeOf[pairCrossings[pos]]]++;
+                degrees[nodeOf[pairCrossings[pos + 1]]]++;
+            }
+        }
+
+        edgeOffsets = new int[numNodes + 1];
+        for (int idx = 0; idx < numNodes; idx++) {
+            edgeOffsets[idx + 1] = edgeOffsets[idx] + degrees[idx];
+        }
+        edgeTargets = new int[edgeOffsets[numNodes]];
+        edgeCosts = new float[edgeOffsets[numNodes]];
+        int[] next = Arrays.copyOf(edgeOffsets, numNodes);
+        for (int cluster = 0; cluster < entrances.length; cluster++) {
+            int num = entrances[cluster].length;
+            for (int from = 0; from < num; from++) {
+                int fromNode = nodeOf[entrances[cluster][from]];
+                for (int to = 0; to < num; to++) {
+                    float cost = intraCosts[cluster][from * num + to];
+                    if(from != to && cost < Float.POSITIVE_INFINITY) {
+                        edgeTargets[next[fromNode]] = nodeOf[entrances[cluster][to]];
+                        edgeCosts[next[fromNode]++] = cost;
+                    }
+                }
+            }
+        }
+        for(int[] pairCrossings: crossings.values()) {
+            for (int pos = 0; pos < pairCrossings.length; pos += 2) {
+                int nodeA = nodeOf[pairCrossings[pos]];
+                int nodeB = nodeOf[pairCrossings[pos + 1]];
+                float cost = linkCost(pairCrossings[pos], pairCrossings[pos + 1]);
+                edgeTargets[next[nodeA]] = nodeB;
+                edgeCosts[next[nodeA]++] = cost;
+                edgeTargets[next[nodeB]] = nodeA;
+                edgeCosts[next[nodeB]++] = cost;
+            }
+        }
+    }
+
+    /** Builds the hierarchy from scratch.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param graph The graph of the board.
+     * @param movementProfile Movement profile whose link costs are used.
+     * @param clusterSize Edge length of the clusters in field diameters.
+     * @return The new hierarchy.
+     * @throws IllegalArgumentException If the cluster size is not positive.
+     */
+    static PathHierarchy build(@NonNull BoardGraph graph, int movementProfile, float clusterSize) throws IllegalArgumentException {
+        if(!(clusterSize > 0) || Float.isInfinite(clusterSize)) {
+            String errCode = VHostErrorCodes.V60714;
+            String msg = "The cluster size must be positive and finite, but is "+clusterSize+".";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+
+        int size = graph.size();
+        int[] clusterOf = new int[size];
+        float minX = Float.POSITIVE_INFINITY;
+        float minZ = Float.POSITIVE_INFINITY;
+        for (int field = 0; field < size; field++) {
+            minX = Math.min(minX, graph.x(field));
+            minZ = Math.min(minZ, graph.z(field));
+        }
+
+        // number the occupied cells of a square grid in the order of their first appearance
+        float cellSize = clusterSize * Globals.FIELD_DIAMETER;
+        Map<Long, Integer> clusterOfCell = new HashMap<>();
+        for (int field = 0; field < size; field++) {
+            long cellX = (long)Math.floor((graph.x(field) - minX) / cellSize);
+            long cellZ = (long)Math.floor((graph.z(field) - minZ) / cellSize);
+            long cell = (cellZ << 32) ^ cellX;
+            Integer cluster = clusterOfCell.get(cell);
+            if(cluster == null) {
+                cluster = clusterOfCell.size();
+                clusterOfCell.put(cell, cluster);
+            }
+            clusterOf[field] = cluster;
+        }
+
+        int numClusters = clusterOfCell.size();
+        int[] counts = new int[numClusters];
+        for(int cluster: clusterOf) {
+            counts[cluster]++;
+        }
+        int[][] clusterFields = new int[numClusters][];
+        for (int cluster = 0; cluster < numClusters; cluster++) {
+            clusterFields[cluster] = new int[counts[cluster]];
+        }
+        int[] next = new int[numClusters];
+        for (int field = 0; field < size; field++) {
+            int cluster = clusterOf[field];
+            clusterFields[cluster][next[cluster]++] = field;
+        }
+
+        boolean[] all = new boolean[numClusters];
+        Arrays.fill(all, true);
+        Map<Long, int[]> crossings = new HashMap<>();
+        float[] costs = graph.costs(movementProfile);
+        findCrossings(graph, costs, clusterOf, clusterFields, all, crossings);
+
+        int[][] entrances = new int[numClusters][];
+        float[][] intraCosts = new float[numClusters][];
+        computeEntrances(graph, costs, clusterOf, clusterFields, crossings, all, entrances, intraCosts);
+
+        return new PathHierarchy(graph, movementProfile, clusterSize, clusterOf, clusterFields, crossings, entrances, intraCosts);
+    }
+
+    /** Creates the hierarchy for a new graph of the same board. If the new graph has the same fields, only the clusters with changed
+     * fields and their neighbours are computed anew.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param newGraph The new graph.
+     * @param changedFieldIds Ids of all fields whose links have been added, removed, or changed since this hierarchy has been made.
+     * @return The hierarchy for the new graph.
+     */
+    PathHierarchy updatedFor(@NonNull BoardGraph newGraph, @NonNull int[] changedFieldIds) {
+        if(!graph.hasSameFields(newGraph)) {
+            return build(newGraph, movementProfile, clusterSize);
+        }
+
+        int numClusters = clusterFields.length;
+        boolean[] dirty = new boolean[numClusters];
+        for(int fieldId: changedFieldIds) {
+            int field = newGraph.indexOf(fieldId);
+            if(field != BoardGraph.NO_FIELD) {
+                dirty[clusterOf[field]] = true;
+            }
+        }
+
+        // crossings touching a dirty cluster are found anew, and the clusters on the other side need new entrances, too
+        boolean[] affected = dirty.clone();
+        Map<Long, int[]> newCrossings = new HashMap<>();
+        for(Map.Entry<Long, int[]> entry: crossings.entrySet()) {
+            int low = lowCluster(entry.getKey());
+            int high = highCluster(entry.getKey());
+            if(dirty[low] || dirty[high]) {
+                affected[low] = true;
+                affected[high] = true;
+            }
+            else {
+                newCrossings.put(entry.getKey(), entry.getValue());
+            }
+        }
+        float[] newCosts = newGraph.costs(movementProfile);
+        Map<Long, int[]> found = new HashMap<>();
+        findCrossings(newGraph, newCosts, clusterOf, clusterFields, dirty, found);
+        for(long key: found.keySet()) {
+            affected[lowCluster(key)] = true;
+            affected[highCluster(key)] = true;
+        }
+        newCrossings.putAll(found);
+
+        int[][] newEntrances = entrances.clone();
+        float[][] newIntraCosts = intraCosts.clone();
+        computeEntrances(newGraph, newCosts, clusterOf, clusterFields, newCrossings, affected, newEntrances, newIntraCosts);
+
+        return new PathHierarchy(newGraph, movementProfile, clusterSize, clusterOf, clusterFields, newCrossings, newEntrances,
+                newIntraCosts);
+    }
+
+    private static long pairKey(int clusterA, int clusterB) {
+        int low = Math.min(clusterA, clusterB);
+        int high = Math.max(clusterA, clusterB);
+        return ((long)low << 32) | high;
+    }
+
+    private static int lowCluster(long key) {
+        return (int)(key >>> 32);
+    }
+
+    private static int highCluster(long key) {
+        return (int)key;
+    }
+
+    /** Finds the crossings of all pairs of clusters where at least one of the clusters is selected. All passable links between the two
+     * clusters are split into stretches of links whose fields are linked with each other, and the link closest to the middle of a stretch
+     * becomes the crossing. */
+    private static void findCrossings(BoardGraph graph, float[] costs, int[] clusterOf, int[][] clusterFields, boolean[] selected,
+            Map<Long, int[]> result) {
+        // candidates for each pair of clusters, as flat list of field pairs with the field of the lower cluster first
+        Map<Long, List<int[]>> candidates = new HashMap<>();
+        for (int cluster = 0; cluster < clusterFields.length; cluster++) {
+            if(!selected[cluster]) {
+                continue;
+            }
+            for(int field: clusterFields[cluster]) {
+                int end = graph.endOfLinks(field);
+                for (int pos = graph.firstLink(field); pos < end; pos++) {
+                    int other = graph.neighbour(pos);
+                    int otherCluster = clusterOf[other];
+                    boolean seenFromOtherSide = selected[otherCluster] && otherCluster < cluster;
+                    if(otherCluster == cluster || seenFromOtherSide || costs[pos] == Float.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                    int[] pair = cluster < otherCluster ? new int[]{field, other} : new int[]{other, field};
+                    candidates.computeIfAbsent(pairKey(cluster, otherCluster), key -> new ArrayList<>()).add(pair);
+                }
+            }
+        }
+
+        for(Map.Entry<Long, List<int[]>> entry: candidates.entrySet()) {
+            result.put(entry.getKey(), chooseCrossings(graph, entry.getValue()));
+        }
+    }
+
+    /** Groups the candidate links into stretches and picks one link of each stretch. */
+    private static int[] chooseCrossings(BoardGraph graph, List<int[]> pairs) {
+        int num = pairs.size();
+        int[] parent = new int[num];
+        for (int idx = 0; idx < num; idx++) {
+            parent[idx] = idx;
+        }
+        for (int idxA = 0; idxA < num; idxA++) {
+            for (int idxB = idxA + 1; idxB < num; idxB++) {
+                int[] pairA = pairs.get(idxA);
+                int[] pairB = pairs.get(idxB);
+                if(touch(graph, pairA[0], pairB[0]) || touch(graph, pairA[1], pairB[1])) {
+                    parent[root(parent, idxA)] = root(parent, idxB);
+                }
+            }
+        }
+
+        // centre of each stretch
+        float[] sumX = new float[num];
+        float[] sumZ = new float[num];
+        int[] count = new int[num];
+        for (int idx = 0; idx < num; idx++) {
+            int stretch = root(parent, idx);
+            int[] pair = pairs.get(idx);
+            sumX[stretch] += graph.x(pair[0]) + graph.x(pair[1]);
+            sumZ[stretch] += graph.z(pair[0]) + graph.z(pair[1]);
+            count[stretch] += 2;
+        }
+        int[] best = new int[num];
+        float[] bestDist = new float[num];
+        Arrays.fill(best, -1);
+        for (int idx = 0; idx < num; idx++) {
+            int stretch = root(parent, idx);
+            int[] pair = pairs.get(idx);
+            float dx = (graph.x(pair[0]) + graph.x(pair[1])) * .5f - sumX[stretch] / count[stretch];
+            float dz = (graph.z(pair[0]) + graph.z(pair[1])) * .5f - sumZ[stretch] / count[stretch];
+            float dist = dx * dx + dz * dz;
+            if(best[stretch] == -1 || dist < bestDist[stretch]) {
+                best[stretch] = idx;
+                bestDist[stretch] = dist;
+            }
+        }
+
+        int numStretches = 0;
+        for (int idx = 0; idx < num; idx++) {
+            if(best[idx] != -1) {
+                numStretches++;
+            }
+        }
+        int[] chosen = new int[2 * numStretches];
+        int pos = 0;
+        for (int idx = 0; idx < num; idx++) {
+            if(best[idx] != -1) {
+                int[] pair = pairs.get(best[idx]);
+                chosen[pos++] = pair[0];
+                chosen[pos++] = pair[1];
+            }
+        }
+        return chosen;
+    }
+
+    private static int root(int[] parent, int idx) {
+        while(parent[idx] != idx) {
+            parent[idx] = parent[parent[idx]];
+            idx = parent[idx];
+        }
+        return idx;
+    }
+
+    /** Checks if both fields are the same or linked with each other. */
+    private static boolean touch(BoardGraph graph, int fieldA, int fieldB) {
+        if(fieldA == fieldB) {
+            return true;
+        }
+        int end = graph.endOfLinks(fieldA);
+        for (int pos = graph.firstLink(fieldA); pos < end; pos++) {
+            if(graph.neighbour(pos) == fieldB) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Collects the entrances of the selected clusters from the crossings and computes the costs between them. */
+    private static void computeEntrances(BoardGraph graph, float[] costs, int[] clusterOf, int[][] clusterFields, Map<Long, int[]> crossings,
+            boolean[] selected, int[][] entrances, float[][] intraCosts) {
+        int numClusters = clusterFields.length;
+        int[][] collected = new int[numClusters][];
+        int[] counts = new int[numClusters];
+        for(int[] pairCrossings: crossings.values()) {
+            for(int field: pairCrossings) {
+                int cluster = clusterOf[field];
+                if(selected[cluster]) {
+                    if(collected[cluster] == null) {
+                        collected[cluster] = new int[8];
+                    }
+                    else if(counts[cluster] == collected[cluster].length) {
+                        collected[cluster] = Arrays.copyOf(collected[cluster], 2 * counts[cluster]);
+                    }
+                    collected[cluster][counts[cluster]++] = field;
+                }
+            }
+        }
+
+        SearchSpace space = graph.acquireSearchSpace();
+        try {
+            for (int cluster = 0; cluster < numClusters; cluster++) {
+                if(!selected[cluster]) {
+                    continue;
+                }
+                int[] clusterEntrances = collected[cluster] == null ? new int[0]
+                        : Arrays.stream(collected[cluster], 0, counts[cluster]).sorted().distinct().toArray();
+                int num = clusterEntrances.length;
+                float[] matrix = new float[num * num];
+                for (int from = 0; from < num; from++) {
+                    // costs are symmetric, so each search fills a row and a column
+                    space.reset();
+                    floodWithin(graph, costs, clusterOf, space, clusterEntrances[from]);
+                    for (int to = from + 1; to < num; to++) {
+                        float cost = space.getCost(clusterEntrances[to]);
+                        matrix[from * num + to] = cost;
+                        matrix[to * num + from] = cost;
+                    }
+                }
+                entrances[cluster] = clusterEntrances;
+                intraCosts[cluster] = matrix;
+            }
+        }
+        finally {
+            graph.releaseSearchSpace(space);
+        }
+    }
+
+    /** Runs Dijkstra from the source to all fields of its cluster, without leaving the cluster.
+     *
+     * @since 0.0.2
+     * @param graph The graph.
+     * @param costs Costs of the links.
+     * @param clusterOf Cluster of each field.
+     * @param space Working memory, freshly reset. Afterwards, it knows the costs to all reachable fields of the cluster.
+     * @param source Index of the field where the search starts.
+     */
+    static void floodWithin(BoardGraph graph, float[] costs, int[] clusterOf, SearchSpace space, int source) {
+        int cluster = clusterOf[source];
+        IndexedMinHeap open = space.getOpen();
+        space.reach(source, 0, SearchSpace.NO_LINK);
+        open.insert(source, 0);
+        while(!open.isEmpty()) {
+            int field = open.removeMin();
+            space.close(field);
+            float known = space.getCost(field);
+            int end = graph.endOfLinks(field);
+            for (int pos = graph.firstLink(field); pos < end; pos++) {
+                int other = graph.neighbour(pos);
+                float newCost = known + costs[pos];
+                if(clusterOf[other] != cluster || space.isClosed(other) || newCost >= space.getCost(other)) {
+                    continue;
+                }
+                space.reach(other, newCost, field);
+                open.insertOrDecrease(other, newCost);
+            }
+        }
+    }
+
+    /** Runs Dijkstra from the source to all fields of its cluster, without leaving the cluster.
+     *
+     * @since 0.0.2
+     * @param space Working memory, freshly reset. Afterwards, it knows the costs to all reachable fields of the cluster.
+     * @param source Index of the field where the search starts.
+     */
+    void floodWithin(SearchSpace space, int source) {
+        floodWithin(graph, costs, clusterOf, space, source);
+    }
+
+    /** Runs A* from the target to the source, without leaving the clusters of the source and the target. Afterwards, following the links
+     * of the working memory from the source leads to the target.
+     *
+     * @since 0.0.2
+     * @param space Working memory, freshly reset.
+     * @param source Index of the field where the path starts.
+     * @param target Index of the field where the path ends.
+     * @return {@code True} if there is a path within the clusters.
+     */
+    boolean searchWithin(SearchSpace space, int source, int target) {
+        int cluster = clusterOf[target];
+        int sourceCluster = clusterOf[source];
+        IndexedMinHeap open = space.getOpen();
+        space.reach(target, 0, SearchSpace.NO_LINK);
+        open.insert(target, graph.horizontalDistance(target, source) * heuristicScale);
+        while(!open.isEmpty()) {
+            int field = open.removeMin();
+            if(field == source) {
+                return true;
+            }
+            space.close(field);
+            float known = space.getCost(field);
+            int end = graph.endOfLinks(field);
+            for (int pos = graph.firstLink(field); pos < end; pos++) {
+                int other = graph.neighbour(pos);
+                float newCost = known + costs[pos];
+                boolean inside = clusterOf[other] == cluster || clusterOf[other] == sourceCluster;
+                if(!inside || space.isClosed(other) || newCost >= space.getCost(other)) {
+                    continue;
+                }
+                space.reach(other, newCost, field);
+                open.insertOrDecrease(other, newCost + graph.horizontalDistance(other, source) * heuristicScale);
+            }
+        }
+        return false;
+    }
+
+    /** Cost of the cheapest link between the two fields. */
+    private float linkCost(int fieldA, int fieldB) {
+        float cost = Float.POSITIVE_INFINITY;
+        int end = graph.endOfLinks(fieldA);
+        for (int pos = graph.firstLink(fieldA); pos < end; pos++) {
+            if(graph.neighbour(pos) == fieldB) {
+                cost = Math.min(cost, costs[pos]);
+            }
+        }
+        return cost;
+    }
+
+    int clusterOf(int field) {
+        return clusterOf[field];
+    }
+
+    /** Checks if the two clusters are the same or have a crossing between them.
+     *
+     * @since 0.0.2
+     * @param clusterA The one cluster.
+     * @param clusterB The other cluster.
+     * @return {@code True} if the clusters are the same or neighbours.
+     */
+    boolean areNeighbours(int clusterA, int clusterB) {
+        return clusterA == clusterB || crossings.containsKey(pairKey(clusterA, clusterB));
+    }
+
+    int numClusters() {
+        return clusterFields.length;
+    }
+
+    /** Gets the entrances of a cluster.
+     *
+     * @since 0.0.2
+     * @param cluster Number of the cluster.
+     * @return Indices of the entrance fields, sorted ascending. The array is shared and must not be modified.
+     */
+    int[] entrances(int cluster) {
+        return entrances[cluster];
+    }
+
+    /** Cost of the cheapest path between two entrances of a cluster that does not leave the cluster.
+     *
+     * @since 0.0.2
+     * @param cluster Number of the cluster.
+     * @param from Position of the one entrance in {@link #entrances(int) entrances}.
+     * @param to Position of the other entrance.
+     * @return The cost, infinite if the entrances are not connected within the cluster.
+     */
+    float intraCost(int cluster, int from, int to) {
+        return intraCosts[cluster][from * entrances[cluster].length + to];
+    }
+
+    int numNodes() {
+        return nodeField.length;
+    }
+
+    int nodeOf(int field) {
+        return nodeOf[field];
+    }
+
+    int nodeField(int node) {
+        return nodeField[node];
+    }
+
+    int firstEdge(int node) {
+        return edgeOffsets[node];
+    }
+
+    int endOfEdges(int node) {
+        return edgeOffsets[node + 1];
+    }
+
+    int edgeTarget(int edge) {
+        return edgeTargets[edge];
+    }
+
+    float edgeCost(int edge) {
+        return edgeCosts[edge];
+    }
+
+}
@@ -21,202 +21,247 @@
 package dev.dragonstb.trpgnarrator.virtualhost.board;
 
 import com.jme3.math.Vector3f;
-import dev.dragonstb.trpgnarrator.virtualhost.generic.Globals;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.SearchBudget;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
-import lombok.Getter;
 import lombok.NonNull;
-import lombok.Setter;
 
-/** Finds the path using A*.
+/** Finds the path using A*. The search runs on the {@link BoardGraph graph} of the board, from the start field to the goal field.
+ * <br><br>
+ * The path is the cheapest one with respect to the costs of the links for the movement profile of the search. The heuristic is the
+ * horizontal distance, scaled by the lowest cost per WU of any link of the profile, so it never overestimates the remaining cost.
+ * If the graph has a {@link LandmarkTable landmark table} for the profile, the landmark bound is used as well, whichever is larger.
+ * <br><br>
+ * The search stops when its task gets cancelled, and when it exceeds its {@link SearchBudget budget}. In the latter case, it returns the
+ * path to the expanded field with the lowest estimated remaining cost to the goal, so the figurine can at least head into the right
+ * direction.
  *
  * @author Dragonstb
  * @since 0.0.2
  */
 final class Pathfinder implements Callable<Optional<List<Vector3f>>>{
 
+    /** Number of expansions between two checks of the interrupt flag and the deadline. */
+    static final int CHECK_INTERVAL = 256;
+
     /** Id of the field where the path starts. */
     private final int fromField;
     /** Id of the field where the path ends. */
     private final int toField;
-    /** The map of the{@link FieldData FieldData}. */
-    private final Map<Integer, FieldData> rawMap;
-    /** The map of the decorated field data. */
-    private final Map<Integer, FieldWrapper> map = new HashMap<>();
-    /** A data structure that easily sorts FieldWrappers by their total path lengths. TODO: please use such a data structure. */
-    private final List<FieldWrapper> pool = new ArrayList<>(); // TODO: use efficient data structure.
-    /** The start field data. */
-    private final FieldData startField;
+    /** The graph of the board at the time of creation of this pathfinder. */
+    private final BoardGraph graph;
+    /** Costs of the links for the movement profile of this search, parallel to the neighbours of the graph. */
+    private final float[] costs;
+    /** Converts horizontal distances into lower bounds of the costs. */
+    private final float heuristicScale;
+    /** Landmarks for a tighter heuristic, or {@code null} if there are none for the movement profile. */
+    private final LandmarkTable landmarks;
+    /** Maximum number of expansions. */
+    private final int maxExpansions;
+    /** Value of {@link System#nanoTime()} when the search has to stop. Only meaningful if {@link #hasDeadline}. */
+    private final long deadline;
+    /** If the time of the search is limited. */
+    private final boolean hasDeadline;
+    /** Counts the outcome of the search, or {@code null} if not counted. */
+    private final PathfindingMetrics metrics;
 
     Pathfinder(int fromField, int toField, @NonNull BoardData data) {
-        this.fromField = fromField;
-        this.toField = toField;
-        this.rawMap = data.getFields();
-        this.startField = rawMap.get(fromField);
+        this(fromField, toField, PathfindingConfig.DEFAULT_MOVEMENT_PROFILE, data);
     }
 
-    @Override
-    public Optional<List<Vector3f>> call() throws Exception {
-        FieldWrapper field = new FieldWrapper(rawMap.get(toField), startField);
-        map.put(toField, field);
-
-        // set distance of goal field to 0, path length to heuristic distance
-        field.setKnownPathLengthToGoal(0);
-        field.setFullPathLength(field.getHeuristicDistToStart());
+    Pathfinder(int fromField, int toField, int movementProfile, @NonNull BoardData data) {
+        this(fromField, toField, movementProfile, SearchBudget.UNLIMITED, data.getGraph(), data.getPathfindingMetrics());
+    }
 
-        // unreachable and occupied fields can be waived already now
-        // -- tbd --
+    Pathfinder(@NonNull PathfindingConfig config, @NonNull BoardData data) {
+        this(config.getFromField(), config.getToField(), config.getMovementProfile(), config.getBudget(), data.getGraph(),
+                data.getPathfindingMetrics());
+    }
 
-        // drop the goal field into the pool, as a starting point of our search
-        insert(field);
+    /** Generates a pathfinder working on the given graph. The time limit of the budget starts now.
+     *
+     * @since 0.0.2
+     * @param fromField Id of the field where the path starts.
+     * @param toField Id of the field where the path ends.
+     * @param movementProfile Movement profile whose link costs are used.
+     * @param budget Limits the effort of the search.
+     * @param graph The graph of the board.
+     * @param metrics Counts the outcome of the search. Can be {@code null}.
+     */
+    Pathfinder(int fromField, int toField, int movementProfile, @NonNull SearchBudget budget, @NonNull BoardGraph graph,
+            PathfindingMetrics metrics) {
+        this.fromField = fromField;
+        this.toField = toField;
+        this.graph = graph;
+        this.costs = graph.costs(movementProfile);
+        this.heuristicScale = graph.heuristicScale(movementProfile);
+        LandmarkTable table = graph.getLandmarks();
+        this.landmarks = table != null && table.getMovementProfile() == movementProfile ? table : null;
+        this.maxExpansions = budget.getMaxExpansions();
+        this.hasDeadline = budget.getTimeLimitNanos() != SearchBudget.NO_TIME_LIMIT;
+        this.deadline = hasDeadline ? System.nanoTime() + budget.getTimeLimitNanos() : 0;
+        this.metrics = metrics;
+    }
 
-        boolean success = false;
-        do {
-            field = removeMin();
-            if(field == null){
-                // should not happen
-                continue;
-            }
-            if(field.getId() == fromField) {
-                // reached start field => path found
-                success = true;
-                break;
-            }
-            field.setInvestigated(true);
-            relax(field);
-        } while(!pool.isEmpty());
-
-        if(success) {
-            List<Vector3f> path = new ArrayList<>();
-            FieldWrapper next = field;
-            do {
-                path.add(next.getField().getLocation());
-                next = next.getNext();
-            } while(next != null);
-            return Optional.of(path);
+    @Override
+    public Optional<List<Vector3f>> call() throws InterruptedException {
+        SearchSpace space = graph.acquireSearchSpace();
+        try {
+            return findPath(space);
         }
-        else {
-            return Optional.empty();
+        finally {
+            graph.releaseSearchSpace(space);
         }
     }
 
-    private void insert(FieldWrapper field) {
-        pool.add(field);
+    /** Finds the path using the given working memory.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param space Working memory obtained from the graph of this pathfinder, freshly reset.
+     * @return The way points of the path, or an empty optional if there is no path. If the budget has been exceeded, the path ends
+     * somewhere between the start and the goal.
+     * @throws InterruptedException If the thread has been interrupted during the search. The interrupt flag is cleared.
+     */
+    Optional<List<Vector3f>> findPath(@NonNull SearchSpace space) throws InterruptedException {
+        int start = graph.indexOf(fromField);
+        int goal = graph.indexOf(toField);
+        if(start == BoardGraph.NO_FIELD || goal == BoardGraph.NO_FIELD) {
+            return Optional.empty();
+        }
+
+        int end = search(space, start, goal);
+        return end != BoardGraph.NO_FIELD ? Optional.of(assemblePath(space, end)) : Optional.empty();
     }
 
-    /** Removes the field with the lowest, approximated pathlength
+    /** Runs A* from the start field to the goal field.
      *
-     * @return Field with shortest approximated path.
+     * @param space Working memory.
+     * @param start Index of the field where the path starts, and where the search starts.
+     * @param goal Index of the field where the path ends.
+     * @return Index of the field where the found path ends. This is the goal, or the most promising field if the budget has been
+     * exceeded, or {@link BoardGraph#NO_FIELD} if there is no path.
+     * @throws InterruptedException If the thread has been interrupted.
      */
-    private FieldWrapper removeMin() {
-        // TODO: optimize
-        if(pool.isEmpty()) {
-            return null;
-        }
+    private int search(SearchSpace space, int start, int goal) throws InterruptedException {
+        IndexedMinHeap open = space.getOpen();
 
-        float length = Float.POSITIVE_INFINITY;
-        FieldWrapper field = null;
-        for(FieldWrapper current: pool) {
-            if(current.getFullPathLength()< length) {
-                length = current.getFullPathLength();
-                field = current;
-            }
-        }
+        // unreachable and occupied fields can be waived already now
+        // -- tbd --
 
-        if(field == null) {
-            return null;
+        // drop the start field into the open set, as a starting point of our search
+        float estimate = heuristic(start, goal);
+        if(estimate == Float.POSITIVE_INFINITY) {
+            // the landmarks know that there is no connection
+            count(0, false);
+            return BoardGraph.NO_FIELD;
         }
+        space.reach(start, 0, SearchSpace.NO_LINK);
+        open.insert(start, estimate);
 
-        pool.remove(field);
-        return field;
-    }
-
-    private void relax(FieldWrapper field) {
-        // get linked fields
-        List<FieldWrapper> linked = new ArrayList<>();
-        for(FieldLink link: field.getField().getLinks()) {
-            int idOfLinked = (link.getFieldA().getId() == field.getId() ? link.getFieldB() : link.getFieldA()).getId();
-            if(!map.containsKey(idOfLinked)) {
-                FieldData other = rawMap.get(idOfLinked);
-                FieldWrapper wrapper = new FieldWrapper(other, startField);
-                map.put(idOfLinked, wrapper);
+        // the expanded field with the lowest estimated remaining cost, as fallback if the budget is exceeded
+        int best = start;
+        float bestRemaining = estimate;
+        int expansions = 0;
+        while(!open.isEmpty()) {
+            float key = open.minKey();
+            int field = open.removeMin();
+            if(field == goal) {
+                // reached goal field => path found
+                count(expansions, true);
+                return goal;
             }
-
-            // already investigated fields are skipped
-            FieldWrapper other = map.get(idOfLinked);
-            if(!other.isInvestigated()) {
-                linked.add(map.get(idOfLinked));
+            space.close(field);
+            float remaining = key - space.getCost(field);
+            if(remaining < bestRemaining) {
+                best = field;
+                bestRemaining = remaining;
             }
-        }
 
-        float newDist;
-        for(FieldWrapper other: linked) {
-            // preleminary length of path to goal when walking from 'other' to 'field' (field has a known path length already)
-            newDist = field.getKnownPathLengthToGoal()+ 1; // TODO: add real costs/distances rather than unity
-            if(newDist < other.getKnownPathLengthToGoal()) {
-                // checking this field for the first time?
-                boolean newField = Float.isInfinite(other.getFullPathLength());
-                // append path
-                other.setNext(field);
-                // update known path length from 'other' to goal
-                other.setKnownPathLengthToGoal(newDist);
-                // update heuristic total path length
-                other.setFullPathLength(newDist + other.getHeuristicDistToStart());
-
-                if(newField) {
-                    insert(other);
+            expansions++;
+            if(expansions % CHECK_INTERVAL == 0 && Thread.interrupted()) {
+                if(metrics != null) {
+                    metrics.countExpansions(expansions);
+                    metrics.countCancelled();
                 }
-                else {
-                    decreaseKey(other);
+                throw new InterruptedException();
+            }
+            if(expansions >= maxExpansions || (hasDeadline && expansions % CHECK_INTERVAL == 0 && System.nanoTime() - deadline > 0)) {
+                if(metrics != null) {
+                    metrics.countExpansions(expansions);
+                    metrics.countBudgetExceeded();
                 }
+                return best;
             }
-        }
 
+            relax(space, field, goal);
+        }
+        count(expansions, false);
+        return BoardGraph.NO_FIELD;
     }
 
-    /** Decreases the key (fullPathLength) of the field in the pool.
-     * @since 0.0.1
-     * @param field
-     */
-    private void decreaseKey(FieldWrapper field) {
-        // TODO: use a proper data structure where this action makes sense, not a list that checks the keys of every entry every time
+    private void count(int expansions, boolean found) {
+        if(metrics == null) {
+            return;
+        }
+        metrics.countExpansions(expansions);
+        if(found) {
+            metrics.countFound();
+        }
+        else {
+            metrics.countUnreachable();
+        }
     }
 
+    private void relax(SearchSpace space, int field, int goal) {
+        float known = space.getCost(field);
+        IndexedMinHeap open = space.getOpen();
 
-    @Getter
-    @Setter
-    private class FieldWrapper {
-
-        // TODO: make this its own first-level class, for easier unit testing
-
-        /** The decorated field. */
-        private final FieldData field;
-        /** This field has been taken into account already. */
-        private boolean investigated = false;
-        /** Distance to the start field of the search (which is the goal field of the path, aka the field with id 'toField'). */
-        private float knownPathLengthToGoal = Float.POSITIVE_INFINITY;
-        /** A heuristic distance to the field with id 'fromField', used during computation. */
-        private final float heuristicDistToStart;
-        /** The length of the path including this field according to the current state of the computation. */
-        private float fullPathLength = Float.POSITIVE_INFINITY;
-        /** If not null, the next field on the path from here to the goal. */
-        private FieldWrapper next = null;
-
-        FieldWrapper(FieldData field, FieldData startField) {
-            this.field = field;
-            // horizontal distance as heuristic distance
-            Vector3f here = new Vector3f(field.getLocation()).setY(0);
-            Vector3f start = new Vector3f(startField.getLocation()).setY(0);
-            heuristicDistToStart = here.distance(start) / Globals.FIELD_DIAMETER;
+        int end = graph.endOfLinks(field);
+        for (int pos = graph.firstLink(field); pos < end; pos++) {
+            int other = graph.neighbour(pos);
+            // preleminary length of path from the start when walking from 'field' to the linked field ('field' has a known path length already)
+            float newDist = known + costs[pos];
+            // already investigated fields are skipped, and so are impassable links
+            if(space.isClosed(other) || newDist >= space.getCost(other)) {
+                continue;
+            }
+            float estimate = heuristic(other, goal);
+            if(estimate == Float.POSITIVE_INFINITY) {
+                continue;
+            }
+
+            space.reach(other, newDist, field);
+            open.insertOrDecrease(other, newDist + estimate);
         }
+    }
+
+    /** Horizontal distance times the lowest cost per WU of any link, as heuristic distance. If landmarks are available, the larger of
+     * this and the landmark bound.
+     *
+     * @param field Index of the field.
+     * @param goal Index of the goal field.
+     * @return Heuristic distance.
+     */
+    private float heuristic(int field, int goal) {
+        float straight = graph.horizontalDistance(field, goal) * heuristicScale;
+        return landmarks != null ? Math.max(straight, landmarks.heuristic(field, goal)) : straight;
+    }
 
-        int getId() {
-            return field.getId();
+    /** Follows the links back from the end of the path to the start and reverses the result into walking order. */
+    private List<Vector3f> assemblePath(SearchSpace space, int end) {
+        List<Vector3f> path = new ArrayList<>();
+        int next = end;
+        while(next != SearchSpace.NO_LINK) {
+            path.add(new Vector3f(graph.x(next), graph.y(next), graph.z(next)));
+            next = space.getLink(next);
         }
+        Collections.reverse(path);
+        return path;
     }
 
 }
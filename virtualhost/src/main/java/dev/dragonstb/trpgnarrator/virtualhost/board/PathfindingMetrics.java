@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PathfindingStatsDTO;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Counts the outcomes of the searches of all pathfinders of a board. The pathfinders run in the threads of an executor, so the counters
+ * are adders, which do not slow down concurrent searches.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class PathfindingMetrics {
+
+    private final LongAdder found = new LongAdder();
+    private final LongAdder unreachable = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder budgetExceeded = new LongAdder();
+    private final LongAdder expansions = new LongAdder();
+
+    void countFound() {
+        found.increment();
+    }
+
+    void countUnreachable() {
+        unreachable.increment();
+    }
+
+    void countCancelled() {
+        cancelled.increment();
+    }
+
+    void countBudgetExceeded() {
+        budgetExceeded.increment();
+    }
+
+    void countExpansions(int number) {
+        expansions.add(number);
+    }
+
+    /** Creates a snapshot of the counters.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return The counters.
+     */
+    PathfindingStatsDTO getStats() {
+        return new PathfindingStatsDTO(found.sum(), unreachable.sum(), cancelled.sum(), budgetExceeded.sum(), expansions.sum());
+    }
+
+}
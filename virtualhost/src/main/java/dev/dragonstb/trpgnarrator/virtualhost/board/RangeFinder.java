@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.BoardFieldNotFoundException;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReachableFieldsDTO;
+import java.util.Arrays;
+import lombok.NonNull;
+
+/** Finds all fields reachable from a start field with a limited amount of movement points. This is a Dijkstra search from the start field
+ * that stops at the budget, so a single pass yields the reachable fields together with their cheapest predecessors.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class RangeFinder {
+
+    /** The graph of the board at the time of creation of this range finder. */
+    private final BoardGraph graph;
+
+    RangeFinder(@NonNull BoardData data) {
+        this.graph = data.getGraph();
+    }
+
+    /** Finds the reachable fields for the default movement profile.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param fromField Id of the field where all movements start.
+     * @param movementPoints Maximum cost of a movement.
+     * @return The reachable fields, including the start field.
+     * @throws BoardFieldNotFoundException If the start field does not exist.
+     * @throws IllegalArgumentException If the movement points are negative or not a number.
+     */
+    ReachableFieldsDTO find(int fromField, float movementPoints) throws BoardFieldNotFoundException, IllegalArgumentException {
+        return find(fromField, movementPoints, PathfindingConfig.DEFAULT_MOVEMENT_PROFILE);
+    }
+
+    /** Finds the reachable fields.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param fromField Id of the field where all movements start.
+     * @param movementPoints Maximum cost of a movement.
+     * @param movementProfile Movement profile whose link costs are used.
+     * @return The reachable fields, including the start field.
+     * @throws BoardFieldNotFoundException If the start field does not exist.
+     * @throws IllegalArgumentException If the movement points are negative or not a number.
+     */
+    ReachableFieldsDTO find(int fromField, float movementPoints, int movementProfile)
+            throws BoardFieldNotFoundException, IllegalArgumentException {
+        String errCode = VHostErrorCodes.V27093;
+        if(!(movementPoints >= 0)) {
+            String msg = "Movement points must not be negative, but are "+movementPoints+".";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+        int start = graph.indexOf(fromField);
+        if(start == BoardGraph.NO_FIELD) {
+            String msg = "Possible starting field with id "+fromField+" does not exists.";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new BoardFieldNotFoundException(use);
+        }
+
+        float[] linkCosts = graph.costs(movementProfile);
+        int[] fieldIds = new int[16];
+        float[] costs = new float[16];
+        int[] predecessorIds = new int[16];
+        int size = 0;
+
+        SearchSpace space = graph.acquireSearchSpace();
+        try {
+            IndexedMinHeap open = space.getOpen();
+            space.reach(start, 0, start);
+            open.insert(start, 0);
+
+            while(!open.isEmpty()) {
+                int field = open.removeMin();
+                space.close(field);
+
+                if(size == fieldIds.length) {
+                    fieldIds = Arrays.copyOf(fieldIds, 2 * size);
+                    costs = Arrays.copyOf(costs, 2 * size);
+                    predecessorIds = Arrays.copyOf(predecessorIds, 2 * size);
+                }
+                fieldIds[size] = graph.fieldId(field);
+                costs[size] = space.getCost(field);
+                predecessorIds[size] = graph.fieldId(space.getLink(field));
+                size++;
+
+                float known = space.getCost(field);
+                int end = graph.endOfLinks(field);
+                for (int pos = graph.firstLink(field); pos < end; pos++) {
+                    int other = graph.neighbour(pos);
+                    float newCost = known + linkCosts[pos];
+                    if(newCost > movementPoints || space.isClosed(other) || newCost >= space.getCost(other)) {
+                        continue;
+                    }
+                    space.reach(other, newCost, field);
+                    open.insertOrDecrease(other, newCost);
+                }
+            }
+        }
+        finally {
+            graph.releaseSearchSpace(space);
+        }
+
+        return new ReachableFieldsDTO(fromField, movementPoints, fieldIds, costs, predecessorIds, size);
+    }
+
+}
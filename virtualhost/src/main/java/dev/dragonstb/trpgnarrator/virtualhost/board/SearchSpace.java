@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import java.util.Arrays;
+
+/** Working memory of a search on a {@link BoardGraph board graph}: the known path cost and the linked predecessor of each visited field,
+ * which fields are done, and the open set. The arrays are sized for the whole graph once and then reused for many searches. Instead of
+ * clearing them, each search gets a new generation number, and entries stamped with an older generation count as unvisited.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class SearchSpace {
+
+    /** Returned by {@link #getLink(int) getLink} for fields without a link. */
+    static final int NO_LINK = -1;
+
+    /** Known cost of the path from the origin of the search to each field. */
+    private final float[] costs;
+    /** The field through which each field has been reached. */
+    private final int[] links;
+    /** Generation in which each field has been reached. */
+    private final int[] seen;
+    /** Generation in which each field has been done. */
+    private final int[] closed;
+    /** The open set. */
+    private final IndexedMinHeap open;
+    /** The number of the current search. */
+    private int generation = 0;
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param capacity Number of fields of the graph.
+     */
+    SearchSpace(int capacity) {
+        costs = new float[capacity];
+        links = new int[capacity];
+        seen = new int[capacity];
+        closed = new int[capacity];
+        open = new IndexedMinHeap(capacity);
+    }
+
+    /** Forgets everything about the last search.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     */
+    void reset() {
+        open.clear();
+        generation++;
+        if(generation == Integer.MAX_VALUE) {
+            // wrap around, at the price of clearing the stamps once
+            Arrays.fill(seen, 0);
+            Arrays.fill(closed, 0);
+            generation = 1;
+        }
+    }
+
+    int capacity() {
+        return costs.length;
+    }
+
+    IndexedMinHeap getOpen() {
+        return open;
+    }
+
+    boolean isSeen(int index) {
+        return seen[index] == generation;
+    }
+
+    /** Gets the known path cost of the field.
+     *
+     * @since 0.0.2
+     * @param index Index of the field.
+     * @return Cost, or positive infinity if the field has not been reached yet.
+     */
+    float getCost(int index) {
+        return seen[index] == generation ? costs[index] : Float.POSITIVE_INFINITY;
+    }
+
+    /** Gets the field through which the field has been reached.
+     *
+     * @since 0.0.2
+     * @param index Index of the field.
+     * @return Index of the field through which the field has been reached, or {@link #NO_LINK}.
+     */
+    int getLink(int index) {
+        return seen[index] == generation ? links[index] : NO_LINK;
+    }
+
+    /** Records that the field has been reached.
+     *
+     * @since 0.0.2
+     * @param index Index of the field.
+     * @param cost Known cost of the path to the field.
+     * @param link Index of the field through which the field has been reached, or {@link #NO_LINK} for the origin.
+     */
+    void reach(int index, float cost, int link) {
+        seen[index] = generation;
+        costs[index] = cost;
+        links[index] = link;
+    }
+
+    boolean isClosed(int index) {
+        return closed[index] == generation;
+    }
+
+    void close(int index) {
+        closed[index] = generation;
+    }
+
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Globals;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import lombok.NonNull;
+
+/** Uniform grid over the horizontal location (x and z) of the fields, for finding fields by their position without looking at every
+ * field of the board. The fields are sorted into square cells by counting sort, so building the index takes linear time. The cells are
+ * stored in compressed sparse row layout: the fields in cell {@code c} are {@code entries[cellStart[c]]} to
+ * {@code entries[cellStart[c+1]-1]}.
+ * <br><br>
+ * The index is a snapshot of the locations at the time of its creation.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class SpatialIndex {
+
+    /** The grid has at most this many cells per indexed field, plus some constant. If the fields are spread too sparsely for the requested
+     * cell size, the cells are enlarged. */
+    private static final int MAX_CELLS_PER_FIELD = 4;
+
+    /** Edge length of a cell in WU. */
+    private final float cellSize;
+    /** Lower x bound of the grid. */
+    private final float minX;
+    /** Lower z bound of the grid. */
+    private final float minZ;
+    /** Number of cells along the x axis. */
+    private final int cellsX;
+    /** Number of cells along the z axis. */
+    private final int cellsZ;
+    /** Start of the fields of each cell in the entry arrays, plus one entry for the end of the last cell. */
+    private final int[] cellStart;
+    /** The fields, ordered by cell. */
+    private final FieldData[] entries;
+    /** X coordinates of the fields in {@link #entries}. */
+    private final float[] entryX;
+    /** Y coordinates of the fields in {@link #entries}. */
+    private final float[] entryY;
+    /** Z coordinates of the fields in {@link #entries}. */
+    private final float[] entryZ;
+
+    /** Builds the index.
+     *
+     * @since 0.0.2
+     * @param fields The fields to be indexed.
+     * @param cellSize Preferred edge length of the cells in WU. Queries are fastest if this is about the distance of adjacent fields. The
+     * index may choose larger cells for sparsely spread fields.
+     * @throws IllegalArgumentException If the cell size is not a positive, finite number.
+     */
+    SpatialIndex(@NonNull Collection<FieldData> fields, float cellSize) throws IllegalArgumentException {
+        if(!(cellSize > 0) || Float.isInfinite(cellSize)) {
+            String errCode = VHostErrorCodes.V56318;
+            String msg = "The cell size of the spatial index must be a positive, finite number, but is "+cellSize+".";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+
+        int size = fields.size();
+        FieldData[] unsorted = fields.toArray(FieldData[]::new);
+        float lowX = Float.POSITIVE_INFINITY;
+        float lowZ = Float.POSITIVE_INFINITY;
+        float highX = Float.NEGATIVE_INFINITY;
+        float highZ = Float.NEGATIVE_INFINITY;
+        for(FieldData field: unsorted) {
+            lowX = Math.min(lowX, field.getLocation().x);
+            lowZ = Math.min(lowZ, field.getLocation().z);
+            highX = Math.max(highX, field.getLocation().x);
+            highZ = Math.max(highZ, field.getLocation().z);
+        }
+        if(size == 0) {
+            lowX = lowZ = highX = highZ = 0;
+        }
+        minX = lowX;
+        minZ = lowZ;
+
+        // enlarge the cells until the grid is not much larger than the number of fields
+        float useSize = cellSize;
+        long maxCells = (long)MAX_CELLS_PER_FIELD * size + 16;
+        while(numCellsAlong(highX - lowX, useSize) * numCellsAlong(highZ - lowZ, useSize) > maxCells) {
+            useSize *= 2;
+        }
+        this.cellSize = useSize;
+        cellsX = (int)numCellsAlong(highX - lowX, useSize);
+        cellsZ = (int)numCellsAlong(highZ - lowZ, useSize);
+
+        // counting sort by cell
+        int[] cellOfField = new int[size];
+        cellStart = new int[cellsX * cellsZ + 1];
+        for (int idx = 0; idx < size; idx++) {
+            int cell = cellOf(unsorted[idx].getLocation().x, unsorted[idx].getLocation().z);
+            cellOfField[idx] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int cell = 0; cell < cellStart.length - 1; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        int[] next = new int[cellStart.length - 1];
+        System.arraycopy(cellStart, 0, next, 0, next.length);
+
+        entries = new FieldData[size];
+        entryX = new float[size];
+        entryY = new float[size];
+        entryZ = new float[size];
+        for (int idx = 0; idx < size; idx++) {
+            int pos = next[cellOfField[idx]]++;
+            FieldData field = unsorted[idx];
+            entries[pos] = field;
+            entryX[pos] = field.getLocation().x;
+            entryY[pos] = field.getLocation().y;
+            entryZ[pos] = field.getLocation().z;
+        }
+    }
+
+    private static long numCellsAlong(float extent, float cellSize) {
+        return (long)Math.floor(extent / cellSize) + 1;
+    }
+
+    private int cellOf(float x, float z) {
+        return cellZ(z) * cellsX + cellX(x);
+    }
+
+    private int cellX(float x) {
+        return clamp((int)Math.floor((x - minX) / cellSize), cellsX);
+    }
+
+    private int cellZ(float z) {
+        return clamp((int)Math.floor((z - minZ) / cellSize), cellsZ);
+    }
+
+    private static int clamp(int cell, int numCells) {
+        return Math.max(0, Math.min(numCells - 1, cell));
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    /** Gets all fields whose centre is within the given horizontal distance of the given position.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param x X coordinate of the position.
+     * @param z Z coordinate of the position.
+     * @param radius Maximum horizontal distance in WU, inclusive.
+     * @return The fields found, in no particular order. Empty if no field is close enough.
+     */
+    List<FieldData> getFieldsWithinRadius(float x, float z, float radius) {
+        List<FieldData> found = new ArrayList<>();
+        if(!(radius >= 0) || entries.length == 0) {
+            return found;
+        }
+
+        float radiusSq = radius * radius;
+        int fromCellX = cellX(x - radius);
+        int toCellX = cellX(x + radius);
+        int toCellZ = cellZ(z + radius);
+        for (int cz = cellZ(z - radius); cz <= toCellZ; cz++) {
+            // the cells of a row are adjacent in the entry arrays
+            int end = cellStart[cz * cellsX + toCellX + 1];
+            for (int pos = cellStart[cz * cellsX + fromCellX]; pos < end; pos++) {
+                float dx = entryX[pos] - x;
+                float dz = entryZ[pos] - z;
+                if(dx * dx + dz * dz <= radiusSq) {
+                    found.add(entries[pos]);
+                }
+            }
+        }
+        return found;
+    }
+
+    /** Gets the field at the given position, which is the field with the horizontally closest centre, as long as the centre is not more
+     * than {@link Globals#FIELD_RADIUS FIELD_RADIUS} away.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param x X coordinate of the position.
+     * @param z Z coordinate of the position.
+     * @return The field at the position, or {@code null} if there is no field.
+     */
+    FieldData getFieldAt(float x, float z) {
+        if(entries.length == 0) {
+            return null;
+        }
+
+        float radius = Globals.FIELD_RADIUS;
+        float bestSq = radius * radius;
+        FieldData best = null;
+        int fromCellX = cellX(x - radius);
+        int toCellX = cellX(x + radius);
+        int toCellZ = cellZ(z + radius);
+        for (int cz = cellZ(z - radius); cz <= toCellZ; cz++) {
+            int end = cellStart[cz * cellsX + toCellX + 1];
+            for (int pos = cellStart[cz * cellsX + fromCellX]; pos < end; pos++) {
+                float dx = entryX[pos] - x;
+                float dz = entryZ[pos] - z;
+                float distSq = dx * dx + dz * dz;
+                if(distSq <= bestSq) {
+                    bestSq = distSq;
+                    best = entries[pos];
+                }
+            }
+        }
+        return best;
+    }
+
+    /** Links each pair of indexed fields whose centres are the given distance apart, with some tolerance. Each pair gets a single
+     * {@link FieldLink link}, which is added to both fields. The field with the
+     * higher id becomes {@code fieldA} of the link. Runs in linear time as long as the distance is not much larger than the cell
+     * size.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param distance Distance between the centres of adjacent fields in WU, measured in all three dimensions.
+     * @param tolerance Maximum deviation from the distance in WU.
+     * @return Number of links created.
+     */
+    int linkAdjacentFields(float distance, float tolerance) {
+        float reach = distance + tolerance;
+        int numLinks = 0;
+        for (int pos = 0; pos < entries.length; pos++) {
+            float x = entryX[pos];
+            float z = entryZ[pos];
+            int fromCellX = cellX(x - reach);
+            int toCellX = cellX(x + reach);
+            int toCellZ = cellZ(z + reach);
+            for (int cz = cellZ(z - reach); cz <= toCellZ; cz++) {
+                int end = cellStart[cz * cellsX + toCellX + 1];
+                // start behind this field, so each pair is visited once
+                for (int other = Math.max(pos + 1, cellStart[cz * cellsX + fromCellX]); other < end; other++) {
+                    float dx = entryX[other] - x;
+                    float dy = entryY[other] - entryY[pos];
+                    float dz = entryZ[other] - z;
+                    float dist = (float)Math.sqrt(dx * dx + dy * dy + dz * dz);
+                    if(Math.abs(dist - distance) < tolerance) {
+                        // like everywhere else on the board, the field with the higher id comes first
+                        FieldData fieldA = entries[pos].getId() > entries[other].getId() ? entries[pos] : entries[other];
+                        FieldData fieldB = fieldA == entries[pos] ? entries[other] : entries[pos];
+                        FieldLink link = new FieldLink(fieldA, fieldB);
+                        fieldA.addLink(link);
+                        fieldB.addLink(link);
+                        numLinks++;
+                    }
+                }
+            }
+        }
+        return numLinks;
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.hostconnector.HostConnector;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.BackpressurePolicy;
+import java.util.concurrent.Executor;
+import lombok.NonNull;
+
+/**
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class AsyncBrokerFactory {
+
+    /** Capacity of the queue of each channel when nothing else is specified. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    /** Creates an asynchronous broker.
+     *
+     * @since 0.0.2
+     * @param connector Connector to the outside world.
+     * @param executor Runs the tasks draining the queues of the channels. Tasks of different channels may wait for each other when a
+     * receiver requests something from another channel, so the executor should either create threads on demand, like an executor of
+     * virtual threads, or have at least one thread per channel.
+     * @param queueCapacity Capacity of the queue of each channel. Must be positive.
+     * @param policy What happens to messages sent to a full queue.
+     * @return The broker.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    public static AsynchronousBroker createBroker(@NonNull HostConnector connector, @NonNull Executor executor, int queueCapacity,
+            @NonNull BackpressurePolicy policy) throws IllegalArgumentException {
+        return new AsyncBrokerImp(connector, executor, queueCapacity, policy);
+    }
+}
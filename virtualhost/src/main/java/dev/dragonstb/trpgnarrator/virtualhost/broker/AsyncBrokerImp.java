@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
+import dev.dragonstb.trpgnarrator.virtualhost.hostconnector.HostConnector;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.BackpressurePolicy;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.ClockReceiver;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamed;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PhaseTimingDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import lombok.NonNull;
+
+/** Broker with a bounded queue per channel, drained by the tasks of an executor.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class AsyncBrokerImp implements AsynchronousBroker, BrokerMetrics {
+
+    /** Connector to the outside world. */
+    private final HostConnector connector;
+    /** Runs the tasks draining the queues. */
+    private final Executor executor;
+    /** Capacity of the queue of each channel. */
+    private final int queueCapacity;
+    /** What happens to messages sent to a full queue. */
+    private final BackpressurePolicy policy;
+    /** The channels, indexed by the id of their name in the {@link CodeRegistry#CHANNELS channel registry}. Replaced by a longer copy when
+     * a channel with a higher id is created. Entries are {@code null} for channels no receiver has ever registered to. Channels are kept
+     * when their last receiver deregisters, as there may be deliveries in their queues. */
+    private volatile AsyncChannel[] channels = new AsyncChannel[0];
+    private final TimingChannel timingChannel = new TimingChannel();
+    /** Holds back coalescable messages until the next timing signal. */
+    private final MessageCoalescer coalescer = new MessageCoalescer();
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param connector Connector to the outside world.
+     * @param executor Runs the tasks draining the queues. Deliveries to the receivers happen on its threads.
+     * @param queueCapacity Capacity of the queue of each channel. Must be positive.
+     * @param policy What happens to messages sent to a full queue.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    AsyncBrokerImp(@NonNull HostConnector connector, @NonNull Executor executor, int queueCapacity, @NonNull BackpressurePolicy policy)
+            throws IllegalArgumentException {
+        if(queueCapacity < 1) {
+            String errCode = VHostErrorCodes.V07245;
+            String msg = "The capacity of the queues must be positive, but is "+queueCapacity+".";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+
+        this.connector = connector;
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+        this.policy = policy;
+    }
+
+    @Override
+    public void registerToChannel(@NonNull Receiver receiver, @NonNull String channelName) {
+        registerToChannel(receiver, CodeRegistry.CHANNELS.idOf(channelName));
+    }
+
+    @Override
+    public synchronized void registerToChannel(@NonNull Receiver receiver, int channelId) {
+        // the registry is asked first, so the array does not grow for ids that do not exist
+        String name = CodeRegistry.CHANNELS.codeOf(channelId);
+        AsyncChannel[] current = channels;
+        if(channelId >= current.length) {
+            current = Arrays.copyOf(current, CodeRegistry.CHANNELS.size());
+        }
+        if(current[channelId] == null) {
+            current[channelId] = new AsyncChannel(new BrokerChannel(name, channelId), executor, queueCapacity, policy);
+        }
+        channels = current;
+        current[channelId].getChannel().addReceiver(receiver);
+    }
+
+    @Override
+    public void deregisterFromChannel(@NonNull Receiver receiver, @NonNull String channelName) {
+        deregisterFromChannel(receiver, CodeRegistry.CHANNELS.find(channelName));
+    }
+
+    @Override
+    public void deregisterFromChannel(@NonNull Receiver receiver, int channelId) {
+        AsyncChannel channel = channelOf(channelId);
+        if(channel == null) {
+            return;
+        }
+
+        channel.getChannel().removeReceiver(receiver);
+    }
+
+    @Override
+    public void send(@NonNull Message msg, @NonNull String channelName) {
+        send(msg, CodeRegistry.CHANNELS.find(channelName));
+    }
+
+    @Override
+    public void send(@NonNull Message msg, int channelId) {
+        if(!coalescer.hold(channelId, msg)) {
+            deliver(msg, channelId);
+        }
+    }
+
+    /** Puts the message into the queue of the channel right away.
+     *
+     * @param msg The message.
+     * @param channelId Id of the channel.
+     */
+    private void deliver(Message msg, int channelId) {
+        AsyncChannel channel = channelOf(channelId);
+        if(channel != null) {
+            channel.send(msg);
+        }
+    }
+
+    @Override
+    public List<Optional<Object>> request(@NonNull String channelName, @NonNull FetchCommand fetch, boolean skipEmpties) {
+        return request(CodeRegistry.CHANNELS.find(channelName), fetch, skipEmpties);
+    }
+
+    @Override
+    public List<Optional<Object>> request(int channelId, @NonNull FetchCommand fetch, boolean skipEmpties) {
+        AsyncChannel channel = channelOf(channelId);
+        return channel!=null ? channel.request(fetch, skipEmpties) : new ArrayList<>();
+    }
+
+    @Override
+    public Optional<Object> requestFirst(int channelId, @NonNull FetchCommand fetch) {
+        AsyncChannel channel = channelOf(channelId);
+        return channel!=null ? channel.requestFirst(fetch) : Optional.empty();
+    }
+
+    @Override
+    public CompletableFuture<List<Optional<Object>>> requestAsync(@NonNull String channelName, @NonNull FetchCommand fetch,
+            boolean skipEmpties) {
+        return requestAsync(CodeRegistry.CHANNELS.find(channelName), fetch, skipEmpties);
+    }
+
+    @Override
+    public CompletableFuture<List<Optional<Object>>> requestAsync(int channelId, @NonNull FetchCommand fetch, boolean skipEmpties) {
+        AsyncChannel channel = channelOf(channelId);
+        return channel!=null ? channel.requestAsync(fetch, skipEmpties) : CompletableFuture.completedFuture(new ArrayList<>());
+    }
+
+    @Override
+    public int countReceivers(int channelId) {
+        AsyncChannel channel = channelOf(channelId);
+        return channel!=null ? channel.getChannel().size() : 0;
+    }
+
+    @Override
+    public long countCoalesced() {
+        long sum = coalescer.getCoalesced();
+        for (AsyncChannel channel : channels) {
+            sum += channel != null ? channel.getCoalesced() : 0;
+        }
+        return sum;
+    }
+
+    @Override
+    public long countDropped() {
+        long sum = 0;
+        for (AsyncChannel channel : channels) {
+            sum += channel != null ? channel.getDropped() : 0;
+        }
+        return sum;
+    }
+
+    /** Gets the channel with the id.
+     *
+     * @param channelId Id of the channel, or {@link CodeRegistry#NO_ID}.
+     * @return The channel, or {@code null} if no receiver has ever registered to it.
+     */
+    AsyncChannel channelOf(int channelId) {
+        AsyncChannel[] current = channels;
+        return channelId >= 0 && channelId < current.length ? current[channelId] : null;
+    }
+
+    @Override
+    public void update(float tpf) {
+        String errCode = VHostErrorCodes.V50700;
+        if(!Float.isFinite(tpf) || tpf < 0) {
+            String msg = "Time step must be a non-negative number of seconds, but got "+tpf;
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+
+        coalescer.flush(this::deliver);
+        timingChannel.update(tpf);
+    }
+
+    @Override
+    public void registerToTiming(@NonNull ClockReceiver receiver) {
+        timingChannel.addReceiver(receiver);
+    }
+
+    @Override
+    public void registerToTiming(@NonNull ClockReceiver receiver, @NonNull TimingOptions options) {
+        timingChannel.addReceiver(receiver, options);
+    }
+
+    @Override
+    public void deregisterFromTiming(@NonNull ClockReceiver receiver) {
+        timingChannel.removeReceiver(receiver);
+    }
+
+    @Override
+    public List<PhaseTimingDTO> snapshotTiming() {
+        return timingChannel.snapshot();
+    }
+
+    @Override
+    public void sendOutbound(VHStreamed object) {
+        connector.sendOutbound(object);
+    }
+
+}
@@ -0,0 +1,377 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Coalescable;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.BackpressurePolicy;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+/** A channel of the {@link AsyncBrokerImp async broker}. Messages and requests go into a bounded queue, which many threads may fill, and
+ * which is drained by one task of the executor at a time. The task delivers to the receivers of the underlying {@link BrokerChannel}.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class AsyncChannel {
+
+    /** Delivers to the receivers. */
+    @Getter(AccessLevel.PACKAGE) private final BrokerChannel channel;
+    /** Runs the tasks draining the queue. */
+    private final Executor executor;
+    /** Maximum number of queued deliveries. */
+    private final int capacity;
+    /** What happens to messages sent while the queue is full. */
+    private final BackpressurePolicy policy;
+    /** Deliveries not made yet. Guarded by {@link #lock}. */
+    private final ArrayDeque<Delivery> queue = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Signalled when a delivery has been taken from the queue. */
+    private final Condition notFull = lock.newCondition();
+    /** Whether a task draining the queue has been handed to the executor and has not finished yet. Guarded by {@link #lock}. */
+    private boolean scheduled = false;
+    /** The thread currently draining the queue, or {@code null}. */
+    private volatile Thread drainer = null;
+    /** Number of messages dropped because the queue was full. */
+    private final LongAdder dropped = new LongAdder();
+    /** Number of messages replaced by a newer message with the same headline and coalescing key. */
+    private final LongAdder coalesced = new LongAdder();
+
+    AsyncChannel(@NonNull BrokerChannel channel, @NonNull Executor executor, int capacity, @NonNull BackpressurePolicy policy) {
+        this.channel = channel;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.policy = policy;
+    }
+
+    /** Queues the message for delivery.
+     *
+     * @since 0.0.2
+     * @param msg The message.
+     */
+    void send(Message msg) {
+        enqueue(new Delivery(msg, null, false, false, null));
+    }
+
+    /** Queues a request.
+     *
+     * @since 0.0.2
+     * @param fetch What the receivers are asked for.
+     * @param skipEmpties Shall empty optionals be excluded from the result?
+     * @return Future completed once the receivers have answered.
+     */
+    CompletableFuture<List<Optional<Object>>> requestAsync(@NonNull FetchCommand fetch, boolean skipEmpties) {
+        CompletableFuture<List<Optional<Object>>> future = new CompletableFuture<>();
+        enqueue(new Delivery(null, fetch, skipEmpties, false, future));
+        return future;
+    }
+
+    /** Queues a request and waits for the answers. When called while draining this channel, i.e. by a receiver of this channel, the
+     * request is answered right away, as waiting for the queue would wait for the caller itself.
+     *
+     * @since 0.0.2
+     * @param fetch What the receivers are asked for.
+     * @param skipEmpties Shall empty optionals be excluded from the result?
+     * @return Whatever the receivers sent back.
+     */
+    List<Optional<Object>> request(@NonNull FetchCommand fetch, boolean skipEmpties) {
+        if(Thread.currentThread() == drainer) {
+            return channel.request(fetch, skipEmpties);
+        }
+        return await(requestAsync(fetch, skipEmpties));
+    }
+
+    /** Queues a request for the first non-empty answer and waits for it. Receivers after the first one with an answer are not asked. Like
+     * {@link #request(FetchCommand, boolean) request}, the request is answered right away when called while draining this channel.
+     *
+     * @since 0.0.2
+     * @param fetch What the receivers are asked for.
+     * @return The first non-empty answer, or an empty optional if no receiver had an answer.
+     */
+    Optional<Object> requestFirst(@NonNull FetchCommand fetch) {
+        if(Thread.currentThread() == drainer) {
+            return channel.requestFirst(fetch);
+        }
+
+        CompletableFuture<List<Optional<Object>>> future = new CompletableFuture<>();
+        enqueue(new Delivery(null, fetch, true, true, future));
+        List<Optional<Object>> answers = await(future);
+        return answers.isEmpty() ? Optional.empty() : answers.getFirst();
+    }
+
+    /** Waits for the answers to a queued request.
+     *
+     * @param future Future of the request.
+     * @return The answers.
+     */
+    private List<Optional<Object>> await(CompletableFuture<List<Optional<Object>>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // rethrow what the receiver threw, as the synchronous broker does
+            if(e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    /** Puts the delivery into the queue, applying the backpressure policy if the queue is full, and makes sure a task drains the queue.
+     *
+     * @param delivery The delivery.
+     */
+    private void enqueue(Delivery delivery) {
+        boolean schedule;
+        lock.lock();
+        try {
+            boolean absorbed = false;
+            while(queue.size() >= capacity) {
+                if(delivery.isMessage() && policy == BackpressurePolicy.coalesce && replaceSameKey(delivery.msg)) {
+                    absorbed = true;
+                    break;
+                }
+                if(delivery.isMessage() && policy != BackpressurePolicy.block && dropOldestMessage()) {
+                    break;
+                }
+                if(Thread.currentThread() == drainer) {
+                    // a receiver of this channel cannot wait for itself to make space, so the queue exceeds its capacity
+                    break;
+                }
+                try {
+                    notFull.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    discard(delivery, e);
+                    return;
+                }
+            }
+
+            if(!absorbed) {
+                queue.addLast(delivery);
+            }
+            schedule = !scheduled;
+            scheduled = true;
+        } finally {
+            lock.unlock();
+        }
+
+        if(schedule) {
+            schedule();
+        }
+    }
+
+    /** Hands a task draining the queue to the executor.
+     *
+     */
+    private void schedule() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            lock.lock();
+            try {
+                scheduled = false;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    /** Delivers queued messages and requests until the queue is empty.
+     *
+     */
+    private void drain() {
+        drainer = Thread.currentThread();
+        try {
+            while(true) {
+                Delivery delivery;
+                lock.lock();
+                try {
+                    delivery = queue.pollFirst();
+                    if(delivery == null) {
+                        scheduled = false;
+                        return;
+                    }
+                    notFull.signal();
+                } finally {
+                    lock.unlock();
+                }
+                deliver(delivery);
+            }
+        } finally {
+            drainer = null;
+        }
+    }
+
+    /** Delivers to the receivers. Exceptions thrown by the receivers must not end the draining: they complete the future of a request,
+     * and are handed to the uncaught exception handler of the thread for a message.
+     *
+     * @param delivery The delivery.
+     */
+    private void deliver(Delivery delivery) {
+        try {
+            if(delivery.isMessage()) {
+                channel.send(delivery.msg);
+            }
+            else if(delivery.first) {
+                // at most one answer, so no list grows
+                Optional<Object> answer = channel.requestFirst(delivery.fetch);
+                delivery.future.complete(answer.isPresent() ? List.of(answer) : List.of());
+            }
+            else {
+                delivery.future.complete(channel.request(delivery.fetch, delivery.skipEmpties));
+            }
+        } catch (RuntimeException e) {
+            discard(delivery, e);
+        }
+    }
+
+    /** Handles a delivery that cannot be made.
+     *
+     * @param delivery The delivery.
+     * @param e Why it cannot be made.
+     */
+    private void discard(Delivery delivery, Exception e) {
+        if(delivery.isMessage()) {
+            Thread thread = Thread.currentThread();
+            if(!(e instanceof InterruptedException)) {
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+        else {
+            delivery.future.completeExceptionally(e);
+        }
+    }
+
+    /** Replaces the latest queued message that the new message supersedes, i.e. with {@link Coalescable coalescable} content, the same
+     * headline, and the same coalescing key, like the {@link MessageCoalescer coalescer} does. Must be called while holding the lock.
+     *
+     * @param msg The new message.
+     * @return {@code True} if a message has been replaced, {@code false} if the new message is not coalescable or supersedes none.
+     */
+    private boolean replaceSameKey(Message msg) {
+        if(!(msg.getContent() instanceof Coalescable content)) {
+            return false;
+        }
+
+        Object key = content.getCoalescingKey();
+        Iterator<Delivery> iter = queue.descendingIterator();
+        while(iter.hasNext()) {
+            Delivery queued = iter.next();
+            if(queued.isMessage() && queued.msg.getHeadlineId() == msg.getHeadlineId()
+                    && queued.msg.getContent() instanceof Coalescable other && Objects.equals(key, other.getCoalescingKey())) {
+                queued.msg = msg;
+                coalesced.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Removes the oldest queued message. Must be called while holding the lock.
+     *
+     * @return {@code True} if a message has been removed, {@code false} if the queue only holds requests.
+     */
+    private boolean dropOldestMessage() {
+        Iterator<Delivery> iter = queue.iterator();
+        while(iter.hasNext()) {
+            if(iter.next().isMessage()) {
+                iter.remove();
+                dropped.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Gets the number of messages dropped because the queue was full.
+     *
+     * @since 0.0.2
+     * @return Number of dropped messages.
+     */
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    /** Gets the number of messages replaced by a newer message with the same headline and coalescing key because the queue was full.
+     *
+     * @since 0.0.2
+     * @return Number of replaced messages.
+     */
+    long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /** Gets the number of queued deliveries.
+     *
+     * @since 0.0.2
+     * @return Number of queued messages and requests.
+     */
+    int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** A queued message or request. */
+    private static final class Delivery {
+
+        /** The message, or {@code null} for a request. Replaced when coalescing. */
+        private Message msg;
+        private final FetchCommand fetch;
+        private final boolean skipEmpties;
+        /** Does the request want the first non-empty answer only? */
+        private final boolean first;
+        private final CompletableFuture<List<Optional<Object>>> future;
+
+        private Delivery(Message msg, FetchCommand fetch, boolean skipEmpties, boolean first,
+                CompletableFuture<List<Optional<Object>>> future) {
+            this.msg = msg;
+            this.fetch = fetch;
+            this.skipEmpties = skipEmpties;
+            this.first = first;
+            this.future = future;
+        }
+
+        private boolean isMessage() {
+            return fetch == null;
+        }
+
+    }
+
+}
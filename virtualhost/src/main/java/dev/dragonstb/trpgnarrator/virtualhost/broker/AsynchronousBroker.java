@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import lombok.NonNull;
+
+/** A broker that queues messages and requests per channel and delivers them to the receivers on the threads of an executor. The methods
+ * inherited from {@link SynchronousBroker} keep working, so components can use this broker without knowing of it:
+ * {@link #send(dev.dragonstb.trpgnarrator.virtualhost.generic.Message, int) send} returns as soon as the message is queued, and
+ * {@link #request(int, FetchCommand, boolean) request} waits for the answers. The timing signal is propagated on the thread calling
+ * {@link #update(float) update}.
+ * <br><br>
+ * The deliveries to the receivers of one channel happen one after the other, in the order the messages and requests were queued.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public interface AsynchronousBroker extends SynchronousBroker {
+
+    /** Requests an object from the receivers of a channel without waiting for the answers.
+     *
+     * @since 0.0.2
+     * @param channelName Name of the channel.
+     * @param fetch A code encoding whatever the receiver is asked for.
+     * @param skipEmpties If {@code true}, empty optionals <i>are not</i> included in the resulting list.
+     * @return Future completed with whatever the registered receivers send back, or completed exceptionally with the exception thrown by a
+     * receiver.
+     */
+    @NonNull
+    public CompletableFuture<List<Optional<Object>>> requestAsync(@NonNull String channelName, @NonNull FetchCommand fetch,
+            boolean skipEmpties);
+
+    /** Requests an object from the receivers of the channel with the given id without waiting for the answers. Same as
+     * {@link #requestAsync(String, FetchCommand, boolean) requestAsync}, but without looking up the id of the channel.
+     *
+     * @since 0.0.2
+     * @param channelId Id of the channel in the {@link dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry#CHANNELS channel
+     * registry}.
+     * @param fetch A code encoding whatever the receiver is asked for.
+     * @param skipEmpties If {@code true}, empty optionals <i>are not</i> included in the resulting list.
+     * @return Future completed with whatever the registered receivers send back.
+     */
+    @NonNull
+    public CompletableFuture<List<Optional<Object>>> requestAsync(int channelId, @NonNull FetchCommand fetch, boolean skipEmpties);
+
+}
@@ -23,13 +23,15 @@ package dev.dragonstb.trpgnarrator.virtualhost.broker;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 
-/** A channel of the {@link SynchonousBroker sync broker}.
+/** A channel of the {@link SynchonousBroker sync broker}. Receivers may register and deregister on any thread at any time. Sending and
+ * requesting work on a snapshot of the receivers and do not lock.
  *
  * @author Dragonstb
  * @since 0.0.1
@@ -37,10 +39,15 @@ import lombok.NonNull;
 final class BrokerChannel {
 
     @Getter(AccessLevel.PACKAGE) private final String name;
-    private final List<Receiver> receivers = new ArrayList<>();
+    /** Id of the channel in the {@link dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry#CHANNELS channel registry}. */
+    @Getter(AccessLevel.PACKAGE) private final int id;
+    /** The receivers. Replaced by a modified copy on each registration or deregistration, so sending can iterate over it without
+     * locking, even while receivers register or deregister on other threads. */
+    private volatile Receiver[] receivers = new Receiver[0];
 
-    public BrokerChannel(@NonNull String name) {
+    public BrokerChannel(@NonNull String name, int id) {
         this.name = name;
+        this.id = id;
     }
 
     /** Adds the receiver to the channel, if not already registered.
@@ -49,10 +56,17 @@ final class BrokerChannel {
      * @author Dragonstb
      * @param receiver Receiver to be added.
      */
-    void addReceiver(@NonNull Receiver receiver) {
-        if(!receivers.contains(receiver)) {
-            receivers.add(receiver);
+    synchronized void addReceiver(@NonNull Receiver receiver) {
+        Receiver[] current = receivers;
+        for (Receiver registered : current) {
+            if(registered.equals(receiver)) {
+                return;
+            }
         }
+
+        Receiver[] longer = Arrays.copyOf(current, current.length + 1);
+        longer[current.length] = receiver;
+        receivers = longer;
     }
 
     /** Removes the receiver from the channel.
@@ -61,8 +75,17 @@ final class BrokerChannel {
      * @since 0.0.1
      * @param receiver Receiver to be removed.
      */
-    void removeReceiver(@NonNull Receiver receiver) {
-        receivers.remove(receiver);
+    synchronized void removeReceiver(@NonNull Receiver receiver) {
+        Receiver[] current = receivers;
+        for (int idx = 0; idx < current.length; idx++) {
+            if(current[idx].equals(receiver)) {
+                Receiver[] shorter = new Receiver[current.length - 1];
+                System.arraycopy(current, 0, shorter, 0, idx);
+                System.arraycopy(current, idx + 1, shorter, idx, shorter.length - idx);
+                receivers = shorter;
+                return;
+            }
+        }
     }
 
 
@@ -72,7 +95,9 @@ final class BrokerChannel {
      * @param msg Object to be sent.
      */
     void send(Message msg) {
-        receivers.forEach( receiver -> receiver.receive(msg) );
+        for (Receiver receiver : receivers) {
+            receiver.receive(msg);
+        }
     }
 
     /** Fetches objects requested from the receivers of this channel.
@@ -84,15 +109,41 @@ final class BrokerChannel {
      */
     List<Optional<Object>> request(@NonNull FetchCommand fetch, boolean skipEmpties) {
         List<Optional<Object>> list = new ArrayList<>();
-        receivers.forEach( receiver -> {
+        for (Receiver receiver : receivers) {
             Optional<Object> opt = receiver.request(fetch);
             if(opt.isPresent() || !skipEmpties) {
                 list.add(opt);
             }
-        });
+        }
         return list;
     }
 
+    /** Fetches the first non-empty answer of the receivers of this channel. Receivers after the first one with an answer are not asked.
+     * Unlike {@link #request(FetchCommand, boolean) request}, no list is created.
+     *
+     * @since 0.0.2
+     * @param fetch Code for whatever the receivers are asked for.
+     * @return The first non-empty answer, or an empty optional if no receiver had an answer.
+     */
+    Optional<Object> requestFirst(@NonNull FetchCommand fetch) {
+        for (Receiver receiver : receivers) {
+            Optional<Object> opt = receiver.request(fetch);
+            if(opt.isPresent()) {
+                return opt;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Counts the receivers listed.
+     *
+     * @since 0.0.2
+     * @return Number of receivers.
+     */
+    int size() {
+        return receivers.length;
+    }
+
     /** tells if there are no receivers listed.
      *
      * @author Dragonstb
@@ -100,7 +151,7 @@ final class BrokerChannel {
      * @return {@code True} if and only if no receivers are listed in this channel.
      */
     boolean isEmpty() {
-        return receivers.isEmpty();
+        return receivers.length == 0;
     }
 
 }
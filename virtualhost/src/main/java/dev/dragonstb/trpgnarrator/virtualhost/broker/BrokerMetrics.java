@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2025 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PhaseTimingDTO;
+import java.util.List;
+import lombok.NonNull;
+
+/** Read-only view on what a broker knows about itself besides the traffic it brokers, such as the number of receivers of a channel. Kept
+ * apart from {@link SynchronousBroker}, so components that send and request do not see it. The brokers made by the factories provide
+ * the view, and so does the {@link InstrumentedBroker instrumentation}, which reads it for its metrics.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public interface BrokerMetrics {
+
+    /** Counts the receivers registered to the channel with the given id.
+     *
+     * @since 0.0.2
+     * @param channelId Id of the channel in the {@link dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry#CHANNELS channel
+     * registry}.
+     * @return Number of receivers.
+     */
+    public int countReceivers(int channelId);
+
+    /** Counts the messages that were not delivered because a later message with the same headline and the same
+     * {@link dev.dragonstb.trpgnarrator.virtualhost.generic.Coalescable coalescing key} was sent to the same channel before the next
+     * timing signal, or because the queue of a channel was full and the backpressure policy coalesces.
+     *
+     * @since 0.0.2
+     * @return Number of coalesced messages since the broker was created.
+     */
+    public long countCoalesced();
+
+    /** Counts the messages dropped because the queue of a channel was full. Brokers without queues never drop messages.
+     *
+     * @since 0.0.2
+     * @return Number of dropped messages since the broker was created.
+     */
+    public long countDropped();
+
+    /** Takes snapshots of the timings of the phases of the tick.
+     *
+     * @since 0.0.2
+     * @return The snapshots, in the order of the phases.
+     */
+    @NonNull
+    public List<PhaseTimingDTO> snapshotTiming();
+
+}
@@ -19,6 +19,8 @@
  */
 package dev.dragonstb.trpgnarrator.virtualhost.broker;
 
+import dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry;
+
 /** Names of some default channels for the {@link SynchonousBroker synchronous broker}.
  *
  * @author Dragonstb
@@ -28,8 +30,18 @@ public final class ChannelNames {
 
     /** Channel for components that provide board data. */
     public static final String GET_BOARD_DATA = "get board data";
+    /** Id of {@link #GET_BOARD_DATA}. */
+    public static final int GET_BOARD_DATA_ID = CodeRegistry.CHANNELS.idOf(GET_BOARD_DATA);
     /** Channel for components that provide figurine data. */
     public static final String GET_FIGURINE_DATA = "get figurine data";
+    /** Id of {@link #GET_FIGURINE_DATA}. */
+    public static final int GET_FIGURINE_DATA_ID = CodeRegistry.CHANNELS.idOf(GET_FIGURINE_DATA);
     /** The management of concurrent events. */
     public static final String CONCURRENT_MANAGEMENT = "concurrent management";
+    /** Id of {@link #CONCURRENT_MANAGEMENT}. */
+    public static final int CONCURRENT_MANAGEMENT_ID = CodeRegistry.CHANNELS.idOf(CONCURRENT_MANAGEMENT);
+    /** Channel for data about the broker itself. */
+    public static final String GET_BROKER_DATA = "get broker data";
+    /** Id of {@link #GET_BROKER_DATA}. */
+    public static final int GET_BROKER_DATA_ID = CodeRegistry.CHANNELS.idOf(GET_BROKER_DATA);
 }
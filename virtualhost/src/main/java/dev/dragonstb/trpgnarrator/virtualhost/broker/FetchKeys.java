@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchKey;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.ReachabilityConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BrokerMetricsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurinesListDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PathCacheStatsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PathfindingStatsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReachableFieldsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryBatch;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import lombok.NonNull;
+
+/** Typed keys of the {@link FetchCodes fetch codes}, each tied to the {@link ChannelNames channel} answering it.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class FetchKeys {
+
+    /** Get the board data. */
+    public static final FetchKey<Void, BoardDataDTO> BOARD_DATA
+            = new FetchKey<>(ChannelNames.GET_BOARD_DATA_ID, FetchCodes.BOARD_DATA_ID, Void.class, BoardDataDTO.class);
+    /** Get the location of a field of the board, given the id of the field. */
+    public static final FetchKey<Integer, Vector3f> BOARD_FIELD_LOCATION
+            = new FetchKey<>(ChannelNames.GET_BOARD_DATA_ID, FetchCodes.BOARD_FIELD_LOCATION_ID, Integer.class, Vector3f.class);
+    /** Get the id of the field at a location. */
+    public static final FetchKey<Vector3f, Integer> BOARD_FIELD_AT
+            = new FetchKey<>(ChannelNames.GET_BOARD_DATA_ID, FetchCodes.BOARD_FIELD_AT_ID, Vector3f.class, Integer.class);
+    /** Get a pathfinder from the board. */
+    public static final FetchKey<PathfindingConfig, Callable<Optional<List<Vector3f>>>> BOARD_PATHFINDER
+            = new FetchKey<>(ChannelNames.GET_BOARD_DATA_ID, FetchCodes.BOARD_PATHFINDER_ID, PathfindingConfig.class, type(Callable.class));
+    /** Get a pathfinder from the board that finds several paths in one go. */
+    public static final FetchKey<List<PathfindingConfig>, Callable<List<Optional<List<Vector3f>>>>> BOARD_BATCH_PATHFINDER
+            = new FetchKey<>(ChannelNames.GET_BOARD_DATA_ID, FetchCodes.BOARD_BATCH_PATHFINDER_ID, type(List.class), type(Callable.class));
+    /** Get all fields reachable from a field with a limited amount of movement points. */
+    public static final FetchKey<ReachabilityConfig, ReachableFieldsDTO> BOARD_REACHABLE
+            = new FetchKey<>(ChannelNames.GET_BOARD_DATA_ID, FetchCodes.BOARD_REACHABLE_ID, ReachabilityConfig.class,
+                    ReachableFieldsDTO.class);
+    /** Get the version of the board topology. */
+    public static final FetchKey<Void, Long> BOARD_VERSION
+            = new FetchKey<>(ChannelNames.GET_BOARD_DATA_ID, FetchCodes.BOARD_VERSION_ID, Void.class, Long.class);
+    /** Get the counters of the pathfinders of the board. */
+    public static final FetchKey<Void, PathfindingStatsDTO> PATHFINDING_STATS
+            = new FetchKey<>(ChannelNames.GET_BOARD_DATA_ID, FetchCodes.PATHFINDING_STATS_ID, Void.class, PathfindingStatsDTO.class);
+
+    /** Get the counters of the path cache. */
+    public static final FetchKey<Void, PathCacheStatsDTO> PATH_CACHE_STATS
+            = new FetchKey<>(ChannelNames.CONCURRENT_MANAGEMENT_ID, FetchCodes.PATH_CACHE_STATS_ID, Void.class, PathCacheStatsDTO.class);
+
+    /** Get the full list of figurines. */
+    public static final FetchKey<Void, FigurinesListDTO> FIGURINE_FULL_LIST
+            = new FetchKey<>(ChannelNames.GET_FIGURINE_DATA_ID, FetchCodes.FIGURINE_FULL_LIST_ID, Void.class, FigurinesListDTO.class);
+    /** Get the telemetry of the figurines that have changed since the last request. The batch is reused by the next request. */
+    public static final FetchKey<Void, TelemetryBatch> FIGURINE_TELEMETRY
+            = new FetchKey<>(ChannelNames.GET_FIGURINE_DATA_ID, FetchCodes.FIGURINE_TELEMETRY_ID, Void.class, TelemetryBatch.class);
+
+    /** Get the counters and latency histograms of the broker. Only answered if the broker is instrumented. */
+    public static final FetchKey<Void, BrokerMetricsDTO> BROKER_METRICS
+            = new FetchKey<>(ChannelNames.GET_BROKER_DATA_ID, FetchCodes.BROKER_METRICS_ID, Void.class, BrokerMetricsDTO.class);
+
+    /** Requests an object from the receivers of the channel of the key and returns the first non-empty answer, already cast to the type
+     * of the answers of the key. Receivers after the first one with an answer are not asked.
+     *
+     * @since 0.0.2
+     * @param <P> Type of the parameter.
+     * @param <R> Type of the answer.
+     * @param broker The broker the request goes through.
+     * @param key Typed key of the request, e.g. {@link #BOARD_VERSION}.
+     * @param parm The parameter. Might be {@code null} if the request has no parameter.
+     * @return The first non-empty answer. Empty if no receiver had an answer.
+     * @throws ClassCastException If the answer is not of the type of the answers of the key.
+     */
+    public static <P, R> Optional<R> requestFirst(@NonNull SynchronousBroker broker, @NonNull FetchKey<P, R> key, P parm)
+            throws ClassCastException {
+        return key.castResult(broker.requestFirst(key.getChannelId(), key.command(parm)));
+    }
+
+    /** Narrows a raw class to a parameterized type. Only the raw class is checked at runtime, so the elements of generic answers are
+     * checked by the receiving code, if at all.
+     *
+     * @param <T> The parameterized type.
+     * @param raw The raw class.
+     * @return The same class.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Class<T> type(Class<?> raw) {
+        return (Class<T>)raw;
+    }
+
+}
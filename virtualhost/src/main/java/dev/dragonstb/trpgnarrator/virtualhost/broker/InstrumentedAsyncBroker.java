@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import lombok.NonNull;
+
+/** Instrumentation of an {@link AsynchronousBroker asynchronous broker}. The latency of an asynchronous request is measured until its future
+ * completes.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class InstrumentedAsyncBroker extends InstrumentedBroker implements AsynchronousBroker {
+
+    private final AsynchronousBroker asyncDelegate;
+
+    InstrumentedAsyncBroker(@NonNull AsynchronousBroker delegate, @NonNull BrokerMetrics view, float streamInterval)
+            throws IllegalArgumentException {
+        super(delegate, view, streamInterval);
+        this.asyncDelegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<List<Optional<Object>>> requestAsync(@NonNull String channelName, @NonNull FetchCommand fetch,
+            boolean skipEmpties) {
+        return requestAsync(CodeRegistry.CHANNELS.find(channelName), fetch, skipEmpties);
+    }
+
+    @Override
+    public CompletableFuture<List<Optional<Object>>> requestAsync(int channelId, @NonNull FetchCommand fetch, boolean skipEmpties) {
+        int fanOut = getView().countReceivers(channelId);
+        long start = System.nanoTime();
+        CompletableFuture<List<Optional<Object>>> future = asyncDelegate.requestAsync(channelId, fetch, skipEmpties);
+        future.whenComplete((list, exc) -> getRecorder().recordRequest(channelId, fetch.getCommandId(), fanOut, System.nanoTime() - start));
+        return future;
+    }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.ClockReceiver;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamTypes;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamed;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BrokerMetricsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PhaseTimingDTO;
+import java.util.List;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+/** Wraps a broker and records counters and latency histograms of everything that passes through it. The metrics can be requested with
+ * {@link FetchCodes#BROKER_METRICS} on the channel {@link ChannelNames#GET_BROKER_DATA}, and are streamed to the clients periodically as
+ * {@link VHStreamTypes#metrics}.
+ * <br><br>
+ * A broker that is not wrapped records nothing, so switching the instrumentation off costs nothing. The instrumentation reads what the
+ * wrapped broker knows about itself from its {@link BrokerMetrics view}, and provides the same view in turn.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+class InstrumentedBroker implements SynchronousBroker, BrokerMetrics {
+
+    /** The metrics are streamed in the telemetry phase, deferred while ticks run out of time. */
+    private static final TimingOptions STREAMER_OPTIONS = new TimingOptions(TickPhase.telemetry, false, 0, TickPolicy.defer);
+
+    /** The wrapped broker. */
+    @Getter(AccessLevel.PACKAGE) private final SynchronousBroker delegate;
+    /** What the wrapped broker knows about itself. */
+    @Getter(AccessLevel.PACKAGE) private final BrokerMetrics view;
+    @Getter(AccessLevel.PACKAGE) private final MetricsRecorder recorder = new MetricsRecorder();
+
+    /** Generates and registers the components answering requests for the metrics and streaming the metrics to the wrapped broker.
+     *
+     * @since 0.0.2
+     * @param delegate The wrapped broker.
+     * @param view What the wrapped broker knows about itself, usually the wrapped broker itself.
+     * @param streamInterval Seconds between two streams of the metrics to the clients. Zero for not streaming at all.
+     * @throws IllegalArgumentException If the interval is negative or not finite.
+     */
+    InstrumentedBroker(@NonNull SynchronousBroker delegate, @NonNull BrokerMetrics view, float streamInterval) throws IllegalArgumentException {
+        if(!Float.isFinite(streamInterval) || streamInterval < 0) {
+            String errCode = VHostErrorCodes.V08813;
+            String msg = "The interval between two streams of the broker metrics must be a non-negative number of seconds, but is "
+                    +streamInterval+".";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+
+        this.delegate = delegate;
+        this.view = view;
+        delegate.registerToChannel(new MetricsReceiver(), ChannelNames.GET_BROKER_DATA_ID);
+        if(streamInterval > 0) {
+            // streaming the metrics may wait for a later tick when ticks are busy
+            delegate.registerToTiming(new MetricsStreamer(streamInterval), STREAMER_OPTIONS);
+        }
+    }
+
+    @Override
+    public void registerToChannel(@NonNull Receiver receiver, @NonNull String channelName) {
+        delegate.registerToChannel(receiver, channelName);
+    }
+
+    @Override
+    public void registerToChannel(@NonNull Receiver receiver, int channelId) {
+        delegate.registerToChannel(receiver, channelId);
+    }
+
+    @Override
+    public void deregisterFromChannel(@NonNull Receiver receiver, @NonNull String channelName) {
+        delegate.deregisterFromChannel(receiver, channelName);
+    }
+
+    @Override
+    public void deregisterFromChannel(@NonNull Receiver receiver, int channelId) {
+        delegate.deregisterFromChannel(receiver, channelId);
+    }
+
+    @Override
+    public void send(@NonNull Message msg, @NonNull String channelName) {
+        send(msg, CodeRegistry.CHANNELS.find(channelName));
+    }
+
+    @Override
+    public void send(@NonNull Message msg, int channelId) {
+        int fanOut = view.countReceivers(channelId);
+        long start = System.nanoTime();
+        delegate.send(msg, channelId);
+        recorder.recordSend(channelId, msg.getHeadlineId(), fanOut, System.nanoTime() - start);
+    }
+
+    @Override
+    public List<Optional<Object>> request(@NonNull String channelName, @NonNull FetchCommand fetch, boolean skipEmpties) {
+        return request(CodeRegistry.CHANNELS.find(channelName), fetch, skipEmpties);
+    }
+
+    @Override
+    public List<Optional<Object>> request(int channelId, @NonNull FetchCommand fetch, boolean skipEmpties) {
+        int fanOut = view.countReceivers(channelId);
+        long start = System.nanoTime();
+        List<Optional<Object>> list = delegate.request(channelId, fetch, skipEmpties);
+        recorder.recordRequest(channelId, fetch.getCommandId(), fanOut, System.nanoTime() - start);
+        return list;
+    }
+
+    @Override
+    public Optional<Object> requestFirst(int channelId, @NonNull FetchCommand fetch) {
+        int fanOut = view.countReceivers(channelId);
+        long start = System.nanoTime();
+        Optional<Object> answer = delegate.requestFirst(channelId, fetch);
+        recorder.recordRequest(channelId, fetch.getCommandId(), fanOut, System.nanoTime() - start);
+        return answer;
+    }
+
+    @Override
+    public int countReceivers(int channelId) {
+        return view.countReceivers(channelId);
+    }
+
+    @Override
+    public long countCoalesced() {
+        return view.countCoalesced();
+    }
+
+    @Override
+    public long countDropped() {
+        return view.countDropped();
+    }
+
+    @Override
+    public void registerToTiming(@NonNull ClockReceiver receiver) {
+        delegate.registerToTiming(receiver);
+    }
+
+    @Override
+    public void registerToTiming(@NonNull ClockReceiver receiver, @NonNull TimingOptions options) {
+        delegate.registerToTiming(receiver, options);
+    }
+
+    @Override
+    public void deregisterFromTiming(@NonNull ClockReceiver receiver) {
+        delegate.deregisterFromTiming(receiver);
+    }
+
+    @Override
+    public List<PhaseTimingDTO> snapshotTiming() {
+        return view.snapshotTiming();
+    }
+
+    @Override
+    public void update(float tpf) throws IllegalArgumentException {
+        long start = System.nanoTime();
+        delegate.update(tpf);
+        recorder.recordUpdate(System.nanoTime() - start);
+    }
+
+    @Override
+    public void sendOutbound(@NonNull VHStreamed object) {
+        delegate.sendOutbound(object);
+        recorder.recordOutbound();
+    }
+
+    private BrokerMetricsDTO snapshot() {
+        return recorder.snapshot(view.countCoalesced(), view.countDropped(), view.snapshotTiming());
+    }
+
+    /** Answers requests for the metrics. */
+    private final class MetricsReceiver implements Receiver {
+
+        @Override
+        public void receive(Message msg) {
+        }
+
+        @Override
+        public Optional<Object> request(FetchCommand fetch) {
+            if(fetch.getCommandId() == FetchCodes.BROKER_METRICS_ID) {
+                return Optional.of(snapshot());
+            }
+            return Optional.empty();
+        }
+
+    }
+
+    /** Streams the metrics to the clients periodically. */
+    private final class MetricsStreamer implements ClockReceiver {
+
+        /** Seconds between two streams. */
+        private final float interval;
+        /** Seconds since the last stream. */
+        private float elapsed = 0;
+
+        private MetricsStreamer(float interval) {
+            this.interval = interval;
+        }
+
+        @Override
+        public void update(float tpf) {
+            elapsed += tpf;
+            if(elapsed >= interval) {
+                elapsed = 0;
+                sendOutbound(new VHStreamed(VHStreamTypes.metrics, snapshot()));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import lombok.NonNull;
+
+/**
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class InstrumentedBrokerFactory {
+
+    /** Seconds between two streams of the metrics to the clients when nothing else is specified. */
+    public static final float DEFAULT_STREAM_INTERVAL = 5f;
+
+    /** Wraps the broker into a broker that records metrics of everything passing through. An asynchronous broker remains asynchronous.
+     *
+     * @since 0.0.2
+     * @param broker The broker to be wrapped.
+     * @param streamInterval Seconds between two streams of the metrics to the clients. Zero for not streaming at all.
+     * @return The wrapping broker.
+     * @throws IllegalArgumentException If the interval is negative or not finite, or if the broker provides no {@link BrokerMetrics view}
+     * on itself, which is the case for brokers not made by {@link SyncBrokerFactory} or {@link AsyncBrokerFactory}.
+     */
+    public static SynchronousBroker instrument(@NonNull SynchronousBroker broker, float streamInterval) throws IllegalArgumentException {
+        if(!(broker instanceof BrokerMetrics view)) {
+            String errCode = VHostErrorCodes.V61254;
+            String msg = "Only brokers made by the broker factories can be instrumented, but got a "+broker.getClass().getName()+".";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+
+        if(broker instanceof AsynchronousBroker async) {
+            return new InstrumentedAsyncBroker(async, view, streamInterval);
+        }
+        return new InstrumentedBroker(broker, view, streamInterval);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.LatencyStatsDTO;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Histogram of non-negative times, with buckets of logarithmically growing width, like HdrHistogram does it: each power of two is split
+ * into {@value #SUB_BUCKETS} buckets of equal width, so a bucket is at most 12.5 % wider than the values in it. Recording is lock-free and
+ * does not allocate.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class LatencyHistogram {
+
+    /** Number of bits of a value that select the bucket within its power of two. */
+    private static final int SUB_BITS = 3;
+    /** Number of buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    /** Number of buckets needed to cover all non-negative longs. */
+    private static final int NUM_BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /** Records a time.
+     *
+     * @since 0.0.2
+     * @param nanos The time, in nanoseconds. Negative times are recorded as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /** Gets the index of the bucket of the value.
+     *
+     * @param value A non-negative value.
+     * @return Index of the bucket.
+     */
+    static int indexOf(long value) {
+        if(value < SUB_BUCKETS) {
+            return (int)value;
+        }
+        int exp = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        return (exp - SUB_BITS + 1) * SUB_BUCKETS + (int)((value >>> (exp - SUB_BITS)) - SUB_BUCKETS);
+    }
+
+    /** Gets the highest value that falls into the bucket.
+     *
+     * @param index Index of the bucket.
+     * @return The highest value of the bucket.
+     */
+    static long upperBoundOf(int index) {
+        if(index < SUB_BUCKETS) {
+            return index;
+        }
+        int exp = index / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = index % SUB_BUCKETS + SUB_BUCKETS;
+        // overflows to Long.MIN_VALUE for the very last bucket, so that subtracting one yields Long.MAX_VALUE
+        return ((sub + 1) << (exp - SUB_BITS)) - 1;
+    }
+
+    /** Gets the number of recorded times.
+     *
+     * @since 0.0.2
+     * @return Number of recorded times.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /** Takes a snapshot. Times recorded while taking the snapshot may or may not be included.
+     *
+     * @since 0.0.2
+     * @return The snapshot.
+     */
+    public LatencyStatsDTO snapshot() {
+        long[] snap = new long[NUM_BUCKETS];
+        long total = 0;
+        for (int idx = 0; idx < NUM_BUCKETS; idx++) {
+            snap[idx] = counts.get(idx);
+            total += snap[idx];
+        }
+
+        long maxNanos = max.get();
+        long mean = total > 0 ? sum.sum() / total : 0;
+        return new LatencyStatsDTO(total, mean, percentile(snap, total, 0.5, maxNanos), percentile(snap, total, 0.9, maxNanos),
+                percentile(snap, total, 0.99, maxNanos), maxNanos);
+    }
+
+    /** Gets a percentile.
+     *
+     * @param snap Snapshot of the counts of the buckets.
+     * @param total Sum of the counts.
+     * @param quantile The quantile, between 0 and 1.
+     * @param maxNanos The highest recorded time.
+     * @return Upper bound of the bucket the percentile falls into, but not more than the highest recorded time.
+     */
+    private static long percentile(long[] snap, long total, double quantile, long maxNanos) {
+        if(total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long)Math.ceil(quantile * total));
+        long seen = 0;
+        for (int idx = 0; idx < snap.length; idx++) {
+            seen += snap[idx];
+            if(seen >= rank) {
+                return Math.min(upperBoundOf(idx), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Coalescable;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjIntConsumer;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+
+/** Holds back messages with {@link Coalescable coalescable} content until the next timing signal. A message replaces a held message with
+ * the same channel, headline, and coalescing key, so only the latest one is delivered. Messages with other content are not held.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class MessageCoalescer {
+
+    /** The held messages, in the order they were sent. A replacing message moves to the end. Guarded by this. */
+    private final Map<PendingKey, Message> pending = new LinkedHashMap<>();
+    /** Number of messages replaced by a later message. */
+    private final LongAdder coalesced = new LongAdder();
+
+    /** Holds the message back if its content is coalescable.
+     *
+     * @since 0.0.2
+     * @param channelId Id of the channel the message is sent to.
+     * @param msg The message.
+     * @return {@code True} if the message is held back, {@code false} if it has to be delivered right away.
+     */
+    boolean hold(int channelId, @NonNull Message msg) {
+        if(!(msg.getContent() instanceof Coalescable content)) {
+            return false;
+        }
+
+        PendingKey key = new PendingKey(channelId, msg.getHeadlineId(), content.getCoalescingKey());
+        synchronized (this) {
+            if(pending.remove(key) != null) {
+                coalesced.increment();
+            }
+            pending.put(key, msg);
+        }
+        return true;
+    }
+
+    /** Hands all held messages to the sink, in the order they were sent, and forgets them. Messages held while flushing wait for the next
+     * flush.
+     *
+     * @since 0.0.2
+     * @param sink Delivers a message to the channel with the given id.
+     */
+    void flush(@NonNull ObjIntConsumer<Message> sink) {
+        List<Map.Entry<PendingKey, Message>> out;
+        synchronized (this) {
+            if(pending.isEmpty()) {
+                return;
+            }
+            out = new ArrayList<>(pending.entrySet());
+            pending.clear();
+        }
+
+        // delivered outside the lock, as receivers may send coalescable messages themselves
+        for (Map.Entry<PendingKey, Message> entry : out) {
+            sink.accept(entry.getValue(), entry.getKey().channelId);
+        }
+    }
+
+    /** Gets the number of messages replaced by a later message.
+     *
+     * @since 0.0.2
+     * @return Number of coalesced messages.
+     */
+    long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /** Counts the held messages.
+     *
+     * @since 0.0.2
+     * @return Number of held messages.
+     */
+    synchronized int size() {
+        return pending.size();
+    }
+
+    /** Identifies messages that supersede each other. */
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class PendingKey {
+        private final int channelId;
+        private final int headlineId;
+        private final Object coalescingKey;
+    }
+
+}
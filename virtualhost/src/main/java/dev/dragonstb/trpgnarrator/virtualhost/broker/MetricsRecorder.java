@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BrokerMetricsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ChannelMetricsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.CodeMetricsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PhaseTimingDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/** Counters and latency histograms of the broker, per channel, per message headline, and per fetch code. Recording is lock-free, except for
+ * the first time an id is seen.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class MetricsRecorder {
+
+    private final StatsTable<ChannelStats> channels = new StatsTable<>();
+    private final StatsTable<CodeStats> headlines = new StatsTable<>();
+    private final StatsTable<CodeStats> fetchCodes = new StatsTable<>();
+    private final LatencyHistogram updateLatency = new LatencyHistogram();
+    private final LongAdder outbound = new LongAdder();
+
+    /** Records a message sent.
+     *
+     * @since 0.0.2
+     * @param channelId Id of the channel, or {@link CodeRegistry#NO_ID} if no receiver has ever registered to the channel.
+     * @param headlineId Id of the headline.
+     * @param fanOut Number of receivers of the message.
+     * @param nanos Time it took to send the message.
+     */
+    void recordSend(int channelId, int headlineId, int fanOut, long nanos) {
+        if(channelId >= 0) {
+            ChannelStats stats = channels.get(channelId, ChannelStats::new);
+            stats.messages.increment();
+            stats.deliveries.add(fanOut);
+            stats.sendLatency.record(nanos);
+        }
+        CodeStats stats = headlines.get(headlineId, CodeStats::new);
+        stats.deliveries.add(fanOut);
+        stats.latency.record(nanos);
+    }
+
+    /** Records a request answered.
+     *
+     * @since 0.0.2
+     * @param channelId Id of the channel, or {@link CodeRegistry#NO_ID} if no receiver has ever registered to the channel.
+     * @param commandId Id of the fetch code.
+     * @param fanOut Number of receivers asked.
+     * @param nanos Time it took to answer the request.
+     */
+    void recordRequest(int channelId, int commandId, int fanOut, long nanos) {
+        if(channelId >= 0) {
+            ChannelStats stats = channels.get(channelId, ChannelStats::new);
+            stats.requests.increment();
+            stats.deliveries.add(fanOut);
+            stats.requestLatency.record(nanos);
+        }
+        CodeStats stats = fetchCodes.get(commandId, CodeStats::new);
+        stats.deliveries.add(fanOut);
+        stats.latency.record(nanos);
+    }
+
+    /** Records a propagation of the timing signal.
+     *
+     * @since 0.0.2
+     * @param nanos Time it took to update all clock receivers.
+     */
+    void recordUpdate(long nanos) {
+        updateLatency.record(nanos);
+    }
+
+    /** Records an object sent to the clients.
+     *
+     * @since 0.0.2
+     */
+    void recordOutbound() {
+        outbound.increment();
+    }
+
+    /** Takes a snapshot of all metrics.
+     *
+     * @since 0.0.2
+     * @param coalesced Number of messages coalesced by the broker.
+     * @param dropped Number of messages dropped by the broker.
+     * @param phases Timings of the phases of the tick.
+     * @return The snapshot.
+     */
+    BrokerMetricsDTO snapshot(long coalesced, long dropped, List<PhaseTimingDTO> phases) {
+        List<ChannelMetricsDTO> channelDtos = new ArrayList<>();
+        Object[] current = channels.stats;
+        for (int id = 0; id < current.length; id++) {
+            if(current[id] instanceof ChannelStats stats) {
+                channelDtos.add(new ChannelMetricsDTO(CodeRegistry.CHANNELS.codeOf(id), stats.messages.sum(), stats.requests.sum(),
+                        stats.deliveries.sum(), stats.sendLatency.snapshot(), stats.requestLatency.snapshot()));
+            }
+        }
+        channelDtos.sort(Comparator.comparing(ChannelMetricsDTO::getChannel));
+
+        return new BrokerMetricsDTO(channelDtos, codeDtos(headlines, CodeRegistry.HEADLINES), codeDtos(fetchCodes, CodeRegistry.FETCH_CODES),
+                updateLatency.snapshot(), phases, outbound.sum(), coalesced, dropped);
+    }
+
+    /** Takes snapshots of the metrics of the codes.
+     *
+     * @param table Metrics of the codes.
+     * @param registry Registry of the codes.
+     * @return The snapshots, sorted by code.
+     */
+    private static List<CodeMetricsDTO> codeDtos(StatsTable<CodeStats> table, CodeRegistry registry) {
+        List<CodeMetricsDTO> dtos = new ArrayList<>();
+        Object[] current = table.stats;
+        for (int id = 0; id < current.length; id++) {
+            if(current[id] instanceof CodeStats stats) {
+                dtos.add(new CodeMetricsDTO(registry.codeOf(id), stats.latency.getCount(), stats.deliveries.sum(), stats.latency.snapshot()));
+            }
+        }
+        dtos.sort(Comparator.comparing(CodeMetricsDTO::getCode));
+        return dtos;
+    }
+
+    /** Metrics of the ids of a registry, indexed by the id. */
+    private static final class StatsTable<S> {
+
+        /** Metrics of each id, or {@code null}. Replaced by a longer copy when an id is seen first. */
+        private volatile Object[] stats = new Object[0];
+
+        @SuppressWarnings("unchecked")
+        private S get(int id, Supplier<S> creator) {
+            Object[] current = stats;
+            if(id < current.length && current[id] != null) {
+                return (S)current[id];
+            }
+
+            synchronized (this) {
+                current = stats;
+                if(id >= current.length) {
+                    current = Arrays.copyOf(current, id + 1);
+                }
+                else if(current[id] != null) {
+                    return (S)current[id];
+                }
+                else {
+                    current = current.clone();
+                }
+                S created = creator.get();
+                current[id] = created;
+                stats = current;
+                return created;
+            }
+        }
+
+    }
+
+    private static final class ChannelStats {
+
+        private final LongAdder messages = new LongAdder();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder deliveries = new LongAdder();
+        private final LatencyHistogram sendLatency = new LatencyHistogram();
+        private final LatencyHistogram requestLatency = new LatencyHistogram();
+
+    }
+
+    private static final class CodeStats {
+
+        private final LongAdder deliveries = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+    }
+
+}
@@ -22,16 +22,17 @@ package dev.dragonstb.trpgnarrator.virtualhost.broker;
 
 
 import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
 import dev.dragonstb.trpgnarrator.virtualhost.hostconnector.HostConnector;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.ClockReceiver;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamed;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PhaseTimingDTO;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.TreeMap;
 import lombok.NonNull;
 
 /**
@@ -39,12 +40,17 @@ import lombok.NonNull;
  * @author Dragonstb
  * @since
  */
-final class SyncBrokerImp implements SynchronousBroker {
+final class SyncBrokerImp implements SynchronousBroker, BrokerMetrics {
 
     /** Connector to the outside world. */
     private final HostConnector connector;
-    private final Map<String, BrokerChannel> channels = new TreeMap<>();
+    /** The channels, indexed by the id of their name in the {@link CodeRegistry#CHANNELS channel registry}. Entries are {@code null} for
+     * channels without receivers. Replaced by a longer copy when a channel with a higher id is created. Registration and deregistration
+     * synchronize on the broker, sending and requesting do not. */
+    private volatile BrokerChannel[] channels = new BrokerChannel[0];
     private final TimingChannel timingChannel = new TimingChannel();
+    /** Holds back coalescable messages until the next timing signal. */
+    private final MessageCoalescer coalescer = new MessageCoalescer();
 
     SyncBrokerImp(@NonNull HostConnector connector) {
         this.connector = connector;
@@ -52,32 +58,61 @@ final class SyncBrokerImp implements SynchronousBroker {
 
     @Override
     public void registerToChannel(@NonNull Receiver receiver, @NonNull String channel) {
-        if(channels.containsKey(channel)) {
-            channels.get(channel).addReceiver(receiver);
+        registerToChannel(receiver, CodeRegistry.CHANNELS.idOf(channel));
+    }
+
+    @Override
+    public synchronized void registerToChannel(@NonNull Receiver receiver, int channelId) {
+        // the registry is asked first, so the array does not grow for ids that do not exist
+        String name = CodeRegistry.CHANNELS.codeOf(channelId);
+        BrokerChannel[] current = channels;
+        if(channelId >= current.length) {
+            current = Arrays.copyOf(current, CodeRegistry.CHANNELS.size());
         }
-        else {
-            BrokerChannel newChannel = new BrokerChannel(channel);
-            channels.put(channel, newChannel);
-            newChannel.addReceiver(receiver);
+        if(current[channelId] == null) {
+            current[channelId] = new BrokerChannel(name, channelId);
         }
+        current[channelId].addReceiver(receiver);
+        channels = current;
     }
 
     @Override
     public void deregisterFromChannel(@NonNull Receiver receiver, @NonNull String channelName) {
-        if(!channels.containsKey(channelName)) {
+        deregisterFromChannel(receiver, CodeRegistry.CHANNELS.find(channelName));
+    }
+
+    @Override
+    public synchronized void deregisterFromChannel(@NonNull Receiver receiver, int channelId) {
+        BrokerChannel channel = channelOf(channelId);
+        if(channel == null) {
             return;
         }
 
-        BrokerChannel channel = channels.get(channelName);
         channel.removeReceiver(receiver);
         if(channel.isEmpty()) {
-            channels.remove(channelName);
+            channels[channelId] = null;
         }
     }
 
     @Override
     public void send(@NonNull Message msg, @NonNull String channelName) {
-        BrokerChannel channel = channels.get(channelName);
+        send(msg, CodeRegistry.CHANNELS.find(channelName));
+    }
+
+    @Override
+    public void send(@NonNull Message msg, int channelId) {
+        if(!coalescer.hold(channelId, msg)) {
+            deliver(msg, channelId);
+        }
+    }
+
+    /** Sends the message to the receivers of the channel right away.
+     *
+     * @param msg The message.
+     * @param channelId Id of the channel.
+     */
+    private void deliver(Message msg, int channelId) {
+        BrokerChannel channel = channelOf(channelId);
         if(channel != null) {
             channel.send(msg);
         }
@@ -85,10 +120,47 @@ final class SyncBrokerImp implements SynchronousBroker {
 
     @Override
     public List<Optional<Object>> request(@NonNull String channelName, @NonNull FetchCommand fetch, boolean skipEmpties) {
-        BrokerChannel channel = channels.get(channelName);
+        return request(CodeRegistry.CHANNELS.find(channelName), fetch, skipEmpties);
+    }
+
+    @Override
+    public List<Optional<Object>> request(int channelId, @NonNull FetchCommand fetch, boolean skipEmpties) {
+        BrokerChannel channel = channelOf(channelId);
         return channel!=null ? channel.request(fetch, skipEmpties) : new ArrayList<>();
     }
 
+    @Override
+    public Optional<Object> requestFirst(int channelId, @NonNull FetchCommand fetch) {
+        BrokerChannel channel = channelOf(channelId);
+        return channel!=null ? channel.requestFirst(fetch) : Optional.empty();
+    }
+
+    @Override
+    public int countReceivers(int channelId) {
+        BrokerChannel channel = channelOf(channelId);
+        return channel!=null ? channel.size() : 0;
+    }
+
+    @Override
+    public long countCoalesced() {
+        return coalescer.getCoalesced();
+    }
+
+    @Override
+    public long countDropped() {
+        return 0;
+    }
+
+    /** Gets the channel with the id.
+     *
+     * @param channelId Id of the channel, or {@link CodeRegistry#NO_ID}.
+     * @return The channel, or {@code null} if it has no receivers.
+     */
+    private BrokerChannel channelOf(int channelId) {
+        BrokerChannel[] current = channels;
+        return channelId >= 0 && channelId < current.length ? current[channelId] : null;
+    }
+
     @Override
     public void update(float tpf) {
         String errCode = VHostErrorCodes.V50700;
@@ -98,6 +170,7 @@ final class SyncBrokerImp implements SynchronousBroker {
             throw new IllegalArgumentException(use);
         }
 
+        coalescer.flush(this::deliver);
         timingChannel.update(tpf);
     }
 
@@ -106,11 +179,21 @@ final class SyncBrokerImp implements SynchronousBroker {
         timingChannel.addReceiver(receiver);
     }
 
+    @Override
+    public void registerToTiming(@NonNull ClockReceiver receiver, @NonNull TimingOptions options) {
+        timingChannel.addReceiver(receiver, options);
+    }
+
     @Override
     public void deregisterFromTiming(@NonNull ClockReceiver receiver) {
         timingChannel.removeReceiver(receiver);
     }
 
+    @Override
+    public List<PhaseTimingDTO> snapshotTiming() {
+        return timingChannel.snapshot();
+    }
+
     @Override
     public void sendOutbound(VHStreamed object) {
         connector.sendOutbound(object);
@@ -72,13 +72,75 @@ public interface SynchronousBroker extends ClockReceiver {
     @NonNull
     public List<Optional<Object>> request(@NonNull String channelName, @NonNull FetchCommand fetch, boolean skipEmpties);
 
-    /** Registers a clock receiver to the special channel for propagating the timing signal.
+    /** Registers the receiver to the channel with the given id. Same as {@link #registerToChannel(Receiver, String) registerToChannel}, but
+     * without looking up the id of the channel.
+     *
+     * @since 0.0.2
+     * @param receiver Receiver that becomes registered.
+     * @param channelId Id of the channel in the {@link dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry#CHANNELS channel
+     * registry}, e.g. {@link ChannelNames#GET_BOARD_DATA_ID}.
+     */
+    public void registerToChannel(@NonNull Receiver receiver, int channelId);
+
+    /** Deregisters the receiver from the channel with the given id. Same as {@link #deregisterFromChannel(Receiver, String)
+     * deregisterFromChannel}, but without looking up the id of the channel.
+     *
+     * @since 0.0.2
+     * @param receiver Receiver that becomes deregistered.
+     * @param channelId Id of the channel in the channel registry.
+     */
+    public void deregisterFromChannel(@NonNull Receiver receiver, int channelId);
+
+    /** Send the object to all receivers registered to the channel with the given id. Same as {@link #send(Message, String) send}, but
+     * without looking up the id of the channel.
+     *
+     * @since 0.0.2
+     * @param msg Object send. Might be {@code null}
+     * @param channelId Id of the channel in the channel registry.
+     */
+    public void send(Message msg, int channelId);
+
+    /** Request an object from the receivers of the channel with the given id. Same as {@link #request(String, FetchCommand, boolean)
+     * request}, but without looking up the id of the channel.
+     *
+     * @since 0.0.2
+     * @param channelId Id of the channel in the channel registry.
+     * @param fetch A code encoding whatever the receiver is asked for.
+     * @param skipEmpties If {@code true}, empty optionals <i>are not</i> included in the resulting list.
+     * @return A list with whatever the registered receivers send back. Might be empty.
+     */
+    @NonNull
+    public List<Optional<Object>> request(int channelId, @NonNull FetchCommand fetch, boolean skipEmpties);
+
+    /** Requests an object from the receivers of the channel with the given id and returns the first non-empty answer. Receivers after the
+     * first one with an answer are not asked, and no list is created. Typed requests go through
+     * {@link FetchKeys#requestFirst(SynchronousBroker, dev.dragonstb.trpgnarrator.virtualhost.generic.FetchKey, Object) FetchKeys}.
+     *
+     * @since 0.0.2
+     * @param channelId Id of the channel in the channel registry.
+     * @param fetch A code encoding whatever the receiver is asked for.
+     * @return The first non-empty answer. Empty if no receiver had an answer.
+     */
+    @NonNull
+    public Optional<Object> requestFirst(int channelId, @NonNull FetchCommand fetch);
+
+    /** Registers a clock receiver to the special channel for propagating the timing signal, with the {@link TimingOptions#DEFAULT default
+     * options}.
      *
      * @since 0.0.2
      * @param receiver Something that wants to update. Must be  {@code non-null}.
      */
     public void registerToTiming(@NonNull ClockReceiver receiver);
 
+    /** Registers a clock receiver to the special channel for propagating the timing signal. Registering a receiver that is already
+     * registered does nothing, the options of the first registration stay.
+     *
+     * @since 0.0.2
+     * @param receiver Something that wants to update. Must be  {@code non-null}.
+     * @param options Phase, parallelism, and budget of the receiver.
+     */
+    public void registerToTiming(@NonNull ClockReceiver receiver, @NonNull TimingOptions options);
+
     /** Deregisters a clock receiver to the special channel for propagating the timing signal.
      *
      * @since 0.0.2
@@ -86,7 +148,7 @@ public interface SynchronousBroker extends ClockReceiver {
      */
     public void deregisterFromTiming(@NonNull ClockReceiver receiver);
 
-    /** Propagates the timing signal.
+    /** Delivers the messages held back for coalescing, then propagates the timing signal.
      *
      * @since 0.0.2
      * @param tpf Time per frame, in seconds. A non-negative and finite number.
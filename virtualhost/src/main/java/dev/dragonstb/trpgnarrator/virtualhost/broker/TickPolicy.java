@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+/** What happens to a clock receiver when a tick runs out of time. A tick has as many seconds as it steps the game forward.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public enum TickPolicy {
+
+    /** The receiver is always updated. */
+    always,
+    /** The receiver is not updated in this tick, and the time of this tick is lost for it. */
+    skip,
+    /** The receiver is not updated in this tick, but gets the time of this tick on top when it is updated next time. */
+    defer
+
+}
@@ -21,31 +21,220 @@
 package dev.dragonstb.trpgnarrator.virtualhost.broker;
 
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.ClockReceiver;
-import java.util.HashSet;
-import java.util.Set;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PhaseTimingDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.NonNull;
 
-/** A special channel for distributing the time signal.
+/** A special channel for distributing the time signal. The clock receivers are updated {@link TickPhase phase} by phase, and within a
+ * phase in the order of registration. Receivers registered as parallel are updated on a fork-join pool while the others of their phase are
+ * updated on the thread of the tick. The phase ends when all its receivers are done.
+ * <br><br>
+ * A tick has as many seconds as it steps the game forward. Receivers with a budget and a policy other than {@link TickPolicy#always always}
+ * are only updated if that much time is left.
  *
  * @author Dragonstb
  * @since 0.0.2
  */
 final class TimingChannel {
 
-    private final Set<ClockReceiver> receivers = new HashSet<>();
+    private static final TickPhase[] PHASES = TickPhase.values();
+
+    /** Pool updating the parallel receivers. */
+    private final ForkJoinPool pool;
+    /** The receivers, per phase and in the order of registration. Replaced by a modified copy on each registration or deregistration,
+     * like in {@link BrokerChannel}. */
+    private volatile Lane[][] lanes = new Lane[PHASES.length][0];
+    private final PhaseStats[] stats = new PhaseStats[PHASES.length];
+
+    /** Generates with the common fork-join pool.
+     *
+     * @since 0.0.2
+     */
+    TimingChannel() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param pool Pool updating the parallel receivers.
+     */
+    TimingChannel(@NonNull ForkJoinPool pool) {
+        this.pool = pool;
+        for (int idx = 0; idx < stats.length; idx++) {
+            stats[idx] = new PhaseStats();
+        }
+    }
 
     void addReceiver(@NonNull ClockReceiver receiver) {
-        if(!receivers.contains(receiver)) {
-            receivers.add(receiver);
+        addReceiver(receiver, TimingOptions.DEFAULT);
+    }
+
+    /** Adds the receiver, unless it is already registered.
+     *
+     * @since 0.0.2
+     * @param receiver The receiver.
+     * @param options How the receiver is updated.
+     */
+    synchronized void addReceiver(@NonNull ClockReceiver receiver, @NonNull TimingOptions options) {
+        Lane[][] current = lanes;
+        for (Lane[] phase : current) {
+            for (Lane registered : phase) {
+                if(registered.receiver.equals(receiver)) {
+                    return;
+                }
+            }
         }
+
+        int idx = options.getPhase().ordinal();
+        Lane[][] copy = current.clone();
+        copy[idx] = Arrays.copyOf(current[idx], current[idx].length + 1);
+        copy[idx][current[idx].length] = new Lane(receiver, options);
+        lanes = copy;
     }
 
-    void removeReceiver(@NonNull ClockReceiver receiver) {
-        receivers.remove(receiver);
+    synchronized void removeReceiver(@NonNull ClockReceiver receiver) {
+        Lane[][] current = lanes;
+        for (int phase = 0; phase < current.length; phase++) {
+            Lane[] lane = current[phase];
+            for (int idx = 0; idx < lane.length; idx++) {
+                if(lane[idx].receiver.equals(receiver)) {
+                    Lane[] shorter = new Lane[lane.length - 1];
+                    System.arraycopy(lane, 0, shorter, 0, idx);
+                    System.arraycopy(lane, idx + 1, shorter, idx, shorter.length - idx);
+                    Lane[][] copy = current.clone();
+                    copy[phase] = shorter;
+                    lanes = copy;
+                    return;
+                }
+            }
+        }
     }
 
     void update(float tpf) {
-        receivers.forEach( rec -> rec.update(tpf) );
+        long deadline = System.nanoTime() + (long)(tpf * 1e9);
+        Lane[][] current = lanes;
+        for (int phase = 0; phase < current.length; phase++) {
+            if(current[phase].length > 0) {
+                long start = System.nanoTime();
+                updatePhase(current[phase], stats[phase], tpf, deadline);
+                stats[phase].latency.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /** Updates the receivers of a phase: forks the parallel ones, updates the others, and waits for the forks.
+     *
+     * @param phase Receivers of the phase.
+     * @param phaseStats Statistics of the phase.
+     * @param tpf Time per frame, in seconds.
+     * @param deadline End of the tick, from {@link System#nanoTime()}.
+     */
+    private void updatePhase(Lane[] phase, PhaseStats phaseStats, float tpf, long deadline) {
+        List<ForkJoinTask<?>> forks = null;
+        for (Lane lane : phase) {
+            if(lane.options.isParallel()) {
+                float time = lane.admit(tpf, deadline, phaseStats);
+                if(time >= 0) {
+                    if(forks == null) {
+                        forks = new ArrayList<>();
+                    }
+                    forks.add(pool.submit(() -> lane.update(time, phaseStats)));
+                }
+            }
+        }
+
+        for (Lane lane : phase) {
+            if(!lane.options.isParallel()) {
+                float time = lane.admit(tpf, deadline, phaseStats);
+                if(time >= 0) {
+                    lane.update(time, phaseStats);
+                }
+            }
+        }
+
+        if(forks != null) {
+            forks.forEach(ForkJoinTask::join);
+        }
+    }
+
+    /** Takes snapshots of the timings of the phases.
+     *
+     * @since 0.0.2
+     * @return The snapshots, in the order of the phases.
+     */
+    List<PhaseTimingDTO> snapshot() {
+        List<PhaseTimingDTO> dtos = new ArrayList<>(PHASES.length);
+        for (TickPhase phase : PHASES) {
+            PhaseStats phaseStats = stats[phase.ordinal()];
+            dtos.add(new PhaseTimingDTO(phase.name(), phaseStats.latency.snapshot(), phaseStats.skipped.sum(), phaseStats.deferred.sum(),
+                    phaseStats.overruns.sum()));
+        }
+        return dtos;
+    }
+
+    /** A registered receiver. */
+    private static final class Lane {
+
+        private final ClockReceiver receiver;
+        private final TimingOptions options;
+        /** Seconds deferred from earlier ticks. Only touched by the thread of the tick. */
+        private float owed = 0;
+
+        private Lane(ClockReceiver receiver, TimingOptions options) {
+            this.receiver = receiver;
+            this.options = options;
+        }
+
+        /** Decides if the receiver is updated in this tick.
+         *
+         * @param tpf Time per frame, in seconds.
+         * @param deadline End of the tick, from {@link System#nanoTime()}.
+         * @param phaseStats Statistics of the phase.
+         * @return Seconds to update the receiver with, or a negative number if it is not updated.
+         */
+        private float admit(float tpf, long deadline, PhaseStats phaseStats) {
+            float time = tpf + owed;
+            TickPolicy policy = options.getPolicy();
+            if(policy != TickPolicy.always && System.nanoTime() + options.getBudgetNanos() > deadline) {
+                if(policy == TickPolicy.defer) {
+                    owed = time;
+                    phaseStats.deferred.increment();
+                }
+                else {
+                    phaseStats.skipped.increment();
+                }
+                return -1;
+            }
+
+            owed = 0;
+            return time;
+        }
+
+        private void update(float time, PhaseStats phaseStats) {
+            long start = System.nanoTime();
+            receiver.update(time);
+            long budget = options.getBudgetNanos();
+            if(budget > 0 && System.nanoTime() - start > budget) {
+                phaseStats.overruns.increment();
+            }
+        }
+
+    }
+
+    /** Timings of a phase. */
+    private static final class PhaseStats {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder deferred = new LongAdder();
+        private final LongAdder overruns = new LongAdder();
+
     }
 
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import lombok.Getter;
+import lombok.NonNull;
+
+/** How a clock receiver is updated by the {@link TimingChannel timing channel}.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@Getter
+public final class TimingOptions {
+
+    /** Updated in the simulation phase, on the thread of the tick, and never skipped. */
+    public static final TimingOptions DEFAULT = new TimingOptions(TickPhase.simulation, false, 0, TickPolicy.always);
+
+    /** Phase the receiver is updated in. */
+    private final TickPhase phase;
+    /** Can the receiver be updated in parallel to the other receivers of the phase? */
+    private final boolean parallel;
+    /** Nanoseconds the receiver is expected to need. The receiver is only updated if that much time is left in the tick, unless the
+     * policy is {@link TickPolicy#always always}. Updates that take longer are counted as overruns. Zero for no budget. */
+    private final long budgetNanos;
+    /** What happens if there is not enough time left in the tick. */
+    private final TickPolicy policy;
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param phase Phase the receiver is updated in.
+     * @param parallel Can the receiver be updated in parallel to the other receivers of the phase? If so, it must not rely on the order of
+     * updates within the phase.
+     * @param budgetNanos Nanoseconds the receiver is expected to need. Zero for no budget.
+     * @param policy What happens if there is not enough time left in the tick.
+     * @throws IllegalArgumentException If the budget is negative.
+     */
+    public TimingOptions(@NonNull TickPhase phase, boolean parallel, long budgetNanos, @NonNull TickPolicy policy)
+            throws IllegalArgumentException {
+        if(budgetNanos < 0) {
+            String errCode = VHostErrorCodes.V58723;
+            String msg = "The budget of a clock receiver must not be negative, but is "+budgetNanos+" ns.";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+
+        this.phase = phase;
+        this.parallel = parallel;
+        this.budgetNanos = budgetNanos;
+        this.policy = policy;
+    }
+
+}
@@ -39,6 +39,8 @@ public final class CEMBuilder {
     private SynchronousBroker broker;
     private Clock clock;
     private ScheduledThreadPoolExecutor executor;
+    /** Maximum number of paths kept in the path cache. */
+    private int pathCacheCapacity = PathCache.DEFAULT_CAPACITY;
 
     /** Builds a concurrent event manager.
      *
@@ -46,6 +48,7 @@ public final class CEMBuilder {
      * @author Dragonstb
      * @return The manager.
      * @throws NullPointerException When at least one of the broker, the clock, or the executor is missing.
+     * @throws IllegalArgumentException When the capacity of the path cache is not positive.
      */
     public ConcurrentEventManager build() {
         String errCode = VHostErrorCodes.V31251;
@@ -66,7 +69,7 @@ public final class CEMBuilder {
             throw new NullPointerException(use);
         }
 
-        CEManagement cem = new CEManagement(clock, broker, executor); // cem signs itself up to the broker
+        CEManagement cem = new CEManagement(clock, broker, executor, pathCacheCapacity); // cem signs itself up to the broker
         clock.setReceiver(cem);
 
         return cem;
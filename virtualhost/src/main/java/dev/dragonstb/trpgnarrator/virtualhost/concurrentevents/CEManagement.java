@@ -22,33 +22,46 @@ package dev.dragonstb.trpgnarrator.virtualhost.concurrentevents;
 
 import com.jme3.math.Vector3f;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.ChannelNames;
+import dev.dragonstb.trpgnarrator.virtualhost.broker.FetchKeys;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.Receiver;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
+import dev.dragonstb.trpgnarrator.virtualhost.broker.TickPhase;
+import dev.dragonstb.trpgnarrator.virtualhost.broker.TickPolicy;
+import dev.dragonstb.trpgnarrator.virtualhost.broker.TimingOptions;
 import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.DispatchTable;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.MessageHeadlines;
-import dev.dragonstb.trpgnarrator.virtualhost.generic.converter.ExtractorOfFirst;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.MessageKeys;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathForFigurine;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathsForFigurines;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McPathForFigurine;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McPathsForFigurines;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.Clock;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.ClockReceiver;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamTypes;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamed;
-import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
-import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.TelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PathCacheStatsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryBatch;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.NonNull;
 
 /** Manages concurrent events.
@@ -58,15 +71,22 @@ import lombok.NonNull;
  */
 final class CEManagement implements ConcurrentEventManager, Receiver, ClockReceiver {
 
+    /** Found paths are harvested after the simulation. Skipped while ticks run out of time, as the paths wait for the next tick. */
+    static final TimingOptions HARVEST_OPTIONS = new TimingOptions(TickPhase.harvest, false, 500_000L, TickPolicy.skip);
+    /** The telemetry is streamed at the end of the tick, deferred while ticks run out of time. */
+    static final TimingOptions TELEMETRY_OPTIONS = new TimingOptions(TickPhase.telemetry, false, 2_000_000L, TickPolicy.defer);
+
     private final Clock clock;
     private final SynchronousBroker broker;
     private final ScheduledThreadPoolExecutor executor; // TODO: add a smart shutdown
     /** The functions called when receiving events/messages via the broker. */
-    private final Map<String, Consumer<Object>> receiveMap = new HashMap<>();
+    private final DispatchTable<Consumer<Object>> receiveMap = new DispatchTable<>();
     /** The functions called when receiving requests via the broker. */
-    private final Map<String, Function<Object, Optional<Object>>> requestMap = new HashMap<>();
+    private final DispatchTable<Function<Object, Optional<Object>>> requestMap = new DispatchTable<>();
     /** Maps the id of a figurine to a pathfinder that is computing a path for that figurine. */
-    private final Map<String, Future<Optional<List<Vector3f>>>> pathfinders = new HashMap<>();
+    private final Map<String, PendingPath> pathfinders = new HashMap<>();
+    /** Paths found recently. */
+    private final PathCache pathCache;
 
     /** Generates.
      *
@@ -77,13 +97,33 @@ final class CEManagement implements ConcurrentEventManager, Receiver, ClockRecei
      * @param executor An executor for asynchronous tasks. Must not be {@null}!
      */
     CEManagement(@NonNull Clock clock, @NonNull SynchronousBroker broker, @NonNull ScheduledThreadPoolExecutor executor) {
+        this(clock, broker, executor, PathCache.DEFAULT_CAPACITY);
+    }
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param clock A clock for times signals. Must not be {@null}!
+     * @param broker Internal message broker. Must not be {@null}!
+     * @param executor An executor for asynchronous tasks. Must not be {@null}!
+     * @param pathCacheCapacity Maximum number of paths kept in the path cache. Must be positive.
+     * @throws IllegalArgumentException If the capacity of the path cache is not positive.
+     */
+    CEManagement(@NonNull Clock clock, @NonNull SynchronousBroker broker, @NonNull ScheduledThreadPoolExecutor executor,
+            int pathCacheCapacity) throws IllegalArgumentException {
         this.clock = clock;
         this.broker = broker;
         this.executor = executor;
+        this.pathCache = new PathCache(pathCacheCapacity);
 
-        broker.registerToChannel(this, ChannelNames.CONCURRENT_MANAGEMENT);
+        broker.registerToChannel(this, ChannelNames.CONCURRENT_MANAGEMENT_ID);
+        broker.registerToTiming(tpf -> checkAndCleanPathfinders(), HARVEST_OPTIONS);
+        broker.registerToTiming(tpf -> streamDataToClients(), TELEMETRY_OPTIONS);
 
-        receiveMap.put(MessageHeadlines.PLEASE_FIND_PATH, this::findPath);
+        receiveMap.put(MessageHeadlines.PLEASE_FIND_PATH_ID, MessageKeys.PLEASE_FIND_PATH.handler(this::findPath, VHostErrorCodes.V42664));
+        receiveMap.put(MessageHeadlines.PLEASE_FIND_PATHS_ID, MessageKeys.PLEASE_FIND_PATHS.handler(this::findPaths, VHostErrorCodes.V23874));
+        requestMap.put(FetchCodes.PATH_CACHE_STATS_ID, this::getPathCacheStats);
     }
 
 
@@ -91,10 +131,9 @@ final class CEManagement implements ConcurrentEventManager, Receiver, ClockRecei
 
     @Override
     public void receive(Message msg) {
-        String headline = msg.getHeadline();
         Object content = msg.getContent();
 
-        var function = receiveMap.get(headline);
+        var function = receiveMap.get(msg.getHeadlineId());
         if(function != null) {
             function.accept(content);
         }
@@ -102,10 +141,9 @@ final class CEManagement implements ConcurrentEventManager, Receiver, ClockRecei
 
     @Override
     public Optional<Object> request(FetchCommand fetch) {
-        String cmd = fetch.getCommand();
         Object parm = fetch.getParms();
 
-        var function = requestMap.get(cmd);
+        var function = requestMap.get(fetch.getCommandId());
         Optional<Object> opt = function != null ? function.apply(parm) : Optional.empty();
         return opt;
     }
@@ -119,109 +157,184 @@ final class CEManagement implements ConcurrentEventManager, Receiver, ClockRecei
      *
      * @since 0.0.2
      * @author Dragonstb
-     * @param parm Expected to be a List of Integers of size two. The first number is the id of the field where the path starts. The second
-     * number is the id of the field where the path ends.
+     * @param conf Figurine, start, and goal of the path.
      */
-    private void findPath(Object parm) {
-        // step 1: assemble a request
-        String code = VHostErrorCodes.V42664;
-        McFindPathForFigurine conf;
-        try {
-            conf = (McFindPathForFigurine)parm;
-        }
-        catch (Exception e) {
-            String msg = "Expected content to be a FindPathForFigurine, but got an instance of class "
-                    + (parm != null ? parm.getClass().getSimpleName() : "null") + " instead";
-            String use = VHostErrorCodes.assembleCodedMsg(msg, code);
-            throw new ClassCastException(use);
-        }
-
-        int fromField = conf.getFromFieldId();
-        int toField = conf.getToFieldId();
-        String figId = conf.getFigurineId();
+    private void findPath(McFindPathForFigurine conf) {
+        schedulePaths(List.of(conf));
+    }
 
+    /** Finds the paths for several figurines with a single task.
+     * <br><br>
+     * <b>HINT:</b> This method locks the map of {@code this.pathfinders} for some time.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param parm The requests.
+     */
+    private void findPaths(McFindPathsForFigurines parm) {
+        schedulePaths(parm.getRequests());
+    }
 
-        // step 2: deal with reply
-        code = VHostErrorCodes.V97498;
-        PathfindingConfig pfConf = new PathfindingConfig(fromField, toField);
-        FetchCommand cmd = new FetchCommand(FetchCodes.BOARD_PATHFINDER, pfConf);
+    /** Serves the requests from the path cache where possible and submits a single pathfinder for all other requests. A single missing
+     * path is found by a plain pathfinder, several missing paths by a batch pathfinder.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param requests The path requests. If a figurine has several requests, the last one wins.
+     */
+    private void schedulePaths(List<McFindPathForFigurine> requests) {
+        // step 1: look for cached paths, which requires to know the version of the board
+        Optional<Long> boardVersion = fetchBoardVersion();
+        long cacheVersion = boardVersion.orElse(PendingPath.NOT_CACHEABLE);
+        Map<String, PendingPath> scheduled = new LinkedHashMap<>();
+        List<String> missingFigIds = new ArrayList<>();
+        List<PathfindingConfig> missingConfigs = new ArrayList<>();
+        for(McFindPathForFigurine request: requests) {
+            PathfindingConfig pfConf = new PathfindingConfig(request.getFromFieldId(), request.getToFieldId(),
+                    PathfindingConfig.DEFAULT_MOVEMENT_PROFILE, request.getBudget());
+            Optional<List<Vector3f>> cached = boardVersion.isPresent() ? pathCache.get(pfConf, boardVersion.get()) : Optional.empty();
+            if(cached.isPresent()) {
+                Future<Optional<List<Vector3f>>> future = CompletableFuture.completedFuture(cached);
+                scheduled.put(request.getFigurineId(), new PendingPath(future, null, pfConf, PendingPath.NOT_CACHEABLE, PendingPath.SINGLE));
+            }
+            else {
+                missingFigIds.add(request.getFigurineId());
+                missingConfigs.add(pfConf);
+            }
+        }
 
-        List<Optional<Object>> opt = broker.request(ChannelNames.GET_BOARD_DATA, cmd, true);
-        ExtractorOfFirst extractor = new ExtractorOfFirst(code);
-        Callable pathfinder = extractor.extractFirst(opt, Callable.class);
-        Future future = executor.submit(pathfinder);
+        // step 2: get a pathfinder for the rest
+        if(missingConfigs.size() == 1) {
+            PathfindingConfig pfConf = missingConfigs.getFirst();
+            Callable<Optional<List<Vector3f>>> pathfinder = FetchKeys.requestFirst(broker, FetchKeys.BOARD_PATHFINDER, pfConf)
+                    .orElseThrow(CEManagement::noPathfinder);
+            Future<Optional<List<Vector3f>>> future = executor.submit(pathfinder);
+            scheduled.put(missingFigIds.getFirst(), new PendingPath(future, null, pfConf, cacheVersionFor(pfConf, cacheVersion),
+                    PendingPath.SINGLE));
+        }
+        else if(missingConfigs.size() > 1) {
+            Callable<List<Optional<List<Vector3f>>>> pathfinder
+                    = FetchKeys.requestFirst(broker, FetchKeys.BOARD_BATCH_PATHFINDER, missingConfigs)
+                    .orElseThrow(CEManagement::noPathfinder);
+            Future<List<Optional<List<Vector3f>>>> batch = executor.submit(pathfinder);
+            for (int idx = 0; idx < missingConfigs.size(); idx++) {
+                PathfindingConfig pfConf = missingConfigs.get(idx);
+                scheduled.put(missingFigIds.get(idx), new PendingPath(null, batch, pfConf, cacheVersionFor(pfConf, cacheVersion), idx));
+            }
+        }
 
         // this method may be called at any time, and the list of pathfinders is also accessed from a different thread at each clock signal.
         synchronized (pathfinders) {
-            Future oldFuture = pathfinders.get(figId);
-            if(oldFuture != null) {
-                oldFuture.cancel(true);
-            }
-            pathfinders.put(figId, future);
+            scheduled.forEach((figId, pending) -> {
+                PendingPath oldPending = pathfinders.put(figId, pending);
+                // a batch may still be needed by other figurines
+                if(oldPending != null && oldPending.getSingle() != null) {
+                    oldPending.getSingle().cancel(true);
+                }
+            });
         }
     }
 
+    /** Creates the exception thrown when the board does not hand out a pathfinder.
+     *
+     * @since 0.0.2
+     * @return The exception.
+     */
+    private static NoSuchElementException noPathfinder() {
+        String use = VHostErrorCodes.assembleCodedMsg("No pathfinder present.", VHostErrorCodes.V97498);
+        return new NoSuchElementException(use);
+    }
 
+    /** Paths found with a limited budget might end before the goal, so they are kept out of the path cache.
+     *
+     * @since 0.0.2
+     * @param pfConf Config of the path.
+     * @param cacheVersion Version of the board, or {@link PendingPath#NOT_CACHEABLE}.
+     * @return The version of the board the path is cached for, or {@link PendingPath#NOT_CACHEABLE}.
+     */
+    private static long cacheVersionFor(PathfindingConfig pfConf, long cacheVersion) {
+        return pfConf.getBudget().isUnlimited() ? cacheVersion : PendingPath.NOT_CACHEABLE;
+    }
+
+    /** Asks the board for the current version of its topology.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return The version, or an empty optional if no board answered.
+     */
+    private Optional<Long> fetchBoardVersion() {
+        return FetchKeys.requestFirst(broker, FetchKeys.BOARD_VERSION, null);
+    }
 
-    // ____________________  answering requests  ____________________
 
 
+    // ____________________  answering requests  ____________________
+
+    /** Gets the counters of the path cache.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param parm is ignored, just required due to the structure of the code.
+     * @return A {@link PathCacheStatsDTO PathCacheStatsDTO}.
+     */
+    private Optional<Object> getPathCacheStats(Object parm) {
+        return Optional.of(pathCache.getStats());
+    }
 
 
     // ____________________  clock receiver  ____________________
 
     @Override
     public void update(float tpf) {
-        checkAndCleanPathfinders();
-
-        // iterate internal state
+        // iterate internal state: the timing channel updates the figurines, harvests the found paths, and streams the telemetry
         try {
             broker.update(tpf);
         } catch (Exception e) {
             // TODO: log
             // TODO: analyze problem and see if more than just logging can/has to be done.
         }
-
-        streamDataToClients();
     }
 
-    /** Checks the pathfinders and notifies the figurine controller about found paths. Removes pathfinders that have become done since the
-     * last check.
+    /** Checks the pathfinders and notifies the figurine controller about all found paths in a single message. Removes pathfinders that have become done since the
+     * last check. Called in the {@link TickPhase#harvest harvest phase} of each tick.
      * <br><br>
      * <b>HINT:</b> This method locks the map of {@code this.pathfinders} for some time.
      *
      * @since 0.0.2
      * @author Dragonstb
      */
-    private void checkAndCleanPathfinders() {
+    void checkAndCleanPathfinders() {
         List<McPathForFigurine> pathes = new ArrayList<>();
         synchronized (pathfinders) {
-            pathfinders.keySet().stream().filter(key -> pathfinders.get(key).isDone()).forEach(key -> {
-                var pathfinder = pathfinders.get(key);
+            // collect first, so the map is not modified while being streamed and nothing becomes done between checking and removing
+            List<String> doneKeys = pathfinders.keySet().stream().filter(key -> pathfinders.get(key).getFuture().isDone())
+                    .collect(Collectors.toList());
+            doneKeys.forEach(key -> {
+                var pending = pathfinders.remove(key);
                 try {
-                    Optional<List<Vector3f>> opt = pathfinder.get();
+                    Optional<List<Vector3f>> opt = pending.getPath();
                     if(opt.isPresent()) {
                         List<Vector3f> list = opt.get();
+                        if(pending.getBoardVersion() != PendingPath.NOT_CACHEABLE) {
+                            pathCache.put(pending.getConfig(), pending.getBoardVersion(), list);
+                        }
                         // TODO: know which figurine this path is meant for
                         McPathForFigurine path = new McPathForFigurine(key, list);
                         pathes.add(path);
                     }
                 } catch (Exception e) {
                     // TODO: log and go on
-                } finally {
-                    pathfinders.remove(key);
                 }
             });
         }
 
-        pathes.forEach(path -> {
-            // TODO: all pathes in one message?
-            Message msg = new Message(MessageHeadlines.FOUND_PATH, path);
-            broker.send(msg, ChannelNames.GET_FIGURINE_DATA);
-        });
+        if(!pathes.isEmpty()) {
+            Message msg = MessageKeys.FOUND_PATHS.message(new McPathsForFigurines(pathes));
+            broker.send(msg, ChannelNames.GET_FIGURINE_DATA_ID);
+        }
     }
 
-    /** Send data to the clients.
+    /** Send data to the clients. Called in the {@link TickPhase#telemetry telemetry phase} of each tick.
      *
      * @since 0.0.2
      * @author Dragonstb
@@ -229,25 +342,63 @@ final class CEManagement implements ConcurrentEventManager, Receiver, ClockRecei
     void streamDataToClients() {
         String errCode = VHostErrorCodes.V91691;
 
-        FetchCommand cmd = new FetchCommand(FetchCodes.FIGURINE_TELEMETRY);
-        List<Optional<Object>> list = broker.request(ChannelNames.GET_FIGURINE_DATA, cmd, true);
-        List<FigurineTelemetryDTO> teles = new ExtractorOfFirst(errCode).extractFirst(list, List.class);
-
-        if(!teles.isEmpty()) {
-            if(!(teles.getFirst() instanceof FigurineTelemetryDTO)) {
-                Object obj = teles.getFirst();
-                String msg = "Expected List of FigurineTelemetrDTO, but got list of "+(
-                        obj != null ? obj.getClass().getSimpleName() : "null"
-                )+" instead.";
-                String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
-                throw new IllegalArgumentException(use);
-            }
+        TelemetryBatch batch = FetchKeys.requestFirst(broker, FetchKeys.FIGURINE_TELEMETRY, null).orElseThrow(() -> {
+            String use = VHostErrorCodes.assembleCodedMsg("No telemetry present.", errCode);
+            return new NoSuchElementException(use);
+        });
 
-            TelemetryDTO dto = new TelemetryDTO(teles);
-            VHStreamed obj = new VHStreamed(VHStreamTypes.telemetry, dto);
+        // the batch is reused at the next tick, so the host connector copies out what it keeps
+        if(batch.getSize() > 0) {
+            batch.setAlpha(clock.getAlpha());
+            VHStreamed obj = new VHStreamed(VHStreamTypes.telemetry, batch);
             broker.sendOutbound(obj);
         }
     }
 
 
+    /** A path that is being computed or that has been taken from the path cache.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class PendingPath {
+
+        /** Board version of paths that must not be put into the path cache. */
+        static final long NOT_CACHEABLE = Long.MIN_VALUE;
+        /** Batch index of paths computed by a pathfinder of their own. */
+        static final int SINGLE = -1;
+
+        /** Delivers the path if computed by a pathfinder of its own or taken from the path cache, else {@code null}. */
+        private final Future<Optional<List<Vector3f>>> single;
+        /** Delivers the paths of the batch the path is computed in, else {@code null}. */
+        private final Future<List<Optional<List<Vector3f>>>> batch;
+        /** Start, goal, and movement profile of the path. */
+        private final PathfindingConfig config;
+        /** Version of the board the path is computed on, or {@link #NOT_CACHEABLE}. */
+        private final long boardVersion;
+        /** Position of the path in the result of the batch, or {@link #SINGLE}. */
+        private final int batchIndex;
+
+        /** Gets the future computing the path, either on its own or in a batch.
+         *
+         * @since 0.0.2
+         * @return The future.
+         */
+        Future<?> getFuture() {
+            return single != null ? single : batch;
+        }
+
+        /** Gets the path from the done future.
+         *
+         * @since 0.0.2
+         * @return The path.
+         * @throws Exception If the computation of the path failed.
+         */
+        Optional<List<Vector3f>> getPath() throws Exception {
+            return single != null ? single.get() : batch.get().get(batchIndex);
+        }
+    }
+
 }
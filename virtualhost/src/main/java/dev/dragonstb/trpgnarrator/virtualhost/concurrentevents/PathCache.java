@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.concurrentevents;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PathCacheStatsDTO;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.NonNull;
+
+/** Bounded cache of found paths, keyed on start field, goal field, and movement profile. When full, the least recently used path is
+ * evicted. All paths belong to one version of the board topology: as soon as a newer version shows up, the cache is cleared.
+ * <br><br>
+ * All methods are thread safe.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class PathCache {
+
+    /** Capacity used when nothing else is specified. */
+    static final int DEFAULT_CAPACITY = 256;
+    /** Board version before the first path has been cached. */
+    private static final long NO_VERSION = Long.MIN_VALUE;
+
+    /** Maximum number of paths. */
+    private final int capacity;
+    /** The paths, in access order. */
+    private final Map<Key, List<Vector3f>> paths;
+    /** Version of the board topology the cached paths belong to. */
+    private long boardVersion = NO_VERSION;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long invalidations = 0;
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param capacity Maximum number of paths. Must be positive.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    PathCache(int capacity) throws IllegalArgumentException {
+        if(capacity < 1) {
+            String errCode = VHostErrorCodes.V64207;
+            String msg = "The capacity of the path cache must be positive, but is "+capacity+".";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+
+        this.capacity = capacity;
+        this.paths = new LinkedHashMap<>(16, .75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<Vector3f>> eldest) {
+                boolean full = size() > PathCache.this.capacity;
+                if(full) {
+                    evictions++;
+                }
+                return full;
+            }
+        };
+    }
+
+    /** Looks up a path.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param config Start, goal, and movement profile of the path. The search budget does not matter.
+     * @param boardVersion Current version of the board topology.
+     * @return The cached path, or an empty optional if no path is cached for the start, goal, profile, and version.
+     */
+    synchronized Optional<List<Vector3f>> get(@NonNull PathfindingConfig config, long boardVersion) {
+        adoptVersion(boardVersion);
+        List<Vector3f> path = this.boardVersion == boardVersion ? paths.get(Key.of(config)) : null;
+        if(path != null) {
+            hits++;
+        }
+        else {
+            misses++;
+        }
+        return Optional.ofNullable(path);
+    }
+
+    /** Caches a path. Paths found on an outdated version of the board are ignored.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param config Start, goal, and movement profile of the path. The search budget does not matter.
+     * @param boardVersion Version of the board topology the path has been found on.
+     * @param path The way points of the path.
+     */
+    synchronized void put(@NonNull PathfindingConfig config, long boardVersion, @NonNull List<Vector3f> path) {
+        adoptVersion(boardVersion);
+        if(this.boardVersion == boardVersion) {
+            paths.put(Key.of(config), List.copyOf(path));
+        }
+    }
+
+    /** Clears the cache if the version is newer than the version of the cached paths.
+     *
+     * @param boardVersion Version of the board topology.
+     */
+    private void adoptVersion(long boardVersion) {
+        if(boardVersion > this.boardVersion) {
+            if(!paths.isEmpty()) {
+                paths.clear();
+                invalidations++;
+            }
+            this.boardVersion = boardVersion;
+        }
+    }
+
+    /** Gets the counters of this cache.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return A snapshot of the counters.
+     */
+    synchronized PathCacheStatsDTO getStats() {
+        return new PathCacheStatsDTO(hits, misses, evictions, invalidations, paths.size(), capacity);
+    }
+
+    /** Key of a cached path. The search budget of a {@link PathfindingConfig config} is left out, as it does not change which path is the
+     * cheapest one.
+     *
+     * @param fromField Id of the field where the path starts.
+     * @param toField Id of the field where the path ends.
+     * @param movementProfile How the figurine moves over the board.
+     */
+    private record Key(int fromField, int toField, int movementProfile) {
+
+        static Key of(PathfindingConfig config) {
+            return new Key(config.getFromField(), config.getToField(), config.getMovementProfile());
+        }
+
+    }
+
+}
@@ -30,14 +30,30 @@ import java.text.MessageFormat;
 public final class VHostErrorCodes {
 
     public static final String V03107 = "V03107";
+    public static final String V07245 = "V07245";
+    public static final String V08813 = "V08813";
 
     public static final String V11349 = "V11349";
+    public static final String V13357 = "V13357";
     public static final String V14985 = "V14985";
+    public static final String V15073 = "V15073";
     public static final String V16231 = "V16231";
+    public static final String V19546 = "V19546";
 
+    public static final String V20417 = "V20417";
+    public static final String V24519 = "V24519";
+    public static final String V25318 = "V25318";
+    public static final String V26871 = "V26871";
+    public static final String V27093 = "V27093";
+    public static final String V23874 = "V23874";
     public static final String V29882 = "V29882";
 
     public static final String V31251 = "V31251";
+    public static final String V32590 = "V32590";
+    public static final String V33871 = "V33871";
+    public static final String V35102 = "V35102";
+    public static final String V37521 = "V37521";
+    public static final String V39264 = "V39264";
 
     public static final String V43108 = "V43108";
     public static final String V42664 = "V42664";
@@ -46,13 +62,26 @@ public final class VHostErrorCodes {
     public static final String V48135 = "V48135";
 
     public static final String V50700 = "V50700";
+    public static final String V52019 = "V52019";
     public static final String V53260 = "V53260";
+    public static final String V54481 = "V54481";
+    public static final String V56318 = "V56318";
+    public static final String V57306 = "V57306";
+    public static final String V58723 = "V58723";
 
     /** This code V62000 is used in a temporary, prototype-like part of the code and prone to be unused. */
+    public static final String V60714 = "V60714";
+    public static final String V61254 = "V61254";
     public static final String V62000 = "V62000-deprecated";
+    public static final String V64207 = "V64207";
+    public static final String V66391 = "V66391";
+    public static final String V69412 = "V69412";
+    public static final String V71826 = "V71826";
     public static final String V78642 = "V78642";
 
+    public static final String V81530 = "V81530";
     public static final String V85159 = "V85159";
+    public static final String V88314 = "V88314";
 
     public static final String V91691 = "V91691";
     public static final String V94039 = "V94039";
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.figurine;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/** Bitset of the handles of the figurines whose telemetry has changed since it was harvested the last time. Marking is lock-free and
+ * idempotent, so a figurine that changes several times between two harvests is harvested once. Harvesting skips the words without any
+ * mark, so it costs one read per 64 figurines plus the changed figurines.
+ * <br><br>
+ * Figurines may be marked by one thread while another one drains the set. Growing the set must not happen concurrently with marking.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class DirtySet {
+
+    /** The marks, 64 handles per word. Replaced by a longer copy when the set grows. */
+    private volatile AtomicLongArray words = new AtomicLongArray(1);
+
+    /** Makes sure that the handles up to the given size can be marked.
+     *
+     * @since 0.0.2
+     * @param size Number of handles.
+     */
+    void ensureCapacity(int size) {
+        AtomicLongArray current = words;
+        int needed = (size + 63) >>> 6;
+        if(needed <= current.length()) {
+            return;
+        }
+
+        AtomicLongArray grown = new AtomicLongArray(Math.max(needed, 2 * current.length()));
+        for (int idx = 0; idx < current.length(); idx++) {
+            grown.set(idx, current.get(idx));
+        }
+        words = grown;
+    }
+
+    /** Marks a handle.
+     *
+     * @since 0.0.2
+     * @param handle The handle, which must be smaller than the capacity.
+     */
+    void mark(int handle) {
+        long bit = 1L << handle; // the shift only takes the lowest six bits
+        AtomicLongArray current = words;
+        int word = handle >>> 6;
+        if((current.get(word) & bit) == 0) {
+            current.getAndAccumulate(word, bit, (a, b) -> a | b);
+        }
+    }
+
+    /** Tells if a handle is marked.
+     *
+     * @since 0.0.2
+     * @param handle The handle.
+     * @return Whether it is marked.
+     */
+    boolean isMarked(int handle) {
+        AtomicLongArray current = words;
+        int word = handle >>> 6;
+        return word < current.length() && (current.get(word) & (1L << handle)) != 0;
+    }
+
+    /** Estimates the number of marked handles, for sizing buffers.
+     *
+     * @since 0.0.2
+     * @return Number of handles marked at the time each word is read.
+     */
+    int count() {
+        AtomicLongArray current = words;
+        int count = 0;
+        for (int idx = 0; idx < current.length(); idx++) {
+            count += Long.bitCount(current.get(idx));
+        }
+        return count;
+    }
+
+    /** Removes all marks and hands the marked handles to the consumer, in ascending order. Handles marked while draining are either
+     * handed over now or kept for the next time, but never lost.
+     *
+     * @since 0.0.2
+     * @param consumer Takes the marked handles.
+     * @return Number of handles handed over.
+     */
+    int drain(IntConsumer consumer) {
+        AtomicLongArray current = words;
+        int count = 0;
+        for (int idx = 0; idx < current.length(); idx++) {
+            if(current.get(idx) == 0) {
+                continue;
+            }
+
+            long bits = current.getAndSet(idx, 0);
+            while(bits != 0) {
+                consumer.accept((idx << 6) | Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
@@ -28,107 +28,118 @@ import dev.dragonstb.trpgnarrator.virtualhost.generic.MessageHeadlines;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathForFigurine;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineDTO;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
-import dev.dragonstb.trpgnarrator.virtualhost.tweens.ActionTween;
-import dev.dragonstb.trpgnarrator.virtualhost.tweens.SequenceTween;
-import dev.dragonstb.trpgnarrator.virtualhost.tweens.ShiftObjectTween;
-import java.util.ArrayList;
 import java.util.List;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.Setter;
 
-/**
+/** A figurine. Its identity and appearance are kept here, while the state that changes during the game lives in a
+ * {@link FigurineStore}, where the figurine is a handle.
  *
  * @author Dragonstb
  * @since 0.0.2
  */
 final class Figurine implements Locateable {
 
-    private final Object currentTweenLock = new Object();
+    /** Seconds a figurine takes from one field of its path to the next. TODO: derive from figurine's characteristics */
+    static final float SECONDS_PER_FIELD = .33f;
 
     /** An id that must be unique among all figurines in a game. */
     @Getter private final String id;
     private final ColorRGBA diffuseColor;
     private final ColorRGBA ambientColor;
     private final ColorRGBA specularColor;
-    @Getter @Setter private Vector3f location = new Vector3f();
-    /** When on board, this field holds the id of the board field the figurine currently stand on. When off board, this field is
-     * meaningless. */
-    @Getter @Setter private int fieldId;
-    /** Has the telemetry changed since it was read the last time? */
-    @Getter @Setter private boolean telemetryChanged = true;
-
-    /** The current action tween that controls the figurine. */
-    private ActionTween currentTween = null;
+    /** Where the state of this figurine lives. */
+    private final FigurineStore store;
+    /** Handle of this figurine in the {@link #store}. */
+    @Getter private final int handle;
 
     /** Generates.
      *
      * @since 0.0.2
+     * @param store Where the state of the figurine lives. The figurine is added to it.
      * @param diffuseColor
      * @param ambientColor
      * @param specularColor
      */
-    Figurine(@NonNull String id, @NonNull ColorRGBA diffuseColor, @NonNull ColorRGBA ambientColor, @NonNull ColorRGBA specularColor) {
+    Figurine(@NonNull FigurineStore store, @NonNull String id, @NonNull ColorRGBA diffuseColor, @NonNull ColorRGBA ambientColor,
+            @NonNull ColorRGBA specularColor) {
         this.id = id;
         this.diffuseColor = diffuseColor;
         this.ambientColor = ambientColor;
         this.specularColor = specularColor;
+        this.store = store;
+        this.handle = store.add();
     }
 
     /** Generates with deriving specular and ambient from diffuse.
+     *
+     * @since 0.0.2
+     * @param store Where the state of the figurine lives. The figurine is added to it.
+     * @param diffuseColor
+     */
+    Figurine(@NonNull FigurineStore store, @NonNull String id, @NonNull ColorRGBA diffuseColor) {
+        this(store, id, diffuseColor, diffuseColor.mult(.25f), diffuseColor.mult(1.2f));
+    }
+
+    /** Generates with deriving specular and ambient from diffuse, in a store of its own.
      *
      * @since 0.0.2
      * @param diffuseColor
      */
     Figurine(@NonNull String id, @NonNull ColorRGBA diffuseColor) {
-        this(id, diffuseColor, diffuseColor.mult(.25f), diffuseColor.mult(1.2f));
+        this(new FigurineStore(), id, diffuseColor);
     }
 
-    /** Iterates the figurine one time step further.
+    /** Gets the location.
      *
      * @since 0.0.2
      * @author Dragonstb
-     * @param tpf Time per frame in seconds.
+     * @return A new vector.
      */
-    void update(float tpf) {
-        synchronized (currentTweenLock) {
-            if(currentTween != null) {
-                currentTween.internalAction(tpf);
-                telemetryChanged = true;
-                if(currentTween.isDone()) {
-                    currentTween = null;
-                }
-            }
-        }
+    Vector3f getLocation() {
+        return store.getLocation(handle);
+    }
+
+    @Override
+    public void setLocation(Vector3f location) {
+        store.setLocation(handle, location);
+    }
+
+    /** Gets the id of the board field the figurine currently stands on. When off board, the id is meaningless.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return Id of the field.
+     */
+    int getFieldId() {
+        return store.getFieldId(handle);
+    }
+
+    /** Sets the id of the field the figurine stands on.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param fieldId Id of the field.
+     */
+    void setFieldId(int fieldId) {
+        store.setFieldId(handle, fieldId);
     }
 
-    /**
+    /** Lets the figurine walk along a path.
+     *
      * @since 0.0.2
      * @author Dragonstb
      * @param waypoints Way points of the path. TODO: a path object that also includes the ids of the fields related to the way points.
+     * @param endFieldId Id of the field the path ends on, which the figurine stands on when it has arrived.
      */
-    void setPath(List<Vector3f> waypoints) {
+    void setPath(List<Vector3f> waypoints, int endFieldId) {
         if(waypoints == null || waypoints.size() < 2) {
             // TODO: log
             return;
         }
 
-        float timePerHex = .33f; // TODO: derive from figurine's characteristics
-
-        Vector3f from = waypoints.get(0);
-        Vector3f to;
-        List<ActionTween> shifts = new ArrayList<>();
-        ShiftObjectTween tween;
-        for (int idx = 1; idx < waypoints.size(); idx++) {
-            to = waypoints.get(idx);
-            tween = new ShiftObjectTween(this, from, to, timePerHex);
-            shifts.add(tween);
-            from = to;
-        }
-
-        SequenceTween sequence = new SequenceTween(shifts);
         // TODO: smooth transition from current position into the path. Currently, the figurine jumps to the start of the path.
-        currentTween = sequence;
+        store.setPath(handle, waypoints, SECONDS_PER_FIELD, endFieldId);
     }
 
     /** Writes a message with a pleading that a path from this' current field to the specified goal field is found for this.
@@ -139,43 +150,35 @@ final class Figurine implements Locateable {
      * @return
      */
     Message getFindPathToFieldMessage(int toFieldId) {
-        McFindPathForFigurine pfRequest;
-        // synced because the current tween may change the location of the figurine, thus also the if of the current field
-        synchronized (currentTweenLock) {
-            // TODO: place figurine centrally on ist current field where it awaits the new path.
-            setIdleUnsafe();
-            pfRequest = new McFindPathForFigurine(id, fieldId, toFieldId);
-        }
-        return new Message(MessageHeadlines.PLEASE_FIND_PATH, pfRequest);
+        return new Message(MessageHeadlines.PLEASE_FIND_PATH_ID, getFindPathToFieldRequest(toFieldId));
     }
 
-    /** Gets the telemetry of this figurine and sets the telemetryChanged flag to false.
+    /** Writes a request for a path from this' current field to the specified goal field, and sets this figurine idle.
      *
      * @since 0.0.2
      * @author Dragonstb
-     * @return Telemetry data that can be streamed to the clients.
+     * @param toFieldId Id of the field where the path shall end.
+     * @return The request.
      */
-    FigurineTelemetryDTO getTelemetry() {
-        return new FigurineTelemetryDTO(id, location, fieldId);
-    }
-
-    FigurineDTO asDTO() {
-        FigurineDTO dto = new FigurineDTO(id, diffuseColor, ambientColor, specularColor, location, fieldId);
-        return dto;
+    McFindPathForFigurine getFindPathToFieldRequest(int toFieldId) {
+        // TODO: place figurine centrally on ist current field where it awaits the new path.
+        int fromFieldId = store.stop(handle);
+        return new McFindPathForFigurine(id, fromFieldId, toFieldId);
     }
 
-    // ____________________  internal controlling  ____________________
-
-    /** Sets the figurine idle. This means no action tweens and an idle animation.
-     * <br><br>
-     * <b>Note:</b> This method writes on fields which are accessed by several concurrent threads without any syncing. Please call it in
-     * a synchronized environment to become threadsafe.
+    /** Gets the telemetry of this figurine.
      *
      * @since 0.0.2
      * @author Dragonstb
+     * @return Telemetry data that can be streamed to the clients.
      */
-    private void setIdleUnsafe() {
-        currentTween = null;
+    FigurineTelemetryDTO getTelemetry() {
+        return new FigurineTelemetryDTO(id, getLocation(), getFieldId());
+    }
+
+    FigurineDTO asDTO() {
+        FigurineDTO dto = new FigurineDTO(id, diffuseColor, ambientColor, specularColor, getLocation(), getFieldId());
+        return dto;
     }
 
 }
@@ -23,25 +23,34 @@ package dev.dragonstb.trpgnarrator.virtualhost.figurine;
 import com.jme3.math.ColorRGBA;
 import com.jme3.math.Vector3f;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.ChannelNames;
+import dev.dragonstb.trpgnarrator.virtualhost.broker.FetchKeys;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.Receiver;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
 import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.DispatchTable;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.MessageHeadlines;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.MessageKeys;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathForFigurine;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathsForFigurines;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McPathForFigurine;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McPathsForFigurines;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.ClockReceiver;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineDTO;
-import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurinesListDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryBatch;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FindPathForFigurineParms;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FindPathsForFigurinesParms;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 
@@ -54,64 +63,90 @@ final class FigurineController implements Figurines, Receiver, ClockReceiver {
 
     private final SynchronousBroker broker;
     private final Map<String, Figurine> figurines = new HashMap<>();
+    /** The state of the figurines that changes during the game. */
+    private final FigurineStore store;
+    /** The figurines, indexed by their handle in the {@link #store}. Replaced by a longer copy when full. Guarded by {@link #store}. */
+    private Figurine[] byHandle = new Figurine[0];
 
     /** The functions called when receiving events/messages via the broker. */
-    private final Map<String, Consumer<Object>> receiveMap = new HashMap<>();
+    private final DispatchTable<Consumer<Object>> receiveMap = new DispatchTable<>();
+    /** The functions called when receiving requests via the broker. */
+    private final DispatchTable<Function<Object, Optional<Object>>> requestMap = new DispatchTable<>();
+    /** Telemetry of the changed figurines, refilled at each request. */
+    private final TelemetryBatch telemetry = new TelemetryBatch();
 
     FigurineController(@NonNull SynchronousBroker broker) {
+        this(broker, new FigurineStore());
+    }
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param broker The broker.
+     * @param store Where the state of the figurines lives. Must be empty.
+     */
+    FigurineController(@NonNull SynchronousBroker broker, @NonNull FigurineStore store) {
         this.broker = broker;
-        receiveMap.put(MessageHeadlines.FOUND_PATH, this::setPathOfFigurine);
-        receiveMap.put(MessageHeadlines.PLEASE_FIND_PATH, this::requestPathForFigurine);
+        this.store = store;
+        receiveMap.put(MessageHeadlines.FOUND_PATH_ID, MessageKeys.FOUND_PATH.handler(this::setPathOfFigurine, VHostErrorCodes.V94039));
+        receiveMap.put(MessageHeadlines.PLEASE_FIND_PATH_ID,
+                MessageKeys.PLEASE_FIND_PATH_FROM_CLIENT.handler(this::requestPathForFigurine, VHostErrorCodes.V98915));
+        receiveMap.put(MessageHeadlines.FOUND_PATHS_ID, MessageKeys.FOUND_PATHS.handler(this::setPathsOfFigurines, VHostErrorCodes.V81530));
+        receiveMap.put(MessageHeadlines.PLEASE_FIND_PATHS_ID,
+                MessageKeys.PLEASE_FIND_PATHS_FROM_CLIENT.handler(this::requestPathsForFigurines, VHostErrorCodes.V81530));
+        requestMap.put(FetchCodes.FIGURINE_FULL_LIST_ID, parm -> Optional.of(getFigurinesDTOs()));
+        requestMap.put(FetchCodes.FIGURINE_TELEMETRY_ID, parm -> Optional.of(getFigurineTelemetries()));
 
         init();
     }
 
     private void init() {
-        broker.registerToChannel(this, ChannelNames.GET_FIGURINE_DATA);
+        broker.registerToChannel(this, ChannelNames.GET_FIGURINE_DATA_ID);
         broker.registerToTiming(this);
 
         // TODO: don't use hard coded content, but derive figurines from some data object
         int idNumber = 0;
-        Figurine fig = new Figurine(String.valueOf(idNumber), ColorRGBA.Blue.mult(.33f));
-        figurines.put(fig.getId(), fig);
+        Figurine fig = addFigurine(String.valueOf(idNumber), ColorRGBA.Blue.mult(.33f));
 
         int fieldId = 15;
-        FetchCommand fetch = new FetchCommand(FetchCodes.BOARD_FIELD_LOCATION, fieldId);
-        List<Optional<Object>> list = broker.request(ChannelNames.GET_BOARD_DATA, fetch, true);
-
-        // TODO: this reduction from List<Optional<Object>> to one instance of <T extends Object> happens fairly often. Write a centrally
-        // accessible method, or offer a special method in the interface SynchronousBroker
-        String code = VHostErrorCodes.V62000;
-        if(list.isEmpty()){
-            String use = VHostErrorCodes.assembleCodedMsg("No list of locations.", code);
-            throw new NullPointerException(use);
-        }
-
-        Optional<Object> opt = list.getFirst();
-        if(opt == null || opt.isEmpty()) {
-            String use = VHostErrorCodes.assembleCodedMsg("No location present.", code);
-            throw new NullPointerException(use);
-        }
-
-        Object obj = opt.get();
-        if(!(obj instanceof Vector3f)) {
-            String use = VHostErrorCodes.assembleCodedMsg("Object is not a location.", code);
-            throw new ClassCastException(use);
-        }
-
-        Vector3f location = (Vector3f)opt.get();
+        Vector3f location = FetchKeys.requestFirst(broker, FetchKeys.BOARD_FIELD_LOCATION, fieldId).orElseThrow(() -> {
+            String use = VHostErrorCodes.assembleCodedMsg("No location present.", VHostErrorCodes.V62000);
+            return new NullPointerException(use);
+        });
         fig.setLocation(location);
         fig.setFieldId(fieldId);
     }
 
+    /** Creates a figurine in the {@link #store} of this controller.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param id Id of the figurine.
+     * @param diffuseColor Its colour.
+     * @return The figurine.
+     */
+    private Figurine addFigurine(@NonNull String id, @NonNull ColorRGBA diffuseColor) {
+        // the store is locked until the figurine can be found by its handle, so a harvest in between does not find an unknown handle
+        synchronized (store) {
+            Figurine fig = new Figurine(store, id, diffuseColor);
+            synchronized (figurines) {
+                figurines.put(fig.getId(), fig);
+            }
+            int handle = fig.getHandle();
+            Figurine[] grown = handle < byHandle.length ? byHandle : Arrays.copyOf(byHandle, Math.max(16, 2 * handle));
+            grown[handle] = fig;
+            byHandle = grown;
+            return fig;
+        }
+    }
+
     // ____________________  receive messages  ____________________
 
     @Override
     public void receive(Message msg) {
-        String headline = msg.getHeadline();
         Object content = msg.getContent();
 
-        var function = receiveMap.get(headline);
+        var function = receiveMap.get(msg.getHeadlineId());
         if(function != null) {
             function.accept(content);
         }
@@ -122,23 +157,9 @@ final class FigurineController implements Figurines, Receiver, ClockReceiver {
      *
      * @since 0.0.2
      * @author Dragonstb
-     * @param parm Expected to be of type FindPathForFigurineParms.
+     * @param conf Which figurine and where to.
      */
-    private void requestPathForFigurine(Object parm) {
-        String code = VHostErrorCodes.V98915;
-        FindPathForFigurineParms conf;
-        try {
-            conf = (FindPathForFigurineParms)parm;
-        } catch (Exception e) {
-            // TODO: log! You should not end up here. Only the host connector may cause this method to be invoked, but the host connector
-            // must also guarantee that is is called with a valid FindPathForFigurineParms as arg. So being in this catch means a serious
-            // problem somewhere
-            String msg = "Expected content to be a PathForFigurine, but got an instance of class "
-                    + (parm != null ? parm.getClass().getSimpleName() : "null") + " instead";
-            String use = VHostErrorCodes.assembleCodedMsg(msg, code);
-            throw new ClassCastException(use);
-        }
-
+    private void requestPathForFigurine(FindPathForFigurineParms conf) {
         String figId = conf.getFigurineId();
         int toField = conf.getToField();
 
@@ -150,7 +171,7 @@ final class FigurineController implements Figurines, Receiver, ClockReceiver {
         }
 
         Message msg = figurine.getFindPathToFieldMessage(toField);
-        broker.send(msg, ChannelNames.CONCURRENT_MANAGEMENT);
+        broker.send(msg, ChannelNames.CONCURRENT_MANAGEMENT_ID);
     }
 
     /**
@@ -158,37 +179,56 @@ final class FigurineController implements Figurines, Receiver, ClockReceiver {
      * @author Dragonstb
      * @param parm An instance of {@link dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McPathForFigurine PathForFigurine}.
      */
-    private void setPathOfFigurine(Object parm) {
-        String code = VHostErrorCodes.V94039;
-        McPathForFigurine conf;
-        try {
-            conf = (McPathForFigurine)parm;
-        }
-        catch (Exception e) {
-            String msg = "Expected content to be a PathForFigurine, but got an instance of class "
-                    + (parm != null ? parm.getClass().getSimpleName() : "null") + " instead";
-            String use = VHostErrorCodes.assembleCodedMsg(msg, code);
-            throw new ClassCastException(use);
-        }
-
+    private void setPathOfFigurine(McPathForFigurine conf) {
         String id = conf.getId();
         List<Vector3f> waypoints = conf.getWaypoints();
 
         Figurine fig = figurines.get(id);
-        if(fig != null) {
-            fig.setPath(waypoints);
+        if(fig != null && !waypoints.isEmpty()) {
+            // the board knows where the path ends, so the figurine knows where it stands after arriving
+            int endFieldId = FetchKeys.requestFirst(broker, FetchKeys.BOARD_FIELD_AT, waypoints.getLast()).orElse(fig.getFieldId());
+            fig.setPath(waypoints, endFieldId);
+        }
+    }
+
+    /** Collects the requests for all existing figurines in the argument and sends them to the
+     * {@link dev.dragonstb.trpgnarrator.virtualhost.concurrentevents.ConcurrentEventManager concurrent event manager} in a single message.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param parm The requests of the client.
+     */
+    private void requestPathsForFigurines(FindPathsForFigurinesParms parm) {
+        List<McFindPathForFigurine> requests = new ArrayList<>();
+        for(FindPathForFigurineParms conf: parm.getRequests()) {
+            Figurine figurine = figurines.get(conf.getFigurineId());
+            if(figurine != null) {
+                requests.add(figurine.getFindPathToFieldRequest(conf.getToField()));
+            }
+        }
+
+        if(!requests.isEmpty()) {
+            Message msg = MessageKeys.PLEASE_FIND_PATHS.message(new McFindPathsForFigurines(requests));
+            broker.send(msg, ChannelNames.CONCURRENT_MANAGEMENT_ID);
         }
     }
 
+    /**
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param parm An instance of {@link dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McPathsForFigurines
+     * PathsForFigurines}.
+     */
+    private void setPathsOfFigurines(McPathsForFigurines parm) {
+        parm.getPaths().forEach(this::setPathOfFigurine);
+    }
+
     // ____________________  answer requests  ____________________
 
     @Override
     public Optional<Object> request(FetchCommand fetch) {
-        Optional<Object> opt = switch(fetch.getCommand()) {
-            case FetchCodes.FIGURINE_FULL_LIST -> { yield Optional.of(getFigurinesDTOs()); }
-            case FetchCodes.FIGURINE_TELEMETRY -> { yield Optional.of(getFigurineTelemetries()); }
-            default -> {yield Optional.empty();}
-        };
+        var function = requestMap.get(fetch.getCommandId());
+        Optional<Object> opt = function != null ? function.apply(fetch.getParms()) : Optional.empty();
         return opt;
     }
 
@@ -198,33 +238,28 @@ final class FigurineController implements Figurines, Receiver, ClockReceiver {
         return list;
     }
 
-    /** Gets the list of telemetry data.
+    /** Gets the telemetry of the figurines that have changed since the last call. Only the changed figurines are visited, and their
+     * telemetry is copied into a batch that is reused from call to call, so a tick allocates nothing here.
      *
      * @since 0.0.2
      * @author Dragonstb
-     * @return List of telemetry data.
+     * @return Telemetry, ordered by the handles of the figurines. Valid until the next call.
      */
-    private List<FigurineTelemetryDTO> getFigurineTelemetries() {
-        List<FigurineTelemetryDTO> teles = new ArrayList<>();
-
-        figurines.values().stream()
-                .filter( fig -> fig.isTelemetryChanged() )
-                .forEach( fig -> {
-                    teles.add(fig.getTelemetry());
-                    fig.setTelemetryChanged(false);
-                } );
-
-        return teles;
+    private TelemetryBatch getFigurineTelemetries() {
+        telemetry.clear();
+        // the lookup array is read under the same lock as the handles are harvested, so it knows every handle the harvest comes up with
+        synchronized (store) {
+            Figurine[] figs = byHandle;
+            store.harvest( handle -> store.addTelemetry(handle, figs[handle].getId(), telemetry) );
+        }
+        return telemetry;
     }
 
     // ____________________  clock receiver  ____________________
 
     @Override
     public void update(float tpf) {
-        synchronized (figurines) {
-            // WARNING: The fig.update(float) locks on a field of the fig. So make sure you do not absentmindly deadlock yourself
-            figurines.values().forEach( fig -> fig.update(tpf) );
-        }
+        store.advance(tpf);
     }
 
 }
@@ -0,0 +1,385 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.figurine;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryBatch;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
+import lombok.NonNull;
+
+/** Data-oriented store of the state of figurines that changes during the game: location, field, and the path they walk along. Each
+ * figurine is a dense handle into parallel arrays of primitives, so a tick walks along a few arrays instead of chasing a graph of objects
+ * per figurine. Only the figurines walking along a path are visited by a tick. The changes of the telemetry are tracked in a
+ * {@link DirtySet}.
+ * <br><br>
+ * With an executor, large numbers of moving figurines are split into chunks of {@value #CHUNK_SIZE} by default, which are moved on the executor
+ * while the thread of the tick moves one chunk itself and then waits for the others. Each figurine is in exactly one chunk, so the chunks
+ * do not need any locks.
+ * <br><br>
+ * All methods lock on the store, so one tick is a single lock acquisition.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class FigurineStore {
+
+    /** Flag of figurines that walk along a path. */
+    static final byte MOVING = 1;
+    /** Default number of moving figurines per chunk in parallel mode. */
+    static final int CHUNK_SIZE = 2048;
+
+    /** Moves the chunks, or {@code null} if all figurines are moved sequentially. */
+    private final Executor executor;
+    /** Number of moving figurines per chunk. Fewer moving figurines are moved sequentially. */
+    private final int chunkSize;
+
+    /** Number of figurines. */
+    private int size = 0;
+    /** X coordinates of the figurines. */
+    private float[] x = new float[0];
+    /** Y coordinates of the figurines. */
+    private float[] y = new float[0];
+    /** Z coordinates of the figurines. */
+    private float[] z = new float[0];
+    /** Ids of the fields the figurines stand on. */
+    private int[] fieldId = new int[0];
+    /** State flags of the figurines. */
+    private byte[] flags = new byte[0];
+    /** Way points of the paths of moving figurines, three coordinates per way point. {@code null} for figurines that do not move. */
+    private float[][] paths = new float[0][];
+    /** Index of the way point the current segment of the path starts at. */
+    private int[] segment = new int[0];
+    /** Seconds spent on the current segment. */
+    private float[] segmentTime = new float[0];
+    /** Seconds per segment. */
+    private float[] segmentLength = new float[0];
+    /** Ids of the fields the paths end on. */
+    private int[] endField = new int[0];
+    /** Handles of the moving figurines. */
+    private int[] moving = new int[0];
+    /** Number of moving figurines. */
+    private int numMoving = 0;
+    /** Index of each figurine in {@link #moving}, or -1 if it does not move. */
+    private int[] movingPos = new int[0];
+    /** Figurines whose telemetry has changed since the last harvest. */
+    private final DirtySet dirty = new DirtySet();
+
+    /** Generates a store that moves all figurines sequentially.
+     *
+     * @since 0.0.2
+     */
+    FigurineStore() {
+        this(null);
+    }
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param executor Moves the chunks of figurines in parallel, or {@code null} if all figurines are moved sequentially. Must not be the
+     * executor running the tick, as the tick waits for the chunks.
+     */
+    FigurineStore(Executor executor) {
+        this(executor, CHUNK_SIZE);
+    }
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param executor Moves the chunks of figurines in parallel, or {@code null} if all figurines are moved sequentially. Must not be the
+     * executor running the tick, as the tick waits for the chunks.
+     * @param chunkSize Number of moving figurines per chunk. Must be positive.
+     * @throws IllegalArgumentException If the size of the chunks is not positive.
+     */
+    FigurineStore(Executor executor, int chunkSize) throws IllegalArgumentException {
+        if(chunkSize < 1) {
+            String errCode = VHostErrorCodes.V57306;
+            String msg = "The chunks of figurines must have a positive size, but have "+chunkSize+".";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    /** Adds a figurine, located at the origin. The figurine is marked as changed.
+     *
+     * @since 0.0.2
+     * @return Handle of the figurine.
+     */
+    synchronized int add() {
+        if(size == x.length) {
+            grow(Math.max(16, 2 * size));
+        }
+
+        int handle = size++;
+        movingPos[handle] = -1;
+        dirty.mark(handle);
+        return handle;
+    }
+
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        z = Arrays.copyOf(z, capacity);
+        fieldId = Arrays.copyOf(fieldId, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        paths = Arrays.copyOf(paths, capacity);
+        segment = Arrays.copyOf(segment, capacity);
+        segmentTime = Arrays.copyOf(segmentTime, capacity);
+        segmentLength = Arrays.copyOf(segmentLength, capacity);
+        endField = Arrays.copyOf(endField, capacity);
+        moving = Arrays.copyOf(moving, capacity);
+        movingPos = Arrays.copyOf(movingPos, capacity);
+        dirty.ensureCapacity(capacity);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /** Gets the location of a figurine.
+     *
+     * @since 0.0.2
+     * @param handle Handle of the figurine.
+     * @return A new vector.
+     */
+    synchronized Vector3f getLocation(int handle) {
+        return new Vector3f(x[handle], y[handle], z[handle]);
+    }
+
+    /** Sets the location of a figurine and marks it as changed.
+     *
+     * @since 0.0.2
+     * @param handle Handle of the figurine.
+     * @param location The location. Copied.
+     */
+    synchronized void setLocation(int handle, @NonNull Vector3f location) {
+        x[handle] = location.x;
+        y[handle] = location.y;
+        z[handle] = location.z;
+        dirty.mark(handle);
+    }
+
+    synchronized int getFieldId(int handle) {
+        return fieldId[handle];
+    }
+
+    /** Sets the field a figurine stands on and marks it as changed.
+     *
+     * @since 0.0.2
+     * @param handle Handle of the figurine.
+     * @param id Id of the field.
+     */
+    synchronized void setFieldId(int handle, int id) {
+        fieldId[handle] = id;
+        dirty.mark(handle);
+    }
+
+    synchronized boolean isMoving(int handle) {
+        return (flags[handle] & MOVING) != 0;
+    }
+
+    /** Lets a figurine walk along a path. The figurine jumps to the start of the path right away, and stands on the field the path ends
+     * on when it arrives there.
+     *
+     * @since 0.0.2
+     * @param handle Handle of the figurine.
+     * @param waypoints Way points of the path. Paths with less than two way points are ignored.
+     * @param secondsPerSegment Seconds the figurine takes from one way point to the next. Must be positive.
+     * @param endFieldId Id of the field the path ends on.
+     */
+    synchronized void setPath(int handle, @NonNull List<Vector3f> waypoints, float secondsPerSegment, int endFieldId) {
+        if(waypoints.size() < 2) {
+            return;
+        }
+
+        float[] path = new float[3 * waypoints.size()];
+        for (int idx = 0; idx < waypoints.size(); idx++) {
+            Vector3f point = waypoints.get(idx);
+            path[3 * idx] = point.x;
+            path[3 * idx + 1] = point.y;
+            path[3 * idx + 2] = point.z;
+        }
+
+        paths[handle] = path;
+        segment[handle] = 0;
+        segmentTime[handle] = 0;
+        segmentLength[handle] = secondsPerSegment;
+        endField[handle] = endFieldId;
+        x[handle] = path[0];
+        y[handle] = path[1];
+        z[handle] = path[2];
+        dirty.mark(handle);
+        if(movingPos[handle] < 0) {
+            movingPos[handle] = numMoving;
+            moving[numMoving++] = handle;
+            flags[handle] |= MOVING;
+        }
+    }
+
+    /** Stops a figurine where it is and gets the field it stands on.
+     *
+     * @since 0.0.2
+     * @param handle Handle of the figurine.
+     * @return Id of the field.
+     */
+    synchronized int stop(int handle) {
+        removeMoving(handle);
+        return fieldId[handle];
+    }
+
+    private void removeMoving(int handle) {
+        int pos = movingPos[handle];
+        if(pos < 0) {
+            return;
+        }
+
+        // the last moving figurine fills the gap
+        int last = moving[--numMoving];
+        moving[pos] = last;
+        movingPos[last] = pos;
+        movingPos[handle] = -1;
+        flags[handle] &= ~MOVING;
+        paths[handle] = null;
+    }
+
+    synchronized int countMoving() {
+        return numMoving;
+    }
+
+    /** Moves all moving figurines along their paths. Figurines reaching the end of their path stop there, on the field the path ends on.
+     *
+     * @since 0.0.2
+     * @param tpf Time per frame in seconds.
+     */
+    synchronized void advance(float tpf) {
+        if(executor == null || numMoving <= chunkSize) {
+            advanceRange(0, numMoving, tpf);
+        }
+        else {
+            advanceInChunks(tpf);
+        }
+
+        // the moving figurines are compacted in a separate pass, so the loop above does not need to care about the order
+        for (int pos = numMoving - 1; pos >= 0; pos--) {
+            int handle = moving[pos];
+            if((flags[handle] & MOVING) == 0) {
+                removeMoving(handle);
+            }
+        }
+    }
+
+    /** Moves the moving figurines in chunks, all but the first one on the executor.
+     *
+     * @param tpf Time per frame in seconds.
+     */
+    private void advanceInChunks(float tpf) {
+        int numChunks = (numMoving + chunkSize - 1) / chunkSize;
+        CompletableFuture<?>[] chunks = new CompletableFuture<?>[numChunks - 1];
+        for (int chunk = 1; chunk < numChunks; chunk++) {
+            int from = chunk * chunkSize;
+            int to = Math.min(numMoving, from + chunkSize);
+            chunks[chunk - 1] = CompletableFuture.runAsync(() -> advanceRange(from, to, tpf), executor);
+        }
+        try {
+            advanceRange(0, chunkSize, tpf);
+        }
+        finally {
+            // the barrier at the end of the tick, which also makes the changes of the chunks visible to this thread
+            CompletableFuture.allOf(chunks).join();
+        }
+    }
+
+    /** Moves the figurines in a range of the moving figurines.
+     *
+     * @param from Index of the first figurine in {@link #moving}.
+     * @param to Index behind the last figurine in {@link #moving}.
+     * @param tpf Time per frame in seconds.
+     */
+    private void advanceRange(int from, int to, float tpf) {
+        for (int pos = from; pos < to; pos++) {
+            advance(moving[pos], tpf);
+        }
+    }
+
+    /** Moves a figurine along its path. Sets the field and clears the moving flag if the figurine has reached the end of the path.
+     *
+     * @param handle Handle of the figurine.
+     * @param tpf Time per frame in seconds.
+     */
+    private void advance(int handle, float tpf) {
+        float[] path = paths[handle];
+        int segments = path.length / 3 - 1;
+        float length = segmentLength[handle];
+        float time = segmentTime[handle] + tpf;
+        int seg = segment[handle];
+        while(seg < segments && time >= length) {
+            time -= length;
+            seg++;
+        }
+        segment[handle] = seg;
+        segmentTime[handle] = time;
+
+        int from = 3 * seg;
+        if(seg == segments) {
+            x[handle] = path[from];
+            y[handle] = path[from + 1];
+            z[handle] = path[from + 2];
+            fieldId[handle] = endField[handle];
+            flags[handle] &= ~MOVING;
+        }
+        else {
+            float frac = time / length;
+            x[handle] = path[from] + frac * (path[from + 3] - path[from]);
+            y[handle] = path[from + 1] + frac * (path[from + 4] - path[from + 1]);
+            z[handle] = path[from + 2] + frac * (path[from + 5] - path[from + 2]);
+        }
+        dirty.mark(handle);
+    }
+
+    /** Removes the marks of all changed figurines and hands their handles to the consumer, in ascending order. The store is locked
+     * meanwhile, so the consumer can read consistent data of the figurines.
+     *
+     * @since 0.0.2
+     * @param consumer Takes the handles.
+     * @return Number of figurines handed over.
+     */
+    synchronized int harvest(@NonNull IntConsumer consumer) {
+        return dirty.drain(consumer);
+    }
+
+    /** Appends the telemetry of a figurine to a batch, without any allocation.
+     *
+     * @since 0.0.2
+     * @param handle Handle of the figurine.
+     * @param figId Id of the figurine.
+     * @param batch The batch.
+     */
+    synchronized void addTelemetry(int handle, @NonNull String figId, @NonNull TelemetryBatch batch) {
+        batch.add(figId, fieldId[handle], true, x[handle], y[handle], z[handle]);
+    }
+
+}
@@ -22,6 +22,7 @@ package dev.dragonstb.trpgnarrator.virtualhost.figurine;
 
 import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
 import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import java.util.concurrent.Executor;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 
@@ -35,6 +36,8 @@ import lombok.experimental.Accessors;
 public final class FigurinesBuilder {
 
     private SynchronousBroker broker = null;
+    /** Moves large numbers of moving figurines in chunks. If {@code null}, all figurines are moved on the thread of the clock. */
+    private Executor executor = null;
 
     public Figurines build() {
         String errCode = VHostErrorCodes.V14985;
@@ -44,7 +47,7 @@ public final class FigurinesBuilder {
             throw new NullPointerException(use);
         }
 
-        FigurineController controller = new FigurineController(broker);
+        FigurineController controller = new FigurineController(broker, new FigurineStore(executor));
         return controller;
     }
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.generic;
+
+/** Content of a {@link Message message} that may be coalesced by the broker: of all messages with the same headline and the same
+ * coalescing key sent to the same channel, only the latest one is delivered at the next timing signal. Use it for messages that
+ * supersede their predecessors, like requests to find a path for a figurine.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public interface Coalescable {
+
+    /** Gets the key that identifies which messages supersede each other, e.g. the id of a figurine.
+     *
+     * @since 0.0.2
+     * @return The key. Must have a proper {@code equals} and {@code hashCode}.
+     */
+    public Object getCoalescingKey();
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.generic;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+
+/** Interns string codes into dense integer ids, starting at zero. Components that look codes up on every message can then use the ids as
+ * indices into arrays rather than hashing or comparing strings. The ids of the predefined codes are assigned when the classes with the
+ * codes are loaded, see e.g. {@link FetchCodes#BOARD_DATA_ID}.
+ * <br><br>
+ * There is one registry for each kind of code. Ids of different registries have nothing to do with each other.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class CodeRegistry {
+
+    /** Returned by {@link #find(String) find} for codes that have not been interned. */
+    public static final int NO_ID = -1;
+
+    /** Registry for the names of the channels of the broker. */
+    public static final CodeRegistry CHANNELS = new CodeRegistry("channel");
+    /** Registry for the headlines of messages. */
+    public static final CodeRegistry HEADLINES = new CodeRegistry("headline");
+    /** Registry for the commands of fetch commands. */
+    public static final CodeRegistry FETCH_CODES = new CodeRegistry("fetch code");
+
+    /** What kind of codes this registry holds, for error messages. */
+    private final String kind;
+    /** Id of each interned code. */
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    /** Code of each id. Replaced by a longer copy when a new code is interned. */
+    private volatile String[] codes = new String[0];
+
+    private CodeRegistry(String kind) {
+        this.kind = kind;
+    }
+
+    /** Gets the id of the code, interning the code if it is not known yet.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param code The code.
+     * @return The id of the code.
+     */
+    public int idOf(@NonNull String code) {
+        Integer id = ids.get(code);
+        if(id != null) {
+            return id;
+        }
+
+        synchronized (this) {
+            id = ids.get(code);
+            if(id == null) {
+                String[] longer = Arrays.copyOf(codes, codes.length + 1);
+                id = codes.length;
+                longer[id] = code;
+                codes = longer;
+                ids.put(code, id);
+            }
+            return id;
+        }
+    }
+
+    /** Gets the id of the code without interning it.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param code The code.
+     * @return The id of the code, or {@link #NO_ID} if the code has not been interned.
+     */
+    public int find(@NonNull String code) {
+        Integer id = ids.get(code);
+        return id != null ? id : NO_ID;
+    }
+
+    /** Gets the code of an id.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param id The id.
+     * @return The code.
+     * @throws IllegalArgumentException If no code has this id.
+     */
+    public String codeOf(int id) throws IllegalArgumentException {
+        String[] current = codes;
+        if(id < 0 || id >= current.length) {
+            String errCode = VHostErrorCodes.V52019;
+            String msg = "There is no "+kind+" with the id "+id+".";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+        return current[id];
+    }
+
+    /** Gets the number of interned codes, which is also the lowest id not used yet.
+     *
+     * @since 0.0.2
+     * @return The number of interned codes.
+     */
+    public int size() {
+        return codes.length;
+    }
+
+}
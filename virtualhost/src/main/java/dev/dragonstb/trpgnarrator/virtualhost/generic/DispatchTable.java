@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.generic;
+
+import java.util.Arrays;
+import lombok.NonNull;
+
+/** Maps the ids of a {@link CodeRegistry code registry} to handlers, with an array indexed by the id. Replaces maps from string codes to
+ * handlers in the receivers of the broker.
+ * <br><br>
+ * Not thread safe. The handlers are meant to be put once during the construction of the receiver.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ * @param <H> Type of the handlers.
+ */
+public final class DispatchTable<H> {
+
+    /** Handler of each id, or {@code null}. */
+    private Object[] handlers = new Object[0];
+
+    /** Sets the handler of an id.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param id Id of the code the handler handles. Must not be negative.
+     * @param handler The handler.
+     */
+    public void put(int id, @NonNull H handler) {
+        if(id >= handlers.length) {
+            handlers = Arrays.copyOf(handlers, id + 1);
+        }
+        handlers[id] = handler;
+    }
+
+    /** Gets the handler of an id.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param id Id of the code.
+     * @return The handler, or {@code null} if there is none for the id.
+     */
+    @SuppressWarnings("unchecked")
+    public H get(int id) {
+        return id >= 0 && id < handlers.length ? (H)handlers[id] : null;
+    }
+
+}
@@ -29,14 +29,54 @@ public final class FetchCodes {
 
     /** Get the board data. */
     public static final String BOARD_DATA = "board data";
+    /** Id of {@link #BOARD_DATA}. */
+    public static final int BOARD_DATA_ID = CodeRegistry.FETCH_CODES.idOf(BOARD_DATA);
     /** get he location of a field of the board. */
     public static final String BOARD_FIELD_LOCATION = "board field location";
+    /** Id of {@link #BOARD_FIELD_LOCATION}. */
+    public static final int BOARD_FIELD_LOCATION_ID = CodeRegistry.FETCH_CODES.idOf(BOARD_FIELD_LOCATION);
+    /** Get the id of the field of the board at a location. */
+    public static final String BOARD_FIELD_AT = "board field at";
+    /** Id of {@link #BOARD_FIELD_AT}. */
+    public static final int BOARD_FIELD_AT_ID = CodeRegistry.FETCH_CODES.idOf(BOARD_FIELD_AT);
     /** Get a pathfinder from the board. */
     public static final String BOARD_PATHFINDER = "board pathfinder";
+    /** Id of {@link #BOARD_PATHFINDER}. */
+    public static final int BOARD_PATHFINDER_ID = CodeRegistry.FETCH_CODES.idOf(BOARD_PATHFINDER);
+    /** Get a pathfinder from the board that finds several paths in one go. */
+    public static final String BOARD_BATCH_PATHFINDER = "board batch pathfinder";
+    /** Id of {@link #BOARD_BATCH_PATHFINDER}. */
+    public static final int BOARD_BATCH_PATHFINDER_ID = CodeRegistry.FETCH_CODES.idOf(BOARD_BATCH_PATHFINDER);
+    /** Get all fields reachable from a field with a limited amount of movement points. */
+    public static final String BOARD_REACHABLE = "board reachable";
+    /** Id of {@link #BOARD_REACHABLE}. */
+    public static final int BOARD_REACHABLE_ID = CodeRegistry.FETCH_CODES.idOf(BOARD_REACHABLE);
+    /** Get the version of the board topology, which changes whenever fields are linked or unlinked. */
+    public static final String BOARD_VERSION = "board version";
+    /** Id of {@link #BOARD_VERSION}. */
+    public static final int BOARD_VERSION_ID = CodeRegistry.FETCH_CODES.idOf(BOARD_VERSION);
+    /** Get the counters of found, unreachable, cancelled, and over-budget searches of the pathfinders of the board. */
+    public static final String PATHFINDING_STATS = "pathfinding stats";
+    /** Id of {@link #PATHFINDING_STATS}. */
+    public static final int PATHFINDING_STATS_ID = CodeRegistry.FETCH_CODES.idOf(PATHFINDING_STATS);
+
+    /** Get the hit, miss, and eviction counters of the path cache. */
+    public static final String PATH_CACHE_STATS = "path cache stats";
+    /** Id of {@link #PATH_CACHE_STATS}. */
+    public static final int PATH_CACHE_STATS_ID = CodeRegistry.FETCH_CODES.idOf(PATH_CACHE_STATS);
 
     /** Get the full list of figurines. */
     public static final String FIGURINE_FULL_LIST = "figurine full list";
+    /** Id of {@link #FIGURINE_FULL_LIST}. */
+    public static final int FIGURINE_FULL_LIST_ID = CodeRegistry.FETCH_CODES.idOf(FIGURINE_FULL_LIST);
     /** Get figurine telemetry data. */
     public static final String FIGURINE_TELEMETRY = "figurine telemetry";
+    /** Id of {@link #FIGURINE_TELEMETRY}. */
+    public static final int FIGURINE_TELEMETRY_ID = CodeRegistry.FETCH_CODES.idOf(FIGURINE_TELEMETRY);
+
+    /** Get the counters and latency histograms of the broker. Only answered if the broker is instrumented. */
+    public static final String BROKER_METRICS = "broker metrics";
+    /** Id of {@link #BROKER_METRICS}. */
+    public static final int BROKER_METRICS_ID = CodeRegistry.FETCH_CODES.idOf(BROKER_METRICS);
 
 }
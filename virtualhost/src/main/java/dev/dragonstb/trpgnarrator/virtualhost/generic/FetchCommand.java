@@ -21,24 +21,38 @@
 package dev.dragonstb.trpgnarrator.virtualhost.generic;
 
 import java.util.Objects;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NonNull;
 
 /** A command sent over the fetch pipeline of the {@link dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker internal broker}.
+ * The command is known both as string and as id of the {@link CodeRegistry#FETCH_CODES fetch code registry}, so receivers can dispatch
+ * by the id.
  *
  * @author Dragonstb
  * @since 0.0.2
  */
 @Getter
-@AllArgsConstructor
 public final class FetchCommand {
 
     /** Specifies the actual command. */
     @NonNull private final String command;
+    /** Id of the command. */
+    private final int commandId;
     /** A parametrization of the command. */
     private final Object parms;
 
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param command Specifies the actual command.
+     * @param parms A parametrization of the command.
+     */
+    public FetchCommand(@NonNull String command, Object parms) {
+        this.command = command;
+        this.commandId = CodeRegistry.FETCH_CODES.idOf(command);
+        this.parms = parms;
+    }
+
     /** Generates without parameters. Is is a short for {@code FetchCommand(command, null)}.
      *
      * @since 0.0.2
@@ -48,6 +62,29 @@ public final class FetchCommand {
         this(command, null);
     }
 
+    /** Generates with a command given by its id, which avoids the lookup of the id.
+     *
+     * @since 0.0.2
+     * @param commandId Id of the command, e.g. {@link FetchCodes#BOARD_DATA_ID}.
+     * @param parms A parametrization of the command.
+     * @throws IllegalArgumentException If no command has the id.
+     */
+    public FetchCommand(int commandId, Object parms) throws IllegalArgumentException {
+        this.command = CodeRegistry.FETCH_CODES.codeOf(commandId);
+        this.commandId = commandId;
+        this.parms = parms;
+    }
+
+    /** Generates without parameters. Is is a short for {@code FetchCommand(commandId, null)}.
+     *
+     * @since 0.0.2
+     * @param commandId Id of the command, e.g. {@link FetchCodes#BOARD_DATA_ID}.
+     * @throws IllegalArgumentException If no command has the id.
+     */
+    public FetchCommand(int commandId) throws IllegalArgumentException {
+        this(commandId, null);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if(obj == null || !(obj instanceof FetchCommand)) {
@@ -60,13 +97,13 @@ public final class FetchCommand {
         FetchCommand other = (FetchCommand)obj;
         boolean parmsEqual = (parms != null && other.parms != null && parms.equals(other.getParms()))
                 || (parms == null && other.getParms() == null);
-        return command.equals(other.getCommand()) && parmsEqual;
+        return commandId == other.getCommandId() && parmsEqual;
     }
 
     @Override
     public int hashCode() {
         int hash = 5;
-        hash = 43 * hash + Objects.hashCode(this.command);
+        hash = 43 * hash + commandId;
         hash = 43 * hash + Objects.hashCode(this.parms);
         return hash;
     }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.generic;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import java.util.Optional;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.NonNull;
+
+/** Typed key of a request: ties a fetch code to the channel that answers it, to the type of its parameter, and to the type of its answer.
+ * Senders request with {@link dev.dragonstb.trpgnarrator.virtualhost.broker.FetchKeys#requestFirst FetchKeys.requestFirst} and get the
+ * answer without casting. Receivers wrap typed handlers with {@link #handler(Function, String) handler}, so the cast of the parameter
+ * happens in one place.
+ * <br><br>
+ * Use {@link Void} as parameter type for requests without parameters. All parameterless requests of a key share one
+ * {@link FetchCommand}, which is immutable and thus safe to reuse.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ * @param <P> Type of the parameter.
+ * @param <R> Type of the answer.
+ */
+public final class FetchKey<P, R> {
+
+    /** Id of the channel answering the request. */
+    @Getter private final int channelId;
+    /** Id of the fetch code. */
+    @Getter private final int commandId;
+    /** Type of the parameter. */
+    @Getter private final Class<P> parmType;
+    /** Type of the answer. */
+    @Getter private final Class<R> resultType;
+    /** The command of all requests without parameter. */
+    private final FetchCommand parameterless;
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param channelId Id of the channel answering the request.
+     * @param commandId Id of the fetch code.
+     * @param parmType Type of the parameter.
+     * @param resultType Type of the answer.
+     * @throws IllegalArgumentException If no fetch code has the id.
+     */
+    public FetchKey(int channelId, int commandId, @NonNull Class<P> parmType, @NonNull Class<R> resultType) throws IllegalArgumentException {
+        this.channelId = channelId;
+        this.commandId = commandId;
+        this.parmType = parmType;
+        this.resultType = resultType;
+        this.parameterless = new FetchCommand(commandId);
+    }
+
+    /** Gets the command for a request.
+     *
+     * @since 0.0.2
+     * @param parm The parameter. Might be {@code null}, in which case the shared parameterless command is returned.
+     * @return The command.
+     */
+    public FetchCommand command(P parm) {
+        return parm == null ? parameterless : new FetchCommand(commandId, parm);
+    }
+
+    /** Casts an answer to the type of the answers of this key. Does not allocate.
+     *
+     * @since 0.0.2
+     * @param answer The answer, as it came from the receiver.
+     * @return The same optional, now typed.
+     * @throws ClassCastException If the answer is of another type.
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<R> castResult(@NonNull Optional<Object> answer) throws ClassCastException {
+        if(answer.isPresent() && !resultType.isInstance(answer.get())) {
+            String errCode = VHostErrorCodes.V13357;
+            String msg = "Expected answer to \""+CodeRegistry.FETCH_CODES.codeOf(commandId)+"\" to be a "+resultType.getSimpleName()
+                    +", but got an instance of class "+answer.get().getClass().getSimpleName()+" instead";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new ClassCastException(use);
+        }
+        return (Optional<R>)(Optional<?>)answer;
+    }
+
+    /** Wraps a typed handler into a handler that can be put into a {@link DispatchTable}. The wrapper casts the parameter, which must not
+     * be {@code null} unless the parameter type is {@link Void}.
+     *
+     * @since 0.0.2
+     * @param handler The typed handler.
+     * @param errCode Error code used when the parameter is of the wrong type.
+     * @return The wrapping handler.
+     */
+    @SuppressWarnings("unchecked")
+    public Function<Object, Optional<Object>> handler(@NonNull Function<? super P, ? extends Optional<? extends R>> handler,
+            @NonNull String errCode) {
+        if(parmType == Void.class) {
+            return parm -> (Optional<Object>)handler.apply(null);
+        }
+
+        return parm -> {
+            if(!parmType.isInstance(parm)) {
+                String msg = "Expected parameter of \""+CodeRegistry.FETCH_CODES.codeOf(commandId)+"\" to be a "+parmType.getSimpleName()
+                        +", but got an instance of class "+(parm != null ? parm.getClass().getSimpleName() : "null")+" instead";
+                String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+                throw new ClassCastException(use);
+            }
+            return (Optional<Object>)handler.apply((P)parm);
+        };
+    }
+
+}
@@ -20,24 +20,50 @@
 
 package dev.dragonstb.trpgnarrator.virtualhost.generic;
 
-import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
 
-/** A message sent via the broker.
+/** A message sent via the broker. The headline is known both as string and as id of the {@link CodeRegistry#HEADLINES headline
+ * registry}, so receivers can dispatch by the id.
  *
  * @author Dragonstb
  * @since 0.0.2
  */
-@AllArgsConstructor
 @Getter
 @EqualsAndHashCode
 public final class Message {
 
     /** A headline that describes the message. */
     @NonNull private final String headline;
+    /** Id of the headline. */
+    @EqualsAndHashCode.Exclude private final int headlineId;
     /** Content of the message. Might be {@code null}. */
     private final Object content;
 
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param headline A headline that describes the message.
+     * @param content Content of the message. Might be {@code null}.
+     */
+    public Message(@NonNull String headline, Object content) {
+        this.headline = headline;
+        this.headlineId = CodeRegistry.HEADLINES.idOf(headline);
+        this.content = content;
+    }
+
+    /** Generates with a headline given by its id, which avoids the lookup of the id.
+     *
+     * @since 0.0.2
+     * @param headlineId Id of a headline that describes the message, e.g. {@link MessageHeadlines#FOUND_PATHS_ID}.
+     * @param content Content of the message. Might be {@code null}.
+     * @throws IllegalArgumentException If no headline has the id.
+     */
+    public Message(int headlineId, Object content) throws IllegalArgumentException {
+        this.headline = CodeRegistry.HEADLINES.codeOf(headlineId);
+        this.headlineId = headlineId;
+        this.content = content;
+    }
+
 }
@@ -29,6 +29,18 @@ public interface MessageHeadlines {
 
     /** Find the path. */
     public static final String PLEASE_FIND_PATH = "please find path";
+    /** Id of {@link #PLEASE_FIND_PATH}. */
+    public static final int PLEASE_FIND_PATH_ID = CodeRegistry.HEADLINES.idOf(PLEASE_FIND_PATH);
     /** Found path. */
     public static final String FOUND_PATH = "found path";
+    /** Id of {@link #FOUND_PATH}. */
+    public static final int FOUND_PATH_ID = CodeRegistry.HEADLINES.idOf(FOUND_PATH);
+    /** Find the paths for several figurines at once. */
+    public static final String PLEASE_FIND_PATHS = "please find paths";
+    /** Id of {@link #PLEASE_FIND_PATHS}. */
+    public static final int PLEASE_FIND_PATHS_ID = CodeRegistry.HEADLINES.idOf(PLEASE_FIND_PATHS);
+    /** Found paths for several figurines. */
+    public static final String FOUND_PATHS = "found paths";
+    /** Id of {@link #FOUND_PATHS}. */
+    public static final int FOUND_PATHS_ID = CodeRegistry.HEADLINES.idOf(FOUND_PATHS);
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.generic;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import java.util.function.Consumer;
+import lombok.Getter;
+import lombok.NonNull;
+
+/** Typed key of a message: ties a headline to the type of the content. Receivers wrap typed handlers with
+ * {@link #handler(Consumer, String) handler}, so the cast of the content happens in one place.
+ * <br><br>
+ * The same headline may have different keys on different channels, e.g. when the content is converted on its way through the virtual
+ * host.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ * @param <C> Type of the content.
+ */
+public final class MessageKey<C> {
+
+    /** Id of the headline. */
+    @Getter private final int headlineId;
+    /** Type of the content. */
+    @Getter private final Class<C> contentType;
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param headlineId Id of the headline.
+     * @param contentType Type of the content.
+     */
+    public MessageKey(int headlineId, @NonNull Class<C> contentType) {
+        this.headlineId = headlineId;
+        this.contentType = contentType;
+    }
+
+    /** Creates a message with this' headline.
+     *
+     * @since 0.0.2
+     * @param content The content.
+     * @return The message.
+     */
+    public Message message(C content) {
+        return new Message(headlineId, content);
+    }
+
+    /** Wraps a typed handler into a handler that can be put into a {@link DispatchTable}. The wrapper casts the content, which must not be
+     * {@code null}.
+     *
+     * @since 0.0.2
+     * @param handler The typed handler.
+     * @param errCode Error code used when the content is of the wrong type.
+     * @return The wrapping handler.
+     */
+    public Consumer<Object> handler(@NonNull Consumer<? super C> handler, @NonNull String errCode) {
+        return content -> {
+            if(!contentType.isInstance(content)) {
+                String msg = "Expected content of \""+CodeRegistry.HEADLINES.codeOf(headlineId)+"\" to be a "+contentType.getSimpleName()
+                        +", but got an instance of class "+(content != null ? content.getClass().getSimpleName() : "null")+" instead";
+                String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+                throw new ClassCastException(use);
+            }
+            handler.accept(contentType.cast(content));
+        };
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.generic;
+
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathForFigurine;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathsForFigurines;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McPathForFigurine;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McPathsForFigurines;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FindPathForFigurineParms;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FindPathsForFigurinesParms;
+
+/** Typed keys of the {@link MessageHeadlines message headlines}.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class MessageKeys {
+
+    /** Request from a client to find a path for a figurine, as sent to the figurines. */
+    public static final MessageKey<FindPathForFigurineParms> PLEASE_FIND_PATH_FROM_CLIENT
+            = new MessageKey<>(MessageHeadlines.PLEASE_FIND_PATH_ID, FindPathForFigurineParms.class);
+    /** Request from a client to find paths for figurines, as sent to the figurines. */
+    public static final MessageKey<FindPathsForFigurinesParms> PLEASE_FIND_PATHS_FROM_CLIENT
+            = new MessageKey<>(MessageHeadlines.PLEASE_FIND_PATHS_ID, FindPathsForFigurinesParms.class);
+    /** Request to find a path for a figurine, as sent to the management of concurrent events. */
+    public static final MessageKey<McFindPathForFigurine> PLEASE_FIND_PATH
+            = new MessageKey<>(MessageHeadlines.PLEASE_FIND_PATH_ID, McFindPathForFigurine.class);
+    /** Request to find paths for figurines, as sent to the management of concurrent events. */
+    public static final MessageKey<McFindPathsForFigurines> PLEASE_FIND_PATHS
+            = new MessageKey<>(MessageHeadlines.PLEASE_FIND_PATHS_ID, McFindPathsForFigurines.class);
+    /** A path found for a figurine. */
+    public static final MessageKey<McPathForFigurine> FOUND_PATH = new MessageKey<>(MessageHeadlines.FOUND_PATH_ID, McPathForFigurine.class);
+    /** Paths found for figurines. */
+    public static final MessageKey<McPathsForFigurines> FOUND_PATHS
+            = new MessageKey<>(MessageHeadlines.FOUND_PATHS_ID, McPathsForFigurines.class);
+
+}
@@ -21,7 +21,9 @@
 package dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms;
 
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.NonNull;
 
 /** Configuration parameters for a pathfinding.
  *
@@ -30,29 +32,40 @@ import lombok.Getter;
  */
 @Getter
 @AllArgsConstructor
+@EqualsAndHashCode
 public final class PathfindingConfig {
 
     /** Id of the field where the path starts. */
     private final int fromField;
     /** Id of the field where the pass should end. */
     private final int toField;
+    /** Describes how the figurine moves over the board. Paths found for different movement profiles may differ. */
+    private final int movementProfile;
+    /** Limits the effort of the search. */
+    @NonNull private final SearchBudget budget;
 
-    @Override
-    public boolean equals(Object obj) {
-        if(obj == null || !(obj instanceof PathfindingConfig)) {
-            return false;
-        }
+    /** Movement profile used when nothing else is specified. */
+    public static final int DEFAULT_MOVEMENT_PROFILE = 0;
 
-        PathfindingConfig other = (PathfindingConfig)obj;
-        return fromField == other.getFromField() && toField == other.getToField();
+    /** Generates with the {@link #DEFAULT_MOVEMENT_PROFILE default movement profile}.
+     *
+     * @since 0.0.2
+     * @param fromField Id of the field where the path starts.
+     * @param toField Id of the field where the pass should end.
+     */
+    public PathfindingConfig(int fromField, int toField) {
+        this(fromField, toField, DEFAULT_MOVEMENT_PROFILE);
     }
 
-    @Override
-    public int hashCode() {
-        int hash = 7;
-        hash = 89 * hash + this.fromField;
-        hash = 89 * hash + this.toField;
-        return hash;
+    /** Generates with an {@link SearchBudget#UNLIMITED unlimited} search budget.
+     *
+     * @since 0.0.2
+     * @param fromField Id of the field where the path starts.
+     * @param toField Id of the field where the pass should end.
+     * @param movementProfile Describes how the figurine moves over the board.
+     */
+    public PathfindingConfig(int fromField, int toField, int movementProfile) {
+        this(fromField, toField, movementProfile, SearchBudget.UNLIMITED);
     }
 
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/** Configuration parameters for finding all fields reachable from a field.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public final class ReachabilityConfig {
+
+    /** Id of the field where all movements start. */
+    private final int fromField;
+    /** Maximum cost of a movement. */
+    private final float movementPoints;
+    /** Describes how the figurine moves over the board. */
+    private final int movementProfile;
+
+    /** Generates with the {@link PathfindingConfig#DEFAULT_MOVEMENT_PROFILE default movement profile}.
+     *
+     * @since 0.0.2
+     * @param fromField Id of the field where all movements start.
+     * @param movementPoints Maximum cost of a movement.
+     */
+    public ReachabilityConfig(int fromField, float movementPoints) {
+        this(fromField, movementPoints, PathfindingConfig.DEFAULT_MOVEMENT_PROFILE);
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2025 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+
+package dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/** Limits how much effort a pathfinder puts into a single search. If the search exceeds its budget, it stops and returns the path to the
+ * field that seems closest to the goal among all fields it has investigated so far.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@Getter
+@EqualsAndHashCode
+public final class SearchBudget {
+
+    /** Value of {@link #maxExpansions} for no limit on the number of expansions. */
+    public static final int NO_EXPANSION_LIMIT = Integer.MAX_VALUE;
+    /** Value of {@link #timeLimitNanos} for no limit on the time. */
+    public static final long NO_TIME_LIMIT = Long.MAX_VALUE;
+    /** A budget without any limits. */
+    public static final SearchBudget UNLIMITED = new SearchBudget(NO_EXPANSION_LIMIT, NO_TIME_LIMIT);
+
+    /** Maximum number of fields the search expands. */
+    private final int maxExpansions;
+    /** Maximum time in nanoseconds between the request of the pathfinder and the end of the search. Includes the time the pathfinder
+     * waits for an executor thread. */
+    private final long timeLimitNanos;
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param maxExpansions Maximum number of fields the search expands, or {@link #NO_EXPANSION_LIMIT}.
+     * @param timeLimitNanos Maximum time in nanoseconds between the request of the pathfinder and the end of the search, or
+     * {@link #NO_TIME_LIMIT}.
+     * @throws IllegalArgumentException If a limit is not positive.
+     */
+    public SearchBudget(int maxExpansions, long timeLimitNanos) throws IllegalArgumentException {
+        if(maxExpansions <= 0 || timeLimitNanos <= 0) {
+            String errCode = VHostErrorCodes.V25318;
+            String msg = "The limits of a search budget must be positive, but are "+maxExpansions+" expansions and "+timeLimitNanos+" ns.";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+        this.maxExpansions = maxExpansions;
+        this.timeLimitNanos = timeLimitNanos;
+    }
+
+    /** Checks if this budget has no limits at all.
+     *
+     * @since 0.0.2
+     * @return {@code True} if neither the number of expansions nor the time is limited.
+     */
+    public boolean isUnlimited() {
+        return maxExpansions == NO_EXPANSION_LIMIT && timeLimitNanos == NO_TIME_LIMIT;
+    }
+
+}
@@ -20,9 +20,12 @@
 
 package dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents;
 
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Coalescable;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.SearchBudget;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.NonNull;
 
 /**
  *
@@ -32,9 +35,32 @@ import lombok.Getter;
 @AllArgsConstructor
 @Getter
 @EqualsAndHashCode
-public final class McFindPathForFigurine {
+public final class McFindPathForFigurine implements Coalescable {
 
     private final String figurineId;
     private final int fromFieldId;
     private final int toFieldId;
+    /** Limits the effort of the search. */
+    @NonNull private final SearchBudget budget;
+
+    /** Generates with an {@link SearchBudget#UNLIMITED unlimited} search budget.
+     *
+     * @since 0.0.2
+     * @param figurineId Id of the figurine the path is meant for.
+     * @param fromFieldId Id of the field where the path starts.
+     * @param toFieldId Id of the field where the path ends.
+     */
+    public McFindPathForFigurine(String figurineId, int fromFieldId, int toFieldId) {
+        this(figurineId, fromFieldId, toFieldId, SearchBudget.UNLIMITED);
+    }
+
+    /** A figurine walks one path at a time, so a newer request for the same figurine supersedes the older one.
+     *
+     * @since 0.0.2
+     * @return The id of the figurine.
+     */
+    @Override
+    public Object getCoalescingKey() {
+        return figurineId;
+    }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents;
+
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+
+/** Requests paths for several figurines, to be found on the same version of the board in a single task.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@Getter
+@EqualsAndHashCode
+public final class McFindPathsForFigurines {
+
+    /** One request per figurine. */
+    @NonNull private final List<McFindPathForFigurine> requests;
+
+    public McFindPathsForFigurines(@NonNull List<McFindPathForFigurine> requests) {
+        this.requests = List.copyOf(requests);
+    }
+
+}
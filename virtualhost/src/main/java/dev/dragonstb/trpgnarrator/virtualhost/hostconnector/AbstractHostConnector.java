@@ -20,6 +20,7 @@
 
 package dev.dragonstb.trpgnarrator.virtualhost.hostconnector;
 
+import com.jme3.math.Vector3f;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.converter.ExtractorOfFirst;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.ChannelNames;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
@@ -28,6 +29,8 @@ import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.MessageHeadlines;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.ReachabilityConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.InterestArea;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.StreamReceiver;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHCommand;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHCommands;
@@ -36,11 +39,21 @@ import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamed;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VirtualHost;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurinesListDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReachableFieldsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.TelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryBatch;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryEncoder;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryFormat;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FetchReachableFieldsParms;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FindPathForFigurineParms;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.NonNull;
 
 /**
@@ -54,6 +67,16 @@ abstract class AbstractHostConnector implements HostConnector, VirtualHost {
     private SynchronousBroker broker = null;
     /** The receivers of data sent by this virtual host. */
     private final Set<StreamReceiver> receivers = new HashSet();
+    /** Receivers of packed telemetry, mapped to their stream. */
+    private final Map<StreamReceiver, PackedStream> packedReceivers = new HashMap<>();
+    /** Packs the telemetry for all receivers of packed telemetry that get all of it. Created when needed first, as it needs the board. */
+    private TelemetryEncoder encoder = null;
+    /** Centres of the fields, for packing the telemetry. Fetched when needed first. */
+    private Map<Integer, Vector3f> centres = null;
+    /** Filters the telemetry by the areas of interest of the receivers. Also the lock for sending telemetry. */
+    private final InterestManager interest = new InterestManager();
+    /** Latest telemetry of all figurines. Guarded by {@link #interest}. */
+    private final TelemetryView view = new TelemetryView();
 
     @Override
     public void linkBroker(@NonNull SynchronousBroker broker) {
@@ -82,6 +105,7 @@ abstract class AbstractHostConnector implements HostConnector, VirtualHost {
         Object obj = switch(com) {
             case fetchBoard -> {yield getBoardData();}
             case fetchFigurines -> {yield getFigurineList();}
+            case fetchReachableFields -> {yield getReachableFields(command.getParms());}
             case setPathForFigurine -> {sendFindPathForFigurine(command.getParms()); yield true;}
         };
 
@@ -106,6 +130,9 @@ abstract class AbstractHostConnector implements HostConnector, VirtualHost {
 
     abstract void sendFindPathForFigurine(Object parms);
 
+    @NonNull
+    abstract ReachableFieldsDTO getReachableFields(Object parms);
+
     // ____________________  code shared among all types of virtual hosts  ____________________
 
     /** Gets the board data.
@@ -147,6 +174,29 @@ abstract class AbstractHostConnector implements HostConnector, VirtualHost {
         return result;
     }
 
+    /** Gets all fields reachable from a field.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param parms Parameters of the request.
+     * @return The reachable fields.
+     */
+    @NonNull
+    ReachableFieldsDTO doGetReachableFields(@NonNull FetchReachableFieldsParms parms) {
+        String errCode = VHostErrorCodes.V69412;
+        String channelName = ChannelNames.GET_BOARD_DATA;
+        ReachabilityConfig conf = new ReachabilityConfig(parms.getFromField(), parms.getMovementPoints());
+        FetchCommand fetchCommand = new FetchCommand(FetchCodes.BOARD_REACHABLE, conf);
+        List<Optional<Object>> list = request(channelName, fetchCommand, true);
+
+        ReachableFieldsDTO result = new ExtractorOfFirst(errCode)
+                .setEmptyListMsg("Reachable fields output validation failed: No board.")
+                .setEmptyOptionalMsg("Reachable fields output validation failed: Missing reachable fields.")
+                .setWrongTypeMsg("Reachable fields output validation failed: Expected a {1}, but got an instance of {0} instead.")
+                .extractFirst(list, ReachableFieldsDTO.class);
+        return result;
+    }
+
     /** Sends the parameter object of finding a path for a figurine to the correct channel.
      *
      * @since 0.0.2
@@ -170,6 +220,32 @@ abstract class AbstractHostConnector implements HostConnector, VirtualHost {
         }
     }
 
+    @Override
+    public void addPackedStreamReceiver(@NonNull StreamReceiver receiver) {
+        synchronized (packedReceivers) {
+            packedReceivers.putIfAbsent(receiver, new PackedStream());
+        }
+    }
+
+    @Override
+    public void acknowledgeTelemetry(@NonNull StreamReceiver receiver, int sequence) {
+        PackedStream stream;
+        synchronized (packedReceivers) {
+            stream = packedReceivers.get(receiver);
+        }
+        if(stream != null) {
+            // acknowledgements may arrive out of order
+            stream.acknowledged.accumulateAndGet(sequence, Math::max);
+        }
+    }
+
+    @Override
+    public void setInterest(@NonNull StreamReceiver receiver, @NonNull InterestArea area) {
+        synchronized (interest) {
+            interest.setArea(receiver, area);
+        }
+    }
+
     @Override
     public void sendOutbound(@NonNull VHStreamed object) {
         String errCode = VHostErrorCodes.V53260;
@@ -181,9 +257,101 @@ abstract class AbstractHostConnector implements HostConnector, VirtualHost {
 
         // TODO: check that all data is formatted correctly
 
+        if(object.getType() == VHStreamTypes.telemetry && object.getContent() instanceof TelemetryBatch batch) {
+            sendTelemetry(batch);
+            return;
+        }
+
         synchronized (receivers) {
             receivers.forEach( rec -> rec.receiveStreamedDTO(object) );
         }
+
+        synchronized (packedReceivers) {
+            packedReceivers.keySet().forEach( rec -> rec.receiveStreamedDTO(object) );
+        }
+    }
+
+    /** Sends the telemetry to each receiver, filtered by the area of interest of the receiver. The batch is reused by its sender, so it
+     * is copied into DTOs for the receivers of plain telemetry and the areas of interest, but only if there are any.
+     *
+     * @since 0.0.2
+     * @param changes The telemetry of the figurines that have changed.
+     */
+    private void sendTelemetry(@NonNull TelemetryBatch changes) {
+        synchronized (interest) {
+            view.merge(changes);
+            synchronized (receivers) {
+                if(!receivers.isEmpty() || interest.hasAnyArea()) {
+                    TelemetryDTO dto = changes.toDTO();
+                    VHStreamed object = new VHStreamed(VHStreamTypes.telemetry, dto);
+                    interest.index(dto, view);
+                    receivers.forEach( rec -> {
+                        TelemetryDTO use = interest.filter(rec);
+                        if(use == dto) {
+                            rec.receiveStreamedDTO(object);
+                        }
+                        else if(!use.getFigurineTelemetries().isEmpty()) {
+                            rec.receiveStreamedDTO(new VHStreamed(VHStreamTypes.telemetry, use));
+                        }
+                    });
+                }
+            }
+
+            synchronized (packedReceivers) {
+                sendPacked();
+            }
+        }
+    }
+
+    /** Sends each receiver of packed telemetry a packet relative to what it has acknowledged. The packets describe the latest telemetry
+     * of all figurines, which is staged once for all receivers that get all of it, straight from the latest telemetry without any DTOs.
+     * Receivers with an area of interest have an encoder of their own.
+     *
+     * @since 0.0.2
+     */
+    private void sendPacked() {
+        boolean staged = false;
+        for (Map.Entry<StreamReceiver, PackedStream> entry : packedReceivers.entrySet()) {
+            StreamReceiver rec = entry.getKey();
+            PackedStream stream = entry.getValue();
+            ByteBuffer packet;
+            if(interest.hasArea(rec)) {
+                if(stream.encoder == null) {
+                    int previous = encoder != null ? encoder.getSequence() : TelemetryFormat.NO_BASELINE;
+                    stream.encoder = new TelemetryEncoder(centres(), previous);
+                }
+                stream.encoder.stage(interest.filterAll(rec));
+                packet = stream.encoder.encode(stream.acknowledged.get());
+            }
+            else {
+                if(encoder == null) {
+                    encoder = new TelemetryEncoder(centres());
+                }
+                if(!staged) {
+                    encoder.stage(view.getLatest());
+                    staged = true;
+                }
+                packet = encoder.encode(stream.acknowledged.get());
+            }
+            rec.receiveStreamedDTO(new VHStreamed(VHStreamTypes.packedTelemetry, packet));
+        }
+    }
+
+    private Map<Integer, Vector3f> centres() {
+        if(centres == null) {
+            centres = TelemetryFormat.fieldCentres(doGetBoardData());
+        }
+        return centres;
+    }
+
+    /** Stream of packed telemetry to a receiver. */
+    private static final class PackedStream {
+
+        /** Sequence number of the last packet the receiver has acknowledged. */
+        private final AtomicInteger acknowledged = new AtomicInteger(TelemetryFormat.NO_BASELINE);
+        /** Encoder of the receiver, or {@code null} if it shares the common one. */
+        private TelemetryEncoder encoder = null;
+
     }
 
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.hostconnector;
+
+/** Uniform grid over the horizontal location (x and z) of the figurines of one tick of telemetry, for finding the figurines within a
+ * circle without looking at every figurine. Like the spatial index of the board, the figurines are sorted into square cells by counting
+ * sort and the cells are stored in compressed sparse row layout. As the figurines move, the grid is rebuilt for every tick, which takes
+ * linear time.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class FigurineGrid {
+
+    /** The grid has at most this many cells per figurine, plus some constant. */
+    private static final int MAX_CELLS_PER_ENTRY = 4;
+
+    /** Edge length of a cell in WU. */
+    private final float cellSize;
+    /** Lower x bound of the grid. */
+    private final float minX;
+    /** Lower z bound of the grid. */
+    private final float minZ;
+    /** Number of cells along the x axis. */
+    private final int cellsX;
+    /** Number of cells along the z axis. */
+    private final int cellsZ;
+    /** Start of the figurines of each cell in the entry arrays, plus one entry for the end of the last cell. */
+    private final int[] cellStart;
+    /** Indices of the figurines in the telemetry, ordered by cell. */
+    private final int[] entries;
+    /** X coordinates of the figurines in {@link #entries}. */
+    private final float[] entryX;
+    /** Z coordinates of the figurines in {@link #entries}. */
+    private final float[] entryZ;
+
+    /** Builds the grid.
+     *
+     * @since 0.0.2
+     * @param indices Indices of the figurines in the telemetry.
+     * @param xs X coordinates of the figurines.
+     * @param zs Z coordinates of the figurines.
+     * @param size Number of figurines, which are the first elements of the arrays.
+     * @param cellSize Preferred edge length of the cells in WU. Queries are fastest if this is about the radius of the queried circles.
+     * The grid may choose larger cells for sparsely spread figurines. Must be positive.
+     */
+    FigurineGrid(int[] indices, float[] xs, float[] zs, int size, float cellSize) {
+        float lowX = Float.POSITIVE_INFINITY;
+        float lowZ = Float.POSITIVE_INFINITY;
+        float highX = Float.NEGATIVE_INFINITY;
+        float highZ = Float.NEGATIVE_INFINITY;
+        for (int idx = 0; idx < size; idx++) {
+            lowX = Math.min(lowX, xs[idx]);
+            lowZ = Math.min(lowZ, zs[idx]);
+            highX = Math.max(highX, xs[idx]);
+            highZ = Math.max(highZ, zs[idx]);
+        }
+        if(size == 0) {
+            lowX = lowZ = highX = highZ = 0;
+        }
+        minX = lowX;
+        minZ = lowZ;
+
+        float useSize = cellSize;
+        long maxCells = (long)MAX_CELLS_PER_ENTRY * size + 16;
+        while(numCellsAlong(highX - lowX, useSize) * numCellsAlong(highZ - lowZ, useSize) > maxCells) {
+            useSize *= 2;
+        }
+        this.cellSize = useSize;
+        cellsX = (int)numCellsAlong(highX - lowX, useSize);
+        cellsZ = (int)numCellsAlong(highZ - lowZ, useSize);
+
+        // counting sort by cell
+        int[] cellOfEntry = new int[size];
+        cellStart = new int[cellsX * cellsZ + 1];
+        for (int idx = 0; idx < size; idx++) {
+            int cell = cellZ(zs[idx]) * cellsX + cellX(xs[idx]);
+            cellOfEntry[idx] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int cell = 0; cell < cellStart.length - 1; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        int[] next = new int[cellStart.length - 1];
+        System.arraycopy(cellStart, 0, next, 0, next.length);
+
+        entries = new int[size];
+        entryX = new float[size];
+        entryZ = new float[size];
+        for (int idx = 0; idx < size; idx++) {
+            int pos = next[cellOfEntry[idx]]++;
+            entries[pos] = indices[idx];
+            entryX[pos] = xs[idx];
+            entryZ[pos] = zs[idx];
+        }
+    }
+
+    private static long numCellsAlong(float extent, float cellSize) {
+        return (long)Math.floor(extent / cellSize) + 1;
+    }
+
+    private int cellX(float x) {
+        return clamp((int)Math.floor((x - minX) / cellSize), cellsX);
+    }
+
+    private int cellZ(float z) {
+        return clamp((int)Math.floor((z - minZ) / cellSize), cellsZ);
+    }
+
+    private static int clamp(int cell, int numCells) {
+        return Math.max(0, Math.min(numCells - 1, cell));
+    }
+
+    /** Collects all figurines within the given horizontal distance of the given position.
+     *
+     * @since 0.0.2
+     * @param x X coordinate of the position.
+     * @param z Z coordinate of the position.
+     * @param radius Maximum horizontal distance in WU, inclusive.
+     * @param found Gets the indices of the figurines found, from its start and in no particular order. Must have room for all figurines
+     * of the grid.
+     * @return Number of figurines found.
+     */
+    int collectWithin(float x, float z, float radius, int[] found) {
+        if(!(radius >= 0) || entries.length == 0) {
+            return 0;
+        }
+
+        int count = 0;
+        float radiusSq = radius * radius;
+        int fromCellX = cellX(x - radius);
+        int toCellX = cellX(x + radius);
+        int toCellZ = cellZ(z + radius);
+        for (int cz = cellZ(z - radius); cz <= toCellZ; cz++) {
+            // the cells of a row are adjacent in the entry arrays
+            int end = cellStart[cz * cellsX + toCellX + 1];
+            for (int pos = cellStart[cz * cellsX + fromCellX]; pos < end; pos++) {
+                float dx = entryX[pos] - x;
+                float dz = entryZ[pos] - z;
+                if(dx * dx + dz * dz <= radiusSq) {
+                    found[count++] = entries[pos];
+                }
+            }
+        }
+        return count;
+    }
+
+}
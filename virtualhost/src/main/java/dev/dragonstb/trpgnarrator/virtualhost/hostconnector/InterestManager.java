@@ -0,0 +1,312 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.hostconnector;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Globals;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.InterestArea;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.StreamReceiver;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamTypes;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamed;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.InterestChangeDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.TelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryBatch;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.NonNull;
+
+/** Keeps the {@link InterestArea areas of interest} of the receivers of streamed data and filters the telemetry of each tick for them.
+ * Each tick, the telemetry is {@link #index indexed} once and then filtered for each receiver. Circles are looked up in a
+ * {@link FigurineGrid grid} over the figurines, which is only built if a receiver has a circle as area. Only the figurines found within an
+ * area are visited, and the collections of a receiver are reused from tick to tick.
+ * <br><br>
+ * As the telemetry of a tick only carries the figurines that have changed, the areas are checked against the latest telemetry of all
+ * figurines. Figurines entering the area are streamed even if they have not changed.
+ * <br><br>
+ * Not thread safe.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class InterestManager {
+
+    /** The receivers that have got an area, even if it is everything by now. */
+    private final Map<StreamReceiver, Interest> interests = new HashMap<>();
+    /** Counts the indexed ticks. */
+    private long tick = 0;
+    /** The telemetry of the figurines that have changed in the current tick. */
+    private TelemetryDTO changed = new TelemetryDTO(List.of());
+    /** Ids of the figurines that have changed in the current tick. */
+    private final Set<String> changedIds = new HashSet<>();
+    /** The latest telemetry of all figurines. */
+    private TelemetryView view = new TelemetryView();
+    /** The latest telemetry of all figurines as DTOs, or {@code null} if not {@link #prepare() prepared} for the current tick yet. */
+    private List<FigurineTelemetryDTO> all = null;
+    /** Indices of the located figurines in {@link #all}. */
+    private int[] located = new int[0];
+    /** X coordinates of the located figurines. */
+    private float[] locatedX = new float[0];
+    /** Z coordinates of the located figurines. */
+    private float[] locatedZ = new float[0];
+    /** Ids of the fields of the located figurines. */
+    private int[] locatedField = new int[0];
+    /** Number of located figurines. */
+    private int numLocated = 0;
+    /** Indices of the figurines within the area of a receiver, in ascending order. Reused for all receivers. */
+    private int[] found = new int[0];
+    /** Ids of the figurines that have entered the area of a receiver. Reused for all receivers. */
+    private final List<String> entered = new ArrayList<>();
+    /** Ids of the figurines that have left the area of a receiver. Reused for all receivers. */
+    private final List<String> left = new ArrayList<>();
+    /** Grid over the located figurines, or {@code null} if not built for the current tick yet. */
+    private FigurineGrid grid = null;
+
+    /** Sets the area of interest of a receiver.
+     *
+     * @since 0.0.2
+     * @param receiver The receiver.
+     * @param area Its area.
+     */
+    void setArea(@NonNull StreamReceiver receiver, @NonNull InterestArea area) {
+        interests.computeIfAbsent(receiver, rec -> new Interest()).area = area;
+    }
+
+    /** Tells if the receiver has ever got an area. The telemetry of such receivers is filtered, even if the area is everything by now.
+     *
+     * @since 0.0.2
+     * @param receiver The receiver.
+     * @return Whether the receiver has got an area.
+     */
+    boolean hasArea(@NonNull StreamReceiver receiver) {
+        return interests.containsKey(receiver);
+    }
+
+    /** Tells if any receiver has ever got an area. Without, the telemetry needs no {@link #index indexing} and no filtering.
+     *
+     * @since 0.0.2
+     * @return Whether a receiver has got an area.
+     */
+    boolean hasAnyArea() {
+        return !interests.isEmpty();
+    }
+
+    /** Takes the telemetry of the current tick. It is prepared for filtering when first filtered for a receiver with an area.
+     *
+     * @since 0.0.2
+     * @param changed Telemetry of the figurines that have changed.
+     * @param view Latest telemetry of all figurines, including the changed ones. Must not change until the next tick.
+     */
+    void index(@NonNull TelemetryDTO changed, @NonNull TelemetryView view) {
+        tick++;
+        this.changed = changed;
+        this.view = view;
+        all = null;
+        grid = null;
+    }
+
+    /** Prepares the telemetry of the current tick for filtering. The locations are read straight from the
+     * {@link TelemetryView#getLatest() batch} of the view.
+     *
+     */
+    private void prepare() {
+        all = view.getAll();
+        changedIds.clear();
+        changed.getFigurineTelemetries().forEach( tele -> changedIds.add(tele.getFigId()) );
+
+        TelemetryBatch latest = view.getLatest();
+        int size = latest.getSize();
+        if(located.length < size) {
+            located = new int[size];
+            locatedX = new float[size];
+            locatedZ = new float[size];
+            locatedField = new int[size];
+            found = new int[size];
+        }
+
+        numLocated = 0;
+        for (int idx = 0; idx < size; idx++) {
+            if(latest.isLocated(idx)) {
+                located[numLocated] = idx;
+                locatedX[numLocated] = latest.getX(idx);
+                locatedZ[numLocated] = latest.getZ(idx);
+                locatedField[numLocated] = latest.getField(idx);
+                numLocated++;
+            }
+        }
+    }
+
+    /** Gets the telemetry of the current tick for a receiver, which are the changed figurines within the area of the receiver and the
+     * figurines that have entered the area. If figurines have entered or left the area since the last tick, the receiver is
+     * {@link VHStreamTypes#interest told} so right away.
+     *
+     * @since 0.0.2
+     * @param receiver The receiver.
+     * @return The telemetry. The indexed telemetry itself if the receiver has never got an area.
+     */
+    TelemetryDTO filter(@NonNull StreamReceiver receiver) {
+        Interest interest = interests.get(receiver);
+        if(interest == null) {
+            return changed;
+        }
+        update(receiver, interest);
+        if(interest.partial == null) {
+            interest.partial = new TelemetryDTO(interest.partialTeles, changed.getAlpha());
+        }
+        return interest.partial;
+    }
+
+    /** Gets the latest telemetry of all figurines within the area of a receiver. Like {@link #filter}, the receiver is told about figurines
+     * entering or leaving the area, but only once per tick for both methods together.
+     *
+     * @since 0.0.2
+     * @param receiver The receiver.
+     * @return The telemetry. All figurines if the receiver has never got an area.
+     */
+    TelemetryDTO filterAll(@NonNull StreamReceiver receiver) {
+        Interest interest = interests.get(receiver);
+        if(interest == null) {
+            return new TelemetryDTO(view.getAll(), changed.getAlpha());
+        }
+        update(receiver, interest);
+        if(interest.whole == null) {
+            interest.whole = new TelemetryDTO(interest.wholeTeles, changed.getAlpha());
+        }
+        return interest.whole;
+    }
+
+    /** Finds the figurines within the area of the receiver, unless already done in the current tick.
+     *
+     * @param receiver The receiver.
+     * @param interest Its interest.
+     */
+    private void update(StreamReceiver receiver, Interest interest) {
+        if(interest.tick == tick) {
+            return;
+        }
+        interest.tick = tick;
+        if(all == null) {
+            prepare();
+        }
+
+        boolean everything = interest.area.isEverything();
+        int count = everything ? all.size() : collect(interest.area);
+
+        Set<String> inside = interest.spare;
+        inside.clear();
+        interest.wholeTeles.clear();
+        interest.partialTeles.clear();
+        interest.whole = null;
+        interest.partial = null;
+        entered.clear();
+        for (int pos = 0; pos < count; pos++) {
+            FigurineTelemetryDTO tele = all.get(everything ? pos : found[pos]);
+            String figId = tele.getFigId();
+            inside.add(figId);
+            interest.wholeTeles.add(tele);
+            boolean isNew = !interest.inside.contains(figId);
+            if(isNew) {
+                entered.add(figId);
+            }
+            if(isNew || changedIds.contains(figId)) {
+                interest.partialTeles.add(tele);
+            }
+        }
+        left.clear();
+        for (String figId : interest.inside) {
+            if(!inside.contains(figId)) {
+                left.add(figId);
+            }
+        }
+
+        interest.spare = interest.inside;
+        interest.inside = inside;
+        if(!entered.isEmpty() || !left.isEmpty()) {
+            receiver.receiveStreamedDTO(new VHStreamed(VHStreamTypes.interest, new InterestChangeDTO(entered, left)));
+        }
+    }
+
+    /** Collects the indices of the figurines within the area into {@link #found}, in ascending order.
+     *
+     * @param area The area, which is not everything.
+     * @return Number of figurines found.
+     */
+    private int collect(InterestArea area) {
+        int count = 0;
+        if(area.isCircle()) {
+            Vector3f focus = area.getFocus();
+            count = gridOf().collectWithin(focus.x, focus.z, area.getRadius(), found);
+            // the grid finds them cell by cell
+            Arrays.sort(found, 0, count);
+        }
+        else {
+            for (int idx = 0; idx < numLocated; idx++) {
+                if(area.contains(locatedField[idx], locatedX[idx], locatedZ[idx])) {
+                    found[count++] = located[idx];
+                }
+            }
+        }
+        return count;
+    }
+
+    /** Gets the grid over the located figurines of the current tick, building it when needed first. The cells are about as large as the
+     * smallest circle of all areas.
+     *
+     * @return The grid.
+     */
+    private FigurineGrid gridOf() {
+        if(grid == null) {
+            float cellSize = Float.POSITIVE_INFINITY;
+            for (Interest interest : interests.values()) {
+                if(interest.area.isCircle()) {
+                    cellSize = Math.min(cellSize, interest.area.getRadius());
+                }
+            }
+            cellSize = Math.max(cellSize, Globals.FIELD_DIAMETER);
+            grid = new FigurineGrid(located, locatedX, locatedZ, numLocated, cellSize);
+        }
+        return grid;
+    }
+
+    /** Area of a receiver, the figurines that have been within it at the last tick, and what the receiver gets of that tick. The
+     * collections are reused from tick to tick. */
+    private static final class Interest {
+
+        private InterestArea area = InterestArea.EVERYTHING;
+        private Set<String> inside = new HashSet<>();
+        /** Set swapped with {@link #inside} at each tick. */
+        private Set<String> spare = new HashSet<>();
+        /** The tick the figurines within the area have been found for last. */
+        private long tick = 0;
+        private final List<FigurineTelemetryDTO> partialTeles = new ArrayList<>();
+        private final List<FigurineTelemetryDTO> wholeTeles = new ArrayList<>();
+        /** Made from {@link #partialTeles} when first asked for in a tick. */
+        private TelemetryDTO partial = null;
+        /** Made from {@link #wholeTeles} when first asked for in a tick. */
+        private TelemetryDTO whole = null;
+
+    }
+
+}
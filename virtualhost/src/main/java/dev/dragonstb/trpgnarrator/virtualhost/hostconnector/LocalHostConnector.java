@@ -23,6 +23,8 @@ package dev.dragonstb.trpgnarrator.virtualhost.hostconnector;
 import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurinesListDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReachableFieldsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FetchReachableFieldsParms;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FindPathForFigurineParms;
 import lombok.NonNull;
 
@@ -66,4 +68,19 @@ final class LocalHostConnector extends AbstractHostConnector {
         super.doSendFindPathForFigurine(arg);
     }
 
+    @NonNull
+    @Override
+    ReachableFieldsDTO getReachableFields(Object parms) {
+        String errCode = VHostErrorCodes.V69412;
+
+        if(!(parms instanceof FetchReachableFieldsParms)) {
+            String msg = "Expected parameter to be of class FetchReachableFieldsParms, but got an instance of "
+                    +(parms != null ? parms.getClass().getSimpleName() : "null")+" instead.";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new ClassCastException(use);
+        }
+
+        return super.doGetReachableFields((FetchReachableFieldsParms)parms);
+    }
+
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.hostconnector;
+
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryBatch;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+
+/** The latest telemetry of every figurine. The streamed telemetry of a tick only carries the figurines that have changed, so whoever
+ * needs the whole picture merges the ticks in here. Figurines are kept in the order they first appear.
+ * <br><br>
+ * The telemetry is kept in a {@link TelemetryBatch batch}, which the packed telemetry is staged from directly. DTOs are only made when
+ * {@link #getAll() asked for}, and only for the figurines that have changed since.
+ * <br><br>
+ * Not thread safe.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class TelemetryView {
+
+    /** Maps the ids of the figurines to their index in {@link #latest}. */
+    private final Map<String, Integer> indices = new HashMap<>();
+    /** Latest telemetry of each figurine. */
+    private final TelemetryBatch latest = new TelemetryBatch();
+    /** Latest telemetry of each figurine as DTO, or {@code null} where the figurine has changed since the DTO was made. */
+    private final List<FigurineTelemetryDTO> dtos = new ArrayList<>();
+
+    /** Merges the telemetry of a tick.
+     *
+     * @since 0.0.2
+     * @param changes Telemetry of the figurines that have changed. Not kept.
+     */
+    void merge(@NonNull TelemetryBatch changes) {
+        for (int idx = 0; idx < changes.getSize(); idx++) {
+            String figId = changes.getFigId(idx);
+            Integer pos = indices.get(figId);
+            if(pos != null) {
+                latest.set(pos, changes.getField(idx), changes.isLocated(idx), changes.getX(idx), changes.getY(idx), changes.getZ(idx));
+                dtos.set(pos, null);
+            }
+            else {
+                indices.put(figId, latest.add(figId, changes.getField(idx), changes.isLocated(idx), changes.getX(idx), changes.getY(idx),
+                        changes.getZ(idx)));
+                dtos.add(null);
+            }
+        }
+        latest.setAlpha(changes.getAlpha());
+    }
+
+    /** Gets the latest telemetry of all figurines, with the alpha of the last merged telemetry.
+     *
+     * @since 0.0.2
+     * @return The batch, valid until the next merge. Must not be changed.
+     */
+    TelemetryBatch getLatest() {
+        return latest;
+    }
+
+    /** Gets the latest telemetry of all figurines as DTOs.
+     *
+     * @since 0.0.2
+     * @return Unmodifiable view on the telemetry, valid until the next merge.
+     */
+    List<FigurineTelemetryDTO> getAll() {
+        for (int idx = 0; idx < dtos.size(); idx++) {
+            if(dtos.get(idx) == null) {
+                dtos.set(idx, latest.toDTO(idx));
+            }
+        }
+        return Collections.unmodifiableList(dtos);
+    }
+
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.journal;
+
+import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import lombok.NonNull;
+
+/** Append-only binary journal of the traffic of a broker: every message, every request, and every timing signal. Wrap the broker with
+ * {@link #wrapInbound(SynchronousBroker) wrapInbound} for the host connector and with {@link #wrapInternal(SynchronousBroker) wrapInternal}
+ * for the components of the virtual host, so the journal knows which traffic came from the clients. Only that traffic and the timing
+ * signals are fed into a fresh host when the journal is replayed, the rest follows from them.
+ * <br><br>
+ * Records are collected in a buffer, which is written to the file at each timing signal, when full, and when the journal is closed.
+ * <br><br>
+ * The file starts with the {@link #MAGIC magic number} and the {@link #VERSION version} of the format. Each record starts with a byte
+ * naming its kind, with {@link #INBOUND} set for traffic from the clients. Channel names, headlines, and fetch codes are defined once and
+ * referred to by their ids afterwards. Ids, counts, and time stamps are written as variable-length quantities.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class BrokerJournal implements AutoCloseable {
+
+    /** First four bytes of a journal. */
+    static final int MAGIC = 0x54524A4E;
+    /** Version of the format. */
+    static final byte VERSION = 1;
+    /** Record defining a channel name, a headline, or a fetch code. */
+    static final int DEFINE = 0;
+    /** Record of a message. */
+    static final int MESSAGE = 1;
+    /** Record of a request. */
+    static final int REQUEST = 2;
+    /** Record of a timing signal. */
+    static final int UPDATE = 3;
+    /** Flag of records of traffic from the clients. */
+    static final int INBOUND = 0x80;
+    /** Registry byte of definitions of channel names. */
+    static final int CHANNELS = 0;
+    /** Registry byte of definitions of headlines. */
+    static final int HEADLINES = 1;
+    /** Registry byte of definitions of fetch codes. */
+    static final int FETCH_CODES = 2;
+    /** Size of the output buffer. */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final RecordBuffer record = new RecordBuffer();
+    /** Ids already defined in the journal, per registry. */
+    private final boolean[][] defined = {new boolean[0], new boolean[0], new boolean[0]};
+    /** Time of the last record, from {@link System#nanoTime()}. */
+    private long lastNanos = System.nanoTime();
+    private long records = 0;
+    private boolean closed = false;
+
+    private BrokerJournal(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /** Creates a journal. An existing file is overwritten.
+     *
+     * @since 0.0.2
+     * @param file Where the journal is written to.
+     * @return The journal.
+     * @throws UncheckedIOException If the file cannot be opened.
+     */
+    public static BrokerJournal create(@NonNull Path file) throws UncheckedIOException {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            BrokerJournal journal = new BrokerJournal(channel);
+            journal.out.putInt(MAGIC).put(VERSION);
+            return journal;
+        } catch (IOException e) {
+            throw failure("Cannot open journal "+file+".", e);
+        }
+    }
+
+    /** Wraps the broker the host connector talks to. Messages and requests passing the wrapper are recorded as coming from the clients.
+     *
+     * @since 0.0.2
+     * @param broker The broker.
+     * @return The wrapping broker.
+     */
+    public SynchronousBroker wrapInbound(@NonNull SynchronousBroker broker) {
+        return new JournalingBroker(broker, this, true);
+    }
+
+    /** Wraps the broker the components of the virtual host talk to.
+     *
+     * @since 0.0.2
+     * @param broker The broker.
+     * @return The wrapping broker.
+     */
+    public SynchronousBroker wrapInternal(@NonNull SynchronousBroker broker) {
+        return new JournalingBroker(broker, this, false);
+    }
+
+    /** Gets the number of messages, requests, and timing signals recorded so far.
+     *
+     * @since 0.0.2
+     * @return Number of records.
+     */
+    public synchronized long getRecords() {
+        return records;
+    }
+
+    // ____________________  recording  ____________________
+
+    /** Records a message. Does nothing once the journal is closed.
+     *
+     * @since 0.0.2
+     * @param inbound Does the message come from the clients?
+     * @param channelId Id of the channel, or {@link CodeRegistry#NO_ID}.
+     * @param msg The message.
+     * @throws UncheckedIOException If writing fails.
+     */
+    synchronized void recordMessage(boolean inbound, int channelId, @NonNull Message msg) throws UncheckedIOException {
+        recordTraffic(MESSAGE, inbound, channelId, HEADLINES, msg.getHeadlineId(), msg.getContent());
+    }
+
+    /** Records a request. Does nothing once the journal is closed.
+     *
+     * @since 0.0.2
+     * @param inbound Does the request come from the clients?
+     * @param channelId Id of the channel, or {@link CodeRegistry#NO_ID}.
+     * @param fetch The request.
+     * @throws UncheckedIOException If writing fails.
+     */
+    synchronized void recordRequest(boolean inbound, int channelId, @NonNull FetchCommand fetch) throws UncheckedIOException {
+        recordTraffic(REQUEST, inbound, channelId, FETCH_CODES, fetch.getCommandId(), fetch.getParms());
+    }
+
+    /** Records a timing signal and writes the buffered records to the file. Does nothing once the journal is closed.
+     *
+     * @since 0.0.2
+     * @param tpf Time per frame, in seconds.
+     * @throws UncheckedIOException If writing fails.
+     */
+    synchronized void recordUpdate(float tpf) throws UncheckedIOException {
+        if(closed) {
+            return;
+        }
+
+        record.clear();
+        record.putByte(UPDATE);
+        record.putVarLong(elapsed());
+        record.putFloat(tpf);
+        append();
+        drain();
+    }
+
+    private void recordTraffic(int kind, boolean inbound, int channelId, int registry, int codeId, Object content) {
+        if(closed) {
+            return;
+        }
+
+        record.clear();
+        if(channelId != CodeRegistry.NO_ID) {
+            define(CHANNELS, channelId);
+        }
+        define(registry, codeId);
+        record.putByte(inbound ? kind | INBOUND : kind);
+        record.putVarLong(elapsed());
+        // shifted by one, so unknown channels are written as zero
+        record.putVarInt(channelId + 1);
+        record.putVarInt(codeId);
+        JournalCodec.encode(record, content);
+        append();
+    }
+
+    /** Writes the definition of the code into the record if not done before.
+     *
+     * @param registry Registry byte.
+     * @param id Id of the code.
+     */
+    private void define(int registry, int id) {
+        boolean[] known = defined[registry];
+        if(id < known.length && known[id]) {
+            return;
+        }
+        if(id >= known.length) {
+            known = Arrays.copyOf(known, Math.max(id + 1, known.length * 2));
+            defined[registry] = known;
+        }
+        known[id] = true;
+
+        CodeRegistry codes = switch (registry) {
+            case CHANNELS -> CodeRegistry.CHANNELS;
+            case HEADLINES -> CodeRegistry.HEADLINES;
+            default -> CodeRegistry.FETCH_CODES;
+        };
+        record.putByte(DEFINE);
+        record.putByte(registry);
+        record.putVarInt(id);
+        record.putString(codes.codeOf(id));
+    }
+
+    private long elapsed() {
+        long now = System.nanoTime();
+        long delta = Math.max(0, now - lastNanos);
+        lastNanos = now;
+        return delta;
+    }
+
+    /** Moves the record into the output buffer, writing the buffer to the file first if the record does not fit. */
+    private void append() {
+        records++;
+        if(record.size() > out.remaining()) {
+            drain();
+        }
+        if(record.size() > out.capacity()) {
+            write(ByteBuffer.wrap(record.array(), 0, record.size()));
+        }
+        else {
+            out.put(record.array(), 0, record.size());
+        }
+    }
+
+    /** Writes the output buffer to the file. */
+    private void drain() {
+        out.flip();
+        write(out);
+        out.clear();
+    }
+
+    private void write(ByteBuffer buf) {
+        try {
+            while(buf.hasRemaining()) {
+                channel.write(buf);
+            }
+        } catch (IOException e) {
+            throw failure("Cannot write to journal.", e);
+        }
+    }
+
+    /** Writes the buffered records and closes the file. Later traffic is not recorded. Calling this method again does nothing.
+     *
+     * @since 0.0.2
+     * @throws UncheckedIOException If writing or closing fails.
+     */
+    @Override
+    public synchronized void close() throws UncheckedIOException {
+        if(closed) {
+            return;
+        }
+
+        closed = true;
+        try (channel) {
+            drain();
+        } catch (IOException e) {
+            throw failure("Cannot close journal.", e);
+        }
+    }
+
+    private static UncheckedIOException failure(String msg, IOException cause) {
+        String errCode = VHostErrorCodes.V19546;
+        String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+        return new UncheckedIOException(use, cause);
+    }
+
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.journal;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.ReachabilityConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.SearchBudget;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathForFigurine;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathsForFigurines;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McPathForFigurine;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McPathsForFigurines;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FetchReachableFieldsParms;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FindPathForFigurineParms;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FindPathsForFigurinesParms;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Encodes and decodes the contents of messages and the parameters of fetch commands. Each value starts with a tag byte naming its type.
+ * Values of types not known to the codec are written as their class name only and cannot be replayed.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class JournalCodec {
+
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int INTEGER = 2;
+    private static final int LONG = 3;
+    private static final int FLOAT = 4;
+    private static final int BOOLEAN = 5;
+    private static final int LIST = 6;
+    private static final int VECTOR = 7;
+    private static final int SEARCH_BUDGET = 8;
+    private static final int PATHFINDING_CONFIG = 9;
+    private static final int REACHABILITY_CONFIG = 10;
+    private static final int FIND_PATH_PARMS = 11;
+    private static final int FIND_PATHS_PARMS = 12;
+    private static final int REACHABLE_FIELDS_PARMS = 13;
+    private static final int MC_FIND_PATH = 14;
+    private static final int MC_FIND_PATHS = 15;
+    private static final int MC_PATH = 16;
+    private static final int MC_PATHS = 17;
+    private static final int OPAQUE = 127;
+
+    private JournalCodec() {}
+
+    // ____________________  encoding  ____________________
+
+    /** Encodes the value.
+     *
+     * @since 0.0.2
+     * @param buf Where the value is written to.
+     * @param value The value. Might be {@code null}.
+     */
+    static void encode(RecordBuffer buf, Object value) {
+        switch (value) {
+            case null -> buf.putByte(NULL);
+            case String str -> {
+                buf.putByte(STRING);
+                buf.putString(str);
+            }
+            case Integer num -> {
+                buf.putByte(INTEGER);
+                buf.putSignedVarInt(num);
+            }
+            case Long num -> {
+                buf.putByte(LONG);
+                buf.putSignedVarLong(num);
+            }
+            case Float num -> {
+                buf.putByte(FLOAT);
+                buf.putFloat(num);
+            }
+            case Boolean bool -> {
+                buf.putByte(BOOLEAN);
+                buf.putByte(bool ? 1 : 0);
+            }
+            case List<?> list -> {
+                buf.putByte(LIST);
+                buf.putVarInt(list.size());
+                list.forEach(element -> encode(buf, element));
+            }
+            case Vector3f vec -> {
+                buf.putByte(VECTOR);
+                putVector(buf, vec);
+            }
+            case SearchBudget budget -> {
+                buf.putByte(SEARCH_BUDGET);
+                putBudget(buf, budget);
+            }
+            case PathfindingConfig conf -> {
+                buf.putByte(PATHFINDING_CONFIG);
+                buf.putSignedVarInt(conf.getFromField());
+                buf.putSignedVarInt(conf.getToField());
+                buf.putSignedVarInt(conf.getMovementProfile());
+                putBudget(buf, conf.getBudget());
+            }
+            case ReachabilityConfig conf -> {
+                buf.putByte(REACHABILITY_CONFIG);
+                buf.putSignedVarInt(conf.getFromField());
+                buf.putFloat(conf.getMovementPoints());
+                buf.putSignedVarInt(conf.getMovementProfile());
+            }
+            case FindPathForFigurineParms parms -> {
+                buf.putByte(FIND_PATH_PARMS);
+                putFindPathParms(buf, parms);
+            }
+            case FindPathsForFigurinesParms parms -> {
+                buf.putByte(FIND_PATHS_PARMS);
+                buf.putVarInt(parms.getRequests().size());
+                parms.getRequests().forEach(request -> putFindPathParms(buf, request));
+            }
+            case FetchReachableFieldsParms parms -> {
+                buf.putByte(REACHABLE_FIELDS_PARMS);
+                buf.putSignedVarInt(parms.getFromField());
+                buf.putFloat(parms.getMovementPoints());
+            }
+            case McFindPathForFigurine request -> {
+                buf.putByte(MC_FIND_PATH);
+                putMcFindPath(buf, request);
+            }
+            case McFindPathsForFigurines requests -> {
+                buf.putByte(MC_FIND_PATHS);
+                buf.putVarInt(requests.getRequests().size());
+                requests.getRequests().forEach(request -> putMcFindPath(buf, request));
+            }
+            case McPathForFigurine path -> {
+                buf.putByte(MC_PATH);
+                putMcPath(buf, path);
+            }
+            case McPathsForFigurines paths -> {
+                buf.putByte(MC_PATHS);
+                buf.putVarInt(paths.getPaths().size());
+                paths.getPaths().forEach(path -> putMcPath(buf, path));
+            }
+            default -> {
+                buf.putByte(OPAQUE);
+                buf.putString(value.getClass().getName());
+            }
+        }
+    }
+
+    private static void putVector(RecordBuffer buf, Vector3f vec) {
+        buf.putFloat(vec.x);
+        buf.putFloat(vec.y);
+        buf.putFloat(vec.z);
+    }
+
+    private static void putBudget(RecordBuffer buf, SearchBudget budget) {
+        buf.putSignedVarInt(budget.getMaxExpansions());
+        buf.putSignedVarLong(budget.getTimeLimitNanos());
+    }
+
+    private static void putFindPathParms(RecordBuffer buf, FindPathForFigurineParms parms) {
+        buf.putString(parms.getFigurineId());
+        buf.putSignedVarInt(parms.getToField());
+    }
+
+    private static void putMcFindPath(RecordBuffer buf, McFindPathForFigurine request) {
+        buf.putString(request.getFigurineId());
+        buf.putSignedVarInt(request.getFromFieldId());
+        buf.putSignedVarInt(request.getToFieldId());
+        putBudget(buf, request.getBudget());
+    }
+
+    private static void putMcPath(RecordBuffer buf, McPathForFigurine path) {
+        buf.putString(path.getId());
+        buf.putVarInt(path.getWaypoints().size());
+        path.getWaypoints().forEach(vec -> putVector(buf, vec));
+    }
+
+    // ____________________  decoding  ____________________
+
+    /** Decodes a value.
+     *
+     * @since 0.0.2
+     * @param buf Where the value is read from.
+     * @return The value, or an {@link Opaque} if the type of the value was not known to the codec.
+     * @throws IllegalStateException If the tag is unknown.
+     */
+    static Object decode(ByteBuffer buf) throws IllegalStateException {
+        int tag = buf.get();
+        return switch (tag) {
+            case NULL -> null;
+            case STRING -> getString(buf);
+            case INTEGER -> getSignedVarInt(buf);
+            case LONG -> getSignedVarLong(buf);
+            case FLOAT -> buf.getFloat();
+            case BOOLEAN -> buf.get() != 0;
+            case LIST -> {
+                int size = getVarInt(buf);
+                List<Object> list = new ArrayList<>(size);
+                for (int idx = 0; idx < size; idx++) {
+                    list.add(decode(buf));
+                }
+                yield list;
+            }
+            case VECTOR -> getVector(buf);
+            case SEARCH_BUDGET -> getBudget(buf);
+            case PATHFINDING_CONFIG -> new PathfindingConfig(getSignedVarInt(buf), getSignedVarInt(buf), getSignedVarInt(buf),
+                    getBudget(buf));
+            case REACHABILITY_CONFIG -> new ReachabilityConfig(getSignedVarInt(buf), buf.getFloat(), getSignedVarInt(buf));
+            case FIND_PATH_PARMS -> getFindPathParms(buf);
+            case FIND_PATHS_PARMS -> {
+                int size = getVarInt(buf);
+                List<FindPathForFigurineParms> list = new ArrayList<>(size);
+                for (int idx = 0; idx < size; idx++) {
+                    list.add(getFindPathParms(buf));
+                }
+                yield new FindPathsForFigurinesParms(list);
+            }
+            case REACHABLE_FIELDS_PARMS -> new FetchReachableFieldsParms(getSignedVarInt(buf), buf.getFloat());
+            case MC_FIND_PATH -> getMcFindPath(buf);
+            case MC_FIND_PATHS -> {
+                int size = getVarInt(buf);
+                List<McFindPathForFigurine> list = new ArrayList<>(size);
+                for (int idx = 0; idx < size; idx++) {
+                    list.add(getMcFindPath(buf));
+                }
+                yield new McFindPathsForFigurines(list);
+            }
+            case MC_PATH -> getMcPath(buf);
+            case MC_PATHS -> {
+                int size = getVarInt(buf);
+                List<McPathForFigurine> list = new ArrayList<>(size);
+                for (int idx = 0; idx < size; idx++) {
+                    list.add(getMcPath(buf));
+                }
+                yield new McPathsForFigurines(list);
+            }
+            case OPAQUE -> new Opaque(getString(buf));
+            default -> {
+                String errCode = VHostErrorCodes.V26871;
+                String msg = "Unknown type tag "+tag+" at position "+(buf.position()-1)+" of the journal.";
+                String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+                throw new IllegalStateException(use);
+            }
+        };
+    }
+
+    private static Vector3f getVector(ByteBuffer buf) {
+        return new Vector3f(buf.getFloat(), buf.getFloat(), buf.getFloat());
+    }
+
+    private static SearchBudget getBudget(ByteBuffer buf) {
+        return new SearchBudget(getSignedVarInt(buf), getSignedVarLong(buf));
+    }
+
+    private static FindPathForFigurineParms getFindPathParms(ByteBuffer buf) {
+        return new FindPathForFigurineParms(getString(buf), getSignedVarInt(buf));
+    }
+
+    private static McFindPathForFigurine getMcFindPath(ByteBuffer buf) {
+        return new McFindPathForFigurine(getString(buf), getSignedVarInt(buf), getSignedVarInt(buf), getBudget(buf));
+    }
+
+    private static McPathForFigurine getMcPath(ByteBuffer buf) {
+        String id = getString(buf);
+        int size = getVarInt(buf);
+        List<Vector3f> waypoints = new ArrayList<>(size);
+        for (int idx = 0; idx < size; idx++) {
+            waypoints.add(getVector(buf));
+        }
+        return new McPathForFigurine(id, waypoints);
+    }
+
+    /** Reads a non-negative int written by {@link RecordBuffer#putVarInt(int)}.
+     *
+     * @since 0.0.2
+     * @param buf Where the value is read from.
+     * @return The value.
+     */
+    static int getVarInt(ByteBuffer buf) {
+        return (int)getVarLong(buf);
+    }
+
+    /** Reads a non-negative long written by {@link RecordBuffer#putVarLong(long)}.
+     *
+     * @since 0.0.2
+     * @param buf Where the value is read from.
+     * @return The value.
+     */
+    static long getVarLong(ByteBuffer buf) {
+        long value = 0;
+        int shift = 0;
+        byte next;
+        do {
+            next = buf.get();
+            value |= (long)(next & 0x7F) << shift;
+            shift += 7;
+        } while((next & 0x80) != 0);
+        return value;
+    }
+
+    static int getSignedVarInt(ByteBuffer buf) {
+        int zigzag = getVarInt(buf);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    static long getSignedVarLong(ByteBuffer buf) {
+        long zigzag = getVarLong(buf);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    static String getString(ByteBuffer buf) {
+        byte[] utf = new byte[getVarInt(buf)];
+        buf.get(utf);
+        return new String(utf, StandardCharsets.UTF_8);
+    }
+
+    /** Stands in for a value the codec could not encode. */
+    @AllArgsConstructor
+    @Getter
+    static final class Opaque {
+        /** Name of the class of the value. */
+        private final String className;
+    }
+
+}
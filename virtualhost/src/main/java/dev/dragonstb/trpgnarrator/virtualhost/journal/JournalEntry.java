@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** An entry read from a {@link BrokerJournal journal}.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@Getter
+@AllArgsConstructor
+public final class JournalEntry {
+
+    /** Kind of the entry. */
+    private final JournalEntryType type;
+    /** Did the traffic come from the clients? Always {@code false} for timing signals. */
+    private final boolean inbound;
+    /** Nanoseconds passed since the previous entry when recording. */
+    private final long elapsedNanos;
+    /** Name of the channel. {@code null} for timing signals and for traffic to channels without name. */
+    private final String channel;
+    /** Headline of the message or code of the request. {@code null} for timing signals. */
+    private final String code;
+    /** Content of the message or parameter of the request. {@code null} if there is none or if it could not be recorded. */
+    private final Object content;
+    /** Name of the class of the content if the content could not be recorded, {@code null} otherwise. */
+    private final String opaqueType;
+    /** Time per frame of a timing signal. Zero for other entries. */
+    private final float tpf;
+
+    /** Tells if the entry can be fed into a virtual host, i.e. if its content could be recorded.
+     *
+     * @since 0.0.2
+     * @return {@code True} if the entry can be replayed.
+     */
+    public boolean isReplayable() {
+        return opaqueType == null;
+    }
+
+}
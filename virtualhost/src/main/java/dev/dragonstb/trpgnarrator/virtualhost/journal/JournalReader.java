@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.journal;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import lombok.NonNull;
+
+/** Reads a {@link BrokerJournal journal} entry by entry. The file is mapped into memory.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class JournalReader {
+
+    private final MappedByteBuffer buf;
+    /** Names of the channels, headlines, and fetch codes, per registry and indexed by the id in the journal. */
+    private final List<List<String>> names = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+
+    private JournalReader(MappedByteBuffer buf) {
+        this.buf = buf;
+    }
+
+    /** Opens a journal.
+     *
+     * @since 0.0.2
+     * @param file The journal.
+     * @return A reader positioned at the first entry.
+     * @throws UncheckedIOException If the file cannot be read.
+     * @throws IllegalStateException If the file is not a journal.
+     */
+    public static JournalReader open(@NonNull Path file) throws UncheckedIOException, IllegalStateException {
+        MappedByteBuffer buf;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            String errCode = VHostErrorCodes.V19546;
+            String use = VHostErrorCodes.assembleCodedMsg("Cannot read journal "+file+".", errCode);
+            throw new UncheckedIOException(use, e);
+        }
+
+        if(buf.remaining() < 5 || buf.getInt() != BrokerJournal.MAGIC || buf.get() != BrokerJournal.VERSION) {
+            throw corrupt(file+" is not a journal of version "+BrokerJournal.VERSION+".");
+        }
+        return new JournalReader(buf);
+    }
+
+    /** Tells if there are more entries.
+     *
+     * @since 0.0.2
+     * @return {@code True} if there are more entries.
+     */
+    public boolean hasNext() {
+        return buf.hasRemaining();
+    }
+
+    /** Reads the next entry.
+     *
+     * @since 0.0.2
+     * @return The entry.
+     * @throws NoSuchElementException If there are no more entries.
+     * @throws IllegalStateException If the journal is corrupt.
+     */
+    public JournalEntry next() throws NoSuchElementException, IllegalStateException {
+        if(!hasNext()) {
+            String errCode = VHostErrorCodes.V26871;
+            String use = VHostErrorCodes.assembleCodedMsg("No more entries in the journal.", errCode);
+            throw new NoSuchElementException(use);
+        }
+
+        try {
+            int kind = buf.get() & 0xFF;
+            while(kind == BrokerJournal.DEFINE) {
+                readDefinition();
+                kind = buf.get() & 0xFF;
+            }
+
+            boolean inbound = (kind & BrokerJournal.INBOUND) != 0;
+            long elapsed = JournalCodec.getVarLong(buf);
+            return switch (kind & ~BrokerJournal.INBOUND) {
+                case BrokerJournal.UPDATE
+                        -> new JournalEntry(JournalEntryType.update, false, elapsed, null, null, null, null, buf.getFloat());
+                case BrokerJournal.MESSAGE -> readTraffic(JournalEntryType.message, inbound, elapsed, BrokerJournal.HEADLINES);
+                case BrokerJournal.REQUEST -> readTraffic(JournalEntryType.request, inbound, elapsed, BrokerJournal.FETCH_CODES);
+                default -> throw corrupt("Unknown kind of record "+kind+" at position "+(buf.position()-1)+".");
+            };
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            // a host that is killed may leave a truncated last record
+            throw corrupt("Journal ends within a record.");
+        }
+    }
+
+    private void readDefinition() {
+        int registry = buf.get();
+        int id = JournalCodec.getVarInt(buf);
+        String name = JournalCodec.getString(buf);
+        List<String> list = names.get(registry);
+        while(list.size() <= id) {
+            list.add(null);
+        }
+        list.set(id, name);
+    }
+
+    private JournalEntry readTraffic(JournalEntryType type, boolean inbound, long elapsed, int registry) {
+        int channelId = JournalCodec.getVarInt(buf) - 1;
+        int codeId = JournalCodec.getVarInt(buf);
+        String channel = channelId >= 0 ? names.get(BrokerJournal.CHANNELS).get(channelId) : null;
+        String code = names.get(registry).get(codeId);
+
+        Object content = JournalCodec.decode(buf);
+        String opaqueType = null;
+        if(content instanceof JournalCodec.Opaque opaque) {
+            opaqueType = opaque.getClassName();
+            content = null;
+        }
+        return new JournalEntry(type, inbound, elapsed, channel, code, content, opaqueType, 0f);
+    }
+
+    private static IllegalStateException corrupt(String msg) {
+        String errCode = VHostErrorCodes.V26871;
+        String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+        return new IllegalStateException(use);
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.journal;
+
+import dev.dragonstb.trpgnarrator.virtualhost.broker.Receiver;
+import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
+import dev.dragonstb.trpgnarrator.virtualhost.broker.TimingOptions;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.ClockReceiver;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamed;
+import java.util.List;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+/** Wraps a broker and records the traffic passing through it in a {@link BrokerJournal journal} before handing it on.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class JournalingBroker implements SynchronousBroker {
+
+    /** The wrapped broker. */
+    @Getter(AccessLevel.PACKAGE) private final SynchronousBroker delegate;
+    /** Where the traffic is recorded. */
+    private final BrokerJournal journal;
+    /** Does the traffic passing this wrapper come from the clients? */
+    @Getter(AccessLevel.PACKAGE) private final boolean inbound;
+
+    JournalingBroker(@NonNull SynchronousBroker delegate, @NonNull BrokerJournal journal, boolean inbound) {
+        this.delegate = delegate;
+        this.journal = journal;
+        this.inbound = inbound;
+    }
+
+    @Override
+    public void registerToChannel(@NonNull Receiver receiver, @NonNull String channelName) {
+        delegate.registerToChannel(receiver, channelName);
+    }
+
+    @Override
+    public void registerToChannel(@NonNull Receiver receiver, int channelId) {
+        delegate.registerToChannel(receiver, channelId);
+    }
+
+    @Override
+    public void deregisterFromChannel(@NonNull Receiver receiver, @NonNull String channelName) {
+        delegate.deregisterFromChannel(receiver, channelName);
+    }
+
+    @Override
+    public void deregisterFromChannel(@NonNull Receiver receiver, int channelId) {
+        delegate.deregisterFromChannel(receiver, channelId);
+    }
+
+    @Override
+    public void send(@NonNull Message msg, @NonNull String channelName) {
+        send(msg, CodeRegistry.CHANNELS.find(channelName));
+    }
+
+    @Override
+    public void send(@NonNull Message msg, int channelId) {
+        journal.recordMessage(inbound, channelId, msg);
+        delegate.send(msg, channelId);
+    }
+
+    @Override
+    public List<Optional<Object>> request(@NonNull String channelName, @NonNull FetchCommand fetch, boolean skipEmpties) {
+        return request(CodeRegistry.CHANNELS.find(channelName), fetch, skipEmpties);
+    }
+
+    @Override
+    public List<Optional<Object>> request(int channelId, @NonNull FetchCommand fetch, boolean skipEmpties) {
+        journal.recordRequest(inbound, channelId, fetch);
+        return delegate.request(channelId, fetch, skipEmpties);
+    }
+
+    @Override
+    public Optional<Object> requestFirst(int channelId, @NonNull FetchCommand fetch) {
+        journal.recordRequest(inbound, channelId, fetch);
+        return delegate.requestFirst(channelId, fetch);
+    }
+
+    @Override
+    public void registerToTiming(@NonNull ClockReceiver receiver) {
+        delegate.registerToTiming(receiver);
+    }
+
+    @Override
+    public void registerToTiming(@NonNull ClockReceiver receiver, @NonNull TimingOptions options) {
+        delegate.registerToTiming(receiver, options);
+    }
+
+    @Override
+    public void deregisterFromTiming(@NonNull ClockReceiver receiver) {
+        delegate.deregisterFromTiming(receiver);
+    }
+
+    @Override
+    public void update(float tpf) throws IllegalArgumentException {
+        journal.recordUpdate(tpf);
+        delegate.update(tpf);
+    }
+
+    @Override
+    public void sendOutbound(@NonNull VHStreamed object) {
+        delegate.sendOutbound(object);
+    }
+
+}
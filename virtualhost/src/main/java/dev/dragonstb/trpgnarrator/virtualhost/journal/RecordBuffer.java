@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.journal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/** Growable byte array a single record of the journal is encoded into before it is appended to the file. Integers are written as
+ * variable-length quantities, so small ids and counts take a single byte.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+final class RecordBuffer {
+
+    private byte[] bytes = new byte[256];
+    private int size = 0;
+
+    /** Forgets the content, but keeps the capacity.
+     *
+     * @since 0.0.2
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /** Gets the underlying array, which is valid up to {@link #size()}.
+     *
+     * @since 0.0.2
+     * @return The array.
+     */
+    byte[] array() {
+        return bytes;
+    }
+
+    /** Gets the number of bytes written.
+     *
+     * @since 0.0.2
+     * @return Number of bytes.
+     */
+    int size() {
+        return size;
+    }
+
+    void putByte(int value) {
+        ensure(1);
+        bytes[size++] = (byte)value;
+    }
+
+    /** Writes a non-negative int in 7-bit groups, least significant group first.
+     *
+     * @since 0.0.2
+     * @param value The value.
+     */
+    void putVarInt(int value) {
+        putVarLong(value & 0xFFFFFFFFL);
+    }
+
+    /** Writes a non-negative long in 7-bit groups, least significant group first.
+     *
+     * @since 0.0.2
+     * @param value The value.
+     */
+    void putVarLong(long value) {
+        ensure(10);
+        while((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte)((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte)value;
+    }
+
+    /** Writes a signed int zigzag encoded, so numbers close to zero are short.
+     *
+     * @since 0.0.2
+     * @param value The value.
+     */
+    void putSignedVarInt(int value) {
+        putVarInt((value << 1) ^ (value >> 31));
+    }
+
+    /** Writes a signed long zigzag encoded, so numbers close to zero are short.
+     *
+     * @since 0.0.2
+     * @param value The value.
+     */
+    void putSignedVarLong(long value) {
+        putVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void putFloat(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        ensure(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            bytes[size++] = (byte)(bits >>> shift);
+        }
+    }
+
+    /** Writes the length of the UTF-8 representation and the representation itself.
+     *
+     * @since 0.0.2
+     * @param value The string.
+     */
+    void putString(String value) {
+        byte[] utf = value.getBytes(StandardCharsets.UTF_8);
+        putVarInt(utf.length);
+        ensure(utf.length);
+        System.arraycopy(utf, 0, bytes, size, utf.length);
+        size += utf.length;
+    }
+
+    private void ensure(int more) {
+        if(size + more > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + more));
+        }
+    }
+
+}
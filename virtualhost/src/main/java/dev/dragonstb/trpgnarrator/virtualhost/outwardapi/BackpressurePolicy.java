@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi;
+
+/** What the {@link BrokerType#asynchronous asynchronous broker} does when a message is sent to a channel whose queue is full. Requests
+ * are never dropped, they always wait for space in the queue.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public enum BackpressurePolicy {
+
+    /** The sender waits until there is space in the queue. */
+    block,
+    /** The oldest message in the queue is dropped. */
+    dropOldest,
+    /** A queued message that the new message supersedes is replaced by it. Only messages with
+     * {@link dev.dragonstb.trpgnarrator.virtualhost.generic.Coalescable coalescable} content supersede each other, if they have the same
+     * headline and coalescing key. If there is none, the oldest message is dropped. */
+    coalesce
+
+}
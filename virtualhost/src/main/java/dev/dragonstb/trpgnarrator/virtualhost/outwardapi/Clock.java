@@ -31,4 +31,14 @@ public interface Clock {
     public void setReceiver(ClockReceiver receiver);
 
     public void setPaused(boolean paused);
+
+    /** Gets how far the clock is into the next step, as a fraction of a step, for interpolating between the last two states of the game.
+     * Clocks that step by the time that has passed are never into the next step.
+     *
+     * @since 0.0.2
+     * @return Number between 0 (inclusive) and 1 (exclusive).
+     */
+    public default float getAlpha() {
+        return 0;
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi;
+
+import dev.dragonstb.trpgnarrator.virtualhost.broker.LatencyHistogram;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ClockStatsDTO;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.NonNull;
+
+/** Advances {@link FixedStepClock fixed-step clocks} at a steady rate from a timer thread of its own, without any engine. A single driver
+ * drives the clocks of many virtual hosts, so a server hosting many games does not need a thread per game.
+ * <br><br>
+ * The ticks are scheduled at absolute times. The thread parks until shortly before a tick is due and spins for the rest, so ticks start
+ * within microseconds. A tick that takes longer than the period is counted as an overrun, and the ticks missed meanwhile are left out
+ * rather than done in a burst; the clocks still get the full time that has passed. An exception thrown while advancing a clock is handed
+ * to the uncaught exception handler of the thread and counted, and the other clocks are advanced anyway.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class ClockDriver implements AutoCloseable {
+
+    /** Nanoseconds before a tick is due when the thread stops parking and starts spinning. */
+    private static final long SPIN_NANOS = 100_000;
+
+    private final long periodNanos;
+    /** The clocks, in the order of attaching. Replaced by a modified copy on each change. */
+    private volatile FixedStepClock[] clocks = new FixedStepClock[0];
+    private final LatencyHistogram jitter = new LatencyHistogram();
+    private final LatencyHistogram work = new LatencyHistogram();
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong overruns = new AtomicLong();
+    private final AtomicLong missedTicks = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    /** The timer thread, if started. */
+    private Thread thread;
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param hertz Ticks per second. Must be positive.
+     * @throws IllegalArgumentException If the rate is not positive.
+     */
+    public ClockDriver(float hertz) throws IllegalArgumentException {
+        if(!Float.isFinite(hertz) || hertz <= 0) {
+            String errCode = VHostErrorCodes.V24519;
+            String msg = "The rate of the clock driver must be a positive number of ticks per second, but is "+hertz+".";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+
+        this.periodNanos = Math.max(1, (long)(1e9 / hertz));
+    }
+
+    /** Attaches a clock, which is advanced from now on at each tick. The clock must not be {@link FixedStepClock#start() started} on its
+     * own. Attaching a clock twice does nothing.
+     *
+     * @since 0.0.2
+     * @param clock The clock.
+     */
+    public synchronized void attach(@NonNull FixedStepClock clock) {
+        FixedStepClock[] current = clocks;
+        for (FixedStepClock attached : current) {
+            if(attached == clock) {
+                return;
+            }
+        }
+
+        FixedStepClock[] longer = Arrays.copyOf(current, current.length + 1);
+        longer[current.length] = clock;
+        clocks = longer;
+    }
+
+    /** Detaches a clock, which is not advanced anymore after the current tick.
+     *
+     * @since 0.0.2
+     * @param clock The clock.
+     */
+    public synchronized void detach(@NonNull FixedStepClock clock) {
+        clocks = Arrays.stream(clocks).filter(attached -> attached != clock).toArray(FixedStepClock[]::new);
+    }
+
+    /** Starts the timer thread.
+     *
+     * @since 0.0.2
+     * @throws IllegalStateException If the driver has been started already.
+     */
+    public synchronized void start() throws IllegalStateException {
+        if(thread != null) {
+            String errCode = VHostErrorCodes.V88314;
+            String use = VHostErrorCodes.assembleCodedMsg("The clock driver has been started already.", errCode);
+            throw new IllegalStateException(use);
+        }
+
+        thread = Thread.ofPlatform().name("clock driver").daemon().start(this::run);
+    }
+
+    private void run() {
+        long last = System.nanoTime();
+        long due = last + periodNanos;
+        while(awaitTick(due)) {
+            long start = System.nanoTime();
+            jitter.record(start - due);
+            float elapsed = (start - last) / 1e9f;
+            last = start;
+
+            for (FixedStepClock clock : clocks) {
+                try {
+                    clock.advance(elapsed);
+                } catch (RuntimeException e) {
+                    // the other hosts keep on ticking
+                    failures.incrementAndGet();
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+            }
+
+            long end = System.nanoTime();
+            work.record(end - start);
+            ticks.incrementAndGet();
+            due += periodNanos;
+            if(end > due) {
+                overruns.incrementAndGet();
+                long missed = (end - due) / periodNanos + 1;
+                missedTicks.addAndGet(missed);
+                due += missed * periodNanos;
+            }
+        }
+    }
+
+    /** Waits until the tick is due.
+     *
+     * @param due When the tick is due, from {@link System#nanoTime()}.
+     * @return {@code False} if the thread has been interrupted meanwhile.
+     */
+    private boolean awaitTick(long due) {
+        long left;
+        while((left = due - System.nanoTime()) > SPIN_NANOS) {
+            LockSupport.parkNanos(left - SPIN_NANOS);
+            if(Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        while(due - System.nanoTime() > 0) {
+            Thread.onSpinWait();
+        }
+        return !Thread.currentThread().isInterrupted();
+    }
+
+    /** Takes a snapshot of the statistics.
+     *
+     * @since 0.0.2
+     * @return The snapshot.
+     */
+    public ClockStatsDTO getStats() {
+        return new ClockStatsDTO(ticks.get(), overruns.get(), missedTicks.get(), failures.get(), jitter.snapshot(), work.snapshot());
+    }
+
+    /** Stops the timer thread and waits for it to end. Does nothing if the driver has not been started.
+     *
+     * @since 0.0.2
+     */
+    @Override
+    public synchronized void close() {
+        if(thread == null) {
+            return;
+        }
+
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+}
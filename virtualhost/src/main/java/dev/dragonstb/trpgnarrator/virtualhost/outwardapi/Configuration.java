@@ -20,7 +20,9 @@
 
 package dev.dragonstb.trpgnarrator.virtualhost.outwardapi;
 
+import dev.dragonstb.trpgnarrator.virtualhost.journal.BrokerJournal;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import lombok.Setter;
 
@@ -36,6 +38,26 @@ public final class Configuration {
 
     private ScheduledThreadPoolExecutor executor;
 
+    private PathfindingStrategy pathfindingStrategy;
+
+    private BrokerType brokerType;
+
+    private Executor brokerExecutor;
+
+    private Integer brokerQueueCapacity;
+
+    private BackpressurePolicy backpressurePolicy;
+
+    private Boolean brokerMetrics;
+
+    private Float brokerMetricsInterval;
+
+    private BrokerJournal journal;
+
+    private FigurineUpdateMode figurineUpdateMode;
+
+    private Executor figurineExecutor;
+
     /** Gets the clock.
      *
      * @since 0.0.2
@@ -56,4 +78,105 @@ public final class Configuration {
         return Optional.ofNullable(executor);
     }
 
+    /** Gets the pathfinding strategy.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return The pathfinding strategy if present.
+     */
+    public Optional<PathfindingStrategy> getPathfindingStrategy() {
+        return Optional.ofNullable(pathfindingStrategy);
+    }
+
+    /** Gets the type of the broker.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return The type of the broker if present.
+     */
+    public Optional<BrokerType> getBrokerType() {
+        return Optional.ofNullable(brokerType);
+    }
+
+    /** Gets the executor delivering the messages of the {@link BrokerType#asynchronous asynchronous broker}.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return The executor if present.
+     */
+    public Optional<Executor> getBrokerExecutor() {
+        return Optional.ofNullable(brokerExecutor);
+    }
+
+    /** Gets the capacity of the queue of each channel of the {@link BrokerType#asynchronous asynchronous broker}.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return The capacity if present.
+     */
+    public Optional<Integer> getBrokerQueueCapacity() {
+        return Optional.ofNullable(brokerQueueCapacity);
+    }
+
+    /** Gets what the {@link BrokerType#asynchronous asynchronous broker} does with messages sent to a full queue.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return The policy if present.
+     */
+    public Optional<BackpressurePolicy> getBackpressurePolicy() {
+        return Optional.ofNullable(backpressurePolicy);
+    }
+
+    /** Gets whether the broker records metrics.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return Whether the broker records metrics, if present.
+     */
+    public Optional<Boolean> getBrokerMetrics() {
+        return Optional.ofNullable(brokerMetrics);
+    }
+
+    /** Gets the seconds between two streams of the broker metrics to the clients. Zero means that the metrics are not streamed.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return The interval if present.
+     */
+    public Optional<Float> getBrokerMetricsInterval() {
+        return Optional.ofNullable(brokerMetricsInterval);
+    }
+
+    /** Gets the journal the traffic of the broker is recorded in. The caller owns the journal and closes it when done.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return The journal if present.
+     */
+    public Optional<BrokerJournal> getJournal() {
+        return Optional.ofNullable(journal);
+    }
+
+    /** Gets how the figurines are moved each tick.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return The mode if present.
+     */
+    public Optional<FigurineUpdateMode> getFigurineUpdateMode() {
+        return Optional.ofNullable(figurineUpdateMode);
+    }
+
+    /** Gets the executor moving the chunks of figurines in {@link FigurineUpdateMode#parallel parallel mode}. Must not be the
+     * {@link #getExecutor() executor} running the clock, as the clock waits for the chunks. The builder rejects such a configuration.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return The executor if present.
+     */
+    public Optional<Executor> getFigurineExecutor() {
+        return Optional.ofNullable(figurineExecutor);
+    }
+
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi;
+
+/** To specify how the virtual host moves the figurines each tick.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public enum FigurineUpdateMode {
+
+    /** All figurines are moved on the thread of the clock. Best for few moving figurines. */
+    sequential,
+    /** Large numbers of moving figurines are split into chunks, which are moved on an executor while the thread of the clock waits for
+     * them. Few moving figurines are still moved sequentially, as handing them over would take longer than moving them. */
+    parallel
+
+}
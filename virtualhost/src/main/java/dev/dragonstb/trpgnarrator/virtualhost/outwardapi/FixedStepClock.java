@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.Getter;
+
+/** A clock that steps the game forward in steps of fixed length, independent of how often and how regularly it is advanced. Passed time is
+ * collected, and a step is done for each full step length collected. If the clock falls behind, at most {@link #getMaxCatchUpSteps() a
+ * few steps} are done at once and the rest of the backlog is dropped, so a hiccup does not turn into a burst of steps.
+ * <br><br>
+ * The clock is either advanced by the caller, e.g. from the update loop of an engine, or {@link #start() started} on a thread of its own,
+ * e.g. for a headless host.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class FixedStepClock implements Clock, AutoCloseable {
+
+    /** Default for the maximum number of steps done at once. */
+    public static final int DEFAULT_MAX_CATCH_UP_STEPS = 5;
+
+    /** Length of a step, in seconds. */
+    @Getter private final float step;
+    /** Maximum number of steps done at once. */
+    @Getter private final int maxCatchUpSteps;
+    private final long stepNanos;
+    private volatile ClockReceiver receiver;
+    private volatile boolean paused = false;
+    /** Seconds collected, but not stepped yet. Only touched by the thread advancing the clock. */
+    private double accumulator = 0;
+    /** Fraction of a step collected after the last step. */
+    private volatile float alpha = 0;
+    private final AtomicLong steps = new AtomicLong();
+    private final AtomicLong droppedSteps = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    /** Thread advancing the clock, if started. */
+    private Thread thread;
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param step Length of a step, in seconds. Must be positive.
+     * @param maxCatchUpSteps Maximum number of steps done at once. Must be positive.
+     * @throws IllegalArgumentException If the step length or the maximum number of steps is not positive.
+     */
+    public FixedStepClock(float step, int maxCatchUpSteps) throws IllegalArgumentException {
+        if(!Float.isFinite(step) || step <= 0 || maxCatchUpSteps < 1) {
+            String errCode = VHostErrorCodes.V15073;
+            String msg = "Step length and maximum number of catch-up steps must be positive, but are "+step+" s and "+maxCatchUpSteps+".";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+
+        this.step = step;
+        this.maxCatchUpSteps = maxCatchUpSteps;
+        this.stepNanos = Math.max(1, (long)(step * 1e9));
+    }
+
+    /** Creates a clock doing the given number of steps per second, catching up at most {@value #DEFAULT_MAX_CATCH_UP_STEPS} steps.
+     *
+     * @since 0.0.2
+     * @param hertz Steps per second. Must be positive.
+     * @return The clock.
+     * @throws IllegalArgumentException If the rate is not positive.
+     */
+    public static FixedStepClock atRate(float hertz) throws IllegalArgumentException {
+        return new FixedStepClock(1f / hertz, DEFAULT_MAX_CATCH_UP_STEPS);
+    }
+
+    @Override
+    public void setReceiver(ClockReceiver receiver) {
+        this.receiver = receiver;
+    }
+
+    /** Pauses or resumes the clock. Time passing while paused is not collected.
+     *
+     * @since 0.0.2
+     * @param paused {@code True} for pausing.
+     */
+    @Override
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /** Gets the fraction of a step collected after the last step, for interpolating between the last two states of the game.
+     *
+     * @since 0.0.2
+     * @return Number between 0 (inclusive) and 1 (exclusive).
+     */
+    @Override
+    public float getAlpha() {
+        return alpha;
+    }
+
+    /** Gets the number of steps done.
+     *
+     * @since 0.0.2
+     * @return Number of steps since the clock was created.
+     */
+    public long getSteps() {
+        return steps.get();
+    }
+
+    /** Gets the number of steps dropped because the clock fell behind by more than the maximum number of catch-up steps.
+     *
+     * @since 0.0.2
+     * @return Number of dropped steps since the clock was created.
+     */
+    public long getDroppedSteps() {
+        return droppedSteps.get();
+    }
+
+    /** Gets the number of times the clock has been advanced on its {@link #start() own thread} and the receiver has thrown an exception.
+     * The exceptions are handed to the uncaught exception handler of the thread.
+     *
+     * @since 0.0.2
+     * @return Number of failures since the clock was created.
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /** Collects passed time and does the steps that have become due. Must not be called while the clock is {@link #start() started}.
+     *
+     * @since 0.0.2
+     * @param elapsed Seconds passed since the last call.
+     * @return Number of steps done.
+     * @throws IllegalArgumentException If the time is negative or not finite.
+     */
+    public int advance(float elapsed) throws IllegalArgumentException {
+        if(!Float.isFinite(elapsed) || elapsed < 0) {
+            String errCode = VHostErrorCodes.V66391;
+            String msg = "Passed time must be a non-negative number of seconds, but is "+elapsed+".";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+        if(paused) {
+            return 0;
+        }
+
+        accumulator += elapsed;
+        int due = (int)Math.min(maxCatchUpSteps, Math.floor(accumulator / step));
+        accumulator -= (double)due * step;
+        if(accumulator >= step) {
+            // fallen behind too far, keep only the fraction of a step
+            long dropped = (long)Math.floor(accumulator / step);
+            accumulator -= (double)dropped * step;
+            droppedSteps.addAndGet(dropped);
+        }
+        // set before stepping, so telemetry sent in the last step already carries it
+        alpha = (float)Math.min(accumulator / step, Math.nextDown(1f));
+
+        for (int idx = 0; idx < due; idx++) {
+            ClockReceiver current = receiver;
+            if(current != null) {
+                current.update(step);
+            }
+            steps.incrementAndGet();
+        }
+        return due;
+    }
+
+    /** Starts a thread of its own that advances the clock.
+     *
+     * @since 0.0.2
+     * @throws IllegalStateException If the clock has been started already.
+     */
+    public synchronized void start() throws IllegalStateException {
+        if(thread != null) {
+            String errCode = VHostErrorCodes.V71826;
+            String use = VHostErrorCodes.assembleCodedMsg("The clock has been started already.", errCode);
+            throw new IllegalStateException(use);
+        }
+
+        thread = Thread.ofPlatform().name("fixed step clock").daemon().start(this::run);
+    }
+
+    private void run() {
+        long last = System.nanoTime();
+        while(!Thread.currentThread().isInterrupted()) {
+            long now = System.nanoTime();
+            try {
+                advance((now - last) / 1e9f);
+            } catch (RuntimeException e) {
+                // the clock keeps on ticking, a single failing step must not stop the game
+                failures.incrementAndGet();
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+            last = now;
+            // sleep until the next step is due
+            LockSupport.parkNanos(Math.max(1, (long)((1f - alpha) * stepNanos)));
+        }
+    }
+
+    /** Stops the thread of the clock and waits for it to end. Does nothing if the clock has not been started.
+     *
+     * @since 0.0.2
+     */
+    @Override
+    public synchronized void close() {
+        if(thread == null) {
+            return;
+        }
+
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import java.util.Collection;
+import java.util.Set;
+import lombok.NonNull;
+
+/** Immutable area of interest of a client. The virtual host only streams the telemetry of the figurines within the area to the client,
+ * and tells the client when figurines enter or leave the area. An area is either everything, a circle around a focus, or a set of fields.
+ * <br><br>
+ * Figurines that are not located on the board are never within an area, unless the area is everything.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class InterestArea {
+
+    /** The whole board. Receivers of streamed data are interested in everything unless told otherwise. */
+    public static final InterestArea EVERYTHING = new InterestArea(null, 0, null);
+
+    /** Focus of the circle, or {@code null} if the area is not a circle. */
+    private final Vector3f focus;
+    /** Radius of the circle in WU. */
+    private final float radius;
+    /** Ids of the fields, or {@code null} if the area is not a set of fields. */
+    private final Set<Integer> fieldIds;
+
+    private InterestArea(Vector3f focus, float radius, Set<Integer> fieldIds) {
+        this.focus = focus;
+        this.radius = radius;
+        this.fieldIds = fieldIds;
+    }
+
+    /** Creates a circle around the focus, typically where the camera of the client looks at. Only the horizontal distance counts, so the
+     * area is actually a cylinder.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param focus Centre of the circle.
+     * @param radius Radius of the circle in WU. Figurines at exactly this distance are within the area.
+     * @return The area.
+     * @throws IllegalArgumentException If the radius is not a non-negative, finite number.
+     */
+    public static InterestArea around(@NonNull Vector3f focus, float radius) throws IllegalArgumentException {
+        if(!(radius >= 0) || Float.isInfinite(radius)) {
+            String errCode = VHostErrorCodes.V39264;
+            String msg = "The radius of an area of interest must be a non-negative, finite number, but is "+radius+".";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+        return new InterestArea(focus.clone(), radius, null);
+    }
+
+    /** Creates an area consisting of the given fields.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param fieldIds Ids of the fields.
+     * @return The area.
+     */
+    public static InterestArea ofFields(@NonNull Collection<Integer> fieldIds) {
+        return new InterestArea(null, 0, Set.copyOf(fieldIds));
+    }
+
+    /** Tells if the area is the whole board.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return Whether the area is everything.
+     */
+    public boolean isEverything() {
+        return focus == null && fieldIds == null;
+    }
+
+    /** Tells if the area is a circle around a focus.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return Whether the area is a circle.
+     */
+    public boolean isCircle() {
+        return focus != null;
+    }
+
+    /** Gets the focus of the circle.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return A copy of the focus, or {@code null} if the area is not a circle.
+     */
+    public Vector3f getFocus() {
+        return focus != null ? focus.clone() : null;
+    }
+
+    /** Gets the radius of the circle.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @return Radius in WU, or zero if the area is not a circle.
+     */
+    public float getRadius() {
+        return radius;
+    }
+
+    /** Tells if a figurine at the given position is within the area.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param fieldId Id of the field the figurine is located on.
+     * @param x X coordinate of the figurine.
+     * @param z Z coordinate of the figurine.
+     * @return Whether the figurine is within the area.
+     */
+    public boolean contains(int fieldId, float x, float z) {
+        if(focus != null) {
+            float dx = x - focus.x;
+            float dz = z - focus.z;
+            return dx * dx + dz * dz <= radius * radius;
+        }
+        return fieldIds == null || fieldIds.contains(fieldId);
+    }
+
+}
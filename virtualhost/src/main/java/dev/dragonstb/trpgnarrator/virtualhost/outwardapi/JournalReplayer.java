@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi;
+
+import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
+import dev.dragonstb.trpgnarrator.virtualhost.journal.JournalEntry;
+import dev.dragonstb.trpgnarrator.virtualhost.journal.JournalReader;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReplayStatsDTO;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/** Feeds a recorded {@link dev.dragonstb.trpgnarrator.virtualhost.journal.BrokerJournal journal} into a fresh virtual host, as fast as
+ * possible. Only the traffic from the clients and the timing signals are fed in, in the recorded order; the traffic between the components
+ * of the host follows from them. The timing signals come from the journal rather than from the clock of the configuration.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@NoArgsConstructor
+@Accessors(chain = true)
+@Setter
+public final class JournalReplayer {
+
+    /** Type of the virtual host the journal is replayed on. */
+    private HostType type = HostType.local;
+
+    /** Builds a virtual host and replays the journal on it. The clock of the configuration is replaced. Put a journal into the configuration
+     * to record the replay, e.g. for comparing it with the original.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param file The journal.
+     * @param conf Configuration of the virtual host. Must provide an executor.
+     * @return Summary of the replay.
+     * @throws NullPointerException If the configuration provides no executor.
+     * @throws UncheckedIOException If the journal cannot be read.
+     * @throws IllegalStateException If the journal is corrupt.
+     */
+    public ReplayStatsDTO replay(@NonNull Path file, @NonNull Configuration conf) throws NullPointerException, UncheckedIOException,
+            IllegalStateException {
+        if(conf.getExecutor().isEmpty()) {
+            String errCode = VHostErrorCodes.V35102;
+            String msg = "Replaying a journal needs an executor for the concurrent events.";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new NullPointerException(use);
+        }
+
+        JournalReader reader = JournalReader.open(file);
+        ReplayClock clock = new ReplayClock();
+        conf.setClock(clock);
+        SynchronousBroker[] inbound = new SynchronousBroker[1];
+        new VirtualHostBuilder(type).build(conf, broker -> inbound[0] = broker);
+
+        long messages = 0;
+        long requests = 0;
+        long updates = 0;
+        long skipped = 0;
+        long start = System.nanoTime();
+        while(reader.hasNext()) {
+            JournalEntry entry = reader.next();
+            switch (entry.getType()) {
+                case update -> {
+                    clock.tick(entry.getTpf());
+                    updates++;
+                }
+                case message -> {
+                    if(!entry.isInbound()) {
+                        continue;
+                    }
+                    if(!entry.isReplayable() || entry.getChannel() == null) {
+                        skipped++;
+                        continue;
+                    }
+                    inbound[0].send(new Message(entry.getCode(), entry.getContent()), entry.getChannel());
+                    messages++;
+                }
+                case request -> {
+                    if(!entry.isInbound()) {
+                        continue;
+                    }
+                    if(!entry.isReplayable() || entry.getChannel() == null) {
+                        skipped++;
+                        continue;
+                    }
+                    inbound[0].request(entry.getChannel(), new FetchCommand(entry.getCode(), entry.getContent()), true);
+                    requests++;
+                }
+            }
+        }
+
+        return new ReplayStatsDTO(messages, requests, updates, skipped, System.nanoTime() - start);
+    }
+
+    /** Clock that ticks whenever the journal says so. */
+    private static final class ReplayClock implements Clock {
+
+        private ClockReceiver receiver;
+
+        @Override
+        public void setReceiver(ClockReceiver receiver) {
+            this.receiver = receiver;
+        }
+
+        @Override
+        public void setPaused(boolean paused) {
+            // the journal decides when time passes
+        }
+
+        private void tick(float tpf) {
+            if(receiver != null) {
+                receiver.update(tpf);
+            }
+        }
+
+    }
+
+}
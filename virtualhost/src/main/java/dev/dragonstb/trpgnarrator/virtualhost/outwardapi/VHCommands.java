@@ -30,6 +30,8 @@ public enum VHCommands {
     fetchBoard,
     /** Fetch all figurines. */
     fetchFigurines,
+    /** Fetch all fields reachable from a given field with a given amount of movement points. */
+    fetchReachableFields,
 
     /** Set the path of a figurine to a given field. The figurine will follow that path then. */
     setPathForFigurine
@@ -27,6 +27,15 @@ public enum VHStreamTypes {
 
     /** Telemetry data. */
     telemetry,
+    /** Telemetry data in the {@link dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryFormat packed format}, as a
+     * {@link java.nio.ByteBuffer}. */
+    packedTelemetry,
+    /** Figurines entering or leaving the {@link InterestArea area of interest} of the receiver, as
+     * {@link dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.InterestChangeDTO}. Sent right before the telemetry that first
+     * includes or leaves out the figurines. */
+    interest,
+    /** Metrics of the virtual host. */
+    metrics,
     /** Unknown type. Usually indicated that something went wrong */
     unknown
 }
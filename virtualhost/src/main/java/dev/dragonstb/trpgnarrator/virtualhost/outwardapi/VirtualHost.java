@@ -44,4 +44,33 @@ public interface VirtualHost {
      * @param receiver Receiver.
      */
     public void addStreamReceiver(@NonNull StreamReceiver receiver);
+
+    /** Registers a stream receiver that gets the telemetry {@link VHStreamTypes#packedTelemetry packed}, each packet as difference to
+     * the last packet the receiver has {@link #acknowledgeTelemetry acknowledged}. Everything else is streamed as usual. The buffer of a
+     * packet is reused, so the receiver must read it before returning. This method does nothing in case of the given receiver being
+     * already registered.
+     *
+     * @since 0.0.2
+     * @param receiver Receiver.
+     */
+    public void addPackedStreamReceiver(@NonNull StreamReceiver receiver);
+
+    /** Tells the virtual host that a receiver has decoded a packet of telemetry, so later packets can refer to it.
+     *
+     * @since 0.0.2
+     * @param receiver Receiver registered for packed telemetry.
+     * @param sequence Sequence number of the packet.
+     */
+    public void acknowledgeTelemetry(@NonNull StreamReceiver receiver, int sequence);
+
+    /** Sets the area of interest of a receiver. The receiver then only gets the telemetry of the figurines within the area, together
+     * with {@link VHStreamTypes#interest notifications} about figurines entering and leaving the area. Figurines entering the area are
+     * streamed right away, even if they have not changed. Receivers get the telemetry of all figurines until their area is set, and again
+     * after it is set to {@link InterestArea#EVERYTHING}. Applies to plain and to packed receivers.
+     *
+     * @since 0.0.2
+     * @param receiver Receiver.
+     * @param area The area of interest.
+     */
+    public void setInterest(@NonNull StreamReceiver receiver, @NonNull InterestArea area);
 }
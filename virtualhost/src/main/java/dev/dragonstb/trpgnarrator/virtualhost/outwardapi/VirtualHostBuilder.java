@@ -21,6 +21,8 @@
 package dev.dragonstb.trpgnarrator.virtualhost.outwardapi;
 
 import dev.dragonstb.trpgnarrator.virtualhost.board.BoardBuilder;
+import dev.dragonstb.trpgnarrator.virtualhost.broker.AsyncBrokerFactory;
+import dev.dragonstb.trpgnarrator.virtualhost.broker.InstrumentedBrokerFactory;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.SyncBrokerFactory;
 import lombok.NoArgsConstructor;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
@@ -30,8 +32,13 @@ import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.figurine.FigurinesBuilder;
 import dev.dragonstb.trpgnarrator.virtualhost.hostconnector.HostConnector;
 import dev.dragonstb.trpgnarrator.virtualhost.hostconnector.HostConnectorBuilder;
+import dev.dragonstb.trpgnarrator.virtualhost.journal.BrokerJournal;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.function.Consumer;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.Accessors;
@@ -58,7 +65,22 @@ public final class VirtualHostBuilder {
         this.type = type;
     }
 
-    public VirtualHost build(Configuration conf) throws NullPointerException, UnsupportedOperationException, ClassCastException {
+    public VirtualHost build(Configuration conf) throws NullPointerException, UnsupportedOperationException, ClassCastException,
+            IllegalArgumentException {
+        return build(conf, broker -> {});
+    }
+
+    /** Builds the virtual host and hands out the broker the host connector talks to, so traffic can be fed in as if it came from the
+     * clients.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param conf Configuration. Might be {@code null}.
+     * @param connectorBroker Receives the broker of the host connector.
+     * @return The virtual host.
+     */
+    VirtualHost build(Configuration conf, @NonNull Consumer<SynchronousBroker> connectorBroker) throws NullPointerException,
+            UnsupportedOperationException, ClassCastException, IllegalArgumentException {
         String errCode = VHostErrorCodes.V46199;
         if(type == null) {
             String msg = "The type of the virtual host must be specified, but it is not.";
@@ -75,8 +97,16 @@ public final class VirtualHostBuilder {
             throw new UnsupportedOperationException(use);
         }
 
-        SynchronousBroker broker = SyncBrokerFactory.createBroker(connector);
-        connector.linkBroker(broker);
+        SynchronousBroker broker = createBroker(connector, conf);
+        SynchronousBroker inbound = broker;
+        Optional<BrokerJournal> journal = conf != null ? conf.getJournal() : Optional.empty();
+        if(journal.isPresent()) {
+            // traffic from the host connector is told apart from the traffic of the components
+            inbound = journal.get().wrapInbound(broker);
+            broker = journal.get().wrapInternal(broker);
+        }
+        connector.linkBroker(inbound);
+        connectorBroker.accept(inbound);
 
         // setup clockwork
         Clock clock = null;
@@ -101,6 +131,12 @@ public final class VirtualHostBuilder {
         if(executor == null) {
             // TODO: setup internal executor
         }
+        Executor figurineExecutor = figurineExecutorOf(conf, executor);
+
+        PathfindingStrategy pathfindingStrategy = PathfindingStrategy.flat;
+        if(conf != null) {
+            pathfindingStrategy = conf.getPathfindingStrategy().orElse(PathfindingStrategy.flat);
+        }
 
         // setup concurrent event management, which registers itself to the broker
         new CEMBuilder()
@@ -110,15 +146,76 @@ public final class VirtualHostBuilder {
                 .build();
 
         // the board registers itself to the broker
-        new BoardBuilder().setBroker(broker).build();
+        new BoardBuilder().setBroker(broker).setExecutor(executor).setPathfindingStrategy(pathfindingStrategy).build();
 
         // the figurine controller registers itself to the cbroker
-        new FigurinesBuilder().setBroker(broker).build();
+        new FigurinesBuilder().setBroker(broker).setExecutor(figurineExecutor).build();
 
         VirtualHost host = asVirtualHost(connector);
         return host;
     }
 
+    /** Gets the executor moving the figurines in chunks, as specified in the configuration. The common fork-join pool is the default in
+     * {@link FigurineUpdateMode#parallel parallel mode}.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param conf Configuration. Might be {@code null}.
+     * @param executor The executor of the virtual host, which runs the clock. Might be {@code null}.
+     * @return The executor, or {@code null} if the figurines are moved sequentially.
+     * @throws IllegalArgumentException If the configured executor is the executor of the virtual host, as the clock waits for the chunks.
+     */
+    static Executor figurineExecutorOf(Configuration conf, ScheduledThreadPoolExecutor executor) throws IllegalArgumentException {
+        if(conf == null) {
+            return null;
+        }
+
+        Optional<Executor> configured = conf.getFigurineExecutor();
+        if(executor != null && configured.isPresent() && configured.get() == executor) {
+            String errCode = VHostErrorCodes.V54481;
+            String msg = "The figurines must not be moved by the executor of the virtual host, as the clock waits for them.";
+            String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+            throw new IllegalArgumentException(use);
+        }
+
+        if(conf.getFigurineUpdateMode().orElse(FigurineUpdateMode.sequential) == FigurineUpdateMode.sequential) {
+            return null;
+        }
+        return configured.orElseGet(ForkJoinPool::commonPool);
+    }
+
+    /** Creates the broker of the type specified in the configuration, instrumented if the configuration asks for metrics. The synchronous
+     * broker without metrics is the default.
+     *
+     * @since 0.0.2
+     * @author Dragonstb
+     * @param connector Connector to the outside world.
+     * @param conf Configuration. Might be {@code null}.
+     * @return The broker.
+     */
+    private SynchronousBroker createBroker(@NonNull HostConnector connector, Configuration conf) {
+        if(conf == null) {
+            return SyncBrokerFactory.createBroker(connector);
+        }
+
+        SynchronousBroker broker;
+        if(conf.getBrokerType().orElse(BrokerType.synchronous) == BrokerType.synchronous) {
+            broker = SyncBrokerFactory.createBroker(connector);
+        }
+        else {
+            Executor brokerExecutor = conf.getBrokerExecutor().orElseGet(Executors::newVirtualThreadPerTaskExecutor);
+            int capacity = conf.getBrokerQueueCapacity().orElse(AsyncBrokerFactory.DEFAULT_QUEUE_CAPACITY);
+            BackpressurePolicy policy = conf.getBackpressurePolicy().orElse(BackpressurePolicy.block);
+            broker = AsyncBrokerFactory.createBroker(connector, brokerExecutor, capacity, policy);
+        }
+
+        if(conf.getBrokerMetrics().orElse(false)) {
+            float interval = conf.getBrokerMetricsInterval().orElse(InstrumentedBrokerFactory.DEFAULT_STREAM_INTERVAL);
+            broker = InstrumentedBrokerFactory.instrument(broker, interval);
+        }
+        return broker;
+    }
+
     /** Casts the connector as a virtual host. Currently, all classes implementing HostConnector also implement VirtualHost at the same time
      * and vice versa.
      *
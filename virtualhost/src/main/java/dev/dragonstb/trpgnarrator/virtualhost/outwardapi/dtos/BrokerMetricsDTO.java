@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/** Immutable snapshot of the metrics of the broker.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public final class BrokerMetricsDTO {
+
+    /** Metrics of the channels, sorted by name. */
+    private final List<ChannelMetricsDTO> channels;
+    /** Metrics of the message headlines, sorted by headline. */
+    private final List<CodeMetricsDTO> headlines;
+    /** Metrics of the fetch codes, sorted by code. */
+    private final List<CodeMetricsDTO> fetchCodes;
+    /** Time it took to propagate the timing signal to all clock receivers. */
+    private final LatencyStatsDTO updateLatency;
+    /** Timings of the phases of the tick, in the order of the phases. */
+    private final List<PhaseTimingDTO> phases;
+    /** Number of objects sent to the clients. */
+    private final long outbound;
+    /** Number of messages not delivered because a later message superseded them. */
+    private final long coalesced;
+    /** Number of messages dropped because the queue of a channel was full. */
+    private final long dropped;
+
+}
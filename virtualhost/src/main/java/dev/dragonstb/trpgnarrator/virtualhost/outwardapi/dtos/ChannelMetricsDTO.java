@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/** Immutable snapshot of the metrics of one channel of the broker.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public final class ChannelMetricsDTO {
+
+    /** Name of the channel. */
+    private final String channel;
+    /** Number of messages sent to the channel. */
+    private final long messages;
+    /** Number of requests made to the channel. */
+    private final long requests;
+    /** Number of deliveries to single receivers, i.e. the sum of the fan-outs of all messages and requests. */
+    private final long deliveries;
+    /** Time it took to send a message. For an asynchronous broker, this is the time to queue it. */
+    private final LatencyStatsDTO sendLatency;
+    /** Time it took to answer a request. */
+    private final LatencyStatsDTO requestLatency;
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/** Immutable snapshot of the statistics of a clock driver.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public final class ClockStatsDTO {
+
+    /** Number of ticks. */
+    private final long ticks;
+    /** Number of ticks that took longer than the period of the driver. */
+    private final long overruns;
+    /** Number of ticks left out to get back on schedule after overruns. */
+    private final long missedTicks;
+    /** Number of times advancing a clock has thrown an exception. */
+    private final long failures;
+    /** How late the ticks started. */
+    private final LatencyStatsDTO jitter;
+    /** How long it took to advance all clocks in a tick. */
+    private final LatencyStatsDTO work;
+
+}
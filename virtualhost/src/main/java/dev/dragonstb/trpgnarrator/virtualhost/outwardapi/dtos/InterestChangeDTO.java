@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos;
+
+import java.util.Collection;
+import java.util.List;
+import lombok.Getter;
+import lombok.NonNull;
+
+/** Immutable notification about figurines that have entered or left the
+ * {@link dev.dragonstb.trpgnarrator.virtualhost.outwardapi.InterestArea area of interest} of a client since the last telemetry.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@Getter
+public final class InterestChangeDTO {
+
+    /** Ids of the figurines that have entered the area. Their telemetry is streamed from now on. */
+    private final List<String> entered;
+    /** Ids of the figurines that have left the area, or are gone altogether. Their telemetry is not streamed anymore. */
+    private final List<String> left;
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param entered Ids of the figurines that have entered the area.
+     * @param left Ids of the figurines that have left the area.
+     */
+    public InterestChangeDTO(@NonNull Collection<String> entered, @NonNull Collection<String> left) {
+        this.entered = List.copyOf(entered);
+        this.left = List.copyOf(left);
+    }
+
+}
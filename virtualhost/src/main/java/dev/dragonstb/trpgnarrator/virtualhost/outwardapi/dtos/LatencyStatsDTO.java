@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/** Immutable snapshot of a latency histogram. All times are in nanoseconds. Percentiles are upper bounds of the buckets of the histogram,
+ * which are at most 12.5 % wider than the value itself.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public final class LatencyStatsDTO {
+
+    /** Number of recorded times. */
+    private final long count;
+    /** Mean of the recorded times. */
+    private final long meanNanos;
+    /** Median of the recorded times. */
+    private final long p50Nanos;
+    /** 90th percentile of the recorded times. */
+    private final long p90Nanos;
+    /** 99th percentile of the recorded times. */
+    private final long p99Nanos;
+    /** Longest recorded time. */
+    private final long maxNanos;
+
+}
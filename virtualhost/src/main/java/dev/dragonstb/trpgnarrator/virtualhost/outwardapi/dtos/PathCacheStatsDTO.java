@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/** Immutable snapshot of the counters of the path cache.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public final class PathCacheStatsDTO {
+
+    /** Number of lookups that found a cached path. */
+    private final long hits;
+    /** Number of lookups that did not find a cached path. */
+    private final long misses;
+    /** Number of paths dropped for making room for newer paths. */
+    private final long evictions;
+    /** Number of times all cached paths were dropped because the board has changed. */
+    private final long invalidations;
+    /** Number of paths currently in the cache. */
+    private final int size;
+    /** Maximum number of paths the cache holds. */
+    private final int capacity;
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos;
+
+import java.util.Arrays;
+import lombok.Getter;
+import lombok.NonNull;
+
+/** Immutable result of a search for all fields reachable from a field with a limited amount of movement points. Entry {@code i} consists
+ * of the id of a reachable field, the cost of reaching it, and the id of the field preceding it on the cheapest path. The start field is
+ * the first entry and its own predecessor. The entries are sorted by ascending cost, so the predecessor of an entry always comes earlier.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class ReachableFieldsDTO {
+
+    /** Id of the field where all movements start. */
+    @Getter private final int fromFieldId;
+    /** Maximum cost of a movement. */
+    @Getter private final float movementPoints;
+    private final int[] fieldIds;
+    private final float[] costs;
+    private final int[] predecessorIds;
+
+    /** Generates. The arrays are copied.
+     *
+     * @since 0.0.2
+     * @param fromFieldId Id of the field where all movements start.
+     * @param movementPoints Maximum cost of a movement.
+     * @param fieldIds Ids of the reachable fields.
+     * @param costs Costs of reaching the fields.
+     * @param predecessorIds Ids of the predecessors of the fields.
+     * @param size Number of entries to be taken from the arrays.
+     */
+    public ReachableFieldsDTO(int fromFieldId, float movementPoints, @NonNull int[] fieldIds, @NonNull float[] costs,
+            @NonNull int[] predecessorIds, int size) {
+        this.fromFieldId = fromFieldId;
+        this.movementPoints = movementPoints;
+        this.fieldIds = Arrays.copyOf(fieldIds, size);
+        this.costs = Arrays.copyOf(costs, size);
+        this.predecessorIds = Arrays.copyOf(predecessorIds, size);
+    }
+
+    /** Number of reachable fields, including the start field.
+     *
+     * @since 0.0.2
+     * @return Number of entries.
+     */
+    public int size() {
+        return fieldIds.length;
+    }
+
+    public int getFieldId(int index) {
+        return fieldIds[index];
+    }
+
+    public float getCost(int index) {
+        return costs[index];
+    }
+
+    public int getPredecessorId(int index) {
+        return predecessorIds[index];
+    }
+
+    /** Gets the ids of all reachable fields.
+     *
+     * @since 0.0.2
+     * @return A copy of the ids, sorted by ascending cost.
+     */
+    public int[] getFieldIds() {
+        return fieldIds.clone();
+    }
+
+}
@@ -36,9 +36,23 @@ public final class TelemetryDTO {
 
     /** List of telemetry data from the figurines. */
     private final List<FigurineTelemetryDTO> figurineTelemetries;
+    /** How far the clock of the host was into the next step when the data was sent, as a fraction of a step. The client may extrapolate
+     * by this much. */
+    private final float alpha;
 
     public TelemetryDTO(@NonNull Collection<FigurineTelemetryDTO> figurineTelemetries) {
+        this(figurineTelemetries, 0);
+    }
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param figurineTelemetries Telemetry data from the figurines.
+     * @param alpha How far the clock of the host was into the next step, as a fraction of a step.
+     */
+    public TelemetryDTO(@NonNull Collection<FigurineTelemetryDTO> figurineTelemetries, float alpha) {
         this.figurineTelemetries = figurineTelemetries.stream().collect(Collectors.toUnmodifiableList());
+        this.alpha = alpha;
     }
 
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import lombok.NonNull;
+
+/** Reads what a {@link BitWriter} has written.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class BitReader {
+
+    private final ByteBuffer buf;
+    /** Bits read from the buffer but not consumed yet, in the lowest bits. */
+    private long pending = 0;
+    private int pendingBits = 0;
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param buf The buffer, positioned at the first byte. Its position advances while reading.
+     */
+    public BitReader(@NonNull ByteBuffer buf) {
+        this.buf = buf;
+    }
+
+    /** Reads bits.
+     *
+     * @since 0.0.2
+     * @param count Number of bits, between 1 and 32.
+     * @return The bits, in the lowest bits of the result.
+     * @throws BufferUnderflowException If the buffer ends before.
+     */
+    public long read(int count) throws BufferUnderflowException {
+        while(pendingBits < count) {
+            pending = (pending << 8) | (buf.get() & 0xFF);
+            pendingBits += 8;
+        }
+        pendingBits -= count;
+        long value = (pending >>> pendingBits) & ((1L << count) - 1);
+        pending &= (1L << pendingBits) - 1;
+        return value;
+    }
+
+    /** Reads a single bit.
+     *
+     * @since 0.0.2
+     * @return The bit.
+     * @throws BufferUnderflowException If the buffer ends before.
+     */
+    public boolean readBoolean() throws BufferUnderflowException {
+        return read(1) != 0;
+    }
+
+    /** Reads a number written by {@link BitWriter#writeUnsigned(int)}.
+     *
+     * @since 0.0.2
+     * @return The number.
+     * @throws BufferUnderflowException If the buffer ends before.
+     */
+    public int readUnsigned() throws BufferUnderflowException {
+        int cls = (int)read(2);
+        return (int)read(TelemetryFormat.VAR_CLASS_BITS[cls]);
+    }
+
+    /** Reads a number written by {@link BitWriter#writeSigned(int)}.
+     *
+     * @since 0.0.2
+     * @return The number.
+     * @throws BufferUnderflowException If the buffer ends before.
+     */
+    public int readSigned() throws BufferUnderflowException {
+        int zigzag = readUnsigned();
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /** Reads a string written by {@link BitWriter#writeString(String)}.
+     *
+     * @since 0.0.2
+     * @return The string.
+     * @throws BufferUnderflowException If the buffer ends before.
+     */
+    public String readString() throws BufferUnderflowException {
+        byte[] bytes = new byte[(int)read(TelemetryFormat.COUNT_BITS)];
+        for (int idx = 0; idx < bytes.length; idx++) {
+            bytes[idx] = (byte)read(8);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/** Packs values bit by bit into a reusable buffer, most significant bit first. The buffer grows when full.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class BitWriter {
+
+    private ByteBuffer buf;
+    /** Bits not yet written to the buffer, in the lowest bits. */
+    private long pending = 0;
+    /** Number of pending bits, always less than eight between two calls. */
+    private int pendingBits = 0;
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param capacity Initial capacity of the buffer, in bytes.
+     */
+    public BitWriter(int capacity) {
+        buf = ByteBuffer.allocate(Math.max(16, capacity));
+    }
+
+    /** Starts over, reusing the buffer.
+     *
+     * @since 0.0.2
+     */
+    public void clear() {
+        buf.clear();
+        pending = 0;
+        pendingBits = 0;
+    }
+
+    /** Writes the lowest bits of the value.
+     *
+     * @since 0.0.2
+     * @param value The value.
+     * @param count Number of bits, between 1 and 32.
+     */
+    public void write(long value, int count) {
+        pending = (pending << count) | (value & ((1L << count) - 1));
+        pendingBits += count;
+        while(pendingBits >= 8) {
+            pendingBits -= 8;
+            put((byte)(pending >>> pendingBits));
+        }
+        pending &= (1L << pendingBits) - 1;
+    }
+
+    /** Writes a single bit.
+     *
+     * @since 0.0.2
+     * @param bit The bit.
+     */
+    public void writeBoolean(boolean bit) {
+        write(bit ? 1 : 0, 1);
+    }
+
+    /** Writes a non-negative number with as few bits as its size class allows: two bits for the class, then
+     * 4, 10, 18, or 32 bits for the number.
+     *
+     * @since 0.0.2
+     * @param value The number, taken as unsigned.
+     */
+    public void writeUnsigned(int value) {
+        long unsigned = Integer.toUnsignedLong(value);
+        int cls = 0;
+        while(cls < TelemetryFormat.VAR_CLASS_BITS.length - 1 && unsigned >= 1L << TelemetryFormat.VAR_CLASS_BITS[cls]) {
+            cls++;
+        }
+        write(cls, 2);
+        write(unsigned, TelemetryFormat.VAR_CLASS_BITS[cls]);
+    }
+
+    /** Writes a number close to zero with few bits, by zigzag-encoding it first.
+     *
+     * @since 0.0.2
+     * @param value The number.
+     */
+    public void writeSigned(int value) {
+        writeUnsigned((value << 1) ^ (value >> 31));
+    }
+
+    /** Writes a string as its length in bytes and the UTF-8 bytes.
+     *
+     * @since 0.0.2
+     * @param str The string. At most {@link TelemetryFormat#MAX_COUNT} bytes long in UTF-8.
+     */
+    public void writeString(String str) {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        write(bytes.length, TelemetryFormat.COUNT_BITS);
+        for (byte bt : bytes) {
+            write(bt, 8);
+        }
+    }
+
+    /** Writes the pending bits, padded with zeros to a full byte, and flips the buffer for reading. The buffer is reused by the next
+     * {@link #clear()}.
+     *
+     * @since 0.0.2
+     * @return The buffer, positioned at the first byte.
+     */
+    public ByteBuffer finish() {
+        if(pendingBits > 0) {
+            write(0, 8 - pendingBits);
+        }
+        return buf.flip();
+    }
+
+    private void put(byte bt) {
+        if(!buf.hasRemaining()) {
+            ByteBuffer larger = ByteBuffer.allocate(buf.capacity() * 2);
+            larger.put(buf.flip());
+            buf = larger;
+        }
+        buf.put(bt);
+    }
+
+}
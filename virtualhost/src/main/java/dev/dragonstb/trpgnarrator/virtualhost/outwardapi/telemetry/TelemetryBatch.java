@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.TelemetryDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+/** Telemetry of a number of figurines in parallel arrays. Unlike a {@link TelemetryDTO}, a batch is reused from tick to tick, so the
+ * arrays only grow and filling it allocates nothing. Whoever gets a batch handed over must be done with it before the next tick, and
+ * {@link #toDTO() copies} it into DTOs when it has to keep the telemetry.
+ * <br><br>
+ * Not thread safe.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class TelemetryBatch {
+
+    /** Number of figurines. */
+    @Getter private int size = 0;
+    private String[] ids = new String[8];
+    private int[] fields = new int[8];
+    private boolean[] located = new boolean[8];
+    private float[] xs = new float[8];
+    private float[] ys = new float[8];
+    private float[] zs = new float[8];
+    /** How far the clock of the host was into the next step when the telemetry was taken, as a fraction of a step. */
+    @Getter @Setter private float alpha = 0;
+
+    /** Empties the batch for reuse, and resets the alpha.
+     *
+     * @since 0.0.2
+     */
+    public void clear() {
+        size = 0;
+        alpha = 0;
+    }
+
+    /** Appends a figurine.
+     *
+     * @since 0.0.2
+     * @param figId Id of the figurine.
+     * @param field Id of the field the figurine is on.
+     * @param isLocated Has the figurine a location?
+     * @param x X coordinate. Ignored if the figurine has no location.
+     * @param y Y coordinate. Ignored if the figurine has no location.
+     * @param z Z coordinate. Ignored if the figurine has no location.
+     * @return Index of the figurine in the batch.
+     */
+    public int add(@NonNull String figId, int field, boolean isLocated, float x, float y, float z) {
+        if(size == ids.length) {
+            grow(2 * size);
+        }
+        ids[size] = figId;
+        set(size, field, isLocated, x, y, z);
+        return size++;
+    }
+
+    /** Appends the telemetry of a figurine.
+     *
+     * @since 0.0.2
+     * @param tele The telemetry.
+     * @return Index of the figurine in the batch.
+     */
+    public int add(@NonNull FigurineTelemetryDTO tele) {
+        Optional<Vector3f> loc = tele.getLocationAsVector3f();
+        Vector3f vec = loc.orElse(Vector3f.ZERO);
+        return add(tele.getFigId(), tele.getFieldId(), loc.isPresent(), vec.x, vec.y, vec.z);
+    }
+
+    /** Overwrites the field and location of the figurine at the index.
+     *
+     * @since 0.0.2
+     * @param idx Index of the figurine.
+     * @param field Id of the field the figurine is on.
+     * @param isLocated Has the figurine a location?
+     * @param x X coordinate. Ignored if the figurine has no location.
+     * @param y Y coordinate. Ignored if the figurine has no location.
+     * @param z Z coordinate. Ignored if the figurine has no location.
+     */
+    public void set(int idx, int field, boolean isLocated, float x, float y, float z) {
+        fields[idx] = field;
+        located[idx] = isLocated;
+        xs[idx] = isLocated ? x : 0;
+        ys[idx] = isLocated ? y : 0;
+        zs[idx] = isLocated ? z : 0;
+    }
+
+    public String getFigId(int idx) {
+        return ids[idx];
+    }
+
+    public int getField(int idx) {
+        return fields[idx];
+    }
+
+    public boolean isLocated(int idx) {
+        return located[idx];
+    }
+
+    public float getX(int idx) {
+        return xs[idx];
+    }
+
+    public float getY(int idx) {
+        return ys[idx];
+    }
+
+    public float getZ(int idx) {
+        return zs[idx];
+    }
+
+    /** Copies the figurine at the index into a DTO.
+     *
+     * @since 0.0.2
+     * @param idx Index of the figurine.
+     * @return A new DTO.
+     */
+    public FigurineTelemetryDTO toDTO(int idx) {
+        Vector3f loc = located[idx] ? new Vector3f(xs[idx], ys[idx], zs[idx]) : null;
+        return new FigurineTelemetryDTO(ids[idx], loc, fields[idx]);
+    }
+
+    /** Copies the batch into a DTO, which stays valid when the batch is reused.
+     *
+     * @since 0.0.2
+     * @return A new DTO.
+     */
+    public TelemetryDTO toDTO() {
+        List<FigurineTelemetryDTO> teles = new ArrayList<>(size);
+        for (int idx = 0; idx < size; idx++) {
+            teles.add(toDTO(idx));
+        }
+        return new TelemetryDTO(teles, alpha);
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        fields = Arrays.copyOf(fields, capacity);
+        located = Arrays.copyOf(located, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        zs = Arrays.copyOf(zs, capacity);
+    }
+
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.TelemetryDTO;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.NonNull;
+
+/** Packs telemetry into the {@link TelemetryFormat packed format}. Each tick, the telemetry is {@link #stage(TelemetryBatch) staged} once
+ * and then {@link #encode(int) encoded} for each client against the last packet the client has acknowledged. The last
+ * {@value #HISTORY} snapshots are kept as baselines; clients that have acknowledged none of them get a full packet.
+ * <br><br>
+ * Figurines are referred to by int handles, handed out in the order the figurines first appear.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class TelemetryEncoder {
+
+    /** Number of snapshots kept as baselines. */
+    public static final int HISTORY = 32;
+
+    private final Map<Integer, Vector3f> centres;
+    private final Map<String, Integer> handles = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+    private final TelemetrySnapshot[] history = new TelemetrySnapshot[HISTORY];
+    private final BitWriter writer = new BitWriter(1024);
+    /** Sequence number of the last staged snapshot. */
+    @Getter private int sequence = TelemetryFormat.NO_BASELINE;
+    /** Quantized alpha of the last staged snapshot. */
+    private int alpha = 0;
+
+    /** Generates.
+     *
+     * @since 0.0.2
+     * @param centres Maps the ids of the fields to their centres, see {@link TelemetryFormat#fieldCentres}. Figurines on other fields are
+     * located relative to the origin.
+     */
+    public TelemetryEncoder(@NonNull Map<Integer, Vector3f> centres) {
+        this(centres, TelemetryFormat.NO_BASELINE);
+    }
+
+    /** Generates an encoder that continues the numbering of another one. Acknowledgements of packets of the other encoder are then
+     * never mistaken for acknowledgements of packets of this encoder, so a client can switch encoders without notice.
+     *
+     * @since 0.0.2
+     * @param centres Maps the ids of the fields to their centres, see {@link TelemetryFormat#fieldCentres}.
+     * @param previous Sequence number the numbering continues after.
+     */
+    public TelemetryEncoder(@NonNull Map<Integer, Vector3f> centres, int previous) {
+        this.centres = centres;
+        this.sequence = previous;
+        for (int idx = 0; idx < HISTORY; idx++) {
+            history[idx] = new TelemetrySnapshot();
+        }
+    }
+
+    /** Takes the telemetry of a tick as the next snapshot.
+     *
+     * @since 0.0.2
+     * @param dto Telemetry of the tick.
+     * @return Sequence number of the snapshot.
+     * @throws IllegalArgumentException If there are more than {@link TelemetryFormat#MAX_COUNT} figurines or an id is too long.
+     */
+    public int stage(@NonNull TelemetryDTO dto) throws IllegalArgumentException {
+        List<FigurineTelemetryDTO> teles = dto.getFigurineTelemetries();
+        TelemetrySnapshot snap = next(teles.size());
+        for (FigurineTelemetryDTO tele : teles) {
+            Optional<Vector3f> loc = tele.getLocationAsVector3f();
+            Vector3f vec = loc.orElse(Vector3f.ZERO);
+            put(snap, tele.getFigId(), tele.getFieldId(), loc.isPresent(), vec.x, vec.y, vec.z);
+        }
+        alpha = TelemetryFormat.quantizeAlpha(dto.getAlpha());
+        return sequence;
+    }
+
+    /** Takes the telemetry of a tick as the next snapshot, copying it straight out of the batch.
+     *
+     * @since 0.0.2
+     * @param batch Telemetry of the tick. Not kept.
+     * @return Sequence number of the snapshot.
+     * @throws IllegalArgumentException If there are more than {@link TelemetryFormat#MAX_COUNT} figurines or an id is too long.
+     */
+    public int stage(@NonNull TelemetryBatch batch) throws IllegalArgumentException {
+        TelemetrySnapshot snap = next(batch.getSize());
+        for (int idx = 0; idx < batch.getSize(); idx++) {
+            put(snap, batch.getFigId(idx), batch.getField(idx), batch.isLocated(idx), batch.getX(idx), batch.getY(idx), batch.getZ(idx));
+        }
+        alpha = TelemetryFormat.quantizeAlpha(batch.getAlpha());
+        return sequence;
+    }
+
+    /** Clears the snapshot of the next sequence number.
+     *
+     * @param count Number of figurines of the snapshot.
+     * @return The snapshot.
+     */
+    private TelemetrySnapshot next(int count) {
+        if(count > TelemetryFormat.MAX_COUNT) {
+            throw tooLarge(count+" figurines are too many for a packet.");
+        }
+
+        sequence++;
+        TelemetrySnapshot snap = history[Math.floorMod(sequence, HISTORY)];
+        snap.clear(sequence);
+        return snap;
+    }
+
+    private void put(TelemetrySnapshot snap, String figId, int field, boolean located, float x, float y, float z) {
+        int handle = handleOf(figId);
+        if(located) {
+            Vector3f centre = centres.getOrDefault(field, Vector3f.ZERO);
+            snap.put(handle, field, true, TelemetryFormat.quantize(x - centre.x), TelemetryFormat.quantize(y - centre.y),
+                    TelemetryFormat.quantize(z - centre.z));
+        }
+        else {
+            snap.put(handle, field, false, 0, 0, 0);
+        }
+    }
+
+    /** Encodes the last staged snapshot as difference to the baseline.
+     *
+     * @since 0.0.2
+     * @param acknowledged Sequence number of the last packet the client has acknowledged, or {@link TelemetryFormat#NO_BASELINE}.
+     * @return The packet, in a buffer of its own, so it can be queued or sent asynchronously.
+     */
+    public ByteBuffer encode(int acknowledged) {
+        TelemetrySnapshot current = history[Math.floorMod(sequence, HISTORY)];
+        TelemetrySnapshot base = baselineOf(acknowledged);
+
+        writer.clear();
+        writer.write(sequence, TelemetryFormat.SEQUENCE_BITS);
+        writer.write(base != null ? base.getSequence() : TelemetryFormat.NO_BASELINE, TelemetryFormat.SEQUENCE_BITS);
+        writer.write(alpha, TelemetryFormat.ALPHA_BITS);
+
+        int changed = 0;
+        for (int idx = 0; idx < current.getSize(); idx++) {
+            int baseIdx = base != null ? base.indexOf(current.getHandle(idx)) : -1;
+            if(baseIdx < 0 || current.differs(idx, base, baseIdx)) {
+                changed++;
+            }
+        }
+        writer.write(changed, TelemetryFormat.COUNT_BITS);
+
+        int previous = -1;
+        for (int idx = 0; idx < current.getSize(); idx++) {
+            int handle = current.getHandle(idx);
+            int baseIdx = base != null ? base.indexOf(handle) : -1;
+            if(baseIdx >= 0 && !current.differs(idx, base, baseIdx)) {
+                continue;
+            }
+
+            writer.writeUnsigned(handle - previous - 1);
+            previous = handle;
+            writeFigurine(current, idx, base, baseIdx);
+        }
+
+        writeRemoved(current, base);
+        // the writer is reused by the next call, so the packet is copied out of it
+        ByteBuffer written = writer.finish();
+        ByteBuffer packet = ByteBuffer.allocate(written.remaining());
+        return packet.put(written).flip();
+    }
+
+    private void writeFigurine(TelemetrySnapshot current, int idx, TelemetrySnapshot base, int baseIdx) {
+        boolean isNew = baseIdx < 0;
+        writer.writeBoolean(isNew);
+        if(isNew) {
+            writer.writeString(ids.get(current.getHandle(idx)));
+        }
+
+        boolean located = current.isLocated(idx);
+        writer.writeBoolean(located);
+        writer.writeSigned(isNew ? current.getField(idx) : current.getField(idx) - base.getField(baseIdx));
+        if(located) {
+            boolean relative = !isNew && base.isLocated(baseIdx);
+            writer.writeSigned(relative ? current.getX(idx) - base.getX(baseIdx) : current.getX(idx));
+            writer.writeSigned(relative ? current.getY(idx) - base.getY(baseIdx) : current.getY(idx));
+            writer.writeSigned(relative ? current.getZ(idx) - base.getZ(baseIdx) : current.getZ(idx));
+        }
+    }
+
+    private void writeRemoved(TelemetrySnapshot current, TelemetrySnapshot base) {
+        if(base == null) {
+            writer.write(0, TelemetryFormat.COUNT_BITS);
+            return;
+        }
+
+        int removed = 0;
+        for (int idx = 0; idx < base.getSize(); idx++) {
+            if(current.indexOf(base.getHandle(idx)) < 0) {
+                removed++;
+            }
+        }
+        writer.write(removed, TelemetryFormat.COUNT_BITS);
+
+        int previous = -1;
+        for (int idx = 0; idx < base.getSize(); idx++) {
+            int handle = base.getHandle(idx);
+            if(current.indexOf(handle) < 0) {
+                writer.writeUnsigned(handle - previous - 1);
+                previous = handle;
+            }
+        }
+    }
+
+    /** Finds the snapshot a client has acknowledged.
+     *
+     * @param acknowledged Sequence number of the snapshot.
+     * @return The snapshot, or {@code null} if there is none or it is not kept anymore.
+     */
+    private TelemetrySnapshot baselineOf(int acknowledged) {
+        if(acknowledged < 0 || acknowledged > sequence || sequence - acknowledged >= HISTORY) {
+            return null;
+        }
+        TelemetrySnapshot snap = history[Math.floorMod(acknowledged, HISTORY)];
+        return snap.getSequence() == acknowledged ? snap : null;
+    }
+
+    private int handleOf(String figId) {
+        Integer handle = handles.get(figId);
+        if(handle == null) {
+            if(figId.getBytes(StandardCharsets.UTF_8).length > TelemetryFormat.MAX_COUNT) {
+                throw tooLarge("The id of figurine "+figId.substring(0, 16)+"... is too long for a packet.");
+            }
+            handle = ids.size();
+            ids.add(figId);
+            handles.put(figId, handle);
+        }
+        return handle;
+    }
+
+    private static IllegalArgumentException tooLarge(String msg) {
+        String errCode = VHostErrorCodes.V32590;
+        String use = VHostErrorCodes.assembleCodedMsg(msg, errCode);
+        return new IllegalArgumentException(use);
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FieldDataDTO;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.NonNull;
+
+/** Constants and helpers of the packed telemetry format, shared by the {@link TelemetryEncoder encoder} on the host and the decoder on the
+ * client.
+ * <br><br>
+ * A packet starts with its sequence number, the sequence number of its baseline or {@link #NO_BASELINE}, and the alpha of the clock. Then
+ * come the figurines that are new or have changed since the baseline, in ascending order of their handles, and finally the handles of the
+ * figurines that have gone since the baseline. Handles are written as gaps to the previous handle. A figurine not in the baseline comes
+ * with its id. Positions are written as offsets from the centre of the field the figurine is on, in fixed point with
+ * {@value #QUANTA_PER_UNIT} steps per unit, and as differences to the baseline where possible.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class TelemetryFormat {
+
+    /** Sequence number of the baseline of a packet that does not refer to an earlier packet. */
+    public static final int NO_BASELINE = -1;
+    /** Number of fixed-point steps per unit of length. */
+    public static final float QUANTA_PER_UNIT = 1024f;
+    /** Bits of a sequence number. */
+    public static final int SEQUENCE_BITS = 32;
+    /** Bits of the alpha of the clock. */
+    public static final int ALPHA_BITS = 16;
+    /** Bits of counts and lengths. */
+    public static final int COUNT_BITS = 16;
+    /** Highest count or length. */
+    public static final int MAX_COUNT = (1 << COUNT_BITS) - 1;
+    /** Number of bits of the four size classes of variable-length numbers. */
+    static final int[] VAR_CLASS_BITS = {4, 10, 18, 32};
+
+    /** Quantizes an offset.
+     *
+     * @since 0.0.2
+     * @param offset Offset, in units.
+     * @return Offset, in fixed-point steps.
+     */
+    public static int quantize(float offset) {
+        return Math.round(offset * QUANTA_PER_UNIT);
+    }
+
+    /** Reverts {@link #quantize(float)}, up to the precision of the fixed point.
+     *
+     * @since 0.0.2
+     * @param quanta Offset, in fixed-point steps.
+     * @return Offset, in units.
+     */
+    public static float dequantize(int quanta) {
+        return quanta / QUANTA_PER_UNIT;
+    }
+
+    /** Quantizes the alpha of a clock.
+     *
+     * @since 0.0.2
+     * @param alpha Alpha, between 0 and 1.
+     * @return Alpha, in {@value #ALPHA_BITS} bits.
+     */
+    public static int quantizeAlpha(float alpha) {
+        return Math.round(Math.clamp(alpha, 0f, 1f) * ((1 << ALPHA_BITS) - 1));
+    }
+
+    /** Reverts {@link #quantizeAlpha(float)}.
+     *
+     * @since 0.0.2
+     * @param quanta Alpha, in {@value #ALPHA_BITS} bits.
+     * @return Alpha, between 0 and 1.
+     */
+    public static float dequantizeAlpha(int quanta) {
+        return quanta / (float)((1 << ALPHA_BITS) - 1);
+    }
+
+    /** Collects the centres of the fields of the board.
+     *
+     * @since 0.0.2
+     * @param board The board.
+     * @return Maps the ids of the fields to their centres.
+     */
+    public static Map<Integer, Vector3f> fieldCentres(@NonNull BoardDataDTO board) {
+        Map<Integer, Vector3f> centres = new HashMap<>();
+        for (FieldDataDTO field : board.getFields()) {
+            centres.put(field.getId(), field.getLocationAsVector());
+        }
+        return centres;
+    }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry;
+
+import java.util.Arrays;
+import lombok.Getter;
+
+/** Quantized telemetry of all figurines at one tick, kept in parallel arrays sorted by the handles of the figurines. Snapshots are reused
+ * from tick to tick, so the arrays only grow.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+public final class TelemetrySnapshot {
+
+    /** Sequence number of the packet the snapshot belongs to. */
+    @Getter private int sequence = TelemetryFormat.NO_BASELINE;
+    /** Number of figurines. */
+    @Getter private int size = 0;
+    private int[] handles = new int[8];
+    private int[] fields = new int[8];
+    private boolean[] located = new boolean[8];
+    private int[] xs = new int[8];
+    private int[] ys = new int[8];
+    private int[] zs = new int[8];
+
+    /** Empties the snapshot for reuse.
+     *
+     * @since 0.0.2
+     * @param sequence Sequence number of the packet the snapshot belongs to from now on.
+     */
+    public void clear(int sequence) {
+        this.sequence = sequence;
+        size = 0;
+    }
+
+    /** Makes this snapshot a copy of the other.
+     *
+     * @since 0.0.2
+     * @param other The other snapshot.
+     * @param sequence Sequence number of the packet this snapshot belongs to from now on.
+     */
+    public void copyFrom(TelemetrySnapshot other, int sequence) {
+        clear(sequence);
+        ensureCapacity(other.size);
+        System.arraycopy(other.handles, 0, handles, 0, other.size);
+        System.arraycopy(other.fields, 0, fields, 0, other.size);
+        System.arraycopy(other.located, 0, located, 0, other.size);
+        System.arraycopy(other.xs, 0, xs, 0, other.size);
+        System.arraycopy(other.ys, 0, ys, 0, other.size);
+        System.arraycopy(other.zs, 0, zs, 0, other.size);
+        size = other.size;
+    }
+
+    /** Puts a figurine into the snapshot, replacing the figurine with the same handle if present. Putting figurines in ascending order of
+     * their handles is fastest.
+     *
+     * @since 0.0.2
+     * @param handle Handle of the figurine.
+     * @param field Id of the field the figurine is on.
+     * @param isLocated Has the figurine a location?
+     * @param x Quantized offset from the centre of the field along x. Ignored if the figurine has no location.
+     * @param y Quantized offset from the centre of the field along y. Ignored if the figurine has no location.
+     * @param z Quantized offset from the centre of the field along z. Ignored if the figurine has no location.
+     */
+    public void put(int handle, int field, boolean isLocated, int x, int y, int z) {
+        int idx = size > 0 && handles[size-1] < handle ? -size - 1 : indexOf(handle);
+        if(idx < 0) {
+            idx = -idx - 1;
+            ensureCapacity(size + 1);
+            shift(idx, idx + 1, size - idx);
+            size++;
+        }
+
+        handles[idx] = handle;
+        fields[idx] = field;
+        located[idx] = isLocated;
+        xs[idx] = isLocated ? x : 0;
+        ys[idx] = isLocated ? y : 0;
+        zs[idx] = isLocated ? z : 0;
+    }
+
+    /** Removes a figurine.
+     *
+     * @since 0.0.2
+     * @param handle Handle of the figurine.
+     */
+    public void remove(int handle) {
+        int idx = indexOf(handle);
+        if(idx >= 0) {
+            shift(idx + 1, idx, size - idx - 1);
+            size--;
+        }
+    }
+
+    /** Finds a figurine.
+     *
+     * @since 0.0.2
+     * @param handle Handle of the figurine.
+     * @return Index of the figurine, or {@code -(insertion point) - 1} if not present.
+     */
+    public int indexOf(int handle) {
+        return Arrays.binarySearch(handles, 0, size, handle);
+    }
+
+    /** Tells if the figurine at the index differs from the figurine at the index of the other snapshot.
+     *
+     * @since 0.0.2
+     * @param idx Index in this snapshot.
+     * @param other The other snapshot.
+     * @param otherIdx Index in the other snapshot.
+     * @return {@code True} if field or location differ.
+     */
+    public boolean differs(int idx, TelemetrySnapshot other, int otherIdx) {
+        return fields[idx] != other.fields[otherIdx] || located[idx] != other.located[otherIdx] || xs[idx] != other.xs[otherIdx]
+                || ys[idx] != other.ys[otherIdx] || zs[idx] != other.zs[otherIdx];
+    }
+
+    public int getHandle(int idx) {
+        return handles[idx];
+    }
+
+    public int getField(int idx) {
+        return fields[idx];
+    }
+
+    public boolean isLocated(int idx) {
+        return located[idx];
+    }
+
+    public int getX(int idx) {
+        return xs[idx];
+    }
+
+    public int getY(int idx) {
+        return ys[idx];
+    }
+
+    public int getZ(int idx) {
+        return zs[idx];
+    }
+
+    private void shift(int from, int to, int count) {
+        System.arraycopy(handles, from, handles, to, count);
+        System.arraycopy(fields, from, fields, to, count);
+        System.arraycopy(located, from, located, to, count);
+        System.arraycopy(xs, from, xs, to, count);
+        System.arraycopy(ys, from, ys, to, count);
+        System.arraycopy(zs, from, zs, to, count);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if(capacity <= handles.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, handles.length * 2);
+        handles = Arrays.copyOf(handles, newLength);
+        fields = Arrays.copyOf(fields, newLength);
+        located = Arrays.copyOf(located, newLength);
+        xs = Arrays.copyOf(xs, newLength);
+        ys = Arrays.copyOf(ys, newLength);
+        zs = Arrays.copyOf(zs, newLength);
+    }
+
+}
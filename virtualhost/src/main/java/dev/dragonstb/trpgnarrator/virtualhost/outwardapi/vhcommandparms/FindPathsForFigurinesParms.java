@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.NonNull;
+
+/** Parameters for a command to the virtual host of finding paths for several figurines at once.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@Getter
+public final class FindPathsForFigurinesParms {
+
+    /** One entry per figurine. */
+    @NonNull private final List<FindPathForFigurineParms> requests;
+
+    public FindPathsForFigurinesParms(@NonNull List<FindPathForFigurineParms> requests) {
+        this.requests = List.copyOf(requests);
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.PathfindingStrategy;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class BatchPathfinderTest {
+
+    @Test
+    public void testCall_sameAsSingleSearches() throws Exception {
+        BoardData data = new BoardData();
+        List<PathfindingConfig> configs = List.of(
+                new PathfindingConfig(0, 9),
+                new PathfindingConfig(9, 0),
+                new PathfindingConfig(0, 109),
+                new PathfindingConfig(57, 57)
+        );
+
+        List<Optional<List<Vector3f>>> paths = new BatchPathfinder(configs, data).call();
+
+        assertEquals(configs.size(), paths.size(), "wrong number of results");
+        for (int idx = 0; idx < configs.size(); idx++) {
+            PathfindingConfig config = configs.get(idx);
+            Optional<List<Vector3f>> single = new Pathfinder(config.getFromField(), config.getToField(), data).call();
+            assertEquals(single, paths.get(idx), "differs from single search for config "+idx);
+        }
+        assertEquals(10, paths.getFirst().orElseThrow().size(), "path not shortest");
+    }
+
+    @Test
+    public void testCall_hierarchical() throws Exception {
+        BoardData data = new BoardData();
+        List<PathfindingConfig> configs = List.of(new PathfindingConfig(0, 109), new PathfindingConfig(0, 109, 3));
+
+        List<Optional<List<Vector3f>>> paths = new BatchPathfinder(configs, data, PathfindingStrategy.hierarchical).call();
+
+        assertEquals(HierarchicalPathfinder.findPath(data.getPathHierarchy(), 0, 109, null), paths.get(0), "not found hierarchically");
+        assertEquals(new Pathfinder(0, 109, 3, data).call(), paths.get(1), "other profile not found with flat A*");
+    }
+
+    @Test
+    public void testCall_unknownField() throws Exception {
+        BoardData data = new BoardData();
+        List<PathfindingConfig> configs = List.of(new PathfindingConfig(0, 9999), new PathfindingConfig(0, 9));
+
+        List<Optional<List<Vector3f>>> paths = new BatchPathfinder(configs, data).call();
+
+        assertTrue(paths.get(0).isEmpty(), "path to unknown field");
+        assertTrue(paths.get(1).isPresent(), "other paths affected by unknown field");
+    }
+
+    @Test
+    public void testCall_interrupted() {
+        BatchPathfinder finder = new BatchPathfinder(List.of(new PathfindingConfig(0, 9)), new BoardData());
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, () -> finder.call(), "interruption ignored");
+        assertFalse(Thread.currentThread().isInterrupted(), "interrupt flag still set");
+    }
+
+}
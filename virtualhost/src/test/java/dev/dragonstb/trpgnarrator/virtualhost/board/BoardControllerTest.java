@@ -24,8 +24,14 @@ import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
 import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.ReachabilityConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.PathfindingStrategy;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PathfindingStatsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReachableFieldsDTO;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -104,10 +110,105 @@ public class BoardControllerTest {
         ClassCastException exc = assertThrows(ClassCastException.class, () -> board.request(fetch), "No exception thrown");
         String msg = exc.getMessage();
         assertTrue(
-                msg.contains("Expected id of field to be an integer, but got instance of class "
+                msg.contains("Expected parameter of \"" + cmd + "\" to be a Integer, but got an instance of class "
                         + fail.getClass().getSimpleName() + " instead"),
                 "Wrong message");
         assertTrue(msg.contains(VHostErrorCodes.V78642), "Missign or wrong error code");
     }
 
+    @Test
+    public void testRequest_fieldAt() {
+        Vector3f loc = new Vector3f(1, 2, 3);
+        when(data.getFieldIdAt(loc)).thenReturn(7);
+
+        Optional<Object> opt = board.request(new FetchCommand(FetchCodes.BOARD_FIELD_AT, loc));
+        assertEquals(Optional.of(7), opt, "wrong field");
+    }
+
+    @Test
+    public void testRequest_fieldAt_nothing() {
+        Vector3f loc = new Vector3f(1, 2, 3);
+        when(data.getFieldIdAt(loc)).thenReturn(null);
+
+        Optional<Object> opt = board.request(new FetchCommand(FetchCodes.BOARD_FIELD_AT, loc));
+        assertTrue(opt.isEmpty(), "field found in the void");
+    }
+
+    @Test
+    public void testRequest_boardVersion() {
+        when(data.getVersion()).thenReturn(42L);
+
+        FetchCommand fetch = new FetchCommand(FetchCodes.BOARD_VERSION);
+        Optional<Object> opt = board.request(fetch);
+
+        assertTrue(opt.isPresent(), "Nothing there");
+        assertEquals(42L, opt.get(), "Wrong version");
+    }
+
+    @Test
+    public void testRequest_batchPathfinder() {
+        List<PathfindingConfig> configs = List.of(new PathfindingConfig(0, 1), new PathfindingConfig(2, 3));
+        FetchCommand fetch = new FetchCommand(FetchCodes.BOARD_BATCH_PATHFINDER, configs);
+
+        Optional<Object> opt = board.request(fetch);
+
+        assertTrue(opt.isPresent(), "Nothing there");
+        assertTrue(opt.get() instanceof BatchPathfinder, "Wrong class");
+    }
+
+    @Test
+    public void testRequest_batchPathfinder_wrongParm() {
+        FetchCommand fetch = new FetchCommand(FetchCodes.BOARD_BATCH_PATHFINDER, List.of("nope"));
+
+        ClassCastException exc = assertThrows(ClassCastException.class, () -> board.request(fetch), "No exception thrown");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V78642), "Missing or wrong error code");
+    }
+
+    @Test
+    public void testRequest_pathfinder_hierarchical() {
+        BoardController realBoard = new BoardController(broker, new BoardData(), PathfindingStrategy.hierarchical);
+
+        Optional<Object> opt = realBoard.request(new FetchCommand(FetchCodes.BOARD_PATHFINDER, new PathfindingConfig(0, 9)));
+        assertTrue(opt.isPresent(), "Nothing there");
+        assertTrue(opt.get() instanceof HierarchicalPathfinder, "Wrong class for default profile");
+
+        opt = realBoard.request(new FetchCommand(FetchCodes.BOARD_PATHFINDER, new PathfindingConfig(0, 9, 1)));
+        assertTrue(opt.get() instanceof Pathfinder, "Wrong class for other profile");
+    }
+
+    @Test
+    public void testRequest_pathfindingStats() throws Exception {
+        BoardData realData = new BoardData();
+        BoardController realBoard = new BoardController(broker, realData);
+        new Pathfinder(0, 9, realData).call();
+
+        Optional<Object> opt = realBoard.request(new FetchCommand(FetchCodes.PATHFINDING_STATS));
+
+        assertTrue(opt.isPresent(), "Nothing there");
+        PathfindingStatsDTO dto = (PathfindingStatsDTO)opt.get();
+        assertEquals(1, dto.getFound(), "search not counted");
+        assertTrue(dto.getExpansions() > 0, "expansions not counted");
+    }
+
+    @Test
+    public void testRequest_reachable() {
+        BoardController realBoard = new BoardController(broker, new BoardData());
+        FetchCommand fetch = new FetchCommand(FetchCodes.BOARD_REACHABLE, new ReachabilityConfig(0, 1));
+
+        Optional<Object> opt = realBoard.request(fetch);
+
+        assertTrue(opt.isPresent(), "Nothing there");
+        ReachableFieldsDTO dto = (ReachableFieldsDTO)opt.get();
+        assertEquals(0, dto.getFromFieldId(), "wrong start");
+        assertTrue(dto.size() > 1, "no neighbours");
+    }
+
+    @Test
+    public void testRequest_reachable_wrongParm() {
+        FetchCommand fetch = new FetchCommand(FetchCodes.BOARD_REACHABLE, "nope");
+
+        ClassCastException exc = assertThrows(ClassCastException.class, () -> board.request(fetch), "No exception thrown");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V78642), "Missing or wrong error code");
+    }
+
 }
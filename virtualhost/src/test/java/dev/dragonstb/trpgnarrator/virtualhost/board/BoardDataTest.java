@@ -19,6 +19,9 @@
  */
 package dev.dragonstb.trpgnarrator.virtualhost.board;
 
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.error.BoardFieldNotFoundException;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FieldDataDTO;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FieldLinkDTO;
@@ -62,4 +65,96 @@ public class BoardDataTest {
 
     }
 
+    @Test
+    public void testConstructor_duplicateIds() {
+        List<FieldData> fields = List.of(new FieldData(4, new Vector3f()), new FieldData(4, new Vector3f(1, 0, 0)));
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, () -> new BoardData(fields), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V37521), "missing error code");
+    }
+
+    @Test
+    public void testLinkFields() {
+        FieldData fieldA = new FieldData(0, new Vector3f());
+        FieldData fieldB = new FieldData(1, new Vector3f(1, 0, 0));
+        BoardData data = new BoardData(List.of(fieldA, fieldB));
+        long version = data.getVersion();
+        assertEquals(0, data.getGraph().numLinks(), "already linked");
+
+        FieldLink link = data.linkFields(fieldA, fieldB);
+
+        assertTrue(data.getVersion() > version, "version not increased");
+        assertTrue(fieldA.getLinks().contains(link), "link missing");
+        assertTrue(fieldB.getLinks().contains(link), "link missing");
+        assertEquals(1, data.getGraph().numLinks(), "graph not updated");
+    }
+
+    @Test
+    public void testLinkFields_notOnBoard() {
+        FieldData fieldA = new FieldData(0, new Vector3f());
+        FieldData outside = new FieldData(1, new Vector3f(1, 0, 0));
+        BoardData data = new BoardData(List.of(fieldA));
+        long version = data.getVersion();
+
+        BoardFieldNotFoundException exc = assertThrows(BoardFieldNotFoundException.class, () -> data.linkFields(fieldA, outside),
+                "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V11349), "missing error code");
+        assertEquals(version, data.getVersion(), "version changed");
+        assertTrue(fieldA.getLinks().isEmpty(), "linked anyway");
+    }
+
+    @Test
+    public void testGetFieldIdAt() {
+        FieldData fieldA = new FieldData(3, new Vector3f());
+        FieldData fieldB = new FieldData(8, new Vector3f(4, 0, 0));
+        BoardData data = new BoardData(List.of(fieldA, fieldB));
+
+        assertEquals(8, data.getFieldIdAt(new Vector3f(4.1f, 2, 0)), "wrong field");
+        assertNull(data.getFieldIdAt(new Vector3f(-10, 0, -10)), "field found in the void");
+    }
+
+    @Test
+    public void testPrecomputeLandmarks() {
+        BoardData data = new BoardData();
+        data.precomputeLandmarks(Runnable::run);
+        LandmarkTable table = data.getGraph().getLandmarks();
+        assertNotNull(table, "no landmarks");
+        assertEquals(0, table.getRepairs(), "not built from scratch");
+
+        data.linkFields(data.getFields().get(0), data.getFields().get(109));
+        LandmarkTable repaired = data.getGraph().getLandmarks();
+        assertNotNull(repaired, "no landmarks after change of topology");
+        assertEquals(1, repaired.getRepairs(), "not repaired");
+    }
+
+    @Test
+    public void testGetPathHierarchy() {
+        BoardData data = new BoardData();
+        PathHierarchy hierarchy = data.getPathHierarchy();
+        assertSame(data.getGraph(), hierarchy.getGraph(), "hierarchy of wrong graph");
+        assertSame(hierarchy, data.getPathHierarchy(), "built again without change");
+
+        data.linkFields(data.getFields().get(0), data.getFields().get(109));
+        PathHierarchy updated = data.getPathHierarchy();
+        assertNotSame(hierarchy, updated, "not updated");
+        assertSame(data.getGraph(), updated.getGraph(), "update for wrong graph");
+    }
+
+    @Test
+    public void testUnlinkFields() {
+        BoardData data = new BoardData();
+        FieldLink link = data.getFields().get(0).getLinks().getFirst();
+        int numLinks = data.getGraph().numLinks();
+        long version = data.getVersion();
+
+        assertTrue(data.unlinkFields(link), "not unlinked");
+        assertTrue(data.getVersion() > version, "version not increased");
+        assertFalse(link.getFieldA().getLinks().contains(link), "link still there");
+        assertFalse(link.getFieldB().getLinks().contains(link), "link still there");
+        assertEquals(numLinks - 1, data.getGraph().numLinks(), "graph not updated");
+
+        version = data.getVersion();
+        assertFalse(data.unlinkFields(link), "unlinked twice");
+        assertEquals(version, data.getVersion(), "version changed without change of topology");
+    }
+
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FieldLinkDTO;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class BoardGraphTest {
+
+    private static void link(FieldData fieldA, FieldData fieldB) {
+        FieldLink link = new FieldLink(fieldA, fieldB);
+        fieldA.addLink(link);
+        fieldB.addLink(link);
+    }
+
+    private static Set<Integer> linkedIds(BoardGraph graph, int fieldId) {
+        Set<Integer> ids = new HashSet<>();
+        int index = graph.indexOf(fieldId);
+        for (int pos = graph.firstLink(index); pos < graph.endOfLinks(index); pos++) {
+            ids.add(graph.fieldId(graph.neighbour(pos)));
+        }
+        return ids;
+    }
+
+    @Test
+    public void testTopology_denseIds() {
+        FieldData a = new FieldData(12, new Vector3f(1, 2, 3));
+        FieldData b = new FieldData(10, new Vector3f(4, 5, 6));
+        FieldData c = new FieldData(11, new Vector3f(7, 8, 9));
+        link(a, b);
+        link(b, c);
+
+        BoardGraph graph = new BoardGraph(List.of(a, b, c));
+
+        assertEquals(3, graph.size(), "wrong size");
+        assertEquals(2, graph.numLinks(), "wrong number of links");
+        // indices follow the order of the ids
+        assertEquals(0, graph.indexOf(10), "wrong index");
+        assertEquals(1, graph.indexOf(11), "wrong index");
+        assertEquals(2, graph.indexOf(12), "wrong index");
+        assertEquals(BoardGraph.NO_FIELD, graph.indexOf(13), "index for unknown id");
+        assertEquals(BoardGraph.NO_FIELD, graph.indexOf(Integer.MIN_VALUE), "index for unknown id");
+
+        assertEquals(Set.of(10), linkedIds(graph, 12), "wrong links");
+        assertEquals(Set.of(11, 12), linkedIds(graph, 10), "wrong links");
+        assertEquals(Set.of(10), linkedIds(graph, 11), "wrong links");
+
+        int idx = graph.indexOf(11);
+        assertEquals(7, graph.x(idx), "wrong x");
+        assertEquals(8, graph.y(idx), "wrong y");
+        assertEquals(9, graph.z(idx), "wrong z");
+    }
+
+    @Test
+    public void testTopology_sparseIds() {
+        FieldData a = new FieldData(-1000000, new Vector3f(0, 0, 0));
+        FieldData b = new FieldData(1000000, new Vector3f(1, 0, 0));
+        FieldData c = new FieldData(5, new Vector3f(2, 0, 0));
+        link(a, b);
+        link(b, c);
+        link(c, a);
+
+        BoardGraph graph = new BoardGraph(List.of(a, b, c));
+
+        assertEquals(0, graph.indexOf(-1000000), "wrong index");
+        assertEquals(1, graph.indexOf(5), "wrong index");
+        assertEquals(2, graph.indexOf(1000000), "wrong index");
+        assertEquals(BoardGraph.NO_FIELD, graph.indexOf(6), "index for unknown id");
+        assertEquals(Set.of(5, 1000000), linkedIds(graph, -1000000), "wrong links");
+        assertEquals(3, graph.numLinks(), "wrong number of links");
+    }
+
+    @Test
+    public void testTopology_linkToUnknownField() {
+        FieldData a = new FieldData(0, new Vector3f(0, 0, 0));
+        FieldData b = new FieldData(1, new Vector3f(1, 0, 0));
+        FieldData outside = new FieldData(2, new Vector3f(2, 0, 0));
+        link(a, outside);
+        link(a, b);
+
+        BoardGraph graph = new BoardGraph(List.of(a, b));
+
+        assertEquals(Set.of(1), linkedIds(graph, 0), "link to unknown field not ignored");
+        assertEquals(Set.of(0), linkedIds(graph, 1), "wrong links");
+        assertEquals(1, graph.numLinks(), "wrong number of links");
+    }
+
+    @Test
+    public void testCosts() {
+        FieldData a = new FieldData(0, new Vector3f(0, 0, 0));
+        FieldData b = new FieldData(1, new Vector3f(1, 0, 0));
+        FieldData c = new FieldData(2, new Vector3f(2, 0, 0));
+        FieldLink ab = new FieldLink(a, b, 2, new float[]{5, Float.POSITIVE_INFINITY});
+        a.addLink(ab);
+        b.addLink(ab);
+        FieldLink bc = new FieldLink(b, c, 3, null);
+        b.addLink(bc);
+        c.addLink(bc);
+
+        BoardGraph graph = new BoardGraph(List.of(a, b, c));
+        int index = graph.indexOf(1);
+        for (int pos = graph.firstLink(index); pos < graph.endOfLinks(index); pos++) {
+            boolean toA = graph.fieldId(graph.neighbour(pos)) == 0;
+            assertEquals(toA ? 5f : 3f, graph.costs(0)[pos], "wrong cost of profile 0");
+            assertEquals(toA ? Float.POSITIVE_INFINITY : 3f, graph.costs(1)[pos], "wrong cost of profile 1");
+            assertEquals(toA ? 2f : 3f, graph.costs(7)[pos], "wrong cost of profile without own costs");
+        }
+        // all links are 1 WU long
+        assertEquals(3f, graph.heuristicScale(0), "wrong heuristic scale of profile 0");
+        assertEquals(3f, graph.heuristicScale(1), "impassable link not ignored");
+        assertEquals(2f, graph.heuristicScale(-1), "wrong general heuristic scale");
+    }
+
+    @Test
+    public void testHeuristicScale_longLink() {
+        FieldData a = new FieldData(0, new Vector3f(0, 0, 0));
+        FieldData b = new FieldData(1, new Vector3f(1, 0, 0));
+        FieldData c = new FieldData(2, new Vector3f(1, 0, 10));
+        FieldData above = new FieldData(3, new Vector3f(0, 5, 0));
+        FieldLink ab = new FieldLink(a, b, 1, null);
+        a.addLink(ab);
+        b.addLink(ab);
+        FieldLink bc = new FieldLink(b, c, 5, null);
+        b.addLink(bc);
+        c.addLink(bc);
+        // no horizontal length, so no lower bound per WU
+        FieldLink up = new FieldLink(a, above, .1f, null);
+        a.addLink(up);
+        above.addLink(up);
+
+        BoardGraph graph = new BoardGraph(List.of(a, b, c, above));
+        assertEquals(.5f, graph.heuristicScale(0), "wrong heuristic scale");
+    }
+
+    @Test
+    public void testAsDTO() {
+        BoardData data = new BoardData();
+        BoardDataDTO dto = data.getGraph().asDTO();
+
+        assertEquals(110, dto.getFields().size(), "wrong number of fields");
+        assertEquals(289, dto.getLinks().size(), "wrong number of links");
+
+        Set<FieldLinkDTO> expected = new HashSet<>();
+        data.getFields().values().forEach(field -> field.getLinks().forEach(link -> expected.add(link.asDTO())));
+        assertEquals(expected, new HashSet<>(dto.getLinks()), "wrong links");
+    }
+
+    @Test
+    public void testSearchSpace_reused() {
+        BoardGraph graph = new BoardData().getGraph();
+        SearchSpace space = graph.acquireSearchSpace();
+        space.reach(3, 1, SearchSpace.NO_LINK);
+        space.close(3);
+        graph.releaseSearchSpace(space);
+
+        SearchSpace again = graph.acquireSearchSpace();
+        assertSame(space, again, "not reused");
+        assertFalse(again.isSeen(3), "state of last search still there");
+        assertFalse(again.isClosed(3), "state of last search still there");
+        assertEquals(Float.POSITIVE_INFINITY, again.getCost(3), "state of last search still there");
+    }
+
+}
@@ -19,6 +19,7 @@
  */
 package dev.dragonstb.trpgnarrator.virtualhost.board;
 
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FieldLinkDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -73,6 +74,36 @@ public class FieldLinkTest {
         assertTrue(field == fieldB);
     }
 
+    @Test
+    public void testGetCost() {
+        assertEquals(FieldLink.DEFAULT_COST, link.getCost(0), "wrong default cost");
+
+        FieldLink weighted = new FieldLink(fieldA, fieldB, 2, new float[]{3, 4});
+        assertEquals(2, weighted.getCost(), "wrong general cost");
+        assertEquals(3, weighted.getCost(0), "wrong cost of profile 0");
+        assertEquals(4, weighted.getCost(1), "wrong cost of profile 1");
+        assertEquals(2, weighted.getCost(2), "no fallback to the general cost");
+        assertEquals(2, weighted.getCost(-1), "no fallback to the general cost");
+        assertEquals(2, weighted.numProfileCosts(), "wrong number of profiles");
+    }
+
+    @Test
+    public void testGetCost_arrayCopied() {
+        float[] profileCosts = {3};
+        FieldLink weighted = new FieldLink(fieldA, fieldB, 2, profileCosts);
+        profileCosts[0] = 7;
+        assertEquals(3, weighted.getCost(0), "array not copied");
+    }
+
+    @Test
+    public void testInvalidCosts() {
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, () -> new FieldLink(fieldA, fieldB, -1, null),
+                "No exception for negative cost");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V33871), "missing error code");
+        assertThrows(IllegalArgumentException.class, () -> new FieldLink(fieldA, fieldB, 1, new float[]{Float.NaN}),
+                "No exception for NaN as profile cost");
+    }
+
     @Test
     public void testNullArgs() {
         assertThrows(NullPointerException.class, () -> new FieldLink(null, fieldB), "No exception when field A is null");
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import com.jme3.math.Vector3f;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class HierarchicalPathfinderTest {
+
+    /** The mock board with some links removed at random. */
+    private static BoardData boardWithGaps(int range, long seed) {
+        BoardData data = new BoardData(range, range);
+        Random random = new Random(seed);
+        List<FieldLink> links = new ArrayList<>();
+        data.getFields().values().forEach(field -> links.addAll(field.getLinks()));
+        for(FieldLink link: links) {
+            if(random.nextInt(5) == 0) {
+                data.unlinkFields(link);
+            }
+        }
+        return data;
+    }
+
+    /** Checks that all consecutive way points belong to linked fields. */
+    private static void assertWalkable(BoardData data, List<Vector3f> path) {
+        for (int idx = 1; idx < path.size(); idx++) {
+            Vector3f from = path.get(idx - 1);
+            Vector3f to = path.get(idx);
+            FieldData field = data.getFields().values().stream().filter(f -> f.getLocation().equals(from)).findFirst().orElseThrow();
+            boolean linked = field.getLinks().stream()
+                    .anyMatch(link -> link.getFieldA().getLocation().equals(to) || link.getFieldB().getLocation().equals(to));
+            assertTrue(linked, "jump in path at way point "+idx);
+        }
+    }
+
+    @Test
+    public void testFindPath_nearOptimal() throws Exception {
+        BoardData data = boardWithGaps(20, 11);
+        PathHierarchy hierarchy = PathHierarchy.build(data.getGraph(), 0, 4);
+        int size = data.getFields().size();
+        Random random = new Random(3);
+        int totalExpected = 0;
+        int totalActual = 0;
+        for (int run = 0; run < 40; run++) {
+            int from = random.nextInt(size);
+            int to = random.nextInt(size);
+            Optional<List<Vector3f>> expected = new Pathfinder(from, to, data).call();
+            Optional<List<Vector3f>> actual = HierarchicalPathfinder.findPath(hierarchy, from, to, null);
+            assertEquals(expected.isPresent(), actual.isPresent(), "disagreement about existence of path");
+            if(expected.isEmpty()) {
+                continue;
+            }
+
+            List<Vector3f> path = actual.get();
+            assertEquals(data.getLocationOfField(from), path.getFirst(), "wrong start");
+            assertEquals(data.getLocationOfField(to), path.getLast(), "wrong end");
+            assertWalkable(data, path);
+            assertTrue(path.size() >= expected.get().size(), "shorter than the shortest path");
+            assertTrue(path.size() - 1 <= 2 * (expected.get().size() - 1), "path far too long");
+            totalExpected += expected.get().size() - 1;
+            totalActual += path.size() - 1;
+        }
+        assertTrue(totalExpected > 0, "no paths at all");
+        assertTrue(totalActual <= 1.25f * totalExpected, "paths too long on average");
+    }
+
+    @Test
+    public void testCall_sameCluster() throws Exception {
+        BoardData data = new BoardData();
+        // fields 0 and 1 are adjacent
+        List<Vector3f> path = new HierarchicalPathfinder(0, 1, data).call().orElseThrow();
+        assertEquals(List.of(data.getLocationOfField(0), data.getLocationOfField(1)), path, "wrong path");
+
+        path = new HierarchicalPathfinder(4, 4, data).call().orElseThrow();
+        assertEquals(List.of(data.getLocationOfField(4)), path, "wrong path to the start itself");
+    }
+
+    @Test
+    public void testCall_followsChanges() throws Exception {
+        BoardData data = new BoardData(20, 20);
+        int size = data.getFields().size();
+        assertTrue(new HierarchicalPathfinder(0, size - 1, data).call().isPresent(), "no path");
+
+        // cut off the last field
+        FieldData last = data.getFields().get(size - 1);
+        for(FieldLink link: List.copyOf(last.getLinks())) {
+            data.unlinkFields(link);
+        }
+        assertTrue(new HierarchicalPathfinder(0, size - 1, data).call().isEmpty(), "path to a detached field");
+        assertTrue(new HierarchicalPathfinder(0, size - 2, data).call().isPresent(), "no path to a neighbour of the detached field");
+    }
+
+    @Test
+    public void testCall_unknownField() throws Exception {
+        BoardData data = new BoardData();
+        assertTrue(new HierarchicalPathfinder(0, 5000, data).call().isEmpty(), "path to a field that does not exist");
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class IndexedMinHeapTest {
+
+    private final int capacity = 200;
+    private IndexedMinHeap heap;
+
+    @BeforeEach
+    public void setUp() {
+        heap = new IndexedMinHeap(capacity);
+    }
+
+    @Test
+    public void testRemoveMin_minKey() {
+        Random rnd = new Random(3498);
+        float[] keys = new float[capacity];
+        for (int element = 0; element < capacity; element++) {
+            keys[element] = rnd.nextFloat() * 100;
+            heap.insert(element, keys[element]);
+        }
+        assertEquals(capacity, heap.size(), "wrong size");
+
+        while(!heap.isEmpty()) {
+            float minKey = heap.minKey();
+            assertEquals(minKey, keys[heap.removeMin()], "min key not the key of the removed element");
+        }
+        for (int element = 0; element < capacity; element++) {
+            assertFalse(heap.contains(element), "still in heap");
+        }
+    }
+
+    @Test
+    public void testRemoveMin_order() {
+        Random rnd = new Random(3498);
+        float[] keys = new float[capacity];
+        for (int element = 0; element < capacity; element++) {
+            keys[element] = rnd.nextFloat() * 100;
+            heap.insert(element, keys[element]);
+        }
+
+        float last = Float.NEGATIVE_INFINITY;
+        while(!heap.isEmpty()) {
+            int min = heap.removeMin();
+            assertTrue(keys[min] >= last, "not in order");
+            last = keys[min];
+        }
+    }
+
+    @Test
+    public void testRemoveMin_empty() {
+        IllegalStateException exc = assertThrows(IllegalStateException.class, () -> heap.removeMin(), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V20417), "missing error code");
+    }
+
+    @Test
+    public void testDecreaseKey() {
+        heap.insert(1, 10);
+        heap.insert(2, 20);
+        heap.insert(3, 30);
+
+        heap.decreaseKey(3, 5);
+
+        assertEquals(3, heap.removeMin(), "decreased key not on top");
+        assertEquals(1, heap.removeMin(), "wrong second");
+        assertEquals(2, heap.removeMin(), "wrong third");
+    }
+
+    @Test
+    public void testDecreaseKey_notContained() {
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(1, 3), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V20417), "missing error code");
+    }
+
+    @Test
+    public void testInsert_twice() {
+        heap.insert(1, 10);
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, () -> heap.insert(1, 4), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V20417), "missing error code");
+        assertEquals(1, heap.size(), "wrong size");
+    }
+
+    @Test
+    public void testClear() {
+        heap.insert(1, 10);
+        heap.insert(7, 3);
+        heap.clear();
+
+        assertTrue(heap.isEmpty(), "not empty");
+        assertFalse(heap.contains(1), "still contained");
+        assertFalse(heap.contains(7), "still contained");
+        heap.insert(7, 1); // must not complain
+        assertEquals(7, heap.removeMin(), "wrong element");
+    }
+
+}
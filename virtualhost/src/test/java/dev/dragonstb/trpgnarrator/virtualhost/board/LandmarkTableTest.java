@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReachableFieldsDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class LandmarkTableTest {
+
+    private static final int PROFILE = PathfindingConfig.DEFAULT_MOVEMENT_PROFILE;
+
+    /** The default board, but with some walls where links have been removed. */
+    private static BoardData walledBoard() {
+        BoardData data = new BoardData(4, 4);
+        List<FieldLink> links = new ArrayList<>();
+        data.getFields().values().forEach(field -> field.getLinks().stream().filter(link -> !links.contains(link)).forEach(links::add));
+        for (int idx = 0; idx < links.size(); idx += 3) {
+            data.unlinkFields(links.get(idx));
+        }
+        return data;
+    }
+
+    /** Exact costs between all pairs of fields, by index. */
+    private static float[][] exactCosts(BoardData data) {
+        BoardGraph graph = data.getGraph();
+        RangeFinder finder = new RangeFinder(data);
+        float[][] costs = new float[graph.size()][graph.size()];
+        for (int from = 0; from < graph.size(); from++) {
+            Arrays.fill(costs[from], Float.POSITIVE_INFINITY);
+            ReachableFieldsDTO dto = finder.find(graph.fieldId(from), Float.MAX_VALUE);
+            for (int idx = 0; idx < dto.size(); idx++) {
+                costs[from][graph.indexOf(dto.getFieldId(idx))] = dto.getCost(idx);
+            }
+        }
+        return costs;
+    }
+
+    private static void assertAdmissible(LandmarkTable table, float[][] exact) {
+        for (int from = 0; from < exact.length; from++) {
+            for (int to = 0; to < exact.length; to++) {
+                float estimate = table.heuristic(from, to);
+                assertTrue(estimate <= exact[from][to] + 1e-4f, "overestimation from "+from+" to "+to+": "+estimate+" > "+exact[from][to]);
+            }
+        }
+    }
+
+    @Test
+    public void testHeuristic_admissible() {
+        BoardData data = walledBoard();
+        LandmarkTable table = LandmarkTable.build(data.getGraph(), PROFILE, 4);
+        float[][] exact = exactCosts(data);
+
+        assertEquals(4, table.numLandmarks(), "wrong number of landmarks");
+        assertAdmissible(table, exact);
+        for (int landmark = 0; landmark < table.numLandmarks(); landmark++) {
+            int index = table.landmark(landmark);
+            for (int to = 0; to < exact.length; to++) {
+                if(exact[index][to] < Float.POSITIVE_INFINITY) {
+                    assertEquals(exact[index][to], table.heuristic(index, to), 1e-4f, "not exact from a landmark");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testHeuristic_disconnected() {
+        FieldData fieldA = new FieldData(0, new Vector3f(0, 0, 0));
+        FieldData fieldB = new FieldData(1, new Vector3f(1, 0, 0));
+        BoardData data = new BoardData(List.of(fieldA, fieldB));
+        LandmarkTable table = LandmarkTable.build(data.getGraph(), PROFILE, 8);
+
+        assertEquals(2, table.numLandmarks(), "more landmarks than fields");
+        assertEquals(Float.POSITIVE_INFINITY, table.heuristic(0, 1), "connection suspected");
+        assertEquals(0, table.heuristic(1, 1), "nonzero cost to itself");
+    }
+
+    @Test
+    public void testRepairedFor_changedLinks() {
+        BoardData data = walledBoard();
+        LandmarkTable table = LandmarkTable.build(data.getGraph(), PROFILE, 4);
+
+        // a shortcut across the board, and one more wall
+        data.linkFields(data.getFields().get(0), data.getFields().get(71));
+        data.unlinkFields(data.getFields().get(40).getLinks().getFirst());
+        BoardGraph newGraph = data.getGraph();
+        assertTrue(table.fits(newGraph), "same fields, but does not fit");
+
+        LandmarkTable repaired = table.repairedFor(newGraph);
+        assertSame(newGraph, repaired.getGraph(), "wrong graph");
+        assertEquals(1, repaired.getRepairs(), "wrong number of repairs");
+        assertAdmissible(repaired, exactCosts(data));
+    }
+
+    @Test
+    public void testRepairedFor_otherFields() {
+        LandmarkTable table = LandmarkTable.build(new BoardData(4, 4).getGraph(), PROFILE, 4);
+        BoardGraph otherGraph = new BoardData(3, 3).getGraph();
+
+        assertFalse(table.fits(otherGraph), "fits a graph with other fields");
+        LandmarkTable rebuilt = table.repairedFor(otherGraph);
+        assertEquals(0, rebuilt.getRepairs(), "not rebuilt");
+        assertSame(otherGraph, rebuilt.getGraph(), "wrong graph");
+    }
+
+}
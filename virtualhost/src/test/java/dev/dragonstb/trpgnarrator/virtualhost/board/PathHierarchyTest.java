@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class PathHierarchyTest {
+
+    private static final int PROFILE = PathfindingConfig.DEFAULT_MOVEMENT_PROFILE;
+
+    /** All abstract edges of the node as sorted list of target fields and costs, independent from the order of the edges. */
+    private static List<String> edgesOf(PathHierarchy hierarchy, int node) {
+        List<String> edges = new ArrayList<>();
+        int end = hierarchy.endOfEdges(node);
+        for (int edge = hierarchy.firstEdge(node); edge < end; edge++) {
+            edges.add(hierarchy.nodeField(hierarchy.edgeTarget(edge)) + ":" + hierarchy.edgeCost(edge));
+        }
+        edges.sort(null);
+        return edges;
+    }
+
+    private static void assertSameHierarchy(PathHierarchy expected, PathHierarchy actual) {
+        assertEquals(expected.numClusters(), actual.numClusters(), "wrong number of clusters");
+        for (int cluster = 0; cluster < expected.numClusters(); cluster++) {
+            int[] entrances = expected.entrances(cluster);
+            assertArrayEquals(entrances, actual.entrances(cluster), "wrong entrances in cluster "+cluster);
+            for (int from = 0; from < entrances.length; from++) {
+                for (int to = 0; to < entrances.length; to++) {
+                    assertEquals(expected.intraCost(cluster, from, to), actual.intraCost(cluster, from, to), 1e-4f,
+                            "wrong cost within cluster "+cluster);
+                }
+            }
+        }
+        assertEquals(expected.numNodes(), actual.numNodes(), "wrong number of nodes");
+        for (int node = 0; node < expected.numNodes(); node++) {
+            int field = expected.nodeField(node);
+            assertEquals(edgesOf(expected, node), edgesOf(actual, actual.nodeOf(field)), "wrong edges at field "+field);
+        }
+    }
+
+    @Test
+    public void testBuild() {
+        BoardData data = new BoardData(12, 12);
+        PathHierarchy hierarchy = PathHierarchy.build(data.getGraph(), PROFILE, 4);
+
+        assertTrue(hierarchy.numClusters() > 4, "too few clusters");
+        assertTrue(hierarchy.numNodes() > 0, "no entrances");
+        for (int cluster = 0; cluster < hierarchy.numClusters(); cluster++) {
+            int num = hierarchy.entrances(cluster).length;
+            assertTrue(num > 0, "cluster "+cluster+" without entrance");
+            for (int idx = 0; idx < num; idx++) {
+                assertEquals(0, hierarchy.intraCost(cluster, idx, idx), "entrance not at zero cost to itself");
+            }
+            for (int from = 0; from < num; from++) {
+                for (int to = 0; to < num; to++) {
+                    assertEquals(hierarchy.intraCost(cluster, from, to), hierarchy.intraCost(cluster, to, from), "costs not symmetric");
+                }
+            }
+        }
+        for (int node = 0; node < hierarchy.numNodes(); node++) {
+            assertEquals(node, hierarchy.nodeOf(hierarchy.nodeField(node)), "nodes and fields do not match");
+        }
+    }
+
+    @Test
+    public void testBuild_invalidClusterSize() {
+        BoardGraph graph = new BoardData().getGraph();
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, () -> PathHierarchy.build(graph, PROFILE, 0),
+                "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V60714), "missing error code");
+        assertThrows(IllegalArgumentException.class, () -> PathHierarchy.build(graph, PROFILE, Float.NaN), "no exception for NaN");
+    }
+
+    @Test
+    public void testUpdatedFor_sameAsRebuild() {
+        BoardData data = new BoardData(15, 15);
+        PathHierarchy hierarchy = PathHierarchy.build(data.getGraph(), PROFILE, 4);
+
+        // cut some links, add a long one, and make one expensive
+        Random random = new Random(42);
+        List<Integer> changed = new ArrayList<>();
+        for (int run = 0; run < 12; run++) {
+            FieldData field = data.getFields().get(random.nextInt(data.getFields().size()));
+            if(!field.getLinks().isEmpty()) {
+                FieldLink link = field.getLinks().getFirst();
+                data.unlinkFields(link);
+                changed.add(link.getFieldA().getId());
+                changed.add(link.getFieldB().getId());
+            }
+        }
+        FieldData fieldA = data.getFields().get(3);
+        FieldData fieldB = data.getFields().get(500);
+        data.linkFields(fieldA, fieldB);
+        FieldData fieldC = data.getFields().get(200);
+        FieldData fieldD = fieldC.getLinks().getFirst().getFieldA() == fieldC ? fieldC.getLinks().getFirst().getFieldB()
+                : fieldC.getLinks().getFirst().getFieldA();
+        data.linkFields(fieldC, fieldD, 7, null);
+        changed.addAll(List.of(fieldA.getId(), fieldB.getId(), fieldC.getId(), fieldD.getId()));
+
+        BoardGraph newGraph = data.getGraph();
+        PathHierarchy updated = hierarchy.updatedFor(newGraph, changed.stream().mapToInt(Integer::intValue).toArray());
+        assertSame(newGraph, updated.getGraph(), "wrong graph");
+        assertSameHierarchy(PathHierarchy.build(newGraph, PROFILE, 4), updated);
+    }
+
+    @Test
+    public void testUpdatedFor_otherFields() {
+        PathHierarchy hierarchy = PathHierarchy.build(new BoardData(6, 6).getGraph(), PROFILE, 4);
+        BoardGraph other = new BoardData(8, 8).getGraph();
+
+        PathHierarchy updated = hierarchy.updatedFor(other, new int[0]);
+        assertSameHierarchy(PathHierarchy.build(other, PROFILE, 4), updated);
+    }
+
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Globals;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.SearchBudget;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PathfindingStatsDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class PathfinderTest {
+
+    private static void link(FieldData fieldA, FieldData fieldB) {
+        FieldLink link = new FieldLink(fieldA, fieldB);
+        fieldA.addLink(link);
+        fieldB.addLink(link);
+    }
+
+    @Test
+    public void testCall_defaultBoard() throws Exception {
+        BoardData data = new BoardData();
+        // fields 0 and 9 are at both ends of the first row of ten fields
+        Pathfinder finder = new Pathfinder(0, 9, data);
+        Optional<List<Vector3f>> opt = finder.call();
+
+        assertTrue(opt.isPresent(), "no path");
+        List<Vector3f> path = opt.get();
+        assertEquals(10, path.size(), "path not shortest");
+        assertEquals(data.getLocationOfField(0), path.getFirst(), "wrong start");
+        assertEquals(data.getLocationOfField(9), path.getLast(), "wrong end");
+    }
+
+    @Test
+    public void testCall_takesShortcut() throws Exception {
+        // a chain 0-1-2-3-4 winding around the shortcut 0-5-4
+        List<FieldData> fields = new ArrayList<>();
+        fields.add(new FieldData(0, new Vector3f(0, 0, 0)));
+        fields.add(new FieldData(1, new Vector3f(0, 0, 1)));
+        fields.add(new FieldData(2, new Vector3f(0, 0, 2)));
+        fields.add(new FieldData(3, new Vector3f(1, 0, 2)));
+        fields.add(new FieldData(4, new Vector3f(1, 0, 1)));
+        FieldData shortcut = new FieldData(5, new Vector3f(.5f, 0, .5f));
+        fields.add(shortcut);
+        for (int id = 1; id < 5; id++) {
+            link(fields.get(id-1), fields.get(id));
+        }
+        link(fields.get(0), shortcut);
+        link(shortcut, fields.get(4));
+
+        Pathfinder finder = new Pathfinder(0, 4, new BoardData(fields));
+        Optional<List<Vector3f>> opt = finder.call();
+
+        assertTrue(opt.isPresent(), "no path");
+        List<Vector3f> path = opt.get();
+        assertEquals(3, path.size(), "shortcut not taken");
+        assertEquals(shortcut.getLocation(), path.get(1), "wrong way point");
+    }
+
+    /** A hex-like grid with random costs: every field is linked to its left neighbour and to two fields of the row below. */
+    private static List<FieldData> randomlyWeightedGrid(int rows, int columns, long seed) {
+        Random random = new Random(seed);
+        List<FieldData> fields = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                float x = (column + (row % 2) * .5f) * Globals.FIELD_DIAMETER;
+                fields.add(new FieldData(row * columns + column, new Vector3f(x, 0, row * Globals.FIELD_DIAMETER)));
+            }
+        }
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                FieldData field = fields.get(row * columns + column);
+                List<FieldData> others = new ArrayList<>();
+                if(column > 0) {
+                    others.add(fields.get(row * columns + column - 1));
+                }
+                if(row > 0) {
+                    int shift = row % 2 == 0 ? -1 : 0;
+                    for (int other = column + shift; other <= column + shift + 1; other++) {
+                        if(other >= 0 && other < columns) {
+                            others.add(fields.get((row - 1) * columns + other));
+                        }
+                    }
+                }
+                for(FieldData other: others) {
+                    float[] profileCosts = {1 + 9 * random.nextFloat(), random.nextInt(4) == 0 ? Float.POSITIVE_INFINITY : 1};
+                    FieldLink link = new FieldLink(field, other, 1 + 4 * random.nextFloat(), profileCosts);
+                    field.addLink(link);
+                    other.addLink(link);
+                }
+            }
+        }
+        return fields;
+    }
+
+    /** Plain Dijkstra as reference for the cost of the cheapest path. */
+    private static float cheapestCost(List<FieldData> fields, FieldData from, FieldData to, int profile) {
+        float[] dist = new float[fields.size()];
+        Arrays.fill(dist, Float.POSITIVE_INFINITY);
+        dist[from.getId()] = 0;
+        PriorityQueue<float[]> queue = new PriorityQueue<>((a, b) -> Float.compare(a[0], b[0]));
+        queue.add(new float[]{0, from.getId()});
+        while(!queue.isEmpty()) {
+            float[] entry = queue.poll();
+            FieldData field = fields.get((int)entry[1]);
+            if(entry[0] > dist[field.getId()]) {
+                continue;
+            }
+            for(FieldLink link: field.getLinks()) {
+                FieldData other = link.getFieldA() == field ? link.getFieldB() : link.getFieldA();
+                float cost = dist[field.getId()] + link.getCost(profile);
+                if(cost < dist[other.getId()]) {
+                    dist[other.getId()] = cost;
+                    queue.add(new float[]{cost, other.getId()});
+                }
+            }
+        }
+        return dist[to.getId()];
+    }
+
+    /** Sums the costs of the links between the way points of the path. */
+    private static float costOfPath(List<FieldData> fields, List<Vector3f> path, int profile) {
+        float sum = 0;
+        for (int idx = 1; idx < path.size(); idx++) {
+            Vector3f from = path.get(idx - 1);
+            Vector3f to = path.get(idx);
+            FieldData field = fields.stream().filter(f -> f.getLocation().equals(from)).findFirst().orElseThrow();
+            float cost = Float.NaN;
+            for(FieldLink link: field.getLinks()) {
+                FieldData other = link.getFieldA() == field ? link.getFieldB() : link.getFieldA();
+                if(other.getLocation().equals(to)) {
+                    cost = link.getCost(profile);
+                }
+            }
+            sum += cost;
+        }
+        return sum;
+    }
+
+    @Test
+    public void testCall_avoidsExpensiveLink() throws Exception {
+        // the direct link 0-2 is more expensive than the detour 0-1-2
+        List<FieldData> fields = new ArrayList<>();
+        fields.add(new FieldData(0, new Vector3f(0, 0, 0)));
+        fields.add(new FieldData(1, new Vector3f(1, 0, 1)));
+        fields.add(new FieldData(2, new Vector3f(2, 0, 0)));
+        FieldLink direct = new FieldLink(fields.get(0), fields.get(2), 5, new float[]{5, 1});
+        fields.get(0).addLink(direct);
+        fields.get(2).addLink(direct);
+        link(fields.get(0), fields.get(1));
+        link(fields.get(1), fields.get(2));
+        BoardData data = new BoardData(fields);
+
+        List<Vector3f> path = new Pathfinder(0, 2, data).call().orElseThrow();
+        assertEquals(3, path.size(), "expensive link taken");
+
+        path = new Pathfinder(0, 2, 1, data).call().orElseThrow();
+        assertEquals(2, path.size(), "cheap link of the profile not taken");
+    }
+
+    @Test
+    public void testCall_longCheapLink() throws Exception {
+        // the long links 0-1 and 1-2 cost less per WU than any link is long in field diameters, so a heuristic scaled by the lowest link
+        // cost per field diameter would overestimate at field 1 and take the direct link 0-2
+        List<FieldData> fields = new ArrayList<>();
+        fields.add(new FieldData(0, new Vector3f(0, 0, 0)));
+        fields.add(new FieldData(1, new Vector3f(10, 0, 0)));
+        fields.add(new FieldData(2, new Vector3f(20, 0, 0)));
+        FieldLink toMiddle = new FieldLink(fields.get(0), fields.get(1), 2, null);
+        fields.get(0).addLink(toMiddle);
+        fields.get(1).addLink(toMiddle);
+        FieldLink toEnd = new FieldLink(fields.get(1), fields.get(2), 2, null);
+        fields.get(1).addLink(toEnd);
+        fields.get(2).addLink(toEnd);
+        FieldLink direct = new FieldLink(fields.get(0), fields.get(2), 10, null);
+        fields.get(0).addLink(direct);
+        fields.get(2).addLink(direct);
+        BoardGraph graph = new BoardGraph(fields);
+
+        Pathfinder finder = new Pathfinder(0, 2, PathfindingConfig.DEFAULT_MOVEMENT_PROFILE, SearchBudget.UNLIMITED, graph, null);
+        List<Vector3f> path = finder.call().orElseThrow();
+        assertEquals(List.of(fields.get(0).getLocation(), fields.get(1).getLocation(), fields.get(2).getLocation()), path,
+                "cheaper path along the long links not found");
+    }
+
+    @Test
+    public void testCall_impassableLink() throws Exception {
+        List<FieldData> fields = new ArrayList<>();
+        fields.add(new FieldData(0, new Vector3f(0, 0, 0)));
+        fields.add(new FieldData(1, new Vector3f(1, 0, 0)));
+        FieldLink link = new FieldLink(fields.get(0), fields.get(1), 1, new float[]{1, Float.POSITIVE_INFINITY});
+        fields.get(0).addLink(link);
+        fields.get(1).addLink(link);
+        BoardData data = new BoardData(fields);
+
+        assertTrue(new Pathfinder(0, 1, data).call().isPresent(), "no path with default profile");
+        assertTrue(new Pathfinder(0, 1, 1, data).call().isEmpty(), "path along impassable link");
+    }
+
+    @Test
+    public void testCall_optimalOnRandomCosts() throws Exception {
+        int rows = 12;
+        int columns = 15;
+        List<FieldData> fields = randomlyWeightedGrid(rows, columns, 1234);
+        BoardData data = new BoardData(fields);
+        Random random = new Random(99);
+        for (int run = 0; run < 30; run++) {
+            FieldData from = fields.get(random.nextInt(fields.size()));
+            FieldData to = fields.get(random.nextInt(fields.size()));
+            for (int profile = -1; profile < 2; profile++) {
+                float expected = cheapestCost(fields, from, to, profile);
+                Optional<List<Vector3f>> opt = new Pathfinder(from.getId(), to.getId(), profile, data).call();
+                if(expected == Float.POSITIVE_INFINITY) {
+                    assertTrue(opt.isEmpty(), "path where none exists");
+                }
+                else {
+                    float actual = costOfPath(fields, opt.orElseThrow(), profile);
+                    assertEquals(expected, actual, 1e-3f, "path not cheapest for profile "+profile);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCall_withLandmarks() throws Exception {
+        List<FieldData> fields = randomlyWeightedGrid(10, 12, 777);
+        BoardData plain = new BoardData(fields);
+        BoardData withLandmarks = new BoardData(fields);
+        withLandmarks.precomputeLandmarks(Runnable::run);
+        assertNotNull(withLandmarks.getGraph().getLandmarks(), "no landmarks");
+
+        Random random = new Random(5);
+        for (int run = 0; run < 30; run++) {
+            int from = random.nextInt(fields.size());
+            int to = random.nextInt(fields.size());
+            Optional<List<Vector3f>> expected = new Pathfinder(from, to, plain).call();
+            Optional<List<Vector3f>> actual = new Pathfinder(from, to, withLandmarks).call();
+            assertEquals(expected.isPresent(), actual.isPresent(), "disagreement about existence of path");
+            if(expected.isPresent()) {
+                assertEquals(costOfPath(fields, expected.get(), PathfindingConfig.DEFAULT_MOVEMENT_PROFILE),
+                        costOfPath(fields, actual.get(), PathfindingConfig.DEFAULT_MOVEMENT_PROFILE), 1e-3f, "path not cheapest");
+            }
+        }
+    }
+
+    /** The mock board with the last field cut off, so a search for it has to investigate the whole board. */
+    private static BoardData boardWithDetachedGoal() {
+        BoardData data = new BoardData(20, 20);
+        FieldData last = data.getFields().get(data.getFields().size() - 1);
+        for(FieldLink link: List.copyOf(last.getLinks())) {
+            data.unlinkFields(link);
+        }
+        return data;
+    }
+
+    @Test
+    public void testCall_cancelled() {
+        BoardData data = boardWithDetachedGoal();
+        Pathfinder finder = new Pathfinder(0, data.getFields().size() - 1, data);
+
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, () -> finder.call(), "interruption ignored");
+        assertFalse(Thread.currentThread().isInterrupted(), "interrupt flag still set");
+        PathfindingStatsDTO stats = data.getPathfindingMetrics().getStats();
+        assertEquals(1, stats.getCancelled(), "cancellation not counted");
+        assertEquals(Pathfinder.CHECK_INTERVAL, stats.getExpansions(), "not stopped at the first check");
+    }
+
+    @Test
+    public void testCall_expansionBudget() throws Exception {
+        BoardData data = new BoardData(20, 20);
+        int goal = data.getFields().size() - 1;
+        PathfindingConfig config = new PathfindingConfig(0, goal, PathfindingConfig.DEFAULT_MOVEMENT_PROFILE, new SearchBudget(10,
+                SearchBudget.NO_TIME_LIMIT));
+
+        List<Vector3f> path = new Pathfinder(config, data).call().orElseThrow();
+
+        assertEquals(data.getLocationOfField(0), path.getFirst(), "wrong start");
+        assertNotEquals(data.getLocationOfField(goal), path.getLast(), "goal reached despite budget");
+        assertTrue(path.size() > 1, "no progress at all");
+        float before = path.getFirst().distance(data.getLocationOfField(goal));
+        float after = path.getLast().distance(data.getLocationOfField(goal));
+        assertTrue(after < before, "partial path not heading to the goal");
+        PathfindingStatsDTO stats = data.getPathfindingMetrics().getStats();
+        assertEquals(1, stats.getBudgetExceeded(), "exceeded budget not counted");
+        assertEquals(10, stats.getExpansions(), "wrong number of expansions");
+    }
+
+    @Test
+    public void testCall_deadline() throws Exception {
+        BoardData data = boardWithDetachedGoal();
+        PathfindingConfig config = new PathfindingConfig(0, data.getFields().size() - 1, PathfindingConfig.DEFAULT_MOVEMENT_PROFILE,
+                new SearchBudget(SearchBudget.NO_EXPANSION_LIMIT, 1));
+        Pathfinder finder = new Pathfinder(config, data);
+        Thread.sleep(1);
+
+        Optional<List<Vector3f>> opt = finder.call();
+
+        assertTrue(opt.isPresent(), "no partial path");
+        PathfindingStatsDTO stats = data.getPathfindingMetrics().getStats();
+        assertEquals(1, stats.getBudgetExceeded(), "deadline not counted");
+        assertEquals(0, stats.getUnreachable(), "searched on after the deadline");
+    }
+
+    @Test
+    public void testCall_unreachable() throws Exception {
+        List<FieldData> fields = new ArrayList<>();
+        fields.add(new FieldData(0, new Vector3f(0, 0, 0)));
+        fields.add(new FieldData(1, new Vector3f(1, 0, 0)));
+        fields.add(new FieldData(2, new Vector3f(2, 0, 0)));
+        link(fields.get(0), fields.get(1));
+
+        BoardData data = new BoardData(fields);
+        Pathfinder finder = new Pathfinder(0, 2, data);
+        Optional<List<Vector3f>> opt = finder.call();
+
+        assertTrue(opt.isEmpty(), "found a path to a detached field");
+        assertEquals(1, data.getPathfindingMetrics().getStats().getUnreachable(), "unreachable goal not counted");
+    }
+
+}
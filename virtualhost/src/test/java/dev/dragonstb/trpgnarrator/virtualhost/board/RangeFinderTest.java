@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.error.BoardFieldNotFoundException;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReachableFieldsDTO;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class RangeFinderTest {
+
+    /** A row of fields 0-1-2-...-(n-1). */
+    private static BoardData row(int numFields) {
+        List<FieldData> fields = new ArrayList<>();
+        for (int id = 0; id < numFields; id++) {
+            fields.add(new FieldData(id, new Vector3f(id, 0, 0)));
+            if(id > 0) {
+                FieldLink link = new FieldLink(fields.get(id), fields.get(id - 1));
+                fields.get(id).addLink(link);
+                fields.get(id - 1).addLink(link);
+            }
+        }
+        return new BoardData(fields);
+    }
+
+    @Test
+    public void testFind_row() {
+        ReachableFieldsDTO dto = new RangeFinder(row(10)).find(5, 2);
+
+        Map<Integer, Integer> predecessors = new HashMap<>();
+        Map<Integer, Float> costs = new HashMap<>();
+        for (int idx = 0; idx < dto.size(); idx++) {
+            predecessors.put(dto.getFieldId(idx), dto.getPredecessorId(idx));
+            costs.put(dto.getFieldId(idx), dto.getCost(idx));
+        }
+        assertEquals(Map.of(3, 4, 4, 5, 5, 5, 6, 5, 7, 6), predecessors, "wrong fields or predecessors");
+        assertEquals(2f, costs.get(3), "wrong cost");
+        assertEquals(0f, costs.get(5), "wrong cost of start");
+        assertEquals(5, dto.getFieldId(0), "start not first");
+    }
+
+    @Test
+    public void testFind_sortedByCost() {
+        ReachableFieldsDTO dto = new RangeFinder(new BoardData()).find(55, 3);
+        for (int idx = 1; idx < dto.size(); idx++) {
+            assertTrue(dto.getCost(idx - 1) <= dto.getCost(idx), "not sorted");
+        }
+    }
+
+    @Test
+    public void testFind_consistentWithPathfinder() throws Exception {
+        BoardData data = new BoardData();
+        int from = 55;
+        ReachableFieldsDTO dto = new RangeFinder(data).find(from, 3);
+
+        // on the hex board, the fields within three steps form a hexagon of 1 + 6 + 12 + 18 fields, unless cut by the edge
+        assertTrue(dto.size() > 1 && dto.size() <= 37, "implausible number of fields: "+dto.size());
+        for (int idx = 0; idx < dto.size(); idx++) {
+            Optional<List<Vector3f>> path = new Pathfinder(from, dto.getFieldId(idx), data).call();
+            assertEquals(dto.getCost(idx) + 1, path.orElseThrow().size(), .001f, "cost differs from path length");
+        }
+        for (int id: data.getFields().keySet()) {
+            boolean reachable = new Pathfinder(from, id, data).call().orElseThrow().size() <= 4;
+            boolean found = false;
+            for (int fieldId: dto.getFieldIds()) {
+                found |= fieldId == id;
+            }
+            assertEquals(reachable, found, "disagreement about field "+id);
+        }
+    }
+
+    @Test
+    public void testFind_weighted() {
+        // 0 -(1)- 1 -(3)- 2, and the profile 1 makes 0-1 expensive
+        List<FieldData> fields = new ArrayList<>();
+        for (int id = 0; id < 3; id++) {
+            fields.add(new FieldData(id, new Vector3f(id, 0, 0)));
+        }
+        FieldLink cheap = new FieldLink(fields.get(0), fields.get(1), 1, new float[]{1, 5});
+        FieldLink expensive = new FieldLink(fields.get(1), fields.get(2), 3, null);
+        for(FieldLink link: List.of(cheap, expensive)) {
+            link.getFieldA().addLink(link);
+            link.getFieldB().addLink(link);
+        }
+        RangeFinder finder = new RangeFinder(new BoardData(fields));
+
+        assertEquals(2, finder.find(0, 3.5f).size(), "wrong number of fields in range");
+        assertEquals(3, finder.find(0, 4f).size(), "wrong number of fields in range");
+        assertEquals(4f, finder.find(0, 4f).getCost(2), "wrong cost");
+        assertEquals(1, finder.find(0, 4f, 1).size(), "profile costs ignored");
+    }
+
+    @Test
+    public void testFind_noMovementPoints() {
+        ReachableFieldsDTO dto = new RangeFinder(row(3)).find(1, 0);
+        assertEquals(1, dto.size(), "left start field");
+        assertEquals(1, dto.getFieldId(0), "wrong field");
+        assertEquals(1, dto.getPredecessorId(0), "start not its own predecessor");
+    }
+
+    @Test
+    public void testFind_unknownField() {
+        BoardFieldNotFoundException exc = assertThrows(BoardFieldNotFoundException.class, () -> new RangeFinder(row(3)).find(7, 2),
+                "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V27093), "missing error code");
+    }
+
+    @Test
+    public void testFind_negativeMovementPoints() {
+        RangeFinder finder = new RangeFinder(row(3));
+        assertThrows(IllegalArgumentException.class, () -> finder.find(1, -1), "no exception");
+        assertThrows(IllegalArgumentException.class, () -> finder.find(1, Float.NaN), "no exception for NaN");
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.board;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Globals;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class SpatialIndexTest {
+
+    private static Set<Integer> ids(List<FieldData> fields) {
+        return fields.stream().map(FieldData::getId).collect(Collectors.toSet());
+    }
+
+    /** A row of fields with one WU between them. */
+    private static List<FieldData> row(int numFields) {
+        List<FieldData> fields = new ArrayList<>();
+        for (int id = 0; id < numFields; id++) {
+            fields.add(new FieldData(id, new Vector3f(id, 0, 0)));
+        }
+        return fields;
+    }
+
+    @Test
+    public void testLinkAdjacentFields_defaultBoard() {
+        // the default board is linked by the index
+        BoardData data = new BoardData();
+        int numLinks = data.getFields().values().stream().mapToInt(field -> field.getLinks().size()).sum() / 2;
+        assertEquals(289, numLinks, "wrong number of links");
+
+        float dx = Globals.FIELD_RADIUS * (float)Math.sqrt(3);
+        data.getFields().values().forEach(field -> field.getLinks().forEach(link -> {
+            float dist = link.getFieldA().getLocation().distance(link.getFieldB().getLocation());
+            assertEquals(dx, dist, .01f, "linked fields not adjacent");
+            assertNotSame(link.getFieldA(), link.getFieldB(), "field linked to itself");
+        }));
+    }
+
+    @Test
+    public void testLinkAdjacentFields_row() {
+        List<FieldData> fields = row(5);
+        SpatialIndex index = new SpatialIndex(fields, 1);
+
+        int numLinks = index.linkAdjacentFields(1, .01f);
+
+        assertEquals(4, numLinks, "wrong number of links");
+        assertEquals(1, fields.get(0).getLinks().size(), "wrong number of links at the end");
+        assertEquals(2, fields.get(2).getLinks().size(), "wrong number of links in the middle");
+    }
+
+    @Test
+    public void testLinkAdjacentFields_height() {
+        // same horizontal distance, but the height difference makes them too far apart
+        FieldData low = new FieldData(0, new Vector3f(0, 0, 0));
+        FieldData high = new FieldData(1, new Vector3f(1, 1, 0));
+        SpatialIndex index = new SpatialIndex(List.of(low, high), 1);
+
+        assertEquals(0, index.linkAdjacentFields(1, .01f), "linked");
+    }
+
+    @Test
+    public void testGetFieldsWithinRadius() {
+        SpatialIndex index = new SpatialIndex(row(10), 1);
+
+        assertEquals(Set.of(3, 4, 5, 6, 7), ids(index.getFieldsWithinRadius(5, 0, 2)), "wrong fields");
+        assertEquals(Set.of(4, 5), ids(index.getFieldsWithinRadius(4.5f, 0, .6f)), "wrong fields");
+        assertEquals(Set.of(0, 1), ids(index.getFieldsWithinRadius(-.5f, 0, 1.6f)), "wrong fields outside the grid");
+        assertTrue(index.getFieldsWithinRadius(5, 3, 2).isEmpty(), "found fields far away");
+        assertTrue(index.getFieldsWithinRadius(5, 0, -1).isEmpty(), "found fields for negative radius");
+    }
+
+    @Test
+    public void testGetFieldAt() {
+        SpatialIndex index = new SpatialIndex(row(10), 1);
+
+        assertEquals(3, index.getFieldAt(3.2f, .1f).getId(), "wrong field");
+        assertEquals(4, index.getFieldAt(3.7f, -.1f).getId(), "wrong field");
+        assertEquals(0, index.getFieldAt(-.3f, 0).getId(), "wrong field at the edge");
+        assertNull(index.getFieldAt(3, .8f), "found a field beside the board");
+        assertNull(index.getFieldAt(100, 0), "found a field far away");
+    }
+
+    @Test
+    public void testSparseFields() {
+        // far apart, so the index must enlarge the cells
+        FieldData a = new FieldData(0, new Vector3f(-1e6f, 0, -1e6f));
+        FieldData b = new FieldData(1, new Vector3f(1e6f, 0, 1e6f));
+        FieldData c = new FieldData(2, new Vector3f(1e6f + 1, 0, 1e6f));
+        SpatialIndex index = new SpatialIndex(List.of(a, b, c), 1);
+
+        assertSame(a, index.getFieldAt(-1e6f, -1e6f), "wrong field");
+        assertSame(c, index.getFieldAt(1e6f + 1.1f, 1e6f), "wrong field");
+        assertEquals(Set.of(1, 2), ids(index.getFieldsWithinRadius(1e6f, 1e6f, 2)), "wrong fields");
+        assertEquals(1, index.linkAdjacentFields(1, .01f), "wrong number of links");
+    }
+
+    @Test
+    public void testEmpty() {
+        SpatialIndex index = new SpatialIndex(List.of(), 1);
+        assertEquals(0, index.size(), "not empty");
+        assertNull(index.getFieldAt(0, 0), "found a field");
+        assertTrue(index.getFieldsWithinRadius(0, 0, 10).isEmpty(), "found fields");
+        assertEquals(0, index.linkAdjacentFields(1, .01f), "created links");
+    }
+
+    @Test
+    public void testConstructor_badCellSize() {
+        List<FieldData> fields = row(2);
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, () -> new SpatialIndex(fields, 0), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V56318), "missing error code");
+        assertThrows(IllegalArgumentException.class, () -> new SpatialIndex(fields, Float.NaN), "no exception for NaN");
+    }
+
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathForFigurine;
+import dev.dragonstb.trpgnarrator.virtualhost.hostconnector.HostConnector;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.BackpressurePolicy;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ *
+ * @author Dragonstb
+ */
+@ExtendWith(MockitoExtension.class)
+public class AsyncBrokerImpTest {
+
+    private final String channel = "asyncChannel";
+    private final int channelId = CodeRegistry.CHANNELS.idOf(channel);
+
+    @Mock
+    private HostConnector connector;
+    @Mock
+    private Receiver receiverA;
+    @Mock
+    private Receiver receiverB;
+
+    /** Collects the tasks, which are run by the test when it sees fit. */
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Executor manual = tasks::add;
+
+    private void runTasks() {
+        while(!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+    }
+
+    @Test
+    public void testSend_directExecutor() {
+        AsyncBrokerImp broker = new AsyncBrokerImp(connector, Runnable::run, 4, BackpressurePolicy.block);
+        Message msg = new Message("asyncHeadline", "content");
+        broker.registerToChannel(receiverA, channel);
+        broker.send(msg, channel);
+        verify(receiverA, times(1)).receive(msg);
+        verify(receiverB, never()).receive(any());
+    }
+
+    @Test
+    public void testSend_queuedUntilDrained() {
+        AsyncBrokerImp broker = new AsyncBrokerImp(connector, manual, 4, BackpressurePolicy.block);
+        Message first = new Message("asyncHeadline", 1);
+        Message second = new Message("asyncHeadline", 2);
+        broker.registerToChannel(receiverA, channelId);
+        broker.send(first, channelId);
+        broker.send(second, channelId);
+
+        verify(receiverA, never()).receive(any());
+        assertEquals(1, tasks.size(), "not exactly one task draining the channel");
+
+        runTasks();
+        InOrder inOrder = inOrder(receiverA);
+        inOrder.verify(receiverA).receive(first);
+        inOrder.verify(receiverA).receive(second);
+    }
+
+    @Test
+    public void testSend_coalescedUntilUpdate() {
+        AsyncBrokerImp broker = new AsyncBrokerImp(connector, manual, 4, BackpressurePolicy.block);
+        Message first = new Message("asyncHeadline", new McFindPathForFigurine("fig", 0, 3));
+        Message latest = new Message("asyncHeadline", new McFindPathForFigurine("fig", 0, 5));
+        broker.registerToChannel(receiverA, channelId);
+        broker.send(first, channelId);
+        broker.send(latest, channelId);
+        assertTrue(tasks.isEmpty(), "queued before the timing signal");
+
+        broker.update(0.1f);
+        runTasks();
+        verify(receiverA, times(1)).receive(latest);
+        verify(receiverA, never()).receive(first);
+        assertEquals(1, broker.countCoalesced(), "wrong number of coalesced messages");
+    }
+
+    @Test
+    public void testSend_virtualThreads() {
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            AsyncBrokerImp broker = new AsyncBrokerImp(connector, executor, 4, BackpressurePolicy.block);
+            Message msg = new Message("asyncHeadline", "content");
+            broker.registerToChannel(receiverA, channel);
+            broker.send(msg, channel);
+            verify(receiverA, timeout(1000).times(1)).receive(msg);
+        }
+    }
+
+    @Test
+    public void testRequest() {
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            AsyncBrokerImp broker = new AsyncBrokerImp(connector, executor, 4, BackpressurePolicy.block);
+            FetchCommand fetch = new FetchCommand("asyncFetch");
+            when(receiverA.request(fetch)).thenReturn(Optional.of("World"));
+            when(receiverB.request(fetch)).thenReturn(Optional.empty());
+            broker.registerToChannel(receiverA, channel);
+            broker.registerToChannel(receiverB, channel);
+
+            List<Optional<Object>> list = broker.request(channel, fetch, true);
+            assertEquals(List.of(Optional.of("World")), list, "wrong answer");
+        }
+    }
+
+    @Test
+    public void testRequestFirst() {
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            AsyncBrokerImp broker = new AsyncBrokerImp(connector, executor, 4, BackpressurePolicy.block);
+            FetchCommand fetch = new FetchCommand("asyncFetch");
+            when(receiverA.request(fetch)).thenReturn(Optional.of("World"));
+            broker.registerToChannel(receiverA, channelId);
+            broker.registerToChannel(receiverB, channelId);
+
+            assertEquals(Optional.of("World"), broker.requestFirst(channelId, fetch), "wrong answer");
+            verify(receiverB, never()).request(any());
+            assertTrue(broker.requestFirst(CodeRegistry.CHANNELS.idOf("asyncNowhere-k2j4"), fetch).isEmpty(), "answer from nowhere");
+        }
+    }
+
+    @Test
+    public void testRequestAsync() throws Exception {
+        AsyncBrokerImp broker = new AsyncBrokerImp(connector, manual, 4, BackpressurePolicy.block);
+        FetchCommand fetch = new FetchCommand("asyncFetch");
+        when(receiverA.request(fetch)).thenReturn(Optional.of("World"));
+        broker.registerToChannel(receiverA, channelId);
+
+        CompletableFuture<List<Optional<Object>>> future = broker.requestAsync(channelId, fetch, false);
+        assertFalse(future.isDone(), "answered before draining");
+
+        runTasks();
+        assertEquals(List.of(Optional.of("World")), future.get(1, TimeUnit.SECONDS), "wrong answer");
+    }
+
+    @Test
+    public void testRequestAsync_noReceivers() throws Exception {
+        AsyncBrokerImp broker = new AsyncBrokerImp(connector, manual, 4, BackpressurePolicy.block);
+        CompletableFuture<List<Optional<Object>>> future = broker.requestAsync("asyncNowhere-k2j4", new FetchCommand("asyncFetch"), true);
+        assertTrue(future.get().isEmpty(), "answer from nowhere");
+    }
+
+    @Test
+    public void testRequest_receiverThrows() {
+        AsyncBrokerImp broker = new AsyncBrokerImp(connector, Runnable::run, 4, BackpressurePolicy.block);
+        FetchCommand fetch = new FetchCommand("asyncFetch");
+        IllegalStateException thrown = new IllegalStateException("thrown by receiver");
+        when(receiverA.request(fetch)).thenThrow(thrown);
+        broker.registerToChannel(receiverA, channel);
+
+        IllegalStateException exc = assertThrows(IllegalStateException.class, () -> broker.request(channel, fetch, true), "no exception");
+        assertSame(thrown, exc, "wrong exception");
+    }
+
+    @Test
+    public void testRequest_fromOwnReceiver() {
+        AsyncBrokerImp broker = new AsyncBrokerImp(connector, manual, 4, BackpressurePolicy.block);
+        FetchCommand fetch = new FetchCommand("asyncFetch");
+        Message msg = new Message("asyncHeadline", null);
+        when(receiverB.request(fetch)).thenReturn(Optional.of("World"));
+        doAnswer(invocation -> {
+            // would wait forever for itself if the request was queued
+            assertEquals(1, broker.request(channelId, fetch, true).size(), "no answer");
+            return null;
+        }).when(receiverA).receive(msg);
+        broker.registerToChannel(receiverA, channelId);
+        broker.registerToChannel(receiverB, channelId);
+
+        broker.send(msg, channelId);
+        runTasks();
+        verify(receiverB, times(1)).request(fetch);
+    }
+
+    @Test
+    public void testSend_dropOldest() {
+        AsyncBrokerImp broker = new AsyncBrokerImp(connector, manual, 2, BackpressurePolicy.dropOldest);
+        Message first = new Message("asyncHeadline", 1);
+        Message second = new Message("asyncHeadline", 2);
+        Message third = new Message("asyncHeadline", 3);
+        broker.registerToChannel(receiverA, channelId);
+        broker.send(first, channelId);
+        broker.send(second, channelId);
+        broker.send(third, channelId);
+
+        runTasks();
+        verify(receiverA, never()).receive(first);
+        verify(receiverA, times(1)).receive(second);
+        verify(receiverA, times(1)).receive(third);
+        assertEquals(1, broker.channelOf(channelId).getDropped(), "wrong number of dropped messages");
+    }
+
+    @Test
+    public void testSend_coalesce() {
+        AsyncBrokerImp broker = new AsyncBrokerImp(connector, manual, 2, BackpressurePolicy.coalesce);
+        Message oldPos = new Message("asyncPosition", new McFindPathForFigurine("fig", 0, 1));
+        Message other = new Message("asyncOther", new McFindPathForFigurine("fig", 0, 2));
+        Message newPos = new Message("asyncPosition", new McFindPathForFigurine("fig", 0, 3));
+        broker.registerToChannel(receiverA, channelId);
+        sendAndFlush(broker, oldPos);
+        sendAndFlush(broker, other);
+        sendAndFlush(broker, newPos);
+
+        runTasks();
+        InOrder inOrder = inOrder(receiverA);
+        inOrder.verify(receiverA).receive(newPos);
+        inOrder.verify(receiverA).receive(other);
+        verify(receiverA, never()).receive(oldPos);
+        assertEquals(1, broker.channelOf(channelId).getCoalesced(), "wrong number of coalesced messages");
+        assertEquals(0, broker.channelOf(channelId).getDropped(), "dropped instead");
+    }
+
+    @Test
+    public void testSend_coalesce_otherFigurine() {
+        AsyncBrokerImp broker = new AsyncBrokerImp(connector, manual, 2, BackpressurePolicy.coalesce);
+        Message oldA = new Message("asyncPosition", new McFindPathForFigurine("figA", 0, 1));
+        Message oldB = new Message("asyncPosition", new McFindPathForFigurine("figB", 0, 2));
+        Message newA = new Message("asyncPosition", new McFindPathForFigurine("figA", 0, 3));
+        broker.registerToChannel(receiverA, channelId);
+        sendAndFlush(broker, oldA);
+        sendAndFlush(broker, oldB);
+        sendAndFlush(broker, newA);
+
+        runTasks();
+        InOrder inOrder = inOrder(receiverA);
+        inOrder.verify(receiverA).receive(newA);
+        inOrder.verify(receiverA).receive(oldB);
+        verify(receiverA, never()).receive(oldA);
+        assertEquals(1, broker.channelOf(channelId).getCoalesced(), "wrong number of coalesced messages");
+        assertEquals(0, broker.channelOf(channelId).getDropped(), "dropped instead");
+    }
+
+    @Test
+    public void testSend_coalesce_notCoalescable() {
+        AsyncBrokerImp broker = new AsyncBrokerImp(connector, manual, 2, BackpressurePolicy.coalesce);
+        Message oldPos = new Message("asyncPosition", 1);
+        Message other = new Message("asyncOther", 2);
+        Message newPos = new Message("asyncPosition", 3);
+        broker.registerToChannel(receiverA, channelId);
+        broker.send(oldPos, channelId);
+        broker.send(other, channelId);
+        broker.send(newPos, channelId);
+
+        runTasks();
+        InOrder inOrder = inOrder(receiverA);
+        inOrder.verify(receiverA).receive(other);
+        inOrder.verify(receiverA).receive(newPos);
+        verify(receiverA, never()).receive(oldPos);
+        assertEquals(0, broker.channelOf(channelId).getCoalesced(), "coalesced instead");
+        assertEquals(1, broker.channelOf(channelId).getDropped(), "wrong number of dropped messages");
+    }
+
+    /** Sends a message with coalescable content, which the broker holds back until the next timing signal, and flushes it into the
+     * queue of the channel.
+     *
+     * @param broker The broker.
+     * @param msg The message.
+     */
+    private void sendAndFlush(AsyncBrokerImp broker, Message msg) {
+        broker.send(msg, channelId);
+        broker.update(0.1f);
+    }
+
+    @Test
+    public void testSend_block() throws Exception {
+        AsyncBrokerImp broker = new AsyncBrokerImp(connector, manual, 1, BackpressurePolicy.block);
+        Message first = new Message("asyncHeadline", 1);
+        Message second = new Message("asyncHeadline", 2);
+        broker.registerToChannel(receiverA, channelId);
+        broker.send(first, channelId);
+
+        Thread sender = Thread.ofVirtual().start(() -> broker.send(second, channelId));
+        sender.join(200);
+        assertTrue(sender.isAlive(), "sender not blocked");
+        verify(receiverA, never()).receive(any());
+
+        runTasks();
+        sender.join(1000);
+        assertFalse(sender.isAlive(), "sender still blocked");
+        runTasks();
+        InOrder inOrder = inOrder(receiverA);
+        inOrder.verify(receiverA).receive(first);
+        inOrder.verify(receiverA).receive(second);
+    }
+
+    @Test
+    public void testSend_receiverThrows() {
+        AsyncBrokerImp broker = new AsyncBrokerImp(connector, manual, 4, BackpressurePolicy.block);
+        Message bad = new Message("asyncHeadline", 1);
+        Message good = new Message("asyncHeadline", 2);
+        doThrow(new IllegalStateException("thrown by receiver")).when(receiverA).receive(bad);
+        broker.registerToChannel(receiverA, channelId);
+        broker.send(bad, channelId);
+        broker.send(good, channelId);
+
+        Thread.UncaughtExceptionHandler handler = mock(Thread.UncaughtExceptionHandler.class);
+        Thread.UncaughtExceptionHandler former = Thread.currentThread().getUncaughtExceptionHandler();
+        Thread.currentThread().setUncaughtExceptionHandler(handler);
+        try {
+            runTasks();
+        } finally {
+            Thread.currentThread().setUncaughtExceptionHandler(former);
+        }
+
+        verify(receiverA, times(1)).receive(good);
+        verify(handler, times(1)).uncaughtException(any(), any(IllegalStateException.class));
+    }
+
+    @Test
+    public void testDeregisterFromChannel() {
+        AsyncBrokerImp broker = new AsyncBrokerImp(connector, Runnable::run, 4, BackpressurePolicy.block);
+        broker.registerToChannel(receiverA, channel);
+        broker.deregisterFromChannel(receiverA, channel);
+        broker.send(new Message("asyncHeadline", null), channel);
+        verify(receiverA, never()).receive(any());
+    }
+
+    @Test
+    public void testConstructor_badCapacity() {
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class,
+                () -> new AsyncBrokerImp(connector, manual, 0, BackpressurePolicy.block), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V07245), "missing error code");
+    }
+
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
+import dev.dragonstb.trpgnarrator.virtualhost.hostconnector.HostConnector;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.BackpressurePolicy;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.ClockReceiver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Stress test of registering, deregistering and sending concurrently. Each test races several threads against each other and then checks
+ * that no receiver got lost and that no thread failed, e.g. with a {@link java.util.ConcurrentModificationException}.
+ *
+ * @author Dragonstb
+ * @since 0.0.2
+ */
+@ExtendWith(MockitoExtension.class)
+public class BrokerConcurrencyIT {
+
+    private static final int THREADS = 4;
+    private static final int RECEIVERS_PER_THREAD = 200;
+    private static final int ROUNDS = 200;
+
+    private final String channel = "concurrencyChannel";
+    private final int channelId = CodeRegistry.CHANNELS.idOf(channel);
+    private final Message marker = new Message("concurrencyMarker", null);
+
+    @Mock
+    private HostConnector connector;
+
+    /** Failures of the threads. */
+    private final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+    @Test
+    public void testRegisterWhileSending() throws Exception {
+        SyncBrokerImp broker = new SyncBrokerImp(connector);
+        CountingReceiver stable = new CountingReceiver();
+        broker.registerToChannel(stable, channelId);
+
+        List<CountingReceiver> registered = new ArrayList<>();
+        List<Runnable> registrars = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            List<CountingReceiver> mine = new ArrayList<>();
+            for (int idx = 0; idx < RECEIVERS_PER_THREAD; idx++) {
+                mine.add(new CountingReceiver());
+            }
+            registered.addAll(mine);
+            registrars.add(() -> mine.forEach(rec -> broker.registerToChannel(rec, channelId)));
+        }
+
+        int sent = raceAgainstSenders(broker, registrars);
+
+        broker.send(marker, channelId);
+        for (CountingReceiver rec : registered) {
+            assertTrue(rec.gotMarker.get(), "receiver lost");
+        }
+        assertEquals(sent + 1, stable.count.get(), "stable receiver missed messages");
+    }
+
+    @Test
+    public void testRegisterAndDeregisterWhileSending() throws Exception {
+        SyncBrokerImp broker = new SyncBrokerImp(connector);
+        CountingReceiver stable = new CountingReceiver();
+        broker.registerToChannel(stable, channelId);
+
+        List<CountingReceiver> staying = new ArrayList<>();
+        List<Runnable> registrars = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            CountingReceiver stays = new CountingReceiver();
+            CountingReceiver churns = new CountingReceiver();
+            staying.add(stays);
+            registrars.add(() -> {
+                for (int round = 0; round < ROUNDS; round++) {
+                    broker.registerToChannel(churns, channelId);
+                    broker.deregisterFromChannel(churns, channelId);
+                }
+                broker.registerToChannel(stays, channelId);
+            });
+        }
+
+        int sent = raceAgainstSenders(broker, registrars);
+
+        broker.send(marker, channelId);
+        for (CountingReceiver rec : staying) {
+            assertTrue(rec.gotMarker.get(), "receiver lost");
+        }
+        assertEquals(sent + 1, stable.count.get(), "stable receiver missed messages");
+    }
+
+    @Test
+    public void testChannelEmptiedWhileRegistering() throws Exception {
+        // the channel is removed from the broker whenever it becomes empty, which must not swallow a concurrent registration
+        String ownChannel = "concurrencyEmptied";
+        for (int round = 0; round < ROUNDS; round++) {
+            SyncBrokerImp broker = new SyncBrokerImp(connector);
+            CountingReceiver churns = new CountingReceiver();
+            CountingReceiver stays = new CountingReceiver();
+            CountDownLatch start = new CountDownLatch(1);
+
+            Thread churner = startThread(start, () -> {
+                for (int idx = 0; idx < 20; idx++) {
+                    broker.registerToChannel(churns, ownChannel);
+                    broker.deregisterFromChannel(churns, ownChannel);
+                }
+            });
+            Thread registrar = startThread(start, () -> broker.registerToChannel(stays, ownChannel));
+            start.countDown();
+            churner.join();
+            registrar.join();
+
+            broker.send(marker, ownChannel);
+            assertTrue(stays.gotMarker.get(), "receiver lost in round "+round);
+        }
+        assertTrue(failures.isEmpty(), "thread failed: "+failures.peek());
+    }
+
+    @Test
+    public void testRegisterToTimingWhileUpdating() throws Exception {
+        SyncBrokerImp broker = new SyncBrokerImp(connector);
+        List<CountingClockReceiver> registered = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        AtomicBoolean registering = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int thread = 0; thread < THREADS; thread++) {
+            List<CountingClockReceiver> mine = new ArrayList<>();
+            for (int idx = 0; idx < RECEIVERS_PER_THREAD; idx++) {
+                mine.add(new CountingClockReceiver());
+            }
+            registered.addAll(mine);
+            threads.add(startThread(start, () -> mine.forEach(rec -> broker.registerToTiming(rec))));
+        }
+        Thread clock = startThread(start, () -> {
+            while(registering.get()) {
+                broker.update(0.01f);
+            }
+        });
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        registering.set(false);
+        clock.join();
+        assertTrue(failures.isEmpty(), "thread failed: "+failures.peek());
+
+        broker.update(1f);
+        for (CountingClockReceiver rec : registered) {
+            assertTrue(rec.gotFinal.get(), "clock receiver lost");
+        }
+    }
+
+    @Test
+    public void testAsyncBroker_registerWhileSending() throws Exception {
+        AsyncBrokerImp broker = new AsyncBrokerImp(connector, Runnable::run, 64, BackpressurePolicy.block);
+        CountingReceiver stable = new CountingReceiver();
+        broker.registerToChannel(stable, channelId);
+
+        List<CountingReceiver> registered = new ArrayList<>();
+        List<Runnable> registrars = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            List<CountingReceiver> mine = new ArrayList<>();
+            for (int idx = 0; idx < RECEIVERS_PER_THREAD; idx++) {
+                mine.add(new CountingReceiver());
+            }
+            registered.addAll(mine);
+            registrars.add(() -> mine.forEach(rec -> broker.registerToChannel(rec, channelId)));
+        }
+
+        int sent = raceAgainstSenders(broker, registrars);
+
+        broker.send(marker, channelId);
+        for (CountingReceiver rec : registered) {
+            assertTrue(rec.gotMarker.get(), "receiver lost");
+        }
+        assertEquals(sent + 1, stable.count.get(), "stable receiver missed messages");
+    }
+
+    /** Runs the registrars, each on its own thread, while as many other threads send and request on the channel until all registrars are
+     * done. Fails if any thread failed.
+     *
+     * @param broker The broker.
+     * @param registrars The registrars.
+     * @return Number of messages sent.
+     * @throws InterruptedException Interrupted while waiting for the threads.
+     */
+    private int raceAgainstSenders(SynchronousBroker broker, List<Runnable> registrars) throws InterruptedException {
+        AtomicBoolean registering = new AtomicBoolean(true);
+        AtomicInteger sent = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        FetchCommand fetch = new FetchCommand("concurrencyFetch");
+        Message msg = new Message("concurrencyHeadline", null);
+
+        List<Thread> regThreads = new ArrayList<>();
+        for (Runnable registrar : registrars) {
+            regThreads.add(startThread(start, registrar));
+        }
+        List<Thread> sendThreads = new ArrayList<>();
+        for (int thread = 0; thread < registrars.size(); thread++) {
+            sendThreads.add(startThread(start, () -> {
+                while(registering.get()) {
+                    broker.send(msg, channelId);
+                    sent.incrementAndGet();
+                    broker.request(channelId, fetch, true);
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Thread thread : regThreads) {
+            thread.join();
+        }
+        registering.set(false);
+        for (Thread thread : sendThreads) {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty(), "thread failed: "+failures.peek());
+        return sent.get();
+    }
+
+    /** Starts a thread that waits for the latch before it runs the task, and records whatever the task throws.
+     *
+     * @param start The latch.
+     * @param task The task.
+     * @return The started thread.
+     */
+    private Thread startThread(CountDownLatch start, Runnable task) {
+        Thread thread = new Thread(() -> {
+            try {
+                start.await();
+                task.run();
+            } catch (Throwable t) {
+                failures.add(t);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private final class CountingReceiver implements Receiver {
+
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicBoolean gotMarker = new AtomicBoolean();
+
+        @Override
+        public void receive(Message msg) {
+            count.incrementAndGet();
+            if(msg == marker) {
+                gotMarker.set(true);
+            }
+        }
+
+        @Override
+        public Optional<Object> request(FetchCommand fetch) {
+            return Optional.of(count.get());
+        }
+
+    }
+
+    private static final class CountingClockReceiver implements ClockReceiver {
+
+        private final AtomicBoolean gotFinal = new AtomicBoolean();
+
+        @Override
+        public void update(float tpf) {
+            if(tpf == 1f) {
+                gotFinal.set(true);
+            }
+        }
+
+    }
+
+}
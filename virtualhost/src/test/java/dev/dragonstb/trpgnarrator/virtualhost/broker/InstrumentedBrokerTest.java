@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathForFigurine;
+import dev.dragonstb.trpgnarrator.virtualhost.hostconnector.HostConnector;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.BackpressurePolicy;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamTypes;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamed;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BrokerMetricsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ChannelMetricsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.CodeMetricsDTO;
+import java.util.List;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ *
+ * @author Dragonstb
+ */
+@ExtendWith(MockitoExtension.class)
+public class InstrumentedBrokerTest {
+
+    private final String channel = "instrumentedChannel";
+    private final String headline = "instrumentedHeadline";
+    private final String code = "instrumentedFetch";
+
+    @Mock
+    private HostConnector connector;
+    @Mock
+    private Receiver receiverA;
+    @Mock
+    private Receiver receiverB;
+
+    private SynchronousBroker broker;
+
+    @BeforeEach
+    public void setUp() {
+        broker = InstrumentedBrokerFactory.instrument(new SyncBrokerImp(connector), 0);
+    }
+
+    @Test
+    public void testSend() {
+        broker.registerToChannel(receiverA, channel);
+        broker.registerToChannel(receiverB, channel);
+        Message msg = new Message(headline, null);
+        broker.send(msg, channel);
+        broker.send(msg, channel);
+
+        verify(receiverA, times(2)).receive(msg);
+        BrokerMetricsDTO dto = fetchMetrics();
+        ChannelMetricsDTO channelDto = findChannel(dto, channel);
+        assertEquals(2, channelDto.getMessages(), "wrong number of messages");
+        assertEquals(0, channelDto.getRequests(), "wrong number of requests");
+        assertEquals(4, channelDto.getDeliveries(), "wrong fan-out");
+        assertEquals(2, channelDto.getSendLatency().getCount(), "latencies not recorded");
+
+        CodeMetricsDTO headlineDto = findCode(dto.getHeadlines(), headline);
+        assertEquals(2, headlineDto.getCount(), "wrong number of messages with headline");
+        assertEquals(4, headlineDto.getDeliveries(), "wrong fan-out of headline");
+    }
+
+    @Test
+    public void testRequest() {
+        FetchCommand fetch = new FetchCommand(code);
+        when(receiverA.request(fetch)).thenReturn(Optional.of("answer"));
+        broker.registerToChannel(receiverA, channel);
+
+        List<Optional<Object>> list = broker.request(channel, fetch, true);
+        assertEquals(List.of(Optional.of("answer")), list, "wrong answer");
+
+        BrokerMetricsDTO dto = fetchMetrics();
+        ChannelMetricsDTO channelDto = findChannel(dto, channel);
+        assertEquals(1, channelDto.getRequests(), "wrong number of requests");
+        assertEquals(1, channelDto.getRequestLatency().getCount(), "latency not recorded");
+        assertEquals(1, findCode(dto.getFetchCodes(), code).getCount(), "fetch code not counted");
+    }
+
+    @Test
+    public void testSend_unknownChannel() {
+        Message msg = new Message(headline, null);
+        broker.send(msg, "instrumentedNowhere-7fj3");
+
+        BrokerMetricsDTO dto = fetchMetrics();
+        assertTrue(dto.getChannels().stream().noneMatch(ch -> ch.getChannel().equals("instrumentedNowhere-7fj3")), "channel created");
+        assertEquals(0, findCode(dto.getHeadlines(), headline).getDeliveries(), "delivered to nowhere");
+    }
+
+    @Test
+    public void testSend_coalesced() {
+        broker.registerToChannel(receiverA, channel);
+        broker.send(new Message(headline, new McFindPathForFigurine("fig", 0, 4)), channel);
+        broker.send(new Message(headline, new McFindPathForFigurine("fig", 0, 7)), channel);
+        broker.update(0.1f);
+
+        verify(receiverA, times(1)).receive(any());
+        BrokerMetricsDTO dto = fetchMetrics();
+        assertEquals(1, dto.getCoalesced(), "wrong number of coalesced messages");
+        assertEquals(0, dto.getDropped(), "messages dropped");
+    }
+
+    @Test
+    public void testUpdateAndOutbound() {
+        broker.update(0.1f);
+        VHStreamed obj = new VHStreamed(VHStreamTypes.telemetry, "data");
+        broker.sendOutbound(obj);
+
+        verify(connector, times(1)).sendOutbound(obj);
+        BrokerMetricsDTO dto = fetchMetrics();
+        assertEquals(1, dto.getUpdateLatency().getCount(), "update not recorded");
+        assertEquals(1, dto.getOutbound(), "outbound not counted");
+        assertEquals(TickPhase.values().length, dto.getPhases().size(), "wrong number of phases");
+    }
+
+    @Test
+    public void testStream() {
+        SynchronousBroker streaming = InstrumentedBrokerFactory.instrument(new SyncBrokerImp(connector), 1f);
+        streaming.update(0.6f);
+        verify(connector, never()).sendOutbound(any());
+
+        streaming.update(0.6f);
+        ArgumentCaptor<VHStreamed> captor = ArgumentCaptor.forClass(VHStreamed.class);
+        verify(connector, times(1)).sendOutbound(captor.capture());
+        assertEquals(VHStreamTypes.metrics, captor.getValue().getType(), "wrong stream type");
+        assertTrue(captor.getValue().getContent() instanceof BrokerMetricsDTO, "no metrics streamed");
+    }
+
+    @Test
+    public void testInstrument_async() throws Exception {
+        AsynchronousBroker async = new AsyncBrokerImp(connector, Runnable::run, 4, BackpressurePolicy.block);
+        SynchronousBroker instrumented = InstrumentedBrokerFactory.instrument(async, 0);
+        assertTrue(instrumented instanceof AsynchronousBroker, "not asynchronous anymore");
+
+        FetchCommand fetch = new FetchCommand(code);
+        when(receiverA.request(fetch)).thenReturn(Optional.of("answer"));
+        instrumented.registerToChannel(receiverA, channel);
+        ((AsynchronousBroker)instrumented).requestAsync(channel, fetch, true).get();
+
+        int channelId = CodeRegistry.CHANNELS.find(channel);
+        List<Optional<Object>> list = instrumented.request(ChannelNames.GET_BROKER_DATA_ID, new FetchCommand(FetchCodes.BROKER_METRICS_ID),
+                true);
+        BrokerMetricsDTO dto = (BrokerMetricsDTO)list.getFirst().orElseThrow();
+        assertEquals(1, findChannel(dto, CodeRegistry.CHANNELS.codeOf(channelId)).getRequests(), "async request not counted");
+    }
+
+    @Test
+    public void testConstructor_badInterval() {
+        SyncBrokerImp delegate = new SyncBrokerImp(connector);
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class,
+                () -> InstrumentedBrokerFactory.instrument(delegate, -1f), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V08813), "missing error code");
+
+        exc = assertThrows(IllegalArgumentException.class, () -> InstrumentedBrokerFactory.instrument(delegate, Float.NaN), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V08813), "missing error code");
+    }
+
+    @Test
+    public void testInstrument_noView() {
+        SynchronousBroker foreign = mock(SynchronousBroker.class);
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class,
+                () -> InstrumentedBrokerFactory.instrument(foreign, 0), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V61254), "missing error code");
+    }
+
+    private BrokerMetricsDTO fetchMetrics() {
+        List<Optional<Object>> list = broker.request(ChannelNames.GET_BROKER_DATA, new FetchCommand(FetchCodes.BROKER_METRICS), true);
+        assertEquals(1, list.size(), "no metrics");
+        return (BrokerMetricsDTO)list.getFirst().orElseThrow();
+    }
+
+    private ChannelMetricsDTO findChannel(BrokerMetricsDTO dto, String name) {
+        return dto.getChannels().stream().filter(ch -> ch.getChannel().equals(name)).findFirst().orElseThrow();
+    }
+
+    private CodeMetricsDTO findCode(List<CodeMetricsDTO> dtos, String name) {
+        return dtos.stream().filter(dt -> dt.getCode().equals(name)).findFirst().orElseThrow();
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.LatencyStatsDTO;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testIndexOf_boundsContainValue() {
+        long[] values = {0, 1, 7, 8, 9, 15, 16, 17, 100, 1000, 123456789L, Long.MAX_VALUE};
+        for (long value : values) {
+            int idx = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.upperBoundOf(idx) >= value, "upper bound below value "+value);
+            if(idx > 0) {
+                assertTrue(LatencyHistogram.upperBoundOf(idx - 1) < value, "value "+value+" belongs to lower bucket");
+            }
+        }
+    }
+
+    @Test
+    public void testIndexOf_contiguous() {
+        for (int idx = 1; idx < 200; idx++) {
+            long lower = LatencyHistogram.upperBoundOf(idx - 1) + 1;
+            assertEquals(idx, LatencyHistogram.indexOf(lower), "gap before bucket "+idx);
+        }
+    }
+
+    @Test
+    public void testSnapshot() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value * 1000);
+        }
+
+        LatencyStatsDTO stats = histogram.snapshot();
+        assertEquals(100, stats.getCount(), "wrong count");
+        assertEquals(50500, stats.getMeanNanos(), "wrong mean");
+        assertEquals(100000, stats.getMaxNanos(), "wrong max");
+        assertWithin(50000, stats.getP50Nanos(), "p50");
+        assertWithin(90000, stats.getP90Nanos(), "p90");
+        assertWithin(99000, stats.getP99Nanos(), "p99");
+    }
+
+    @Test
+    public void testSnapshot_empty() {
+        LatencyStatsDTO stats = new LatencyHistogram().snapshot();
+        assertEquals(new LatencyStatsDTO(0, 0, 0, 0, 0, 0), stats, "not empty");
+    }
+
+    @Test
+    public void testRecord_negative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertEquals(0, histogram.snapshot().getMaxNanos(), "negative time not clamped");
+    }
+
+    /** Asserts that the percentile is not below the exact value and at most one bucket width, i.e. 12.5 %, above it. */
+    private void assertWithin(long exact, long actual, String name) {
+        assertTrue(actual >= exact && actual <= exact * 1.125, name+" is "+actual+" but should be close to "+exact);
+    }
+
+}
@@ -20,8 +20,12 @@
 package dev.dragonstb.trpgnarrator.virtualhost.broker;
 
 import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.CodeRegistry;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.MessageHeadlines;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathForFigurine;
 import dev.dragonstb.trpgnarrator.virtualhost.hostconnector.HostConnector;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.ClockReceiver;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamTypes;
@@ -33,6 +37,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import static org.mockito.Mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -158,6 +163,110 @@ public class SyncBrokerImpAndBrokerChannelIT {
         assertTrue(list.getLast().isPresent() != list.getFirst().isPresent(), "not one present optional and one empty optional");
     }
 
+    @Test
+    public void testRegisterById_sendByName() {
+        Message msg = new Message("hellocfng78fhgj7n7803d7fcyf8ihcguyc73cc9u8", null);
+        int id = CodeRegistry.CHANNELS.idOf(channel1);
+        broker.registerToChannel(receiverA, id);
+        broker.send(msg, channel1);
+        verify(receiverA, times(1)).receive(msg);
+    }
+
+    @Test
+    public void testRequestById() {
+        FetchCommand fetch = new FetchCommand("hello", null);
+        when(receiverA.request(fetch)).thenReturn(Optional.of("World"));
+        broker.registerToChannel(receiverA, channel1);
+        int id = CodeRegistry.CHANNELS.find(channel1);
+
+        List<Optional<Object>> list = broker.request(id, fetch, true);
+        assertEquals(1, list.size(), "wrong list size");
+
+        broker.deregisterFromChannel(receiverA, id);
+        list = broker.request(id, fetch, true);
+        assertTrue(list.isEmpty(), "still registered");
+    }
+
+    @Test
+    public void testSend_coalescedUntilUpdate() {
+        broker.registerToChannel(receiverA, channel1);
+        Message first = new Message(MessageHeadlines.PLEASE_FIND_PATH, new McFindPathForFigurine("a", 0, 4));
+        Message other = new Message(MessageHeadlines.PLEASE_FIND_PATH, new McFindPathForFigurine("b", 2, 4));
+        Message latest = new Message(MessageHeadlines.PLEASE_FIND_PATH, new McFindPathForFigurine("a", 0, 9));
+        Message plain = new Message(MessageHeadlines.PLEASE_FIND_PATH, "not coalescable");
+        broker.send(first, channel1);
+        broker.send(other, channel1);
+        broker.send(latest, channel1);
+        broker.send(plain, channel1);
+
+        // only the plain message is delivered right away
+        verify(receiverA, times(1)).receive(any());
+        verify(receiverA, times(1)).receive(plain);
+
+        broker.update(0.1f);
+        InOrder inOrder = inOrder(receiverA);
+        inOrder.verify(receiverA).receive(other);
+        inOrder.verify(receiverA).receive(latest);
+        verify(receiverA, never()).receive(first);
+        assertEquals(1, broker.countCoalesced(), "wrong number of coalesced messages");
+
+        broker.update(0.1f);
+        verify(receiverA, times(3)).receive(any());
+    }
+
+    @Test
+    public void testRequestFirst() {
+        when(receiverA.request(any())).thenReturn(Optional.empty());
+        when(receiverB.request(any())).thenReturn(Optional.of(7L));
+        broker.registerToChannel(receiverA, ChannelNames.GET_BOARD_DATA_ID);
+        broker.registerToChannel(receiverB, ChannelNames.GET_BOARD_DATA_ID);
+
+        Optional<Long> version = FetchKeys.requestFirst(broker, FetchKeys.BOARD_VERSION, null);
+        assertEquals(Optional.of(7L), version, "wrong answer");
+        verify(receiverB, times(1)).request(argThat(fetch -> fetch.getCommandId() == FetchCodes.BOARD_VERSION_ID));
+    }
+
+    @Test
+    public void testRequestFirst_laterReceiversNotAsked() {
+        FetchCommand fetch = new FetchCommand("hello", null);
+        when(receiverA.request(fetch)).thenReturn(Optional.of("World"));
+        broker.registerToChannel(receiverA, channel1);
+        broker.registerToChannel(receiverB, channel1);
+
+        assertEquals(Optional.of("World"), broker.requestFirst(CodeRegistry.CHANNELS.find(channel1), fetch), "wrong answer");
+        verify(receiverB, never()).request(any());
+    }
+
+    @Test
+    public void testRequestFirst_noReceivers() {
+        assertTrue(FetchKeys.requestFirst(broker, FetchKeys.PATH_CACHE_STATS, null).isEmpty(), "answer from nowhere");
+    }
+
+    @Test
+    public void testRequestFirst_wrongAnswer() {
+        when(receiverA.request(any())).thenReturn(Optional.of("not a version"));
+        broker.registerToChannel(receiverA, ChannelNames.GET_BOARD_DATA_ID);
+
+        ClassCastException exc = assertThrows(ClassCastException.class, () -> FetchKeys.requestFirst(broker, FetchKeys.BOARD_VERSION, null),
+                "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V13357), "missing error code");
+    }
+
+    @Test
+    public void testRegisterToChannel_unknownId() {
+        int id = CodeRegistry.CHANNELS.size();
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, () -> broker.registerToChannel(receiverA, id),
+                "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V52019), "missing error code");
+    }
+
+    @Test
+    public void testSend_unknownChannel() {
+        Message msg = new Message("hellocfng78fhgj7n7803d7fcyf8ihcguyc73cc9u8", null);
+        assertDoesNotThrow(() -> broker.send(msg, "channel-j83kf0a"), "exception thrown");
+        assertEquals(CodeRegistry.NO_ID, CodeRegistry.CHANNELS.find("channel-j83kf0a"), "interned by sending");
+    }
+
     @Test
     public void testRegisterToTiming() {
         float tpf = 4.2f;
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.broker;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.ClockReceiver;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PhaseTimingDTO;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class TimingChannelTest {
+
+    private ForkJoinPool pool;
+    private TimingChannel channel;
+    private List<String> calls;
+
+    @BeforeEach
+    public void setUp() {
+        pool = new ForkJoinPool(2);
+        channel = new TimingChannel(pool);
+        calls = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testUpdate_phaseOrder() {
+        channel.addReceiver(tpf -> calls.add("telemetry"), options(TickPhase.telemetry, false, TickPolicy.always));
+        channel.addReceiver(tpf -> calls.add("simulation A"));
+        channel.addReceiver(tpf -> calls.add("input"), options(TickPhase.input, false, TickPolicy.always));
+        channel.addReceiver(tpf -> calls.add("simulation B"));
+        channel.addReceiver(tpf -> calls.add("harvest"), options(TickPhase.harvest, false, TickPolicy.always));
+
+        channel.update(1f);
+        assertEquals(List.of("input", "simulation A", "simulation B", "harvest", "telemetry"), calls, "wrong order");
+    }
+
+    @Test
+    public void testUpdate_parallel() throws Exception {
+        // both parallel receivers wait for each other, so they only finish if updated at the same time
+        CountDownLatch latch = new CountDownLatch(2);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        ClockReceiver waiting = tpf -> {
+            threads.add(Thread.currentThread());
+            latch.countDown();
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        ClockReceiver other = tpf -> waiting.update(tpf);
+        channel.addReceiver(waiting, options(TickPhase.simulation, true, TickPolicy.always));
+        channel.addReceiver(other, options(TickPhase.simulation, true, TickPolicy.always));
+        channel.addReceiver(tpf -> calls.add("telemetry"), options(TickPhase.telemetry, false, TickPolicy.always));
+
+        channel.update(10f);
+        assertEquals(0, latch.getCount(), "not updated in parallel");
+        assertEquals(2, threads.size(), "not updated on different threads");
+        assertFalse(threads.contains(Thread.currentThread()), "parallel receiver updated on the thread of the tick");
+        assertEquals(List.of("telemetry"), calls, "later phase not updated");
+    }
+
+    @Test
+    public void testUpdate_skipAndDefer() {
+        List<Float> skippedTimes = new ArrayList<>();
+        List<Float> deferredTimes = new ArrayList<>();
+        channel.addReceiver(tpf -> sleep(20), options(TickPhase.input, false, TickPolicy.always));
+        channel.addReceiver(skippedTimes::add, options(TickPhase.telemetry, false, TickPolicy.skip));
+        channel.addReceiver(deferredTimes::add, options(TickPhase.telemetry, false, TickPolicy.defer));
+
+        // the first receiver takes longer than the tick
+        channel.update(0.001f);
+        assertTrue(skippedTimes.isEmpty(), "not skipped");
+        assertTrue(deferredTimes.isEmpty(), "not deferred");
+
+        channel.update(10f);
+        assertEquals(List.of(10f), skippedTimes, "wrong time after skipping");
+        assertEquals(List.of(10.001f), deferredTimes, "deferred time lost");
+
+        PhaseTimingDTO telemetry = channel.snapshot().get(TickPhase.telemetry.ordinal());
+        assertEquals(TickPhase.telemetry.name(), telemetry.getPhase(), "wrong phase");
+        assertEquals(1, telemetry.getSkipped(), "wrong number of skipped updates");
+        assertEquals(1, telemetry.getDeferred(), "wrong number of deferred updates");
+        assertEquals(2, telemetry.getLatency().getCount(), "phase timing not recorded");
+    }
+
+    @Test
+    public void testUpdate_overrun() {
+        channel.addReceiver(tpf -> sleep(2), new TimingOptions(TickPhase.harvest, false, 1000, TickPolicy.always));
+
+        channel.update(0f);
+        PhaseTimingDTO harvest = channel.snapshot().get(TickPhase.harvest.ordinal());
+        assertEquals(1, harvest.getOverruns(), "overrun not counted");
+        assertEquals(0, harvest.getSkipped(), "receiver with policy always skipped");
+        assertEquals(0, channel.snapshot().get(TickPhase.input.ordinal()).getLatency().getCount(), "empty phase timed");
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        ClockReceiver receiver = tpf -> calls.add("update");
+        channel.addReceiver(receiver, options(TickPhase.input, false, TickPolicy.always));
+        channel.addReceiver(receiver);
+        channel.update(1f);
+        assertEquals(1, calls.size(), "registered twice");
+
+        channel.removeReceiver(receiver);
+        channel.update(1f);
+        assertEquals(1, calls.size(), "not removed");
+    }
+
+    @Test
+    public void testOptions_negativeBudget() {
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class,
+                () -> new TimingOptions(TickPhase.input, false, -1, TickPolicy.skip), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V58723), "missing error code");
+    }
+
+    private TimingOptions options(TickPhase phase, boolean parallel, TickPolicy policy) {
+        return new TimingOptions(phase, parallel, 0, policy);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
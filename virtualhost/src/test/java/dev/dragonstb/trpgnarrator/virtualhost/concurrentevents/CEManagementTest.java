@@ -21,27 +21,41 @@ package dev.dragonstb.trpgnarrator.virtualhost.concurrentevents;
 
 import com.jme3.math.Vector3f;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.ChannelNames;
+import dev.dragonstb.trpgnarrator.virtualhost.broker.FetchKeys;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
 import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchKey;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.MessageHeadlines;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.SearchBudget;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathForFigurine;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathsForFigurines;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McPathForFigurine;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McPathsForFigurines;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.Clock;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.ClockReceiver;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamTypes;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
-import java.util.ArrayList;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PathCacheStatsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryBatch;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import static org.mockito.Mockito.*;
+import org.mockito.stubbing.OngoingStubbing;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 /**
@@ -76,18 +90,125 @@ public class CEManagementTest {
         Message msg = new Message(MessageHeadlines.PLEASE_FIND_PATH, fpff);
 
         PathfindingConfig pfConf = new PathfindingConfig(fromField, toField);
-        FetchCommand cmd = new FetchCommand(FetchCodes.BOARD_PATHFINDER, pfConf);
 
-        Callable<List<Vector3f>> pathfinder = mock(Callable.class);
-        List<Optional<Object>> objList = new ArrayList<>();
-        objList.add(Optional.of(pathfinder));
-        when(broker.request(ChannelNames.GET_BOARD_DATA, cmd, true)).thenReturn(objList);
+        Callable<Optional<List<Vector3f>>> pathfinder = mock(Callable.class);
+        whenRequested(FetchKeys.BOARD_PATHFINDER, pfConf).thenReturn(Optional.of(pathfinder));
+        // without a board version, the path cache is bypassed
+        whenRequested(FetchKeys.BOARD_VERSION, null).thenReturn(Optional.empty());
 
         cem.receive(msg);
-        verify(broker, times(1)).request(ChannelNames.GET_BOARD_DATA, cmd, true);
+        verify(broker, times(1)).requestFirst(ChannelNames.GET_BOARD_DATA_ID, FetchKeys.BOARD_PATHFINDER.command(pfConf));
         verify(executor, times(1)).submit(pathfinder);
     }
 
+    @Test
+    public void testReceive_findPath_cached() {
+        String figId = "figurine";
+        Message msg = new Message(MessageHeadlines.PLEASE_FIND_PATH, new McFindPathForFigurine(figId, 0, 10));
+        List<Vector3f> path = List.of(new Vector3f(), new Vector3f(1, 0, 0));
+
+        whenRequested(FetchKeys.BOARD_VERSION, null).thenReturn(Optional.of(3L));
+        Callable<Optional<List<Vector3f>>> pathfinder = mock(Callable.class);
+        whenRequested(FetchKeys.BOARD_PATHFINDER, new PathfindingConfig(0, 10)).thenReturn(Optional.of(pathfinder));
+        when(executor.submit(pathfinder)).thenReturn(CompletableFuture.completedFuture(Optional.of(path)));
+
+        // first time computed, second time from the cache
+        cem.receive(msg);
+        cem.checkAndCleanPathfinders();
+        cem.receive(msg);
+        cem.checkAndCleanPathfinders();
+
+        verify(executor, times(1)).submit(pathfinder);
+        verify(broker, times(2)).send(argThat(found -> MessageHeadlines.FOUND_PATHS.equals(found.getHeadline())
+                && path.equals(((McPathsForFigurines)found.getContent()).getPaths().getFirst().getWaypoints())),
+                eq(ChannelNames.GET_FIGURINE_DATA_ID));
+
+        Optional<Object> stats = cem.request(new FetchCommand(FetchCodes.PATH_CACHE_STATS));
+        PathCacheStatsDTO dto = (PathCacheStatsDTO)stats.orElseThrow();
+        assertEquals(1, dto.getHits(), "wrong number of hits");
+        assertEquals(1, dto.getMisses(), "wrong number of misses");
+    }
+
+    @Test
+    public void testReceive_findPath_budgetNotCached() {
+        SearchBudget budget = new SearchBudget(50, SearchBudget.NO_TIME_LIMIT);
+        Message msg = new Message(MessageHeadlines.PLEASE_FIND_PATH, new McFindPathForFigurine("figurine", 0, 10, budget));
+        List<Vector3f> partial = List.of(new Vector3f(), new Vector3f(1, 0, 0));
+
+        whenRequested(FetchKeys.BOARD_VERSION, null).thenReturn(Optional.of(3L));
+        Callable<Optional<List<Vector3f>>> pathfinder = mock(Callable.class);
+        PathfindingConfig config = new PathfindingConfig(0, 10, PathfindingConfig.DEFAULT_MOVEMENT_PROFILE, budget);
+        whenRequested(FetchKeys.BOARD_PATHFINDER, config).thenReturn(Optional.of(pathfinder));
+        when(executor.submit(pathfinder)).thenReturn(CompletableFuture.completedFuture(Optional.of(partial)));
+
+        // a path found with a budget might be partial, so it must be computed again
+        cem.receive(msg);
+        cem.checkAndCleanPathfinders();
+        cem.receive(msg);
+
+        verify(executor, times(2)).submit(pathfinder);
+        verify(broker, times(2)).requestFirst(eq(ChannelNames.GET_BOARD_DATA_ID),
+                argThat(fetch -> fetch.getCommandId() == FetchCodes.BOARD_PATHFINDER_ID
+                && budget.equals(((PathfindingConfig)fetch.getParms()).getBudget())));
+        PathCacheStatsDTO dto = (PathCacheStatsDTO)cem.request(new FetchCommand(FetchCodes.PATH_CACHE_STATS)).orElseThrow();
+        assertEquals(0, dto.getSize(), "partial path cached");
+    }
+
+    @Test
+    public void testReceive_findPath_boardChanged() {
+        Message msg = new Message(MessageHeadlines.PLEASE_FIND_PATH, new McFindPathForFigurine("figurine", 0, 10));
+        List<Vector3f> path = List.of(new Vector3f(), new Vector3f(1, 0, 0));
+
+        whenRequested(FetchKeys.BOARD_VERSION, null).thenReturn(Optional.of(3L), Optional.of(4L));
+        Callable<Optional<List<Vector3f>>> pathfinder = mock(Callable.class);
+        whenRequested(FetchKeys.BOARD_PATHFINDER, new PathfindingConfig(0, 10)).thenReturn(Optional.of(pathfinder));
+        when(executor.submit(pathfinder)).thenReturn(CompletableFuture.completedFuture(Optional.of(path)));
+
+        cem.receive(msg);
+        cem.checkAndCleanPathfinders();
+        cem.receive(msg);
+
+        verify(executor, times(2)).submit(pathfinder);
+        PathCacheStatsDTO dto = (PathCacheStatsDTO)cem.request(new FetchCommand(FetchCodes.PATH_CACHE_STATS)).orElseThrow();
+        assertEquals(0, dto.getHits(), "hit on outdated board");
+        assertEquals(1, dto.getInvalidations(), "cache not invalidated");
+    }
+
+    @Test
+    public void testReceive_findPaths_batch() {
+        List<McFindPathForFigurine> requests = List.of(new McFindPathForFigurine("a", 0, 10), new McFindPathForFigurine("b", 3, 7),
+                new McFindPathForFigurine("c", 5, 6));
+        Message msg = new Message(MessageHeadlines.PLEASE_FIND_PATHS, new McFindPathsForFigurines(requests));
+        List<Vector3f> pathA = List.of(new Vector3f(), new Vector3f(1, 0, 0));
+        List<Vector3f> pathC = List.of(new Vector3f(), new Vector3f(0, 0, 1));
+
+        whenRequested(FetchKeys.BOARD_VERSION, null).thenReturn(Optional.of(3L));
+        List<PathfindingConfig> configs = List.of(new PathfindingConfig(0, 10), new PathfindingConfig(3, 7), new PathfindingConfig(5, 6));
+        Callable<List<Optional<List<Vector3f>>>> pathfinder = mock(Callable.class);
+        whenRequested(FetchKeys.BOARD_BATCH_PATHFINDER, configs).thenReturn(Optional.of(pathfinder));
+        // no path for b
+        List<Optional<List<Vector3f>>> result = List.of(Optional.of(pathA), Optional.empty(), Optional.of(pathC));
+        when(executor.submit(pathfinder)).thenReturn(CompletableFuture.completedFuture(result));
+
+        cem.receive(msg);
+        cem.checkAndCleanPathfinders();
+
+        verify(executor, times(1)).submit(pathfinder);
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(broker, times(1)).send(captor.capture(), eq(ChannelNames.GET_FIGURINE_DATA_ID));
+        assertEquals(MessageHeadlines.FOUND_PATHS, captor.getValue().getHeadline(), "wrong headline");
+        Map<String, List<Vector3f>> found = ((McPathsForFigurines)captor.getValue().getContent()).getPaths().stream()
+                .collect(Collectors.toMap(McPathForFigurine::getId, McPathForFigurine::getWaypoints));
+        assertEquals(Map.of("a", pathA, "c", pathC), found, "wrong paths");
+    }
+
+    @Test
+    public void testReceive_findPaths_wrongContent() {
+        ClassCastException exc = assertThrows(ClassCastException.class,
+                () -> cem.receive(new Message(MessageHeadlines.PLEASE_FIND_PATHS, "nope")), "no exception thrown");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V23874), "Expected error code missing");
+    }
+
     @Test
     public void testReceive_findPath_wrongContent() {
         String problem = "nope";
@@ -95,64 +216,73 @@ public class CEManagementTest {
 
         ClassCastException exc = assertThrows(ClassCastException.class, () -> cem.receive(msg), "no exception thrown");
         String errMsg = exc.getMessage();
-        assertTrue(errMsg.contains("Expected content to be a FindPathForFigurine, but got an instance of class "
+        assertTrue(errMsg.contains("Expected content of \"" + MessageHeadlines.PLEASE_FIND_PATH
+                    + "\" to be a McFindPathForFigurine, but got an instance of class "
                     + problem.getClass().getSimpleName() + " instead"), "Expected message missing");
         assertTrue(errMsg.contains(VHostErrorCodes.V42664), "Expected error code missing");
     }
 
     @Test
     public void testStreamDataToClients_ok() {
-        FigurineTelemetryDTO dto = new FigurineTelemetryDTO("hello", new Vector3f(), 0);
-        List<FigurineTelemetryDTO> dtos = new ArrayList<>();
-        dtos.add(dto);
-        Optional<Object> opt = Optional.of(dtos);
-        List<Optional<Object>> list = new ArrayList<>();
-        list.add(opt);
-        FetchCommand cmd = new FetchCommand(FetchCodes.FIGURINE_TELEMETRY);
-        when(broker.request(ChannelNames.GET_FIGURINE_DATA, cmd, true)).thenReturn(list);
+        TelemetryBatch batch = new TelemetryBatch();
+        batch.add(new FigurineTelemetryDTO("hello", new Vector3f(), 0));
+        whenRequested(FetchKeys.FIGURINE_TELEMETRY, null).thenReturn(Optional.of(batch));
+        when(clock.getAlpha()).thenReturn(.25f);
 
         cem.streamDataToClients();
 
-        verify(broker, times(1)).sendOutbound(any());
+        verify(broker, times(1)).sendOutbound(argThat(obj -> obj.getType() == VHStreamTypes.telemetry && obj.getContent() == batch));
+        assertEquals(.25f, batch.getAlpha(), "wrong alpha");
     }
 
     @Test
-    public void testStreamDataToClients_wrong_content() {
-        FigurineTelemetryDTO dto = new FigurineTelemetryDTO("hello", new Vector3f(), 0);
-        List<String> dtos = new ArrayList<>();
-        dtos.add("Hello");
-        Optional<Object> opt = Optional.of(dtos);
-        List<Optional<Object>> list = new ArrayList<>();
-        list.add(opt);
-        FetchCommand cmd = new FetchCommand(FetchCodes.FIGURINE_TELEMETRY);
-        when(broker.request(ChannelNames.GET_FIGURINE_DATA, cmd, true)).thenReturn(list);
-
-        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, ()->cem.streamDataToClients(),
-                "Not the expected exception");
-        String msg = exc.getMessage();
-        assertTrue(msg.contains(VHostErrorCodes.V91691), "Expected code missing");
-        assertTrue(msg.contains("Expected List of FigurineTelemetrDTO"), "Expected message missing");
+    public void testStreamDataToClients_no_data() {
+        whenRequested(FetchKeys.FIGURINE_TELEMETRY, null).thenReturn(Optional.of(new TelemetryBatch()));
+
+        cem.streamDataToClients();
 
         verify(broker, never()).sendOutbound(any());
     }
 
     @Test
-    public void testStreamDataToClients_no_data() {
-        List<FigurineTelemetryDTO> dtos = new ArrayList<>();
-        Optional<Object> opt = Optional.of(dtos);
-        List<Optional<Object>> list = new ArrayList<>();
-        list.add(opt);
-        FetchCommand cmd = new FetchCommand(FetchCodes.FIGURINE_TELEMETRY);
-        when(broker.request(ChannelNames.GET_FIGURINE_DATA, cmd, true)).thenReturn(list);
+    public void testConstructor_ok() {
+        verify(broker, times(1)).registerToChannel(cem, ChannelNames.CONCURRENT_MANAGEMENT_ID);
+        verify(broker, times(1)).registerToTiming(any(), eq(CEManagement.HARVEST_OPTIONS));
+        verify(broker, times(1)).registerToTiming(any(), eq(CEManagement.TELEMETRY_OPTIONS));
+    }
 
-        cem.streamDataToClients();
+    @Test
+    public void testUpdate() {
+        cem.update(.1f);
 
-        verify(broker, never()).sendOutbound(any());
+        // harvesting and streaming happen in their phases of the timing channel only
+        verify(broker, times(1)).update(.1f);
+        verify(broker, never()).requestFirst(eq(ChannelNames.GET_FIGURINE_DATA_ID), any());
     }
 
     @Test
-    public void testConstructor_ok() {
-        verify(broker, times(1)).registerToChannel(cem, ChannelNames.CONCURRENT_MANAGEMENT);
+    public void testUpdate_phases() {
+        ArgumentCaptor<ClockReceiver> harvest = ArgumentCaptor.forClass(ClockReceiver.class);
+        ArgumentCaptor<ClockReceiver> telemetry = ArgumentCaptor.forClass(ClockReceiver.class);
+        verify(broker).registerToTiming(harvest.capture(), eq(CEManagement.HARVEST_OPTIONS));
+        verify(broker).registerToTiming(telemetry.capture(), eq(CEManagement.TELEMETRY_OPTIONS));
+
+        Callable<Optional<List<Vector3f>>> pathfinder = mock(Callable.class);
+        List<Vector3f> path = List.of(new Vector3f(), new Vector3f(1, 0, 0));
+        whenRequested(FetchKeys.BOARD_VERSION, null).thenReturn(Optional.empty());
+        whenRequested(FetchKeys.BOARD_PATHFINDER, new PathfindingConfig(0, 10)).thenReturn(Optional.of(pathfinder));
+        when(executor.submit(pathfinder)).thenReturn(CompletableFuture.completedFuture(Optional.of(path)));
+        cem.receive(new Message(MessageHeadlines.PLEASE_FIND_PATH, new McFindPathForFigurine("figurine", 0, 10)));
+
+        harvest.getValue().update(.1f);
+        verify(broker, times(1)).send(argThat(found -> MessageHeadlines.FOUND_PATHS.equals(found.getHeadline())),
+                eq(ChannelNames.GET_FIGURINE_DATA_ID));
+
+        TelemetryBatch batch = new TelemetryBatch();
+        batch.add(new FigurineTelemetryDTO("figurine", new Vector3f(), 0));
+        whenRequested(FetchKeys.FIGURINE_TELEMETRY, null).thenReturn(Optional.of(batch));
+        telemetry.getValue().update(.1f);
+        verify(broker, times(1)).sendOutbound(any());
     }
 
     @Test
@@ -168,4 +298,9 @@ public class CEManagementTest {
     public void testConstructor_missingExecutor() {
         assertThrows(NullPointerException.class, () -> new CEManagement(clock, broker, null));
     }
+
+    /** Stubs the request the typed key makes through the broker. */
+    private <P> OngoingStubbing<Optional<Object>> whenRequested(FetchKey<P, ?> key, P parm) {
+        return when(broker.requestFirst(key.getChannelId(), key.command(parm)));
+    }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.concurrentevents;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.PathfindingConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.SearchBudget;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.PathCacheStatsDTO;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class PathCacheTest {
+
+    private final List<Vector3f> path = List.of(new Vector3f(0, 0, 0), new Vector3f(1, 0, 0));
+    private final PathfindingConfig keyA = new PathfindingConfig(0, 1);
+    private final PathfindingConfig keyB = new PathfindingConfig(0, 2);
+    private final PathfindingConfig keyC = new PathfindingConfig(0, 3);
+    private PathCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new PathCache(2);
+    }
+
+    @Test
+    public void testGet_hitAndMiss() {
+        assertTrue(cache.get(keyA, 0).isEmpty(), "hit in empty cache");
+        cache.put(keyA, 0, path);
+
+        Optional<List<Vector3f>> opt = cache.get(keyA, 0);
+        assertEquals(path, opt.orElseThrow(), "wrong path");
+        assertTrue(cache.get(new PathfindingConfig(0, 1, 7), 0).isEmpty(), "hit for other movement profile");
+
+        assertEquals(new PathCacheStatsDTO(1, 2, 0, 0, 1, 2), cache.getStats(), "wrong stats");
+    }
+
+    @Test
+    public void testGet_budgetIgnored() {
+        PathfindingConfig limited = new PathfindingConfig(0, 1, PathfindingConfig.DEFAULT_MOVEMENT_PROFILE, new SearchBudget(10, 1000));
+        assertNotEquals(keyA, limited, "configs with different budgets equal");
+        cache.put(keyA, 0, path);
+        assertEquals(path, cache.get(limited, 0).orElseThrow(), "miss for other budget");
+    }
+
+    @Test
+    public void testPut_evictsLeastRecentlyUsed() {
+        cache.put(keyA, 0, path);
+        cache.put(keyB, 0, path);
+        cache.get(keyA, 0); // now B is the least recently used
+        cache.put(keyC, 0, path);
+
+        assertTrue(cache.get(keyA, 0).isPresent(), "recently used path evicted");
+        assertTrue(cache.get(keyB, 0).isEmpty(), "least recently used path not evicted");
+        assertTrue(cache.get(keyC, 0).isPresent(), "new path missing");
+
+        PathCacheStatsDTO stats = cache.getStats();
+        assertEquals(1, stats.getEvictions(), "wrong number of evictions");
+        assertEquals(2, stats.getSize(), "wrong size");
+    }
+
+    @Test
+    public void testGet_newerVersionInvalidates() {
+        cache.put(keyA, 0, path);
+        cache.put(keyB, 0, path);
+
+        assertTrue(cache.get(keyA, 1).isEmpty(), "hit for outdated path");
+        assertTrue(cache.get(keyB, 1).isEmpty(), "hit for outdated path");
+
+        PathCacheStatsDTO stats = cache.getStats();
+        assertEquals(1, stats.getInvalidations(), "wrong number of invalidations");
+        assertEquals(0, stats.getSize(), "not empty");
+    }
+
+    @Test
+    public void testPut_outdatedVersionIgnored() {
+        cache.get(keyA, 5);
+        cache.put(keyA, 4, path);
+
+        assertTrue(cache.get(keyA, 5).isEmpty(), "outdated path cached");
+        assertEquals(0, cache.getStats().getSize(), "not empty");
+    }
+
+    @Test
+    public void testGet_olderVersionMisses() {
+        cache.put(keyA, 5, path);
+
+        assertTrue(cache.get(keyA, 4).isEmpty(), "hit for other version");
+        assertTrue(cache.get(keyA, 5).isPresent(), "cache cleared by older version");
+    }
+
+    @Test
+    public void testConstructor_badCapacity() {
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, () -> new PathCache(0), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V64207), "missing error code");
+    }
+
+}
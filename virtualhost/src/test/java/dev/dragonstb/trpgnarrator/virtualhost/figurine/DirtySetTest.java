@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.figurine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class DirtySetTest {
+
+    @Test
+    public void testMarkAndDrain() {
+        DirtySet set = new DirtySet();
+        set.ensureCapacity(200);
+        set.mark(130);
+        set.mark(3);
+        set.mark(63);
+        set.mark(64);
+        set.mark(3);
+        assertEquals(4, set.count(), "wrong count");
+        assertTrue(set.isMarked(63), "not marked");
+        assertFalse(set.isMarked(62), "marked");
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, set.drain(drained::add), "wrong number drained");
+        assertEquals(List.of(3, 63, 64, 130), drained, "wrong handles");
+        assertEquals(0, set.drain(handle -> fail("drained twice")), "still marked");
+    }
+
+    @Test
+    public void testEnsureCapacity_keepsMarks() {
+        DirtySet set = new DirtySet();
+        set.ensureCapacity(10);
+        set.mark(5);
+        set.ensureCapacity(1000);
+        set.mark(999);
+
+        List<Integer> drained = new ArrayList<>();
+        set.drain(drained::add);
+        assertEquals(List.of(5, 999), drained, "marks lost");
+        assertFalse(set.isMarked(5000), "beyond capacity marked");
+    }
+
+    @Test
+    public void testDrain_concurrentMarks() throws Exception {
+        int size = 4096;
+        DirtySet set = new DirtySet();
+        set.ensureCapacity(size);
+        ConcurrentLinkedQueue<Integer> drained = new ConcurrentLinkedQueue<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        Thread marker = new Thread(() -> {
+            for (int handle = 0; handle < size; handle++) {
+                set.mark(handle);
+            }
+            done.countDown();
+        });
+        marker.start();
+        while(done.getCount() > 0) {
+            set.drain(drained::add);
+        }
+        set.drain(drained::add);
+        marker.join();
+
+        // each handle is marked once, so it is drained exactly once
+        assertEquals(size, drained.size(), "marks lost or duplicated");
+        assertEquals(size, drained.stream().distinct().count(), "marks duplicated");
+    }
+
+}
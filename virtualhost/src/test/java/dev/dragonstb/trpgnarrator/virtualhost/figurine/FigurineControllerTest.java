@@ -21,14 +21,21 @@ package dev.dragonstb.trpgnarrator.virtualhost.figurine;
 
 import com.jme3.math.Vector3f;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.ChannelNames;
+import dev.dragonstb.trpgnarrator.virtualhost.broker.FetchKeys;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.MessageHeadlines;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.MessageKeys;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathForFigurine;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathsForFigurines;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McPathForFigurine;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryBatch;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FindPathForFigurineParms;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FindPathsForFigurinesParms;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -50,7 +57,6 @@ public class FigurineControllerTest {
     // TODO: hardcoded stuff for hardcoded figurines. Becomes obsolete once figurines can be mocked here.
     private final String figId = "0";
     private final int figField = 15;
-    private final FetchCommand figInitLocationFetch = new FetchCommand(FetchCodes.BOARD_FIELD_LOCATION, figField);
     private final Vector3f figLocation = new Vector3f(1, 0, 3);
 
     @Mock
@@ -60,10 +66,8 @@ public class FigurineControllerTest {
 
     @BeforeEach
     public void setUp() {
-        Optional<Object> opt = Optional.of(figLocation);
-        List<Optional<Object>> list = new ArrayList<>();
-        list.add(opt);
-        when(broker.request(ChannelNames.GET_BOARD_DATA, figInitLocationFetch, true)).thenReturn(list);
+        when(broker.requestFirst(ChannelNames.GET_BOARD_DATA_ID, FetchKeys.BOARD_FIELD_LOCATION.command(figField)))
+                .thenReturn(Optional.of(figLocation));
         // TODO: mock figurines for initializing the figurines once the figurines are not created in hard code anymore.
         controller = new FigurineController(broker);
     }
@@ -78,7 +82,29 @@ public class FigurineControllerTest {
 
         McFindPathForFigurine content = new McFindPathForFigurine(figId, figField, toField);
         Message expected = new Message(MessageHeadlines.PLEASE_FIND_PATH, content);
-        verify(broker, times(1)).send(expected, ChannelNames.CONCURRENT_MANAGEMENT);
+        verify(broker, times(1)).send(expected, ChannelNames.CONCURRENT_MANAGEMENT_ID);
+    }
+
+    @Test
+    public void testReceive_findPaths_ok() {
+        String otherId = figId+"butnotexisting";
+        List<FindPathForFigurineParms> requests = List.of(new FindPathForFigurineParms(figId, figField+9),
+                new FindPathForFigurineParms(otherId, figField+3));
+        Message msg = new Message(MessageHeadlines.PLEASE_FIND_PATHS, new FindPathsForFigurinesParms(requests));
+
+        controller.receive(msg);
+
+        // only the existing figurine is in the batch
+        McFindPathForFigurine content = new McFindPathForFigurine(figId, figField, figField+9);
+        Message expected = new Message(MessageHeadlines.PLEASE_FIND_PATHS, new McFindPathsForFigurines(List.of(content)));
+        verify(broker, times(1)).send(expected, ChannelNames.CONCURRENT_MANAGEMENT_ID);
+    }
+
+    @Test
+    public void testReceive_findPaths_wrongContent() {
+        Message msg = new Message(MessageHeadlines.PLEASE_FIND_PATHS, "nope");
+        ClassCastException exc = assertThrows(ClassCastException.class, () -> controller.receive(msg), "no exception thrown");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V81530), "Expected error code missing");
     }
 
     @Test
@@ -102,11 +128,47 @@ public class FigurineControllerTest {
         assertTrue(opt.isPresent(), "No data");
 
         Object obj = opt.get();
-        assertTrue(obj instanceof List, "Not a list");
+        assertTrue(obj instanceof TelemetryBatch, "Not a batch");
 
-        List list = (List)obj;
-        assertEquals(1, list.size(), "Wrong length");
-        assertTrue(list.getFirst() instanceof FigurineTelemetryDTO, "Wrong class");
+        TelemetryBatch batch = (TelemetryBatch)obj;
+        assertEquals(1, batch.getSize(), "Wrong length");
+        assertEquals(figId, batch.getFigId(0), "Wrong figurine");
+        assertEquals(figField, batch.getField(0), "Wrong field");
 
     }
+
+    @Test
+    public void testRequest_getTelemetries_onlyChanged() {
+        FetchCommand cmd = new FetchCommand(FetchCodes.FIGURINE_TELEMETRY);
+        TelemetryBatch batch = (TelemetryBatch)controller.request(cmd).orElseThrow();
+        assertEquals(1, batch.getSize(), "figurine not harvested");
+        // the batch is reused
+        assertSame(batch, controller.request(cmd).orElseThrow(), "new batch");
+        assertEquals(0, batch.getSize(), "idle figurine harvested again");
+
+        // an idle figurine does not change with the time
+        controller.update(.1f);
+        assertEquals(0, ((TelemetryBatch)controller.request(cmd).orElseThrow()).getSize(), "idle figurine harvested again");
+    }
+
+    @Test
+    public void testUpdate_walksAlongPath() {
+        FetchCommand cmd = new FetchCommand(FetchCodes.FIGURINE_TELEMETRY);
+        controller.request(cmd);
+        List<Vector3f> waypoints = List.of(figLocation, figLocation.add(1, 0, 0));
+        when(broker.requestFirst(ChannelNames.GET_BOARD_DATA_ID, FetchKeys.BOARD_FIELD_AT.command(waypoints.getLast())))
+                .thenReturn(Optional.of(figField+1));
+        controller.receive(MessageKeys.FOUND_PATH.message(new McPathForFigurine(figId, waypoints)));
+
+        controller.update(100f);
+        TelemetryBatch batch = (TelemetryBatch)controller.request(cmd).orElseThrow();
+        assertEquals(1, batch.getSize(), "moving figurine not harvested");
+        FigurineTelemetryDTO dto = batch.toDTO(0);
+        assertEquals(figLocation.add(1, 0, 0), dto.getLocationAsVector3f().orElseThrow(), "not at the end of the path");
+        assertEquals(figField+1, dto.getFieldId(), "not on the end field");
+
+        // arrived, so nothing changes anymore
+        controller.update(.1f);
+        assertEquals(0, ((TelemetryBatch)controller.request(cmd).orElseThrow()).getSize(), "arrived figurine harvested again");
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.figurine;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class FigurineStoreTest {
+
+    private final List<Vector3f> path = List.of(new Vector3f(0, 0, 0), new Vector3f(1, 0, 0), new Vector3f(1, 2, 0));
+    private FigurineStore store;
+
+    @BeforeEach
+    public void setUp() {
+        store = new FigurineStore();
+    }
+
+    @Test
+    public void testAdd_grows() {
+        for (int idx = 0; idx < 100; idx++) {
+            assertEquals(idx, store.add(), "wrong handle");
+        }
+        store.setLocation(99, new Vector3f(1, 2, 3));
+        store.setFieldId(99, 7);
+        assertEquals(100, store.size(), "wrong size");
+        assertEquals(new Vector3f(1, 2, 3), store.getLocation(99), "wrong location");
+        assertEquals(7, store.getFieldId(99), "wrong field");
+        assertEquals(new Vector3f(), store.getLocation(98), "other figurine moved");
+    }
+
+    @Test
+    public void testAdvance() {
+        int idle = store.add();
+        int walker = store.add();
+        store.setPath(walker, path, .5f, 9);
+        assertTrue(store.isMoving(walker), "not moving");
+        assertEquals(1, store.countMoving(), "wrong number of moving figurines");
+        store.harvest(handle -> {});
+
+        store.advance(.25f);
+        assertTrue(store.getLocation(walker).distance(new Vector3f(.5f, 0, 0)) < 1e-5f, "wrong location");
+        // the remaining time spills over into the next segment
+        store.advance(.5f);
+        assertTrue(store.getLocation(walker).distance(new Vector3f(1, 1, 0)) < 1e-5f, "wrong location");
+        assertEquals(0, store.getFieldId(walker), "on the end field before arriving");
+        assertEquals(1, store.harvest(handle -> assertEquals(walker, handle, "wrong figurine changed")), "wrong number of changes");
+
+        store.advance(10);
+        assertEquals(new Vector3f(1, 2, 0), store.getLocation(walker), "not at the end of the path");
+        assertFalse(store.isMoving(walker), "still moving");
+        assertEquals(9, store.getFieldId(walker), "not on the end field");
+        assertEquals(0, store.countMoving(), "wrong number of moving figurines");
+        assertFalse(store.isMoving(idle), "idle figurine moving");
+    }
+
+    @Test
+    public void testAdvance_parallel() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            FigurineStore parallel = new FigurineStore(executor);
+            int num = 3 * FigurineStore.CHUNK_SIZE + 17;
+            for (int idx = 0; idx < num; idx++) {
+                int handle = parallel.add();
+                store.add();
+                // every second figurine gets a path twice as fast, so some arrive earlier than others
+                float seconds = idx % 2 == 0 ? .5f : 1;
+                parallel.setPath(handle, path, seconds, 9);
+                store.setPath(handle, path, seconds, 9);
+            }
+            parallel.harvest(handle -> {});
+
+            parallel.advance(.75f);
+            store.advance(.75f);
+            for (int handle = 0; handle < num; handle++) {
+                assertEquals(store.getLocation(handle), parallel.getLocation(handle), "wrong location of "+handle);
+            }
+            assertEquals(num, parallel.harvest(handle -> {}), "wrong number of changes");
+
+            parallel.advance(.5f);
+            assertEquals((num + 1) / 2, num - parallel.countMoving(), "wrong number of arrived figurines");
+            parallel.advance(10);
+            assertEquals(0, parallel.countMoving(), "figurines still moving");
+            for (int handle = 0; handle < num; handle++) {
+                assertEquals(new Vector3f(1, 2, 0), parallel.getLocation(handle), "not at the end of the path");
+                assertEquals(9, parallel.getFieldId(handle), "not on the end field");
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConstructor_badChunkSize() {
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, () -> new FigurineStore(Runnable::run, 0),
+                "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V57306), "missing error code");
+    }
+
+    @Test
+    public void testSetPath_tooShort() {
+        int handle = store.add();
+        store.setPath(handle, List.of(new Vector3f(5, 5, 5)), 1, 9);
+        assertFalse(store.isMoving(handle), "moving along a single way point");
+        assertEquals(new Vector3f(), store.getLocation(handle), "moved");
+    }
+
+    @Test
+    public void testStop() {
+        int first = store.add();
+        int second = store.add();
+        int third = store.add();
+        store.setFieldId(second, 12);
+        store.setPath(first, path, 1, 9);
+        store.setPath(second, path, 1, 9);
+        store.setPath(third, path, 1, 9);
+
+        assertEquals(12, store.stop(second), "wrong field");
+        store.stop(second);
+        assertFalse(store.isMoving(second), "still moving");
+        assertEquals(2, store.countMoving(), "wrong number of moving figurines");
+
+        store.advance(.5f);
+        assertEquals(new Vector3f(), store.getLocation(second), "stopped figurine moved");
+        assertTrue(store.getLocation(first).distance(new Vector3f(.5f, 0, 0)) < 1e-5f, "moving figurine lost");
+        assertTrue(store.getLocation(third).distance(new Vector3f(.5f, 0, 0)) < 1e-5f, "moving figurine lost");
+    }
+
+}
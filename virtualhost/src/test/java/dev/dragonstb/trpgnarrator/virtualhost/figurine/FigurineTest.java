@@ -26,6 +26,8 @@ import dev.dragonstb.trpgnarrator.virtualhost.generic.MessageHeadlines;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathForFigurine;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineDTO;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -97,4 +99,25 @@ public class FigurineTest {
         assertEquals(figId, dto.getId(), "Wrong id");
     }
 
+    @Test
+    public void testChangesMarked() {
+        FigurineStore store = new FigurineStore();
+        Figurine other = new Figurine(store, "other", figCol);
+        Figurine tracked = new Figurine(store, "tracked", figCol);
+        assertEquals(1, tracked.getHandle(), "wrong handle");
+        assertEquals(2, store.harvest(handle -> {}), "new figurines not marked");
+
+        tracked.setLocation(new Vector3f(4, 5, 6));
+        List<Integer> changed = new ArrayList<>();
+        store.harvest(changed::add);
+        assertEquals(List.of(1), changed, "not marked when moved");
+
+        tracked.setFieldId(3);
+        changed.clear();
+        store.harvest(changed::add);
+        assertEquals(List.of(1), changed, "not marked when on other field");
+        assertEquals(new Vector3f(4, 5, 6), tracked.getLocation(), "wrong location");
+        assertEquals(new Vector3f(), other.getLocation(), "other figurine moved");
+    }
+
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.generic;
+
+import dev.dragonstb.trpgnarrator.virtualhost.broker.ChannelNames;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class CodeRegistryTest {
+
+    @Test
+    public void testIdOf() {
+        String code = "codeRegistryTest-7g3hk2";
+        int size = CodeRegistry.HEADLINES.size();
+        int id = CodeRegistry.HEADLINES.idOf(code);
+
+        assertEquals(size, id, "not the next dense id");
+        assertEquals(size + 1, CodeRegistry.HEADLINES.size(), "wrong size");
+        assertEquals(id, CodeRegistry.HEADLINES.idOf(code), "interned twice");
+        assertEquals(code, CodeRegistry.HEADLINES.codeOf(id), "wrong code");
+    }
+
+    @Test
+    public void testFind() {
+        String code = "codeRegistryTest-p0q8zr";
+        int size = CodeRegistry.FETCH_CODES.size();
+        assertEquals(CodeRegistry.NO_ID, CodeRegistry.FETCH_CODES.find(code), "found unknown code");
+        assertEquals(size, CodeRegistry.FETCH_CODES.size(), "interned by find");
+
+        int id = CodeRegistry.FETCH_CODES.idOf(code);
+        assertEquals(id, CodeRegistry.FETCH_CODES.find(code), "interned code not found");
+    }
+
+    @Test
+    public void testPredefinedCodes() {
+        assertEquals(FetchCodes.BOARD_DATA, CodeRegistry.FETCH_CODES.codeOf(FetchCodes.BOARD_DATA_ID), "wrong fetch code");
+        assertEquals(MessageHeadlines.FOUND_PATH, CodeRegistry.HEADLINES.codeOf(MessageHeadlines.FOUND_PATH_ID), "wrong headline");
+        assertEquals(ChannelNames.GET_BOARD_DATA, CodeRegistry.CHANNELS.codeOf(ChannelNames.GET_BOARD_DATA_ID), "wrong channel");
+        assertNotEquals(FetchCodes.BOARD_DATA_ID, FetchCodes.BOARD_VERSION_ID, "same id for different codes");
+    }
+
+    @Test
+    public void testCodeOf_unknownId() {
+        int id = CodeRegistry.CHANNELS.size();
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, () -> CodeRegistry.CHANNELS.codeOf(id), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V52019), "missing error code");
+
+        exc = assertThrows(IllegalArgumentException.class, () -> CodeRegistry.CHANNELS.codeOf(-1), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V52019), "missing error code");
+    }
+
+    @Test
+    public void testMessageAndFetchCommand() {
+        Message byName = new Message(MessageHeadlines.FOUND_PATH, "content");
+        Message byId = new Message(MessageHeadlines.FOUND_PATH_ID, "content");
+        assertEquals(MessageHeadlines.FOUND_PATH_ID, byName.getHeadlineId(), "wrong headline id");
+        assertEquals(MessageHeadlines.FOUND_PATH, byId.getHeadline(), "wrong headline");
+        assertEquals(byName, byId, "not equal");
+
+        FetchCommand cmdByName = new FetchCommand(FetchCodes.BOARD_VERSION);
+        FetchCommand cmdById = new FetchCommand(FetchCodes.BOARD_VERSION_ID);
+        assertEquals(FetchCodes.BOARD_VERSION_ID, cmdByName.getCommandId(), "wrong command id");
+        assertEquals(FetchCodes.BOARD_VERSION, cmdById.getCommand(), "wrong command");
+        assertEquals(cmdByName, cmdById, "not equal");
+    }
+
+}
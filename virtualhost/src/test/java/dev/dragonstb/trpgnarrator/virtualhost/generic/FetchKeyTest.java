@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.generic;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import java.util.Optional;
+import java.util.function.Function;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class FetchKeyTest {
+
+    private final FetchKey<Integer, String> key = new FetchKey<>(0, FetchCodes.BOARD_FIELD_LOCATION_ID, Integer.class, String.class);
+    private final FetchKey<Void, String> voidKey = new FetchKey<>(0, FetchCodes.BOARD_VERSION_ID, Void.class, String.class);
+
+    @Test
+    public void testCommand() {
+        FetchCommand cmd = key.command(5);
+        assertEquals(FetchCodes.BOARD_FIELD_LOCATION_ID, cmd.getCommandId(), "wrong command");
+        assertEquals(5, cmd.getParms(), "wrong parameter");
+
+        assertSame(voidKey.command(null), voidKey.command(null), "parameterless command not shared");
+    }
+
+    @Test
+    public void testCastResult() {
+        Optional<Object> answer = Optional.of("hello");
+        assertSame(answer, key.castResult(answer), "not the same optional");
+        assertTrue(key.castResult(Optional.empty()).isEmpty(), "not empty");
+
+        ClassCastException exc = assertThrows(ClassCastException.class, () -> key.castResult(Optional.of(3)), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V13357), "missing error code");
+    }
+
+    @Test
+    public void testHandler() {
+        Function<Object, Optional<Object>> handler = key.handler(id -> Optional.of("field "+id), VHostErrorCodes.V78642);
+        assertEquals(Optional.of("field 4"), handler.apply(4), "wrong answer");
+
+        ClassCastException exc = assertThrows(ClassCastException.class, () -> handler.apply("4"), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V78642), "missing error code");
+        assertThrows(ClassCastException.class, () -> handler.apply(null), "no exception for null");
+    }
+
+    @Test
+    public void testHandler_void() {
+        Function<Object, Optional<Object>> handler = voidKey.handler(parm -> Optional.of("version"), VHostErrorCodes.V78642);
+        assertEquals(Optional.of("version"), handler.apply("ignored"), "wrong answer");
+        assertEquals(Optional.of("version"), handler.apply(null), "wrong answer");
+    }
+
+    @Test
+    public void testMessageKey() {
+        MessageKey<String> msgKey = new MessageKey<>(MessageHeadlines.FOUND_PATH_ID, String.class);
+        assertEquals(new Message(MessageHeadlines.FOUND_PATH, "content"), msgKey.message("content"), "wrong message");
+
+        StringBuilder received = new StringBuilder();
+        var handler = msgKey.handler(received::append, VHostErrorCodes.V94039);
+        handler.accept("content");
+        assertEquals("content", received.toString(), "not received");
+
+        ClassCastException exc = assertThrows(ClassCastException.class, () -> handler.accept(3), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V94039), "missing error code");
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.hostconnector;
+
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Globals;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class FigurineGridTest {
+
+    @Test
+    public void testCollectWithin_likeBruteForce() {
+        Random rnd = new Random(4711);
+        int size = 500;
+        int[] indices = new int[size];
+        float[] xs = new float[size];
+        float[] zs = new float[size];
+        for (int idx = 0; idx < size; idx++) {
+            // every other figurine of the telemetry is located
+            indices[idx] = 2 * idx;
+            xs[idx] = rnd.nextFloat() * 100 - 50;
+            zs[idx] = rnd.nextFloat() * 40;
+        }
+        FigurineGrid grid = new FigurineGrid(indices, xs, zs, size, Globals.FIELD_DIAMETER);
+
+        for (int query = 0; query < 50; query++) {
+            float x = rnd.nextFloat() * 120 - 60;
+            float z = rnd.nextFloat() * 60 - 10;
+            float radius = rnd.nextFloat() * 20;
+            int[] found = new int[size];
+            int count = grid.collectWithin(x, z, radius, found);
+            boolean[] marks = new boolean[2 * size];
+            for (int pos = 0; pos < count; pos++) {
+                assertFalse(marks[found[pos]], "figurine found twice");
+                marks[found[pos]] = true;
+            }
+
+            for (int idx = 0; idx < size; idx++) {
+                float dx = xs[idx] - x;
+                float dz = zs[idx] - z;
+                assertEquals(dx * dx + dz * dz <= radius * radius, marks[2 * idx], "wrong mark");
+                assertFalse(marks[2 * idx + 1], "unlocated figurine marked");
+            }
+        }
+    }
+
+    @Test
+    public void testCollectWithin_empty() {
+        FigurineGrid grid = new FigurineGrid(new int[0], new float[0], new float[0], 0, 1);
+        assertEquals(0, grid.collectWithin(0, 0, 10, new int[0]), "found without figurines");
+    }
+
+}
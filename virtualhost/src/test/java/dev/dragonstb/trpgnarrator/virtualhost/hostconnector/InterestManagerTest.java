@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.hostconnector;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.InterestArea;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.StreamReceiver;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamTypes;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamed;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.InterestChangeDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.TelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryBatch;
+import java.util.List;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ *
+ * @author Dragonstb
+ */
+@ExtendWith(MockitoExtension.class)
+public class InterestManagerTest {
+
+    @Mock
+    private StreamReceiver receiver;
+
+    private InterestManager manager;
+    private TelemetryView view;
+
+    @BeforeEach
+    public void setUp() {
+        manager = new InterestManager();
+        view = new TelemetryView();
+    }
+
+    @Test
+    public void testFilter_noArea() {
+        TelemetryDTO dto = telemetry(fig("a", 0, 0, 1));
+        index(dto, dto.getFigurineTelemetries());
+        assertSame(dto, manager.filter(receiver), "telemetry filtered");
+        assertFalse(manager.hasArea(receiver), "area present");
+        verify(receiver, never()).receiveStreamedDTO(any());
+    }
+
+    @Test
+    public void testFilter_circle() {
+        manager.setArea(receiver, InterestArea.around(new Vector3f(0, 5, 0), 3));
+        index(telemetry(fig("a", 1, 1, 1), fig("b", 10, 0, 2), new FigurineTelemetryDTO("c", null, 3), fig("d", 0, -3, 4)));
+        TelemetryDTO result = manager.filter(receiver);
+
+        assertEquals(List.of("a", "d"), ids(result), "wrong figurines");
+        InterestChangeDTO change = captureChange();
+        assertEquals(List.of("a", "d"), change.getEntered(), "wrong figurines entered");
+        assertTrue(change.getLeft().isEmpty(), "figurines left");
+    }
+
+    @Test
+    public void testFilter_areaSetAfterIndex() {
+        index(telemetry(fig("a", 1, 1, 1), fig("b", 10, 0, 2)));
+        manager.setArea(receiver, InterestArea.around(new Vector3f(), 3));
+        assertEquals(List.of("a"), ids(manager.filter(receiver)), "wrong figurines");
+        assertEquals(List.of("a"), ids(manager.filterAll(receiver)), "wrong figurines in whole picture");
+    }
+
+    @Test
+    public void testFilter_fields() {
+        manager.setArea(receiver, InterestArea.ofFields(Set.of(2, 3)));
+        index(telemetry(fig("a", 1, 1, 1), fig("b", 10, 0, 2), new FigurineTelemetryDTO("c", null, 3)));
+        TelemetryDTO result = manager.filter(receiver);
+
+        // c is not located, so its field does not count
+        assertEquals(List.of("b"), ids(result), "wrong figurines");
+    }
+
+    @Test
+    public void testFilter_enterAndLeave() {
+        manager.setArea(receiver, InterestArea.around(new Vector3f(), 2));
+        index(telemetry(fig("a", 0, 0, 1), fig("b", 5, 0, 2)));
+        manager.filter(receiver);
+
+        // a walks out, b walks in
+        index(telemetry(fig("a", 5, 0, 2), fig("b", 1, 0, 1)));
+        manager.filter(receiver);
+        // nothing changes
+        index(telemetry(fig("a", 5, 0, 2), fig("b", 1, 0, 1)));
+        manager.filter(receiver);
+
+        ArgumentCaptor<VHStreamed> captor = ArgumentCaptor.forClass(VHStreamed.class);
+        verify(receiver, times(2)).receiveStreamedDTO(captor.capture());
+        InterestChangeDTO change = (InterestChangeDTO)captor.getAllValues().get(1).getContent();
+        assertEquals(List.of("b"), change.getEntered(), "wrong figurines entered");
+        assertEquals(List.of("a"), change.getLeft(), "wrong figurines left");
+    }
+
+    @Test
+    public void testFilter_onlyChanged() {
+        manager.setArea(receiver, InterestArea.ofFields(Set.of(1)));
+        List<FigurineTelemetryDTO> all = List.of(fig("a", 0, 0, 1), fig("b", 5, 0, 2), fig("c", 3, 0, 1));
+        index(new TelemetryDTO(all), all);
+        manager.filter(receiver);
+
+        // only b has moved, but the area now covers b and c
+        manager.setArea(receiver, InterestArea.ofFields(Set.of(2, 1)));
+        all = List.of(fig("a", 0, 0, 1), fig("b", 6, 0, 2), fig("c", 3, 0, 1));
+        index(telemetry(all.get(1)), all);
+        assertEquals(List.of("b"), ids(manager.filter(receiver)), "wrong figurines");
+        // nothing changes
+        index(telemetry(), all);
+        assertTrue(manager.filter(receiver).getFigurineTelemetries().isEmpty(), "unchanged figurines streamed");
+        assertEquals(List.of("a", "b", "c"), ids(manager.filterAll(receiver)), "wrong figurines in whole picture");
+
+        ArgumentCaptor<VHStreamed> captor = ArgumentCaptor.forClass(VHStreamed.class);
+        verify(receiver, times(2)).receiveStreamedDTO(captor.capture());
+        InterestChangeDTO change = (InterestChangeDTO)captor.getAllValues().get(1).getContent();
+        assertEquals(List.of("b"), change.getEntered(), "wrong figurines entered");
+    }
+
+    @Test
+    public void testFilter_enterUnchanged() {
+        manager.setArea(receiver, InterestArea.ofFields(Set.of(1)));
+        List<FigurineTelemetryDTO> all = List.of(fig("a", 0, 0, 1), fig("b", 5, 0, 2));
+        index(new TelemetryDTO(all), all);
+        manager.filter(receiver);
+
+        // b has not changed, but it is new to the receiver
+        manager.setArea(receiver, InterestArea.EVERYTHING);
+        index(telemetry(), all);
+        assertEquals(List.of("b"), ids(manager.filter(receiver)), "entered figurine not streamed");
+        assertEquals(List.of("a", "b"), ids(manager.filterAll(receiver)), "wrong figurines in whole picture");
+        assertTrue(manager.hasArea(receiver), "area forgotten");
+
+        ArgumentCaptor<VHStreamed> captor = ArgumentCaptor.forClass(VHStreamed.class);
+        // filtered twice, but told once
+        verify(receiver, times(2)).receiveStreamedDTO(captor.capture());
+        InterestChangeDTO change = (InterestChangeDTO)captor.getAllValues().get(1).getContent();
+        assertEquals(List.of("b"), change.getEntered(), "wrong figurines entered");
+    }
+
+    @Test
+    public void testFilter_keepsAlpha() {
+        manager.setArea(receiver, InterestArea.ofFields(Set.of()));
+        index(new TelemetryDTO(List.of(fig("a", 0, 0, 1)), .75f));
+        TelemetryDTO result = manager.filter(receiver);
+        assertTrue(result.getFigurineTelemetries().isEmpty(), "figurines outside the area");
+        assertEquals(.75f, result.getAlpha(), "wrong alpha");
+    }
+
+    private InterestChangeDTO captureChange() {
+        ArgumentCaptor<VHStreamed> captor = ArgumentCaptor.forClass(VHStreamed.class);
+        verify(receiver, times(1)).receiveStreamedDTO(captor.capture());
+        assertEquals(VHStreamTypes.interest, captor.getValue().getType(), "wrong stream type");
+        return (InterestChangeDTO)captor.getValue().getContent();
+    }
+
+    private FigurineTelemetryDTO fig(String id, float x, float z, int fieldId) {
+        return new FigurineTelemetryDTO(id, new Vector3f(x, 0, z), fieldId);
+    }
+
+    /** Indexes telemetry in which all figurines have changed. */
+    private void index(TelemetryDTO dto) {
+        index(dto, dto.getFigurineTelemetries());
+    }
+
+    /** Merges the latest telemetry of all figurines into the view and indexes the changed telemetry. */
+    private void index(TelemetryDTO changed, List<FigurineTelemetryDTO> all) {
+        TelemetryBatch batch = new TelemetryBatch();
+        all.forEach(batch::add);
+        view.merge(batch);
+        manager.index(changed, view);
+    }
+
+    private TelemetryDTO telemetry(FigurineTelemetryDTO... teles) {
+        return new TelemetryDTO(List.of(teles));
+    }
+
+    private List<String> ids(TelemetryDTO dto) {
+        return dto.getFigurineTelemetries().stream().map(FigurineTelemetryDTO::getFigId).toList();
+    }
+
+}
@@ -19,6 +19,7 @@
  */
 package dev.dragonstb.trpgnarrator.virtualhost.hostconnector;
 
+import com.jme3.math.Vector3f;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.ChannelNames;
 import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
 import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
@@ -26,6 +27,8 @@ import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCodes;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
 import dev.dragonstb.trpgnarrator.virtualhost.generic.MessageHeadlines;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.fetchparms.ReachabilityConfig;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.InterestArea;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.StreamReceiver;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHCommand;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHCommands;
@@ -33,15 +36,23 @@ import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamTypes;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.VHStreamed;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurinesListDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.InterestChangeDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReachableFieldsDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.TelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryBatch;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FetchReachableFieldsParms;
 import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FindPathForFigurineParms;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import static org.mockito.Mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -175,6 +186,24 @@ public class LocalHostConnectorTest {
         assertTrue((Boolean)obj, "Unexpected false");
     }
 
+    @Test
+    public void testGetReachableFields_ok() {
+        ReachableFieldsDTO reachable = new ReachableFieldsDTO(3, 2, new int[]{3}, new float[]{0}, new int[]{3}, 1);
+        FetchCommand fetch = new FetchCommand(FetchCodes.BOARD_REACHABLE, new ReachabilityConfig(3, 2));
+        when(broker.request(ChannelNames.GET_BOARD_DATA, fetch, true)).thenReturn(List.of(Optional.of(reachable)));
+
+        Object res = connector.dealRequest(new VHCommand(VHCommands.fetchReachableFields, new FetchReachableFieldsParms(3, 2)));
+
+        assertSame(reachable, res, "not the expected DTO");
+    }
+
+    @Test
+    public void testGetReachableFields_wrongParms() {
+        VHCommand command = new VHCommand(VHCommands.fetchReachableFields, "nope");
+        ClassCastException exc = assertThrows(ClassCastException.class, () -> connector.dealRequest(command), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V69412), "Missing error code");
+    }
+
     @Test
     public void testAddStreamReceiver() {
         VHStreamed obj = new VHStreamed(VHStreamTypes.telemetry, "hello");
@@ -207,4 +236,44 @@ public class LocalHostConnectorTest {
         assertTrue(msg.contains("Spurious stream type \"unknown\" set."), "Missing the expected text");
         assertTrue(msg.contains(VHostErrorCodes.V53260), "Missing the expected code");
     }
+
+    @Test
+    public void testSetInterest() {
+        TelemetryBatch tele = new TelemetryBatch();
+        tele.add(new FigurineTelemetryDTO("near", new Vector3f(), 1));
+        tele.add(new FigurineTelemetryDTO("far", new Vector3f(50, 0, 0), 2));
+        VHStreamed obj = new VHStreamed(VHStreamTypes.telemetry, tele);
+
+        connector.addStreamReceiver(client);
+        connector.setInterest(client, InterestArea.ofFields(Set.of(1)));
+        connector.sendOutbound(obj);
+
+        ArgumentCaptor<VHStreamed> captor = ArgumentCaptor.forClass(VHStreamed.class);
+        verify(client, times(2)).receiveStreamedDTO(captor.capture());
+        List<VHStreamed> streamed = captor.getAllValues();
+        assertEquals(VHStreamTypes.interest, streamed.get(0).getType(), "no notification first");
+        assertEquals(List.of("near"), ((InterestChangeDTO)streamed.get(0).getContent()).getEntered(), "wrong figurines entered");
+        assertEquals(VHStreamTypes.telemetry, streamed.get(1).getType(), "no telemetry");
+        List<FigurineTelemetryDTO> teles = ((TelemetryDTO)streamed.get(1).getContent()).getFigurineTelemetries();
+        assertEquals(1, teles.size(), "telemetry not filtered");
+        assertEquals("near", teles.get(0).getFigId(), "wrong figurine");
+    }
+
+    @Test
+    public void testSendOutbound_telemetryCopied() {
+        TelemetryBatch tele = new TelemetryBatch();
+        tele.add(new FigurineTelemetryDTO("fig", new Vector3f(1, 2, 3), 1));
+        VHStreamed obj = new VHStreamed(VHStreamTypes.telemetry, tele);
+
+        connector.addStreamReceiver(client);
+        connector.sendOutbound(obj);
+        // the sender reuses the batch
+        tele.clear();
+
+        ArgumentCaptor<VHStreamed> captor = ArgumentCaptor.forClass(VHStreamed.class);
+        verify(client, times(1)).receiveStreamedDTO(captor.capture());
+        List<FigurineTelemetryDTO> teles = ((TelemetryDTO)captor.getValue().getContent()).getFigurineTelemetries();
+        assertEquals(1, teles.size(), "telemetry lost");
+        assertEquals(new Vector3f(1, 2, 3), teles.get(0).getLocationAsVector3f().orElseThrow(), "wrong location");
+    }
 }
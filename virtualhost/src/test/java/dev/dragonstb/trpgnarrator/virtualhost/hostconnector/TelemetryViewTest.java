@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.hostconnector;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry.TelemetryBatch;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class TelemetryViewTest {
+
+    @Test
+    public void testMerge() {
+        TelemetryView view = new TelemetryView();
+        FigurineTelemetryDTO a = new FigurineTelemetryDTO("a", new Vector3f(), 1);
+        FigurineTelemetryDTO b = new FigurineTelemetryDTO("b", new Vector3f(), 2);
+        FigurineTelemetryDTO movedA = new FigurineTelemetryDTO("a", new Vector3f(1, 0, 0), 3);
+        view.merge(batch(.1f, a, b));
+        List<FigurineTelemetryDTO> first = List.copyOf(view.getAll());
+        assertEquals(List.of("a", "b"), first.stream().map(FigurineTelemetryDTO::getFigId).toList(), "wrong figurines");
+
+        view.merge(batch(.2f, movedA));
+        List<FigurineTelemetryDTO> second = view.getAll();
+        assertEquals(new Vector3f(1, 0, 0), second.get(0).getLocationAsVector3f().orElseThrow(), "wrong latest location");
+        assertEquals(3, second.get(0).getFieldId(), "wrong latest field");
+        assertSame(first.get(1), second.get(1), "unchanged figurine copied again");
+        assertEquals(new Vector3f(), first.get(0).getLocationAsVector3f().orElseThrow(), "earlier picture changed");
+
+        TelemetryBatch latest = view.getLatest();
+        assertEquals(2, latest.getSize(), "wrong number of figurines");
+        assertEquals(1f, latest.getX(0), "wrong latest location");
+        assertEquals(2, latest.getField(1), "wrong field");
+        assertEquals(.2f, latest.getAlpha(), "wrong alpha");
+    }
+
+    private TelemetryBatch batch(float alpha, FigurineTelemetryDTO... teles) {
+        TelemetryBatch batch = new TelemetryBatch();
+        batch.setAlpha(alpha);
+        for (FigurineTelemetryDTO tele : teles) {
+            batch.add(tele);
+        }
+        return batch;
+    }
+
+}
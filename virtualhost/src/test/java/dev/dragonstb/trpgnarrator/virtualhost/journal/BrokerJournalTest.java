@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.journal;
+
+import dev.dragonstb.trpgnarrator.virtualhost.broker.Receiver;
+import dev.dragonstb.trpgnarrator.virtualhost.broker.SyncBrokerFactory;
+import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.messagecontents.McFindPathForFigurine;
+import dev.dragonstb.trpgnarrator.virtualhost.hostconnector.HostConnector;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.vhcommandparms.FindPathForFigurineParms;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import static org.mockito.Mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ *
+ * @author Dragonstb
+ */
+@ExtendWith(MockitoExtension.class)
+public class BrokerJournalTest {
+
+    private final String channel = "journalChannel";
+    private final String headline = "journalHeadline";
+    private final String code = "journalFetch";
+
+    @Mock
+    private HostConnector connector;
+    @Mock
+    private Receiver receiver;
+    @TempDir
+    private Path dir;
+
+    private Path file;
+    private SynchronousBroker broker;
+
+    @BeforeEach
+    public void setUp() {
+        file = dir.resolve("test.journal");
+        broker = SyncBrokerFactory.createBroker(connector);
+        broker.registerToChannel(receiver, channel);
+    }
+
+    @Test
+    public void testRoundTrip() {
+        McFindPathForFigurine content = new McFindPathForFigurine("fig", 3, 8);
+        Message msg = new Message(headline, content);
+        FetchCommand fetch = new FetchCommand(code, new FindPathForFigurineParms("fig", 5));
+        try (BrokerJournal journal = BrokerJournal.create(file)) {
+            journal.wrapInbound(broker).send(msg, channel);
+            journal.wrapInternal(broker).request(channel, fetch, true);
+            journal.wrapInternal(broker).update(0.25f);
+            journal.wrapInbound(broker).send(msg, channel);
+            assertEquals(4, journal.getRecords(), "wrong number of records");
+        }
+        // the second message is held back by the broker until the next timing signal
+        verify(receiver, times(1)).receive(msg);
+        verify(receiver, times(1)).request(fetch);
+
+        JournalReader reader = JournalReader.open(file);
+        JournalEntry entry = reader.next();
+        assertEquals(JournalEntryType.message, entry.getType(), "wrong type");
+        assertTrue(entry.isInbound(), "not inbound");
+        assertEquals(channel, entry.getChannel(), "wrong channel");
+        assertEquals(headline, entry.getCode(), "wrong headline");
+        assertEquals(content, entry.getContent(), "wrong content");
+        assertTrue(entry.isReplayable(), "not replayable");
+
+        entry = reader.next();
+        assertEquals(JournalEntryType.request, entry.getType(), "wrong type");
+        assertFalse(entry.isInbound(), "inbound");
+        assertEquals(code, entry.getCode(), "wrong fetch code");
+        FindPathForFigurineParms parms = (FindPathForFigurineParms)entry.getContent();
+        assertEquals("fig", parms.getFigurineId(), "wrong figurine");
+        assertEquals(5, parms.getToField(), "wrong field");
+
+        entry = reader.next();
+        assertEquals(JournalEntryType.update, entry.getType(), "wrong type");
+        assertEquals(0.25f, entry.getTpf(), "wrong time per frame");
+
+        // names are defined once and referred to afterwards
+        entry = reader.next();
+        assertEquals(channel, entry.getChannel(), "wrong channel");
+        assertEquals(headline, entry.getCode(), "wrong headline");
+        assertFalse(reader.hasNext(), "too many entries");
+    }
+
+    @Test
+    public void testRoundTrip_values() {
+        List<Object> values = List.of("text", -17, 1L<<40, 1.5f, true, List.of(1, "two"));
+        try (BrokerJournal journal = BrokerJournal.create(file)) {
+            SynchronousBroker inbound = journal.wrapInbound(broker);
+            values.forEach(val -> inbound.send(new Message(headline, val), channel));
+        }
+
+        JournalReader reader = JournalReader.open(file);
+        for (Object val : values) {
+            assertEquals(val, reader.next().getContent(), "wrong content");
+        }
+        assertFalse(reader.hasNext(), "too many entries");
+    }
+
+    @Test
+    public void testRoundTrip_opaque() {
+        try (BrokerJournal journal = BrokerJournal.create(file)) {
+            journal.wrapInbound(broker).send(new Message(headline, UUID.randomUUID()), channel);
+        }
+
+        JournalEntry entry = JournalReader.open(file).next();
+        assertFalse(entry.isReplayable(), "replayable");
+        assertNull(entry.getContent(), "content present");
+        assertEquals(UUID.class.getName(), entry.getOpaqueType(), "wrong type");
+    }
+
+    @Test
+    public void testClose() {
+        BrokerJournal journal = BrokerJournal.create(file);
+        SynchronousBroker inbound = journal.wrapInbound(broker);
+        inbound.send(new Message(headline, null), channel);
+        journal.close();
+        journal.close();
+        inbound.send(new Message(headline, null), channel);
+
+        verify(receiver, times(2)).receive(any());
+        assertEquals(1, journal.getRecords(), "recorded after closing");
+    }
+
+    @Test
+    public void testOpen_notAJournal() throws Exception {
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6});
+        IllegalStateException exc = assertThrows(IllegalStateException.class, () -> JournalReader.open(file), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V26871), "missing error code");
+    }
+
+    @Test
+    public void testNext_truncated() throws Exception {
+        try (BrokerJournal journal = BrokerJournal.create(file)) {
+            journal.wrapInbound(broker).send(new Message(headline, "some text"), channel);
+        }
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            fc.truncate(fc.size() - 3);
+        }
+
+        JournalReader reader = JournalReader.open(file);
+        IllegalStateException exc = assertThrows(IllegalStateException.class, () -> reader.next(), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V26871), "missing error code");
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ClockStatsDTO;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class ClockDriverTest {
+
+    @Test
+    public void testDrive() throws Exception {
+        FixedStepClock clockA = FixedStepClock.atRate(200);
+        FixedStepClock clockB = FixedStepClock.atRate(100);
+        CountDownLatch latchA = new CountDownLatch(10);
+        CountDownLatch latchB = new CountDownLatch(5);
+        clockA.setReceiver(tpf -> latchA.countDown());
+        clockB.setReceiver(tpf -> latchB.countDown());
+
+        try (ClockDriver driver = new ClockDriver(200)) {
+            driver.attach(clockA);
+            driver.attach(clockB);
+            driver.attach(clockA);
+            driver.start();
+            assertTrue(latchA.await(5, TimeUnit.SECONDS), "first clock does not tick");
+            assertTrue(latchB.await(5, TimeUnit.SECONDS), "second clock does not tick");
+
+            driver.detach(clockA);
+            long steps = clockA.getSteps();
+            Thread.sleep(50);
+            assertTrue(clockA.getSteps() <= steps + 1, "detached clock still ticking");
+
+            IllegalStateException exc = assertThrows(IllegalStateException.class, () -> driver.start(), "no exception");
+            assertTrue(exc.getMessage().contains(VHostErrorCodes.V88314), "missing error code");
+        }
+        assertTrue(clockB.getSteps() >= 5, "wrong number of steps");
+    }
+
+    @Test
+    public void testStats() throws Exception {
+        FixedStepClock slow = FixedStepClock.atRate(200);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(3);
+        slow.setReceiver(tpf -> {
+            // the first steps take longer than the period of the driver
+            if(calls.incrementAndGet() <= 2) {
+                sleep(30);
+            }
+            latch.countDown();
+        });
+
+        ClockStatsDTO stats;
+        try (ClockDriver driver = new ClockDriver(200)) {
+            driver.attach(slow);
+            driver.start();
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "clock does not tick");
+            Thread.sleep(20);
+            stats = driver.getStats();
+        }
+
+        assertTrue(stats.getTicks() >= 3, "ticks not counted");
+        assertTrue(stats.getOverruns() >= 2, "overruns not counted");
+        assertTrue(stats.getMissedTicks() >= stats.getOverruns(), "missed ticks not counted");
+        assertEquals(stats.getTicks(), stats.getJitter().getCount(), "jitter not recorded for each tick");
+        assertEquals(stats.getTicks(), stats.getWork().getCount(), "work not recorded for each tick");
+        assertEquals(0, stats.getFailures(), "failures counted");
+    }
+
+    @Test
+    public void testFailingClock() throws Exception {
+        FixedStepClock failing = FixedStepClock.atRate(200);
+        FixedStepClock healthy = FixedStepClock.atRate(200);
+        CountDownLatch latch = new CountDownLatch(3);
+        failing.setReceiver(tpf -> {
+            throw new IllegalStateException("expected by the test");
+        });
+        healthy.setReceiver(tpf -> latch.countDown());
+
+        ClockDriver driver = new ClockDriver(200);
+        try (driver) {
+            // the failing clock comes first, so it has failed in each tick the other one has ticked in
+            driver.attach(failing);
+            driver.attach(healthy);
+            driver.start();
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "other clock stopped by the failing one");
+        }
+        assertTrue(driver.getStats().getFailures() >= 3, "failures not counted");
+    }
+
+    @Test
+    public void testConstructor_badRate() {
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, () -> new ClockDriver(0), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V24519), "missing error code");
+        exc = assertThrows(IllegalArgumentException.class, () -> new ClockDriver(Float.NaN), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V24519), "missing error code");
+    }
+
+    @Test
+    public void testClose_notStarted() {
+        ClockDriver driver = new ClockDriver(30);
+        driver.close();
+        assertEquals(0, driver.getStats().getTicks(), "ticked without being started");
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class FixedStepClockTest {
+
+    private FixedStepClock clock;
+    private List<Float> steps;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new FixedStepClock(0.1f, 3);
+        steps = new ArrayList<>();
+        clock.setReceiver(steps::add);
+    }
+
+    @Test
+    public void testAdvance() {
+        assertEquals(0, clock.advance(0.04f), "stepped too early");
+        assertEquals(0.4f, clock.getAlpha(), 1e-4f, "wrong alpha");
+
+        assertEquals(1, clock.advance(0.08f), "wrong number of steps");
+        assertEquals(List.of(0.1f), steps, "wrong step length");
+        assertEquals(0.2f, clock.getAlpha(), 1e-4f, "collected time lost");
+
+        assertEquals(2, clock.advance(0.18f), "wrong number of steps");
+        assertEquals(3, clock.getSteps(), "wrong number of steps");
+        assertEquals(0, clock.getDroppedSteps(), "steps dropped");
+    }
+
+    @Test
+    public void testAdvance_catchUp() {
+        // a hiccup of a full second is not turned into ten steps
+        assertEquals(3, clock.advance(1.05f), "wrong number of steps");
+        assertEquals(7, clock.getDroppedSteps(), "wrong number of dropped steps");
+        assertEquals(0.5f, clock.getAlpha(), 1e-3f, "fraction of a step lost");
+    }
+
+    @Test
+    public void testAdvance_paused() {
+        clock.setPaused(true);
+        assertEquals(0, clock.advance(1f), "stepped while paused");
+
+        clock.setPaused(false);
+        assertEquals(0, clock.advance(0.05f), "time collected while paused");
+        assertTrue(steps.isEmpty(), "receiver updated");
+    }
+
+    @Test
+    public void testAdvance_badTime() {
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, () -> clock.advance(-1f), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V66391), "missing error code");
+        exc = assertThrows(IllegalArgumentException.class, () -> clock.advance(Float.NaN), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V66391), "missing error code");
+    }
+
+    @Test
+    public void testConstructor_bad() {
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, () -> new FixedStepClock(0, 3), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V15073), "missing error code");
+        exc = assertThrows(IllegalArgumentException.class, () -> new FixedStepClock(0.1f, 0), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V15073), "missing error code");
+        exc = assertThrows(IllegalArgumentException.class, () -> FixedStepClock.atRate(Float.POSITIVE_INFINITY), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V15073), "missing error code");
+    }
+
+    @Test
+    public void testStart() throws Exception {
+        FixedStepClock own = FixedStepClock.atRate(200);
+        CountDownLatch latch = new CountDownLatch(5);
+        List<Float> times = new ArrayList<>();
+        own.setReceiver(tpf -> {
+            times.add(tpf);
+            latch.countDown();
+        });
+
+        try (own) {
+            own.start();
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "clock does not tick");
+            IllegalStateException exc = assertThrows(IllegalStateException.class, () -> own.start(), "no exception");
+            assertTrue(exc.getMessage().contains(VHostErrorCodes.V71826), "missing error code");
+        }
+
+        long after = own.getSteps();
+        Thread.sleep(50);
+        assertEquals(after, own.getSteps(), "still ticking after closing");
+        assertEquals(0.005f, times.getFirst(), "wrong step length");
+    }
+
+    @Test
+    public void testStart_failingReceiver() throws Exception {
+        FixedStepClock own = FixedStepClock.atRate(200);
+        CountDownLatch latch = new CountDownLatch(3);
+        own.setReceiver(tpf -> {
+            latch.countDown();
+            throw new IllegalStateException("expected by the test");
+        });
+
+        try (own) {
+            own.start();
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "clock stopped by the failing receiver");
+        }
+
+        assertTrue(own.getFailures() >= 2, "failures not counted");
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class InterestAreaTest {
+
+    @Test
+    public void testAround() {
+        Vector3f focus = new Vector3f(1, 2, 3);
+        InterestArea area = InterestArea.around(focus, 2);
+        focus.set(100, 100, 100);
+
+        assertTrue(area.isCircle(), "not a circle");
+        assertFalse(area.isEverything(), "everything");
+        assertEquals(new Vector3f(1, 2, 3), area.getFocus(), "focus not copied");
+        assertTrue(area.contains(7, 3, 3), "border not included");
+        assertFalse(area.contains(7, 3.1f, 3), "too far away");
+    }
+
+    @Test
+    public void testAround_badRadius() {
+        for (float radius : new float[]{-1, Float.NaN, Float.POSITIVE_INFINITY}) {
+            IllegalArgumentException exc = assertThrows(IllegalArgumentException.class,
+                    () -> InterestArea.around(new Vector3f(), radius), "no exception");
+            assertTrue(exc.getMessage().contains(VHostErrorCodes.V39264), "missing error code");
+        }
+    }
+
+    @Test
+    public void testOfFields() {
+        InterestArea area = InterestArea.ofFields(List.of(4, 5));
+        assertFalse(area.isCircle(), "a circle");
+        assertFalse(area.isEverything(), "everything");
+        assertTrue(area.contains(5, 1000, 1000), "field not included");
+        assertFalse(area.contains(6, 0, 0), "other field included");
+        assertTrue(InterestArea.EVERYTHING.contains(6, 0, 0), "not everything");
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi;
+
+import dev.dragonstb.trpgnarrator.virtualhost.broker.ChannelNames;
+import dev.dragonstb.trpgnarrator.virtualhost.broker.SynchronousBroker;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.FetchCommand;
+import dev.dragonstb.trpgnarrator.virtualhost.generic.Message;
+import dev.dragonstb.trpgnarrator.virtualhost.journal.BrokerJournal;
+import dev.dragonstb.trpgnarrator.virtualhost.journal.JournalEntry;
+import dev.dragonstb.trpgnarrator.virtualhost.journal.JournalEntryType;
+import dev.dragonstb.trpgnarrator.virtualhost.journal.JournalReader;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.BoardDataDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.ReplayStatsDTO;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class JournalReplayerTest {
+
+    @TempDir
+    private Path dir;
+
+    private ScheduledThreadPoolExecutor executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testReplay() {
+        Path original = dir.resolve("original.journal");
+        try (BrokerJournal journal = BrokerJournal.create(original)) {
+            SynchronousBroker inbound = record(journal);
+            inbound.request(ChannelNames.GET_BOARD_DATA, new FetchCommand(FetchCodes.BOARD_DATA), true);
+            inbound.update(0.1f);
+            inbound.send(new Message("journalReplayHeadline", UUID.randomUUID()), ChannelNames.CONCURRENT_MANAGEMENT);
+            inbound.update(0.1f);
+        }
+
+        Path copy = dir.resolve("copy.journal");
+        ReplayStatsDTO stats;
+        try (BrokerJournal journal = BrokerJournal.create(copy)) {
+            Configuration conf = new Configuration();
+            conf.setExecutor(executor);
+            conf.setJournal(journal);
+            stats = new JournalReplayer().replay(original, conf);
+        }
+
+        assertEquals(0, stats.getMessages(), "wrong number of messages");
+        assertEquals(1, stats.getRequests(), "wrong number of requests");
+        assertEquals(2, stats.getUpdates(), "wrong number of updates");
+        assertEquals(1, stats.getSkipped(), "wrong number of skipped entries");
+
+        List<JournalEntry> entries = new ArrayList<>();
+        JournalReader reader = JournalReader.open(copy);
+        while(reader.hasNext()) {
+            entries.add(reader.next());
+        }
+        assertTrue(entries.stream().anyMatch(en -> en.isInbound() && FetchCodes.BOARD_DATA.equals(en.getCode())), "request not replayed");
+        assertEquals(2, entries.stream().filter(en -> en.getType() == JournalEntryType.update).count(), "wrong number of updates");
+    }
+
+    @Test
+    public void testReplay_noExecutor() {
+        Path file = dir.resolve("empty.journal");
+        BrokerJournal.create(file).close();
+        JournalReplayer replayer = new JournalReplayer();
+        Configuration conf = new Configuration();
+        NullPointerException exc = assertThrows(NullPointerException.class, () -> replayer.replay(file, conf), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V35102), "missing error code");
+    }
+
+    /** Builds a virtual host recorded into the journal and gets the broker of its host connector. */
+    private SynchronousBroker record(BrokerJournal journal) {
+        Configuration conf = new Configuration();
+        conf.setExecutor(executor);
+        conf.setJournal(journal);
+        conf.setClock(new ManualClock());
+        SynchronousBroker[] inbound = new SynchronousBroker[1];
+        new VirtualHostBuilder(HostType.local).build(conf, broker -> inbound[0] = broker);
+        return inbound[0];
+    }
+
+    private static final class ManualClock implements Clock {
+
+        @Override
+        public void setReceiver(ClockReceiver receiver) {
+        }
+
+        @Override
+        public void setPaused(boolean paused) {
+        }
+
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi;
+
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class VirtualHostBuilderTest {
+
+    private ScheduledThreadPoolExecutor executor;
+    private Configuration conf;
+
+    @BeforeEach
+    public void setUp() {
+        executor = new ScheduledThreadPoolExecutor(1);
+        conf = new Configuration();
+        conf.setExecutor(executor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testFigurineExecutorOf_sequential() {
+        assertNull(VirtualHostBuilder.figurineExecutorOf(null, executor), "executor without configuration");
+        assertNull(VirtualHostBuilder.figurineExecutorOf(conf, executor), "executor by default");
+
+        conf.setFigurineUpdateMode(FigurineUpdateMode.sequential);
+        conf.setFigurineExecutor(Runnable::run);
+        assertNull(VirtualHostBuilder.figurineExecutorOf(conf, executor), "executor in sequential mode");
+    }
+
+    @Test
+    public void testFigurineExecutorOf_parallel() {
+        conf.setFigurineUpdateMode(FigurineUpdateMode.parallel);
+        assertSame(ForkJoinPool.commonPool(), VirtualHostBuilder.figurineExecutorOf(conf, executor), "not the common pool by default");
+
+        Executor figurineExecutor = Runnable::run;
+        conf.setFigurineExecutor(figurineExecutor);
+        assertSame(figurineExecutor, VirtualHostBuilder.figurineExecutorOf(conf, executor), "not the configured executor");
+    }
+
+    @Test
+    public void testBuild_figurineExecutorRunsClock() {
+        conf.setFigurineUpdateMode(FigurineUpdateMode.parallel);
+        conf.setFigurineExecutor(executor);
+        VirtualHostBuilder builder = new VirtualHostBuilder(HostType.local);
+
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, () -> builder.build(conf), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V54481), "missing error code");
+    }
+
+}
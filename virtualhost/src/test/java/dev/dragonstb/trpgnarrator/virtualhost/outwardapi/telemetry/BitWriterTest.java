@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class BitWriterTest {
+
+    @Test
+    public void testRoundTrip() {
+        BitWriter writer = new BitWriter(1);
+        writer.write(5, 3);
+        writer.writeBoolean(true);
+        writer.write(0xDEADBEEFL, 32);
+        writer.writeUnsigned(0);
+        writer.writeUnsigned(1000);
+        writer.writeUnsigned(-1);
+        writer.writeSigned(-3);
+        writer.writeSigned(Integer.MIN_VALUE);
+        writer.writeString("Zw\u00f6lf");
+        // grown from the initial capacity
+        for (int idx = 0; idx < 100; idx++) {
+            writer.writeSigned(idx * 37);
+        }
+        ByteBuffer buf = writer.finish();
+
+        BitReader reader = new BitReader(buf);
+        assertEquals(5, reader.read(3), "wrong bits");
+        assertTrue(reader.readBoolean(), "wrong bit");
+        assertEquals(0xDEADBEEFL, reader.read(32), "wrong bits");
+        assertEquals(0, reader.readUnsigned(), "wrong unsigned");
+        assertEquals(1000, reader.readUnsigned(), "wrong unsigned");
+        assertEquals(-1, reader.readUnsigned(), "wrong unsigned");
+        assertEquals(-3, reader.readSigned(), "wrong signed");
+        assertEquals(Integer.MIN_VALUE, reader.readSigned(), "wrong signed");
+        assertEquals("Zw\u00f6lf", reader.readString(), "wrong string");
+        for (int idx = 0; idx < 100; idx++) {
+            assertEquals(idx * 37, reader.readSigned(), "wrong signed");
+        }
+        assertThrows(BufferUnderflowException.class, () -> reader.read(16), "read beyond the end");
+    }
+
+    @Test
+    public void testSmallNumbers() {
+        BitWriter writer = new BitWriter(16);
+        writer.writeSigned(0);
+        writer.writeSigned(-1);
+        writer.writeSigned(7);
+        writer.writeSigned(-8);
+        // four numbers of six bits each
+        assertEquals(3, writer.finish().remaining(), "small numbers not packed tightly");
+    }
+
+    @Test
+    public void testClear() {
+        BitWriter writer = new BitWriter(16);
+        writer.write(1, 3);
+        writer.finish();
+        writer.clear();
+        writer.write(0xAB, 8);
+        ByteBuffer buf = writer.finish();
+        assertEquals(1, buf.remaining(), "not cleared");
+        assertEquals((byte)0xAB, buf.get(), "wrong byte");
+    }
+
+}
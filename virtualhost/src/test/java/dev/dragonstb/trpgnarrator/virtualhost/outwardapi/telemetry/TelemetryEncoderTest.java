@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026 Dragonstb
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ *
+ * See <http://www.gnu.org/licenses/gpl-2.0.html>
+ */
+package dev.dragonstb.trpgnarrator.virtualhost.outwardapi.telemetry;
+
+import com.jme3.math.Vector3f;
+import dev.dragonstb.trpgnarrator.virtualhost.error.VHostErrorCodes;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.FigurineTelemetryDTO;
+import dev.dragonstb.trpgnarrator.virtualhost.outwardapi.dtos.TelemetryDTO;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author Dragonstb
+ */
+public class TelemetryEncoderTest {
+
+    private TelemetryEncoder encoder;
+
+    @BeforeEach
+    public void setUp() {
+        encoder = new TelemetryEncoder(Map.of(1, new Vector3f(10, 0, 0), 2, new Vector3f(20, 0, 0)));
+    }
+
+    @Test
+    public void testEncode_full() {
+        int seq = encoder.stage(telemetry(0.5f, new FigurineTelemetryDTO("fig", new Vector3f(10.5f, 0, 0.25f), 1)));
+        assertEquals(0, seq, "wrong sequence");
+
+        BitReader reader = new BitReader(encoder.encode(TelemetryFormat.NO_BASELINE));
+        assertEquals(0, reader.read(TelemetryFormat.SEQUENCE_BITS), "wrong sequence");
+        assertEquals(TelemetryFormat.NO_BASELINE, (int)reader.read(TelemetryFormat.SEQUENCE_BITS), "baseline present");
+        assertEquals(0.5f, TelemetryFormat.dequantizeAlpha((int)reader.read(TelemetryFormat.ALPHA_BITS)), 1e-4f, "wrong alpha");
+        assertEquals(1, reader.read(TelemetryFormat.COUNT_BITS), "wrong number of figurines");
+        assertEquals(0, reader.readUnsigned(), "wrong handle");
+        assertTrue(reader.readBoolean(), "not new");
+        assertEquals("fig", reader.readString(), "wrong id");
+        assertTrue(reader.readBoolean(), "not located");
+        assertEquals(1, reader.readSigned(), "wrong field");
+        // relative to the centre of the field
+        assertEquals(TelemetryFormat.quantize(0.5f), reader.readSigned(), "wrong x");
+        assertEquals(0, reader.readSigned(), "wrong y");
+        assertEquals(TelemetryFormat.quantize(0.25f), reader.readSigned(), "wrong z");
+        assertEquals(0, reader.read(TelemetryFormat.COUNT_BITS), "figurines removed");
+    }
+
+    @Test
+    public void testEncode_delta() {
+        List<FigurineTelemetryDTO> teles = new ArrayList<>();
+        for (int idx = 0; idx < 50; idx++) {
+            teles.add(new FigurineTelemetryDTO("figurine number "+idx, new Vector3f(10, 0, idx), 1));
+        }
+        encoder.stage(new TelemetryDTO(teles, 0));
+        int full = encoder.encode(TelemetryFormat.NO_BASELINE).remaining();
+
+        // one figurine moves a little
+        teles.set(7, new FigurineTelemetryDTO("figurine number 7", new Vector3f(10.01f, 0, 7), 1));
+        encoder.stage(new TelemetryDTO(teles, 0));
+        int delta = encoder.encode(0).remaining();
+        assertTrue(delta < 20, "delta too large: "+delta+" bytes");
+        assertTrue(delta * 20 < full, "delta not much smaller than full packet");
+
+        BitReader reader = new BitReader(encoder.encode(0));
+        reader.read(TelemetryFormat.SEQUENCE_BITS);
+        assertEquals(0, reader.read(TelemetryFormat.SEQUENCE_BITS), "wrong baseline");
+        reader.read(TelemetryFormat.ALPHA_BITS);
+        assertEquals(1, reader.read(TelemetryFormat.COUNT_BITS), "wrong number of changed figurines");
+    }
+
+    @Test
+    public void testEncode_baselineTooOld() {
+        TelemetryDTO dto = telemetry(0, new FigurineTelemetryDTO("fig", null, 1));
+        encoder.stage(dto);
+        for (int idx = 0; idx < TelemetryEncoder.HISTORY; idx++) {
+            encoder.stage(dto);
+        }
+
+        BitReader reader = new BitReader(encoder.encode(0));
+        assertEquals(TelemetryEncoder.HISTORY, reader.read(TelemetryFormat.SEQUENCE_BITS), "wrong sequence");
+        assertEquals(TelemetryFormat.NO_BASELINE, (int)reader.read(TelemetryFormat.SEQUENCE_BITS), "outdated baseline used");
+
+        reader = new BitReader(encoder.encode(1));
+        reader.read(TelemetryFormat.SEQUENCE_BITS);
+        assertEquals(1, (int)reader.read(TelemetryFormat.SEQUENCE_BITS), "baseline not used");
+    }
+
+    @Test
+    public void testEncode_ownBuffer() {
+        encoder.stage(telemetry(0, new FigurineTelemetryDTO("fig", new Vector3f(), 3)));
+        ByteBuffer first = encoder.encode(TelemetryFormat.NO_BASELINE);
+        ByteBuffer copy = ByteBuffer.allocate(first.remaining()).put(first.duplicate()).flip();
+        encoder.stage(telemetry(0, new FigurineTelemetryDTO("fig", new Vector3f(1, 0, 0), 4)));
+        ByteBuffer second = encoder.encode(0);
+
+        assertNotSame(first, second, "buffer reused");
+        assertEquals(copy, first, "packet overwritten by the next one");
+    }
+
+    @Test
+    public void testStage_batch() {
+        FigurineTelemetryDTO a = new FigurineTelemetryDTO("a", new Vector3f(10.5f, 1, 0.25f), 1);
+        FigurineTelemetryDTO b = new FigurineTelemetryDTO("b", null, 2);
+        TelemetryEncoder other = new TelemetryEncoder(Map.of(1, new Vector3f(10, 0, 0), 2, new Vector3f(20, 0, 0)));
+        TelemetryBatch batch = new TelemetryBatch();
+        batch.add(a);
+        batch.add(b);
+        batch.setAlpha(.5f);
+
+        encoder.stage(telemetry(.5f, a, b));
+        other.stage(batch);
+        assertEquals(encoder.encode(TelemetryFormat.NO_BASELINE), other.encode(TelemetryFormat.NO_BASELINE), "different packets");
+    }
+
+    @Test
+    public void testStage_idTooLong() {
+        String id = "x".repeat(TelemetryFormat.MAX_COUNT + 1);
+        TelemetryDTO dto = telemetry(0, new FigurineTelemetryDTO(id, null, 1));
+        IllegalArgumentException exc = assertThrows(IllegalArgumentException.class, () -> encoder.stage(dto), "no exception");
+        assertTrue(exc.getMessage().contains(VHostErrorCodes.V32590), "missing error code");
+    }
+
+    private TelemetryDTO telemetry(float alpha, FigurineTelemetryDTO... teles) {
+        return new TelemetryDTO(List.of(teles), alpha);
+    }
+
+}